@@ -0,0 +1,75 @@
+// k6 load test for the wave API, used to compare platform and virtual thread
+// request handling. See LOAD_TESTING.md.
+//
+//   k6 run -e BASE_URL=http://localhost:9080 -e PEAK_VUS=2000 load-test/wave-api.js
+import http from 'k6/http';
+import { check } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:9080';
+const WAREHOUSE_ID = __ENV.WAREHOUSE_ID || 'WH-LOADTEST';
+const PEAK_VUS = parseInt(__ENV.PEAK_VUS || '2000', 10);
+const SEED_WAVES = parseInt(__ENV.SEED_WAVES || '200', 10);
+
+export const options = {
+  scenarios: {
+    reads_and_writes: {
+      executor: 'ramping-vus',
+      startVUs: 0,
+      stages: [
+        { duration: '1m', target: Math.floor(PEAK_VUS / 4) },
+        { duration: '2m', target: PEAK_VUS },
+        { duration: '3m', target: PEAK_VUS },
+        { duration: '30s', target: 0 },
+      ],
+      gracefulRampDown: '30s',
+    },
+  },
+  thresholds: {
+    http_req_failed: ['rate<0.01'],
+  },
+  summaryTrendStats: ['avg', 'p(50)', 'p(95)', 'p(99)', 'max'],
+};
+
+const JSON_HEADERS = { headers: { 'Content-Type': 'application/json' } };
+
+function createWave(suffix) {
+  return http.post(`${BASE_URL}/api/v1/waves`, JSON.stringify({
+    orderIds: [`LT-${suffix}-1`, `LT-${suffix}-2`, `LT-${suffix}-3`],
+    strategy: 'TIME_BASED',
+    warehouseId: WAREHOUSE_ID,
+    priority: 'NORMAL',
+    plannedReleaseTime: new Date(Date.now() + 24 * 3600 * 1000).toISOString().slice(0, 19),
+    maxOrders: 50,
+    timeInterval: 'PT30M',
+  }), Object.assign({ tags: { name: 'create wave' } }, JSON_HEADERS));
+}
+
+export function setup() {
+  const waveIds = [];
+  for (let i = 0; i < SEED_WAVES; i++) {
+    const response = createWave(`seed-${Date.now()}-${i}`);
+    if (response.status === 201) {
+      waveIds.push(response.json('waveId'));
+    }
+  }
+  if (waveIds.length === 0) {
+    throw new Error('No seed waves could be created');
+  }
+  return { waveIds };
+}
+
+export default function (data) {
+  const dice = Math.random();
+  if (dice < 0.7) {
+    const waveId = data.waveIds[Math.floor(Math.random() * data.waveIds.length)];
+    const response = http.get(`${BASE_URL}/api/v1/waves/${waveId}`, { tags: { name: 'get wave' } });
+    check(response, { 'get wave 200': (r) => r.status === 200 });
+  } else if (dice < 0.95) {
+    const response = http.get(`${BASE_URL}/api/v1/waves?warehouseId=${WAREHOUSE_ID}&limit=50`,
+      { tags: { name: 'list waves' } });
+    check(response, { 'list waves 200': (r) => r.status === 200 });
+  } else {
+    const response = createWave(`${__VU}-${__ITER}`);
+    check(response, { 'create wave 201': (r) => r.status === 201 });
+  }
+}
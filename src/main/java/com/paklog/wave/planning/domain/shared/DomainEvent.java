@@ -24,4 +24,10 @@ public abstract class DomainEvent {
     public LocalDateTime getOccurredOn() {
         return occurredOn;
     }
+
+    /**
+     * Identifier of the aggregate that raised this event
+     * Used as the outbox aggregate ID and the Kafka message key
+     */
+    public abstract String aggregateId();
 }
@@ -0,0 +1,10 @@
+package com.paklog.wave.planning.infrastructure.outbox;
+
+/**
+ * An event to be written to the outbox, before serialization
+ * @param aggregateId the aggregate identifier (e.g., waveId, orderId)
+ * @param eventType the CloudEvents type
+ * @param event the event object to serialize
+ */
+public record OutboxMessage(String aggregateId, String eventType, Object event) {
+}
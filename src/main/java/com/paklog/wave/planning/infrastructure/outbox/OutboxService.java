@@ -1,11 +1,13 @@
 package com.paklog.wave.planning.infrastructure.outbox;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -36,16 +38,7 @@ public class OutboxService {
     @Transactional
     public OutboxEvent saveEvent(String aggregateId, String eventType, Object event) {
         try {
-            String payload = objectMapper.writeValueAsString(event);
-
-            OutboxEvent outboxEvent = OutboxEvent.builder()
-                    .aggregateId(aggregateId)
-                    .eventType(eventType)
-                    .payload(payload)
-                    .status(OutboxStatus.PENDING)
-                    .build();
-
-            OutboxEvent saved = outboxRepository.save(outboxEvent);
+            OutboxEvent saved = outboxRepository.save(toOutboxEvent(aggregateId, eventType, event));
             log.debug("Saved event to outbox: id={}, type={}, aggregateId={}",
                     saved.getId(), eventType, aggregateId);
 
@@ -57,6 +50,37 @@ public class OutboxService {
         }
     }
 
+    /**
+     * Serialize and save many events to the outbox within the current transaction
+     * All events are serialized first and then written with a single batch insert
+     * @param messages the events to save
+     * @return the saved outbox events
+     */
+    @Transactional
+    public List<OutboxEvent> saveMessages(List<OutboxMessage> messages) {
+        if (messages.isEmpty()) {
+            return List.of();
+        }
+
+        List<OutboxEvent> events = new ArrayList<>(messages.size());
+        for (OutboxMessage message : messages) {
+            try {
+                events.add(toOutboxEvent(message.aggregateId(), message.eventType(), message.event()));
+            } catch (Exception e) {
+                log.error("Failed to serialize event for outbox: type={}, aggregateId={}",
+                        message.eventType(), message.aggregateId(), e);
+                throw new OutboxException("Failed to save event to outbox", e);
+            }
+        }
+
+        try {
+            return saveEvents(events);
+        } catch (Exception e) {
+            log.error("Failed to save {} events to outbox", events.size(), e);
+            throw new OutboxException("Failed to save events to outbox", e);
+        }
+    }
+
     /**
      * Save multiple events to the outbox within the current transaction
      * @param events list of outbox events to save
@@ -69,6 +93,15 @@ public class OutboxService {
         return saved;
     }
 
+    private OutboxEvent toOutboxEvent(String aggregateId, String eventType, Object event) throws JsonProcessingException {
+        return OutboxEvent.builder()
+                .aggregateId(aggregateId)
+                .eventType(eventType)
+                .payload(objectMapper.writeValueAsString(event))
+                .status(OutboxStatus.PENDING)
+                .build();
+    }
+
     /**
      * Mark an event as published
      * @param eventId the event identifier
@@ -0,0 +1,82 @@
+package com.paklog.wms.wave.adapter.rest;
+
+import com.paklog.wms.wave.adapter.rest.dto.DeadLetterResponse;
+import com.paklog.wms.wave.infrastructure.deadletter.DeadLetterService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * REST API controller for inspecting and replaying dead-lettered consumer events
+ */
+@RestController
+@RequestMapping("/api/v1/dead-letters")
+@Tag(name = "Dead Letters", description = "Inspection and replay of events that exhausted their retries")
+public class DeadLetterController {
+
+    private static final int MAX_REPLAY_BATCH = 500;
+
+    private final DeadLetterService deadLetterService;
+
+    public DeadLetterController(DeadLetterService deadLetterService) {
+        this.deadLetterService = deadLetterService;
+    }
+
+    @GetMapping
+    @Operation(summary = "List dead letters", description = "List dead-lettered events that have not been replayed")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Dead letters retrieved successfully")
+    })
+    public ResponseEntity<List<DeadLetterResponse>> listPending(
+            @Parameter(description = "Maximum number of dead letters to return")
+            @RequestParam(defaultValue = "100") int limit
+    ) {
+        List<DeadLetterResponse> response = deadLetterService.findPending(boundedLimit(limit)).stream()
+                .map(DeadLetterResponse::fromDomain)
+                .toList();
+
+        return ResponseEntity.ok(response);
+    }
+
+    @PostMapping("/{id}/replay")
+    @Operation(summary = "Replay dead letter", description = "Republish a dead-lettered event to its original topic")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Dead letter replayed"),
+            @ApiResponse(responseCode = "404", description = "Dead letter not found")
+    })
+    public ResponseEntity<DeadLetterResponse> replay(
+            @Parameter(description = "Dead letter ID", required = true)
+            @PathVariable String id
+    ) {
+        return ResponseEntity.ok(DeadLetterResponse.fromDomain(deadLetterService.replay(id)));
+    }
+
+    @PostMapping("/replay")
+    @Operation(summary = "Replay pending dead letters", description = "Republish the oldest pending dead letters to their original topics")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Dead letters replayed")
+    })
+    public ResponseEntity<List<DeadLetterResponse>> replayPending(
+            @Parameter(description = "Maximum number of dead letters to replay")
+            @RequestParam(defaultValue = "100") int limit
+    ) {
+        List<DeadLetterResponse> response = deadLetterService.replayPending(boundedLimit(limit)).stream()
+                .map(DeadLetterResponse::fromDomain)
+                .toList();
+
+        return ResponseEntity.ok(response);
+    }
+
+    private int boundedLimit(int limit) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("Limit must be positive");
+        }
+        return Math.min(limit, MAX_REPLAY_BATCH);
+    }
+}
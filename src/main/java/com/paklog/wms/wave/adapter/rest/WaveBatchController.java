@@ -0,0 +1,74 @@
+package com.paklog.wms.wave.adapter.rest;
+
+import com.paklog.wms.wave.adapter.rest.dto.BatchCancelWavesRequest;
+import com.paklog.wms.wave.adapter.rest.dto.BatchCreateWavesRequest;
+import com.paklog.wms.wave.adapter.rest.dto.BatchWaveIdsRequest;
+import com.paklog.wms.wave.adapter.rest.dto.BatchWaveResponse;
+import com.paklog.wms.wave.adapter.rest.dto.CreateWaveRequest;
+import com.paklog.wms.wave.application.command.CreateWaveCommand;
+import com.paklog.wms.wave.application.service.WaveBatchService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * REST API controller for lifecycle operations on many waves per call
+ * Results are reported per wave, so the response is 200 even when some
+ * waves could not be processed
+ */
+@RestController
+@RequestMapping("/api/v1")
+@Tag(name = "Wave Batch Operations", description = "Create, release and cancel many waves per call")
+public class WaveBatchController {
+
+    private final WaveBatchService waveBatchService;
+
+    public WaveBatchController(WaveBatchService waveBatchService) {
+        this.waveBatchService = waveBatchService;
+    }
+
+    @PostMapping("/waves:batchCreate")
+    @Operation(summary = "Create waves in batch", description = "Create and plan many waves with one bulk write")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Batch processed, see per-wave results"),
+            @ApiResponse(responseCode = "400", description = "Invalid request or batch too large")
+    })
+    public ResponseEntity<BatchWaveResponse> batchCreate(@Valid @RequestBody BatchCreateWavesRequest request) {
+        List<CreateWaveCommand> commands = request.waves().stream()
+                .map(CreateWaveRequest::toCommand)
+                .toList();
+
+        return ResponseEntity.ok(BatchWaveResponse.fromResults(waveBatchService.createWaves(commands)));
+    }
+
+    @PostMapping("/waves:batchRelease")
+    @Operation(summary = "Release waves in batch", description = "Release many waves with one bulk write")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Batch processed, see per-wave results"),
+            @ApiResponse(responseCode = "400", description = "Invalid request or batch too large")
+    })
+    public ResponseEntity<BatchWaveResponse> batchRelease(@Valid @RequestBody BatchWaveIdsRequest request) {
+        return ResponseEntity.ok(BatchWaveResponse.fromResults(
+                waveBatchService.releaseWaves(request.waveIds())));
+    }
+
+    @PostMapping("/waves:batchCancel")
+    @Operation(summary = "Cancel waves in batch", description = "Cancel many waves with a shared reason")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Batch processed, see per-wave results"),
+            @ApiResponse(responseCode = "400", description = "Invalid request or batch too large")
+    })
+    public ResponseEntity<BatchWaveResponse> batchCancel(@Valid @RequestBody BatchCancelWavesRequest request) {
+        return ResponseEntity.ok(BatchWaveResponse.fromResults(
+                waveBatchService.cancelWaves(request.waveIds(), request.reason())));
+    }
+}
@@ -0,0 +1,65 @@
+package com.paklog.wms.wave.adapter.rest;
+
+import com.paklog.wms.wave.infrastructure.stream.WaveChange;
+import com.paklog.wms.wave.infrastructure.stream.WaveChangeStream;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+
+import java.time.Duration;
+
+/**
+ * REST API controller pushing wave lifecycle changes as server-sent events
+ * Each event carries the change ID as its SSE id, so a reconnecting
+ * EventSource resumes through the Last-Event-ID header. A "reset" event
+ * means changes were missed and the client should re-read wave state.
+ */
+@RestController
+@RequestMapping("/api/v1/wave-changes")
+@Tag(name = "Wave Changes", description = "Push stream of wave lifecycle changes")
+public class WaveChangeController {
+
+    private final WaveChangeStream waveChangeStream;
+    private final Duration heartbeatInterval;
+
+    public WaveChangeController(WaveChangeStream waveChangeStream,
+                                @Value("${paklog.waves.changes.heartbeat-interval:PT15S}") Duration heartbeatInterval) {
+        this.waveChangeStream = waveChangeStream;
+        this.heartbeatInterval = heartbeatInterval;
+    }
+
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Stream wave changes", description = "Server-sent events for wave lifecycle changes "
+            + "in a warehouse, optionally one zone")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Stream opened")
+    })
+    public Flux<ServerSentEvent<WaveChange>> streamChanges(
+            @Parameter(description = "Warehouse ID", required = true)
+            @RequestParam String warehouseId,
+
+            @Parameter(description = "Only changes of waves assigned to this zone")
+            @RequestParam(required = false) String zone,
+
+            @Parameter(description = "ID of the last change received, to resume after it")
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId
+    ) {
+        Flux<ServerSentEvent<WaveChange>> changes = waveChangeStream.changes(warehouseId, zone, lastEventId)
+                .map(change -> ServerSentEvent.builder(change)
+                        .id(change.id())
+                        .event(change.eventType())
+                        .build());
+
+        Flux<ServerSentEvent<WaveChange>> heartbeats = Flux.interval(heartbeatInterval)
+                .map(tick -> ServerSentEvent.<WaveChange>builder().comment("heartbeat").build());
+
+        return Flux.merge(changes, heartbeats);
+    }
+}
@@ -15,21 +15,37 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.util.DigestUtils;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import reactor.core.publisher.Flux;
 
-import java.time.Duration;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
 import java.util.List;
 import java.util.stream.Collectors;
 
 /**
  * REST API controller for wave management
+ * Wave reads carry an ETag derived from the wave version, or from the IDs
+ * and versions of the listed waves, and answer a matching If-None-Match
+ * with 304 before any response body is built.
+ * Newline-delimited JSON reads return a Flux over a database cursor; Spring
+ * MVC requests the next wave only after the previous one was written, so
+ * memory stays bounded however many waves match.
  */
 @RestController
 @RequestMapping("/api/v1/waves")
 @Tag(name = "Wave Management", description = "Wave planning and management operations")
 public class WaveController {
 
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    static final String NDJSON = "application/x-ndjson";
+    private static final int DEFAULT_PAGE_SIZE = 100;
+    private static final int MAX_PAGE_SIZE = 500;
+
     private final WavePlanningService wavePlanningService;
 
     public WaveController(WavePlanningService wavePlanningService) {
@@ -44,16 +60,7 @@ public class WaveController {
             @ApiResponse(responseCode = "500", description = "Internal server error")
     })
     public ResponseEntity<WaveResponse> createWave(@Valid @RequestBody CreateWaveRequest request) {
-        CreateWaveCommand command = new CreateWaveCommand(
-                request.orderIds(),
-                request.strategy(),
-                request.warehouseId(),
-                request.priority(),
-                request.plannedReleaseTime(),
-                request.maxOrders(),
-                request.maxLines(),
-                request.timeInterval() != null ? Duration.parse(request.timeInterval()) : null
-        );
+        CreateWaveCommand command = request.toCommand();
 
         Wave wave = wavePlanningService.createWave(command);
         return ResponseEntity.status(HttpStatus.CREATED)
@@ -61,46 +68,100 @@ public class WaveController {
     }
 
     @GetMapping
-    @Operation(summary = "List waves", description = "List waves with optional filters")
+    @Operation(summary = "List waves", description = "List waves with optional filters, one page at a time. "
+            + "Without a status filter only active waves are listed. Pass the X-Next-Cursor header of a page "
+            + "as the cursor parameter to get the next one.")
     @ApiResponses({
-            @ApiResponse(responseCode = "200", description = "Waves retrieved successfully")
+            @ApiResponse(responseCode = "200", description = "Waves retrieved successfully"),
+            @ApiResponse(responseCode = "304", description = "Page unchanged since the ETag in If-None-Match"),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor or limit")
     })
     public ResponseEntity<List<WaveResponse>> listWaves(
             @Parameter(description = "Filter by status")
             @RequestParam(required = false) WaveStatus status,
 
             @Parameter(description = "Filter by warehouse ID")
-            @RequestParam(required = false) String warehouseId
+            @RequestParam(required = false) String warehouseId,
+
+            @Parameter(description = "Cursor from the X-Next-Cursor header of the previous page")
+            @RequestParam(required = false) String cursor,
+
+            @Parameter(description = "Maximum number of waves in the page")
+            @RequestParam(defaultValue = "" + DEFAULT_PAGE_SIZE) int limit,
+
+            @Parameter(description = "Include the order IDs of each wave")
+            @RequestParam(defaultValue = "true") boolean includeOrderIds,
+
+            WebRequest webRequest
     ) {
-        List<Wave> waves;
-
-        if (warehouseId != null && status != null) {
-            waves = wavePlanningService.findWavesByWarehouseAndStatus(warehouseId, status);
-        } else if (status == null) {
-            waves = wavePlanningService.findActiveWaves();
-        } else {
-            waves = List.of();
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+
+        List<Wave> waves = wavePlanningService.findWaves(
+                status, warehouseId, decodeCursor(cursor), limit, includeOrderIds);
+
+        String etag = collectionEtag(waves);
+        if (webRequest.checkNotModified(etag)) {
+            return null;
         }
 
         List<WaveResponse> response = waves.stream()
-                .map(WaveResponse::fromDomain)
+                .map(wave -> toResponse(wave, includeOrderIds))
                 .collect(Collectors.toList());
 
-        return ResponseEntity.ok(response);
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok().eTag(etag);
+        if (waves.size() == limit) {
+            builder.header(NEXT_CURSOR_HEADER, encodeCursor(waves.get(waves.size() - 1).getWaveId()));
+        }
+        return builder.body(response);
+    }
+
+    @GetMapping(produces = NDJSON)
+    @Operation(summary = "Stream waves", description = "Stream all matching waves as newline-delimited JSON "
+            + "from a database cursor, read only as fast as the client consumes them")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Waves streamed successfully")
+    })
+    public Flux<WaveResponse> streamWaves(
+            @Parameter(description = "Filter by status")
+            @RequestParam(required = false) WaveStatus status,
+
+            @Parameter(description = "Filter by warehouse ID")
+            @RequestParam(required = false) String warehouseId,
+
+            @Parameter(description = "Include the order IDs of each wave")
+            @RequestParam(defaultValue = "false") boolean includeOrderIds
+    ) {
+        return Flux.fromStream(() -> wavePlanningService.streamWaves(status, warehouseId, includeOrderIds))
+                .map(wave -> toResponse(wave, includeOrderIds));
     }
 
     @GetMapping("/{waveId}")
     @Operation(summary = "Get wave details", description = "Get detailed information about a wave")
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Wave found"),
+            @ApiResponse(responseCode = "304", description = "Wave unchanged since the ETag in If-None-Match"),
             @ApiResponse(responseCode = "404", description = "Wave not found")
     })
     public ResponseEntity<WaveResponse> getWave(
             @Parameter(description = "Wave ID", required = true)
-            @PathVariable String waveId
+            @PathVariable String waveId,
+
+            WebRequest webRequest
     ) {
         Wave wave = wavePlanningService.findWaveById(waveId);
-        return ResponseEntity.ok(WaveResponse.fromDomain(wave));
+
+        String etag = waveEtag(wave);
+        if (etag != null && webRequest.checkNotModified(etag)) {
+            return null;
+        }
+
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok();
+        if (etag != null) {
+            builder.eTag(etag);
+        }
+        return builder.body(WaveResponse.fromDomain(wave));
     }
 
     @PostMapping("/{waveId}/release")
@@ -167,14 +228,69 @@ public class WaveController {
     @GetMapping("/ready-to-release")
     @Operation(summary = "Get waves ready to release", description = "Get all waves that are ready to be released")
     @ApiResponses({
-            @ApiResponse(responseCode = "200", description = "Waves retrieved successfully")
+            @ApiResponse(responseCode = "200", description = "Waves retrieved successfully"),
+            @ApiResponse(responseCode = "304", description = "Waves unchanged since the ETag in If-None-Match")
     })
-    public ResponseEntity<List<WaveResponse>> getWavesReadyToRelease() {
+    public ResponseEntity<List<WaveResponse>> getWavesReadyToRelease(WebRequest webRequest) {
         List<Wave> waves = wavePlanningService.findWavesReadyToRelease();
+
+        String etag = collectionEtag(waves);
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+
         List<WaveResponse> response = waves.stream()
                 .map(WaveResponse::fromDomain)
                 .collect(Collectors.toList());
 
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok().eTag(etag).body(response);
+    }
+
+    @GetMapping(value = "/ready-to-release", produces = NDJSON)
+    @Operation(summary = "Stream waves ready to release", description = "Stream waves that are ready to be "
+            + "released as newline-delimited JSON from a database cursor")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Waves streamed successfully")
+    })
+    public Flux<WaveResponse> streamWavesReadyToRelease() {
+        return Flux.fromStream(wavePlanningService::streamWavesReadyToRelease)
+                .map(WaveResponse::fromDomain);
+    }
+
+    private WaveResponse toResponse(Wave wave, boolean includeOrderIds) {
+        return includeOrderIds ? WaveResponse.fromDomain(wave) : WaveResponse.summaryFromDomain(wave);
+    }
+
+    /**
+     * Strong ETag of one wave: its optimistic locking version
+     */
+    static String waveEtag(Wave wave) {
+        return wave.getVersion() != null ? "\"" + wave.getVersion() + "\"" : null;
+    }
+
+    /**
+     * Strong ETag of a list of waves: a digest over the ID and version of each wave in order
+     */
+    static String collectionEtag(List<Wave> waves) {
+        StringBuilder versions = new StringBuilder(waves.size() * 24);
+        for (Wave wave : waves) {
+            versions.append(wave.getWaveId()).append(':').append(wave.getVersion()).append(';');
+        }
+        return "\"" + DigestUtils.md5DigestAsHex(versions.toString().getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+
+    private String encodeCursor(String waveId) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(waveId.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private String decodeCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            return new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
     }
 }
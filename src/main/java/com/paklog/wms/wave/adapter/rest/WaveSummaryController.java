@@ -0,0 +1,73 @@
+package com.paklog.wms.wave.adapter.rest;
+
+import com.paklog.wms.wave.adapter.rest.dto.WaveSummaryResponse;
+import com.paklog.wms.wave.infrastructure.readmodel.WaveSummaryProjection;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * REST API controller for wave dashboard summaries per warehouse zone
+ */
+@RestController
+@RequestMapping("/api/v1/wave-summaries")
+@Tag(name = "Wave Summaries", description = "Wave counts, in-flight work and upcoming releases per zone")
+public class WaveSummaryController {
+
+    private static final int MAX_RELEASES = 100;
+
+    private final WaveSummaryProjection waveSummaryProjection;
+
+    public WaveSummaryController(WaveSummaryProjection waveSummaryProjection) {
+        this.waveSummaryProjection = waveSummaryProjection;
+    }
+
+    @GetMapping("/{warehouseId}")
+    @Operation(summary = "Get warehouse summaries", description = "Get the wave summary of every zone in a warehouse")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Summaries retrieved successfully")
+    })
+    public ResponseEntity<List<WaveSummaryResponse>> getWarehouseSummaries(
+            @Parameter(description = "Warehouse ID", required = true)
+            @PathVariable String warehouseId,
+            @Parameter(description = "Maximum number of upcoming releases per zone")
+            @RequestParam(defaultValue = "10") int releases
+    ) {
+        List<WaveSummaryResponse> response = waveSummaryProjection
+                .findByWarehouse(warehouseId, boundedReleases(releases)).stream()
+                .map(WaveSummaryResponse::fromSummary)
+                .toList();
+
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping("/{warehouseId}/zones/{zone}")
+    @Operation(summary = "Get zone summary", description = "Get the wave summary of one warehouse zone")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Summary retrieved successfully")
+    })
+    public ResponseEntity<WaveSummaryResponse> getZoneSummary(
+            @Parameter(description = "Warehouse ID", required = true)
+            @PathVariable String warehouseId,
+            @Parameter(description = "Zone, or UNASSIGNED for planned waves without a zone", required = true)
+            @PathVariable String zone,
+            @Parameter(description = "Maximum number of upcoming releases")
+            @RequestParam(defaultValue = "10") int releases
+    ) {
+        return ResponseEntity.ok(WaveSummaryResponse.fromSummary(
+                waveSummaryProjection.find(warehouseId, zone, boundedReleases(releases))));
+    }
+
+    private int boundedReleases(int releases) {
+        if (releases < 0) {
+            throw new IllegalArgumentException("Releases must not be negative");
+        }
+        return Math.min(releases, MAX_RELEASES);
+    }
+}
@@ -0,0 +1,18 @@
+package com.paklog.wms.wave.adapter.rest.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+
+import java.util.List;
+
+/**
+ * REST API request for cancelling many waves with a shared reason
+ */
+public record BatchCancelWavesRequest(
+        @NotEmpty(message = "Wave IDs cannot be empty")
+        List<String> waveIds,
+
+        @NotBlank(message = "Cancellation reason is required")
+        String reason
+) {
+}
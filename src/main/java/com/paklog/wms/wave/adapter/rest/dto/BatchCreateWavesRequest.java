@@ -0,0 +1,15 @@
+package com.paklog.wms.wave.adapter.rest.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+
+import java.util.List;
+
+/**
+ * REST API request for creating many waves
+ */
+public record BatchCreateWavesRequest(
+        @NotEmpty(message = "Waves cannot be empty")
+        List<@Valid CreateWaveRequest> waves
+) {
+}
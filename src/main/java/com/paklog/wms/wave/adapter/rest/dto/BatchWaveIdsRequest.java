@@ -0,0 +1,14 @@
+package com.paklog.wms.wave.adapter.rest.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+
+import java.util.List;
+
+/**
+ * REST API request naming the waves of a batch operation
+ */
+public record BatchWaveIdsRequest(
+        @NotEmpty(message = "Wave IDs cannot be empty")
+        List<String> waveIds
+) {
+}
@@ -0,0 +1,38 @@
+package com.paklog.wms.wave.adapter.rest.dto;
+
+import com.paklog.wms.wave.application.service.WaveBatchResult;
+
+import java.util.List;
+
+/**
+ * REST API response for batch wave operations, with one result per wave
+ */
+public record BatchWaveResponse(
+        int succeeded,
+        int failed,
+        List<Result> results
+) {
+    public static BatchWaveResponse fromResults(List<WaveBatchResult> results) {
+        List<Result> responses = results.stream()
+                .map(Result::fromResult)
+                .toList();
+        int succeeded = (int) results.stream().filter(WaveBatchResult::isSuccess).count();
+        return new BatchWaveResponse(succeeded, results.size() - succeeded, responses);
+    }
+
+    public record Result(
+            String waveId,
+            WaveBatchResult.Outcome outcome,
+            String message,
+            WaveResponse wave
+    ) {
+        public static Result fromResult(WaveBatchResult result) {
+            return new Result(
+                    result.waveId(),
+                    result.outcome(),
+                    result.message(),
+                    result.wave() != null ? WaveResponse.fromDomain(result.wave()) : null
+            );
+        }
+    }
+}
@@ -1,10 +1,12 @@
 package com.paklog.wms.wave.adapter.rest.dto;
 
+import com.paklog.wms.wave.application.command.CreateWaveCommand;
 import com.paklog.wms.wave.domain.valueobject.WavePriority;
 import com.paklog.wms.wave.domain.valueobject.WaveStrategyType;
 import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.NotNull;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -31,4 +33,16 @@ public record CreateWaveRequest(
 
         String timeInterval
 ) {
+    public CreateWaveCommand toCommand() {
+        return new CreateWaveCommand(
+                orderIds,
+                strategy,
+                warehouseId,
+                priority,
+                plannedReleaseTime,
+                maxOrders,
+                maxLines,
+                timeInterval != null ? Duration.parse(timeInterval) : null
+        );
+    }
 }
@@ -0,0 +1,40 @@
+package com.paklog.wms.wave.adapter.rest.dto;
+
+import com.paklog.wms.wave.infrastructure.deadletter.DeadLetterEvent;
+import com.paklog.wms.wave.infrastructure.deadletter.DeadLetterStatus;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * REST API response for a dead-lettered event
+ */
+public record DeadLetterResponse(
+        String id,
+        String originalTopic,
+        String messageKey,
+        String eventType,
+        Map<String, Object> payload,
+        byte[] rawPayload,
+        String exceptionMessage,
+        DeadLetterStatus status,
+        LocalDateTime receivedAt,
+        LocalDateTime replayedAt,
+        int replayCount
+) {
+    public static DeadLetterResponse fromDomain(DeadLetterEvent event) {
+        return new DeadLetterResponse(
+                event.getId(),
+                event.getOriginalTopic(),
+                event.getMessageKey(),
+                event.getEventType(),
+                event.getPayload(),
+                event.getRawPayload(),
+                event.getExceptionMessage(),
+                event.getStatus(),
+                event.getReceivedAt(),
+                event.getReplayedAt(),
+                event.getReplayCount()
+        );
+    }
+}
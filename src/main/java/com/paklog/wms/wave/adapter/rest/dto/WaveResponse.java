@@ -1,5 +1,6 @@
 package com.paklog.wms.wave.adapter.rest.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.paklog.wms.wave.domain.aggregate.Wave;
 import com.paklog.wms.wave.domain.valueobject.WavePriority;
 import com.paklog.wms.wave.domain.valueobject.WaveStatus;
@@ -14,6 +15,7 @@ import java.util.List;
 public record WaveResponse(
         String waveId,
         WaveStatus status,
+        @JsonInclude(JsonInclude.Include.NON_NULL)
         List<String> orderIds,
         Integer orderCount,
         WaveStrategyType strategy,
@@ -28,11 +30,24 @@ public record WaveResponse(
         LocalDateTime updatedAt
 ) {
     public static WaveResponse fromDomain(Wave wave) {
+        return fromDomain(wave, wave.getOrderIds(), wave.orderCount());
+    }
+
+    /**
+     * Response for a wave loaded without its order IDs
+     * The order count comes from the wave metrics instead
+     */
+    public static WaveResponse summaryFromDomain(Wave wave) {
+        Integer totalOrders = wave.getMetrics() != null ? wave.getMetrics().getTotalOrders() : null;
+        return fromDomain(wave, null, totalOrders);
+    }
+
+    private static WaveResponse fromDomain(Wave wave, List<String> orderIds, Integer orderCount) {
         return new WaveResponse(
                 wave.getWaveId(),
                 wave.getStatus(),
-                wave.getOrderIds(),
-                wave.getOrderIds().size(),
+                orderIds,
+                orderCount,
                 wave.getStrategy().getType(),
                 wave.getPriority(),
                 wave.getWarehouseId(),
@@ -0,0 +1,35 @@
+package com.paklog.wms.wave.adapter.rest.dto;
+
+import com.paklog.wms.wave.infrastructure.readmodel.WaveSummary;
+import com.paklog.wms.wave.infrastructure.readmodel.WaveSummary.PlannedRelease;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * REST API response for the wave summary of one warehouse zone
+ */
+public record WaveSummaryResponse(
+        String warehouseId,
+        String zone,
+        Map<String, Long> statusCounts,
+        long ordersInFlight,
+        long linesInFlight,
+        long unitsInFlight,
+        List<PlannedRelease> nextReleases,
+        LocalDateTime updatedAt
+) {
+    public static WaveSummaryResponse fromSummary(WaveSummary summary) {
+        return new WaveSummaryResponse(
+                summary.getWarehouseId(),
+                summary.getZone(),
+                summary.getStatusCounts(),
+                summary.getOrdersInFlight(),
+                summary.getLinesInFlight(),
+                summary.getUnitsInFlight(),
+                summary.getNextReleases(),
+                summary.getUpdatedAt()
+        );
+    }
+}
@@ -0,0 +1,110 @@
+package com.paklog.wms.wave.application.service;
+
+import com.paklog.wms.wave.application.service.WavePlanningService.ShortageReplan;
+import com.paklog.wms.wave.infrastructure.shortage.PendingShortage;
+import com.paklog.wms.wave.infrastructure.shortage.PendingShortageRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Coordinates wave re-planning for inventory shortages
+ * Shortage events are aggregated per SKU and flushed once per window, so a
+ * burst of shortage events for the same SKU triggers a single re-plan instead
+ * of one per event. Pending shortages are kept in MongoDB until their re-plan
+ * succeeded, so neither a restart nor a failed re-plan loses them.
+ */
+@Service
+public class InventoryShortageCoordinator {
+
+    private static final Logger logger = LoggerFactory.getLogger(InventoryShortageCoordinator.class);
+
+    static final String SHORTAGE_REASON = "Inventory shortage";
+
+    private final WavePlanningService wavePlanningService;
+    private final PendingShortageRepository pendingShortages;
+    private final MeterRegistry meterRegistry;
+    private final int batchSize;
+
+    public InventoryShortageCoordinator(WavePlanningService wavePlanningService,
+                                        PendingShortageRepository pendingShortages,
+                                        MeterRegistry meterRegistry,
+                                        @Value("${paklog.shortage.flush-batch-size:1000}") int batchSize) {
+        this.wavePlanningService = wavePlanningService;
+        this.pendingShortages = pendingShortages;
+        this.meterRegistry = meterRegistry;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Record a shortage for the next re-planning window
+     * Persisted before returning, so the event's offset is only committed once
+     * the shortage is stored.
+     */
+    public void recordShortage(String sku, String orderId) {
+        pendingShortages.record(sku, orderId, LocalDateTime.now());
+    }
+
+    /**
+     * Re-plan all waves affected by the shortages recorded since the last flush
+     * Shortages stay pending for the next window if re-planning fails.
+     */
+    @Scheduled(fixedDelayString = "${paklog.shortage.aggregation-window-ms:5000}")
+    public void flush() {
+        List<PendingShortage> shortages = pendingShortages.findOldest(batchSize);
+        if (shortages.isEmpty()) {
+            return;
+        }
+
+        Set<String> skus = new HashSet<>();
+        Set<String> shortOrderIds = new HashSet<>();
+        for (PendingShortage shortage : shortages) {
+            skus.add(shortage.getSku());
+            shortOrderIds.add(shortage.getOrderId());
+        }
+
+        logger.info("Re-planning waves for {} short SKUs affecting {} orders",
+                skus.size(), shortOrderIds.size());
+
+        ShortageReplan replan;
+        try {
+            replan = wavePlanningService.splitShortOrders(shortOrderIds, SHORTAGE_REASON);
+        } catch (RuntimeException e) {
+            logger.error("Failed to re-plan waves for short SKUs {}, retrying next window", skus, e);
+            return;
+        }
+
+        pendingShortages.deleteAll(shortages.stream().map(PendingShortage::getId).toList());
+
+        replanCounter("split").increment(replan.heldWaves().size());
+        if (!replan.fullyShortWaveIds().isEmpty()) {
+            logger.warn("Every order of waves {} is short, holding them until inventory is allocated",
+                    replan.fullyShortWaveIds());
+            replanCounter("held").increment(replan.fullyShortWaveIds().size());
+        }
+    }
+
+    /**
+     * Number of SKUs waiting for the next re-planning window
+     */
+    public int pendingSkuCount() {
+        return pendingShortages.countSkus();
+    }
+
+    private Counter replanCounter(String outcome) {
+        return Counter.builder("wave.shortage.replans")
+                .description("Waves re-planned for inventory shortages by outcome")
+                .tag("service", "wave-planning")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,357 @@
+package com.paklog.wms.wave.application.service;
+
+import com.paklog.wms.wave.application.command.ReleaseWaveCommand;
+import com.paklog.wms.wave.application.service.WavePlanningService.WaveNotFoundException;
+import com.paklog.wms.wave.domain.aggregate.Wave;
+import com.paklog.wms.wave.domain.event.WaveCancelledEvent;
+import com.paklog.wms.wave.domain.event.WaveInventoryAllocatedEvent;
+import com.paklog.wms.wave.domain.event.WaveReleasedEvent;
+import com.paklog.wms.wave.domain.event.WaveZoneAssignedEvent;
+import com.paklog.wms.wave.domain.valueobject.WavePriority;
+import com.paklog.wms.wave.domain.valueobject.WaveStatus;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * Releases planned waves when their planned release time arrives
+ * Keeps a per-warehouse priority queue of PLANNED waves ordered by planned
+ * release time, then wave priority. Only waves with allocated inventory are
+ * queued: they are loaded from MongoDB on startup and added when their
+ * allocation completes; a single thread sleeps until the earliest head is
+ * due, so no query polls for ready waves.
+ * Waves that still cannot be released (e.g. no zone) are retried with an
+ * exponential backoff capped at blocked-retry-max, or as soon as a zone is
+ * assigned. Waves whose allocation was withdrawn by a shortage are dropped
+ * until they are allocated again. Released and cancelled waves are dropped
+ * lazily when they reach the head of the queue.
+ */
+@Service
+@ConditionalOnProperty(prefix = "paklog.waves.release-scheduler", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class ReleaseScheduler {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReleaseScheduler.class);
+
+    private static final Comparator<ScheduledRelease> RELEASE_ORDER = Comparator
+            .comparing(ScheduledRelease::releaseAt)
+            .thenComparingInt(release -> release.priority().getValue())
+            .thenComparingLong(ScheduledRelease::sequence);
+
+    private final WavePlanningService wavePlanningService;
+    private final MeterRegistry meterRegistry;
+    private final Duration blockedRetry;
+    private final Duration blockedRetryMax;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition wakeUp = lock.newCondition();
+    // Guarded by lock
+    private final Map<String, PriorityQueue<ScheduledRelease>> queues = new HashMap<>();
+    // Current entry per wave; queue entries that are no longer current are stale
+    private final Map<String, ScheduledRelease> scheduled = new ConcurrentHashMap<>();
+    private final AtomicLong sequence = new AtomicLong();
+
+    private volatile Thread worker;
+
+    public ReleaseScheduler(WavePlanningService wavePlanningService,
+                            MeterRegistry meterRegistry,
+                            @Value("${paklog.waves.release-scheduler.blocked-retry:PT1M}") Duration blockedRetry,
+                            @Value("${paklog.waves.release-scheduler.blocked-retry-max:PT30M}") Duration blockedRetryMax) {
+        this.wavePlanningService = wavePlanningService;
+        this.meterRegistry = meterRegistry;
+        this.blockedRetry = blockedRetry;
+        this.blockedRetryMax = blockedRetryMax;
+
+        Gauge.builder("wave.release.scheduled", scheduled, Map::size)
+                .description("Planned waves waiting for automatic release")
+                .tag("service", "wave-planning")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        loadPlannedWaves();
+
+        Thread thread = new Thread(this::run, "wave-release-scheduler");
+        thread.setDaemon(true);
+        worker = thread;
+        thread.start();
+    }
+
+    @PreDestroy
+    public void stop() {
+        Thread thread = worker;
+        worker = null;
+        if (thread != null) {
+            thread.interrupt();
+        }
+    }
+
+    /**
+     * Index every allocated PLANNED wave that has a planned release time
+     * Waves still waiting for inventory are queued by onWaveInventoryAllocated.
+     */
+    void loadPlannedWaves() {
+        int loaded = 0;
+        try (Stream<Wave> planned = wavePlanningService.streamWaves(WaveStatus.PLANNED, null, false)) {
+            for (Wave wave : (Iterable<Wave>) planned::iterator) {
+                if (wave.getPlannedReleaseTime() != null && wave.isInventoryAllocated()) {
+                    schedule(wave.getWaveId(), wave.getWarehouseId(), wave.getPriority(),
+                            wave.getPlannedReleaseTime(), wave.getPlannedReleaseTime(), 0);
+                    loaded++;
+                }
+            }
+        }
+        logger.info("Release scheduler loaded {} planned waves", loaded);
+    }
+
+    /**
+     * A wave becomes releasable once inventory is allocated for all of its orders
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onWaveInventoryAllocated(WaveInventoryAllocatedEvent event) {
+        if (event.getPlannedReleaseTime() != null) {
+            schedule(event.getWaveId(), event.getWarehouseId(), event.getPriority(),
+                    event.getPlannedReleaseTime(), event.getPlannedReleaseTime(), 0);
+        }
+    }
+
+    /**
+     * A wave that was waiting for a zone is retried at its planned release time
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onWaveZoneAssigned(WaveZoneAssignedEvent event) {
+        ScheduledRelease current = scheduled.get(event.getWaveId());
+        if (current != null && current.releaseAt().isAfter(current.plannedReleaseTime())) {
+            schedule(current.waveId(), current.warehouseId(), current.priority(),
+                    current.plannedReleaseTime(), current.plannedReleaseTime(), 0);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onWaveReleased(WaveReleasedEvent event) {
+        scheduled.remove(event.getWaveId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onWaveCancelled(WaveCancelledEvent event) {
+        scheduled.remove(event.getWaveId());
+    }
+
+    /**
+     * Planned waves of a warehouse waiting for release, in release order
+     */
+    public List<String> pendingReleases(String warehouseId) {
+        lock.lock();
+        try {
+            PriorityQueue<ScheduledRelease> queue = queues.get(warehouseId);
+            if (queue == null) {
+                return List.of();
+            }
+            return queue.stream()
+                    .filter(this::isCurrent)
+                    .sorted(RELEASE_ORDER)
+                    .map(ScheduledRelease::waveId)
+                    .toList();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Release every wave that is due at the given time
+     */
+    void releaseDue(LocalDateTime now) {
+        for (ScheduledRelease release : pollDue(now)) {
+            release(release);
+        }
+    }
+
+    /**
+     * Earliest release time over all warehouses, or null if nothing is scheduled
+     */
+    LocalDateTime nextDueTime() {
+        lock.lock();
+        try {
+            LocalDateTime next = null;
+            for (PriorityQueue<ScheduledRelease> queue : queues.values()) {
+                dropStale(queue);
+                ScheduledRelease head = queue.peek();
+                if (head != null && (next == null || head.releaseAt().isBefore(next))) {
+                    next = head.releaseAt();
+                }
+            }
+            return next;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void run() {
+        while (worker == Thread.currentThread()) {
+            try {
+                releaseDue(LocalDateTime.now());
+                awaitNextDue();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                logger.error("Release scheduler iteration failed", e);
+            }
+        }
+    }
+
+    private void awaitNextDue() throws InterruptedException {
+        lock.lock();
+        try {
+            LocalDateTime next = nextDueTime();
+            if (next == null) {
+                wakeUp.await();
+                return;
+            }
+            long delayNanos = Duration.between(LocalDateTime.now(), next).toNanos();
+            if (delayNanos > 0) {
+                wakeUp.awaitNanos(delayNanos);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private List<ScheduledRelease> pollDue(LocalDateTime now) {
+        List<ScheduledRelease> due = new ArrayList<>();
+        lock.lock();
+        try {
+            for (PriorityQueue<ScheduledRelease> queue : queues.values()) {
+                dropStale(queue);
+                while (!queue.isEmpty() && !queue.peek().releaseAt().isAfter(now)) {
+                    ScheduledRelease release = queue.poll();
+                    if (scheduled.remove(release.waveId(), release)) {
+                        due.add(release);
+                    }
+                }
+            }
+            queues.values().removeIf(PriorityQueue::isEmpty);
+        } finally {
+            lock.unlock();
+        }
+        due.sort(RELEASE_ORDER);
+        return due;
+    }
+
+    private void release(ScheduledRelease release) {
+        try {
+            wavePlanningService.releaseWave(new ReleaseWaveCommand(release.waveId()));
+            releaseCounter("released").increment();
+            logger.info("Released wave {} scheduled for {}", release.waveId(), release.plannedReleaseTime());
+        } catch (WaveNotFoundException e) {
+            releaseCounter("dropped").increment();
+        } catch (IllegalStateException e) {
+            Wave wave = findPlanned(release.waveId());
+            if (wave != null && !wave.isInventoryAllocated()) {
+                // Allocation was withdrawn; onWaveInventoryAllocated queues the wave again
+                releaseCounter("unallocated").increment();
+            } else if (wave != null) {
+                releaseCounter("blocked").increment();
+                Duration delay = defer(release);
+                logger.debug("Wave {} not releasable yet, retrying in {}: {}",
+                        release.waveId(), delay, e.getMessage());
+            } else {
+                releaseCounter("dropped").increment();
+            }
+        } catch (RuntimeException e) {
+            releaseCounter("deferred").increment();
+            Duration delay = defer(release);
+            logger.warn("Scheduled release of wave {} failed, retrying in {}: {}",
+                    release.waveId(), delay, e.getMessage());
+        }
+    }
+
+    private Wave findPlanned(String waveId) {
+        try {
+            Wave wave = wavePlanningService.findWaveById(waveId);
+            return wave.getStatus() == WaveStatus.PLANNED ? wave : null;
+        } catch (WaveNotFoundException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Retry a release later, doubling the delay on every attempt up to blocked-retry-max
+     */
+    private Duration defer(ScheduledRelease release) {
+        Duration delay = retryDelay(release.attempts());
+        schedule(release.waveId(), release.warehouseId(), release.priority(),
+                release.plannedReleaseTime(), LocalDateTime.now().plus(delay), release.attempts() + 1);
+        return delay;
+    }
+
+    Duration retryDelay(int attempts) {
+        Duration delay = blockedRetry;
+        for (int i = 0; i < attempts && delay.compareTo(blockedRetryMax) < 0; i++) {
+            delay = delay.multipliedBy(2);
+        }
+        return delay.compareTo(blockedRetryMax) > 0 ? blockedRetryMax : delay;
+    }
+
+    private void schedule(String waveId, String warehouseId, WavePriority priority,
+                          LocalDateTime plannedReleaseTime, LocalDateTime releaseAt, int attempts) {
+        ScheduledRelease release = new ScheduledRelease(waveId, warehouseId,
+                priority != null ? priority : WavePriority.NORMAL,
+                plannedReleaseTime, releaseAt, attempts, sequence.incrementAndGet());
+
+        lock.lock();
+        try {
+            scheduled.put(waveId, release);
+            queues.computeIfAbsent(warehouseId, id -> new PriorityQueue<>(RELEASE_ORDER)).add(release);
+            wakeUp.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void dropStale(PriorityQueue<ScheduledRelease> queue) {
+        while (!queue.isEmpty() && !isCurrent(queue.peek())) {
+            queue.poll();
+        }
+    }
+
+    private boolean isCurrent(ScheduledRelease release) {
+        return scheduled.get(release.waveId()) == release;
+    }
+
+    private Counter releaseCounter(String outcome) {
+        return Counter.builder("wave.release.scheduler")
+                .description("Automatic wave releases by outcome")
+                .tag("service", "wave-planning")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private record ScheduledRelease(String waveId, String warehouseId, WavePriority priority,
+                                    LocalDateTime plannedReleaseTime, LocalDateTime releaseAt,
+                                    int attempts, long sequence) {
+    }
+}
@@ -0,0 +1,41 @@
+package com.paklog.wms.wave.application.service;
+
+import com.paklog.wms.wave.domain.aggregate.Wave;
+
+/**
+ * Per-wave outcome of a batch lifecycle operation
+ */
+public record WaveBatchResult(
+        String waveId,
+        Outcome outcome,
+        Wave wave,
+        String message
+) {
+
+    public static WaveBatchResult succeeded(Wave wave) {
+        return new WaveBatchResult(wave.getWaveId(), Outcome.SUCCEEDED, wave, null);
+    }
+
+    public static WaveBatchResult notFound(String waveId) {
+        return new WaveBatchResult(waveId, Outcome.NOT_FOUND, null, "Wave not found: " + waveId);
+    }
+
+    public static WaveBatchResult rejected(String waveId, String message) {
+        return new WaveBatchResult(waveId, Outcome.REJECTED, null, message);
+    }
+
+    public static WaveBatchResult conflict(String waveId, String message) {
+        return new WaveBatchResult(waveId, Outcome.CONFLICT, null, message);
+    }
+
+    public boolean isSuccess() {
+        return outcome == Outcome.SUCCEEDED;
+    }
+
+    public enum Outcome {
+        SUCCEEDED,
+        NOT_FOUND,
+        REJECTED,
+        CONFLICT
+    }
+}
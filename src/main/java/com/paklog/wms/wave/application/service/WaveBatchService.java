@@ -0,0 +1,175 @@
+package com.paklog.wms.wave.application.service;
+
+import com.paklog.wave.planning.domain.shared.DomainEvent;
+import com.paklog.wms.wave.application.command.CreateWaveCommand;
+import com.paklog.wms.wave.domain.aggregate.Wave;
+import com.paklog.wms.wave.domain.repository.WaveRepository;
+import com.paklog.wms.wave.domain.repository.WaveRepositoryCustom.PartialUpdate;
+import com.paklog.wms.wave.domain.repository.WaveRepositoryCustom.WaveField;
+import com.paklog.wms.wave.domain.valueobject.WaveStatus;
+import com.paklog.wms.wave.infrastructure.events.WaveEventPublisher;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Application service for lifecycle operations on many waves at once
+ * Loads all waves with one query, persists them in one transaction and
+ * publishes the resulting events together. A wave that cannot transition
+ * or was modified concurrently is reported in its result without failing
+ * the rest of the batch; a failed insert fails the whole create batch.
+ */
+@Service
+public class WaveBatchService {
+
+    private static final Logger logger = LoggerFactory.getLogger(WaveBatchService.class);
+
+    private final WaveRepository waveRepository;
+    private final WaveEventPublisher eventPublisher;
+    private final WavePlanningService wavePlanningService;
+    private final int maxBatchSize;
+
+    public WaveBatchService(WaveRepository waveRepository,
+                            WaveEventPublisher eventPublisher,
+                            WavePlanningService wavePlanningService,
+                            @Value("${paklog.waves.batch.max-size:500}") int maxBatchSize) {
+        this.waveRepository = waveRepository;
+        this.eventPublisher = eventPublisher;
+        this.wavePlanningService = wavePlanningService;
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    /**
+     * Create and plan many waves
+     *
+     * @return one result per command, in command order
+     */
+    @Transactional
+    public List<WaveBatchResult> createWaves(List<CreateWaveCommand> commands) {
+        checkBatchSize(commands.size());
+        logger.info("Creating {} waves in batch", commands.size());
+
+        List<WaveBatchResult> results = new ArrayList<>(commands.size());
+        List<Wave> planned = new ArrayList<>(commands.size());
+        for (CreateWaveCommand command : commands) {
+            try {
+                Wave wave = wavePlanningService.planWave(command);
+                planned.add(wave);
+                results.add(WaveBatchResult.succeeded(wave));
+            } catch (IllegalArgumentException | IllegalStateException e) {
+                results.add(WaveBatchResult.rejected(null, e.getMessage()));
+            }
+        }
+
+        waveRepository.bulkInsert(planned);
+
+        List<DomainEvent> events = new ArrayList<>();
+        for (Wave wave : planned) {
+            events.addAll(wave.pullDomainEvents());
+        }
+        eventPublisher.publishEvents(events);
+
+        logSummary("Created", results);
+        return results;
+    }
+
+    /**
+     * Release many waves for execution
+     *
+     * @return one result per distinct wave ID, in request order
+     */
+    @Transactional
+    public List<WaveBatchResult> releaseWaves(Collection<String> waveIds) {
+        return transition(waveIds, Wave::release,
+                EnumSet.of(WaveField.STATUS, WaveField.ACTUAL_RELEASE_TIME, WaveField.METRICS), "Released");
+    }
+
+    /**
+     * Cancel many waves with a shared reason
+     *
+     * @return one result per distinct wave ID, in request order
+     */
+    @Transactional
+    public List<WaveBatchResult> cancelWaves(Collection<String> waveIds, String reason) {
+        return transition(waveIds, wave -> wave.cancel(reason), EnumSet.of(WaveField.STATUS), "Cancelled");
+    }
+
+    private List<WaveBatchResult> transition(Collection<String> waveIds,
+                                             Consumer<Wave> transition,
+                                             Set<WaveField> fields,
+                                             String action) {
+        Set<String> ids = new LinkedHashSet<>(waveIds);
+        checkBatchSize(ids.size());
+
+        Map<String, Wave> waves = new HashMap<>();
+        for (Wave wave : waveRepository.findAllById(ids)) {
+            waves.put(wave.getWaveId(), wave);
+        }
+
+        Map<String, WaveBatchResult> results = new LinkedHashMap<>();
+        List<PartialUpdate> updates = new ArrayList<>();
+        for (String waveId : ids) {
+            Wave wave = waves.get(waveId);
+            if (wave == null) {
+                results.put(waveId, WaveBatchResult.notFound(waveId));
+                continue;
+            }
+
+            WaveStatus previousStatus = wave.getStatus();
+            try {
+                transition.accept(wave);
+            } catch (IllegalStateException | IllegalArgumentException e) {
+                results.put(waveId, WaveBatchResult.rejected(waveId, e.getMessage()));
+                continue;
+            }
+            updates.add(new PartialUpdate(wave, previousStatus, fields));
+            results.put(waveId, WaveBatchResult.succeeded(wave));
+        }
+
+        Set<String> conflicts = waveRepository.bulkUpdatePartial(updates);
+
+        List<DomainEvent> events = new ArrayList<>();
+        for (PartialUpdate update : updates) {
+            Wave wave = update.wave();
+            if (conflicts.contains(wave.getWaveId())) {
+                results.put(wave.getWaveId(), WaveBatchResult.conflict(wave.getWaveId(),
+                        "Wave " + wave.getWaveId() + " was modified concurrently"));
+            } else {
+                events.addAll(wave.pullDomainEvents());
+            }
+        }
+        eventPublisher.publishEvents(events);
+
+        List<WaveBatchResult> outcome = new ArrayList<>(results.values());
+        logSummary(action, outcome);
+        return outcome;
+    }
+
+    private void checkBatchSize(int size) {
+        if (size == 0) {
+            throw new IllegalArgumentException("Batch must contain at least one wave");
+        }
+        if (size > maxBatchSize) {
+            throw new IllegalArgumentException(
+                    "Batch of " + size + " waves exceeds the maximum of " + maxBatchSize);
+        }
+    }
+
+    private void logSummary(String action, List<WaveBatchResult> results) {
+        long succeeded = results.stream().filter(WaveBatchResult::isSuccess).count();
+        logger.info("{} {} of {} waves in batch", action, succeeded, results.size());
+    }
+}
@@ -1,22 +1,37 @@
 package com.paklog.wms.wave.application.service;
 
+import com.paklog.wave.planning.domain.shared.DomainEvent;
 import com.paklog.wms.wave.application.command.AssignZoneCommand;
 import com.paklog.wms.wave.application.command.CancelWaveCommand;
 import com.paklog.wms.wave.application.command.CreateWaveCommand;
 import com.paklog.wms.wave.application.command.ReleaseWaveCommand;
 import com.paklog.wms.wave.domain.aggregate.Wave;
+import com.paklog.wms.wave.domain.event.WaveOrderRemovedEvent;
 import com.paklog.wms.wave.domain.repository.WaveRepository;
+import com.paklog.wms.wave.domain.repository.WaveRepositoryCustom.WaveField;
+import com.paklog.wms.wave.domain.repository.WaveRepositoryCustom.WaveOrderRemoval;
+import com.paklog.wms.wave.domain.repository.WaveRepositoryCustom.WaveSearch;
+import com.paklog.wms.wave.domain.service.WaveOptimizationService;
 import com.paklog.wms.wave.domain.valueobject.WaveId;
 import com.paklog.wms.wave.domain.valueobject.WaveStatus;
 import com.paklog.wms.wave.domain.valueobject.WaveStrategy;
+import com.paklog.wms.wave.infrastructure.cache.WaveReadCache;
 import com.paklog.wms.wave.infrastructure.events.WaveEventPublisher;
+import com.paklog.wms.wave.infrastructure.snapshot.OrderSnapshotStore;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 /**
  * Application service for wave planning operations
@@ -27,12 +42,24 @@ public class WavePlanningService {
 
     private static final Logger logger = LoggerFactory.getLogger(WavePlanningService.class);
 
+    private static final Set<WaveStatus> ACTIVE_STATUSES = EnumSet.of(WaveStatus.RELEASED, WaveStatus.IN_PROGRESS);
+
     private final WaveRepository waveRepository;
     private final WaveEventPublisher eventPublisher;
-
-    public WavePlanningService(WaveRepository waveRepository, WaveEventPublisher eventPublisher) {
+    private final WaveOptimizationService optimizationService;
+    private final OrderSnapshotStore snapshotStore;
+    private final WaveReadCache waveReadCache;
+
+    public WavePlanningService(WaveRepository waveRepository,
+                               WaveEventPublisher eventPublisher,
+                               WaveOptimizationService optimizationService,
+                               OrderSnapshotStore snapshotStore,
+                               WaveReadCache waveReadCache) {
         this.waveRepository = waveRepository;
         this.eventPublisher = eventPublisher;
+        this.optimizationService = optimizationService;
+        this.snapshotStore = snapshotStore;
+        this.waveReadCache = waveReadCache;
     }
 
     /**
@@ -43,31 +70,15 @@ public class WavePlanningService {
         logger.info("Creating wave for warehouse: {}, orders: {}",
                 command.warehouseId(), command.orderIds().size());
 
-        // Generate wave ID
-        String waveId = WaveId.generate().getValue();
-
-        // Build strategy from command
-        WaveStrategy strategy = buildStrategy(command);
-
-        // Create wave
-        Wave wave = new Wave();
-        wave.setWaveId(waveId);
-        wave.plan(
-                command.orderIds(),
-                strategy,
-                command.warehouseId(),
-                command.priority(),
-                command.plannedReleaseTime()
-        );
+        Wave wave = planWave(command);
 
         // Save wave
         Wave savedWave = waveRepository.save(wave);
 
         // Publish domain events
-        eventPublisher.publishEvents(wave.getDomainEvents());
-        wave.clearDomainEvents();
+        eventPublisher.publishEvents(wave.pullDomainEvents());
 
-        logger.info("Wave created successfully: {}", waveId);
+        logger.info("Wave created successfully: {}", wave.getWaveId());
         return savedWave;
     }
 
@@ -82,17 +93,18 @@ public class WavePlanningService {
                 .orElseThrow(() -> new WaveNotFoundException(command.waveId()));
 
         // Release the wave
+        WaveStatus previousStatus = wave.getStatus();
         wave.release();
 
-        // Save updated wave
-        Wave savedWave = waveRepository.save(wave);
+        // Persist only the fields the release changed
+        waveRepository.updatePartial(wave, previousStatus,
+                EnumSet.of(WaveField.STATUS, WaveField.ACTUAL_RELEASE_TIME, WaveField.METRICS));
 
         // Publish domain events
-        eventPublisher.publishEvents(wave.getDomainEvents());
-        wave.clearDomainEvents();
+        eventPublisher.publishEvents(wave.pullDomainEvents());
 
         logger.info("Wave released successfully: {}", command.waveId());
-        return savedWave;
+        return wave;
     }
 
     /**
@@ -106,17 +118,17 @@ public class WavePlanningService {
                 .orElseThrow(() -> new WaveNotFoundException(command.waveId()));
 
         // Cancel the wave
+        WaveStatus previousStatus = wave.getStatus();
         wave.cancel(command.reason());
 
-        // Save updated wave
-        Wave savedWave = waveRepository.save(wave);
+        // Persist only the status change
+        waveRepository.updatePartial(wave, previousStatus, EnumSet.of(WaveField.STATUS));
 
         // Publish domain events
-        eventPublisher.publishEvents(wave.getDomainEvents());
-        wave.clearDomainEvents();
+        eventPublisher.publishEvents(wave.pullDomainEvents());
 
         logger.info("Wave cancelled successfully: {}", command.waveId());
-        return savedWave;
+        return wave;
     }
 
     /**
@@ -131,10 +143,153 @@ public class WavePlanningService {
 
         wave.assignZone(command.zone());
 
-        Wave savedWave = waveRepository.save(wave);
+        waveRepository.updatePartial(wave, WaveStatus.PLANNED, EnumSet.of(WaveField.ASSIGNED_ZONE));
+
+        // Publish domain events
+        eventPublisher.publishEvents(wave.pullDomainEvents());
 
         logger.info("Zone assigned successfully to wave: {}", command.waveId());
-        return savedWave;
+        return wave;
+    }
+
+    /**
+     * Record that inventory is allocated for an order of a PLANNED wave
+     * Once every order of the wave is allocated the wave is marked allocated
+     * and becomes eligible for release.
+     *
+     * @return the wave containing the order, or empty if the order is not in a PLANNED wave
+     */
+    @Transactional
+    public Optional<Wave> allocateOrder(String orderId) {
+        Optional<Wave> planned = waveRepository.findByStatusAndOrderIdsIn(WaveStatus.PLANNED, List.of(orderId))
+                .stream()
+                .findFirst();
+
+        planned.ifPresent(wave -> {
+            wave.allocateOrder(orderId);
+            waveRepository.updatePartial(wave, WaveStatus.PLANNED,
+                    EnumSet.of(WaveField.ALLOCATED_ORDER_IDS, WaveField.INVENTORY_ALLOCATED));
+            eventPublisher.publishEvents(wave.pullDomainEvents());
+            // Only the final allocation registers an event
+            waveReadCache.invalidateAfterCommit(wave.getWaveId());
+
+            logger.debug("Inventory allocated for order {} of wave {}, wave allocated: {}",
+                    orderId, wave.getWaveId(), wave.isInventoryAllocated());
+        });
+
+        return planned;
+    }
+
+    /**
+     * Remove a cancelled order from the PLANNED wave that contains it
+     * Uses an atomic $pull guarded by status instead of loading and saving
+     * the aggregate, so cancellation storms don't contend on hot waves.
+     * A wave left without orders is cancelled, and one left with only
+     * allocated orders becomes allocated.
+     *
+     * @return the removal outcome, or empty if the order is not in a PLANNED wave
+     */
+    @Transactional
+    public Optional<WaveOrderRemoval> removeCancelledOrder(String orderId, String reason) {
+        Optional<WaveOrderRemoval> removal = waveRepository.removeOrderFromPlannedWave(orderId);
+
+        removal.ifPresent(result -> {
+            eventPublisher.publishEvent(new WaveOrderRemovedEvent(
+                    result.waveId(),
+                    orderId,
+                    result.warehouseId(),
+                    result.assignedZone(),
+                    reason,
+                    result.remainingOrders()
+            ));
+
+            logger.info("Order {} removed from wave {}, {} orders remaining",
+                    orderId, result.waveId(), result.remainingOrders());
+
+            settleOrderRemoval(result);
+        });
+
+        return removal;
+    }
+
+    /**
+     * Cancel a wave the removal emptied, or mark it allocated if it removed the last unallocated order
+     * Allocated waves with orders left need nothing, so only the others are loaded
+     */
+    private void settleOrderRemoval(WaveOrderRemoval removal) {
+        if (removal.remainingOrders() > 0 && removal.inventoryAllocated()) {
+            return;
+        }
+
+        Wave wave = waveRepository.findById(removal.waveId())
+                .orElseThrow(() -> new WaveNotFoundException(removal.waveId()));
+        if (removal.remainingOrders() <= 0) {
+            wave.cancel("All orders cancelled");
+            waveRepository.updatePartial(wave, WaveStatus.PLANNED, EnumSet.of(WaveField.STATUS));
+            logger.info("Wave {} cancelled, all orders cancelled", wave.getWaveId());
+        } else {
+            wave.markAllocatedIfComplete();
+            if (!wave.isInventoryAllocated()) {
+                return;
+            }
+            waveRepository.updatePartial(wave, WaveStatus.PLANNED, EnumSet.of(WaveField.INVENTORY_ALLOCATED));
+            logger.info("Wave {} allocated, its last unallocated order was cancelled", wave.getWaveId());
+        }
+        eventPublisher.publishEvents(wave.pullDomainEvents());
+    }
+
+    /**
+     * Split short orders out of every PLANNED wave that contains them
+     * Each affected wave keeps its remaining orders and a new held wave is
+     * planned for the short ones, so a single short SKU no longer blocks the
+     * release of the whole wave. A wave whose orders are all short is held
+     * in place: its allocation is withdrawn until inventory is allocated again.
+     *
+     * @return the held waves that were created and the waves held in place
+     */
+    @Transactional
+    public ShortageReplan splitShortOrders(Collection<String> shortOrderIds, String reason) {
+        Set<String> shortOrders = new HashSet<>(shortOrderIds);
+        List<Wave> affectedWaves = waveRepository.findByStatusAndOrderIdsIn(WaveStatus.PLANNED, shortOrders);
+        List<Wave> heldWaves = new ArrayList<>();
+        List<String> fullyShortWaveIds = new ArrayList<>();
+
+        for (Wave wave : affectedWaves) {
+            if (shortOrders.containsAll(wave.getOrderIds())) {
+                wave.withdrawAllocation(wave.getOrderIds());
+                waveRepository.updatePartial(wave, WaveStatus.PLANNED,
+                        EnumSet.of(WaveField.ALLOCATED_ORDER_IDS, WaveField.INVENTORY_ALLOCATED));
+                waveReadCache.invalidateAfterCommit(wave.getWaveId());
+                fullyShortWaveIds.add(wave.getWaveId());
+                continue;
+            }
+
+            optimizationService.splitShortOrders(wave, shortOrders).ifPresent(heldWave -> {
+                waveRepository.save(wave);
+                waveRepository.save(heldWave);
+
+                List<DomainEvent> events = new ArrayList<>();
+                for (String orderId : heldWave.getOrderIds()) {
+                    events.add(new WaveOrderRemovedEvent(
+                            wave.getWaveId(),
+                            orderId,
+                            wave.getWarehouseId(),
+                            wave.getAssignedZone(),
+                            reason,
+                            wave.orderCount()
+                    ));
+                }
+                events.addAll(wave.pullDomainEvents());
+                events.addAll(heldWave.pullDomainEvents());
+                eventPublisher.publishEvents(events);
+
+                heldWaves.add(heldWave);
+            });
+        }
+
+        logger.info("Re-planned {} waves and held {} fully short waves for {} short orders",
+                heldWaves.size(), fullyShortWaveIds.size(), shortOrders.size());
+        return new ShortageReplan(heldWaves, fullyShortWaveIds);
     }
 
     /**
@@ -145,11 +300,20 @@ public class WavePlanningService {
     }
 
     /**
-     * Find wave by ID
+     * Stream waves ready to release from a database cursor
+     * The caller must close the stream
+     */
+    public Stream<Wave> streamWavesReadyToRelease() {
+        return waveRepository.streamReadyToRelease(WaveStatus.PLANNED, LocalDateTime.now());
+    }
+
+    /**
+     * Find wave by ID through the read cache
+     * The returned wave may be shared with other readers and must not be modified
      */
     public Wave findWaveById(String waveId) {
-        return waveRepository.findById(waveId)
-                .orElseThrow(() -> new WaveNotFoundException(waveId));
+        return waveReadCache.get(waveId, id -> waveRepository.findById(id)
+                .orElseThrow(() -> new WaveNotFoundException(id)));
     }
 
     /**
@@ -159,6 +323,31 @@ public class WavePlanningService {
         return waveRepository.findByWarehouseIdAndStatus(warehouseId, status);
     }
 
+    /**
+     * Find one page of waves, ordered by wave ID
+     * Without a status filter only active waves (RELEASED or IN_PROGRESS) are listed
+     *
+     * @param afterWaveId wave ID of the last wave on the previous page, or null for the first page
+     */
+    public List<Wave> findWaves(WaveStatus status, String warehouseId, String afterWaveId,
+                                int limit, boolean includeOrderIds) {
+        return waveRepository.findPage(waveSearch(status, warehouseId, afterWaveId, limit, includeOrderIds));
+    }
+
+    /**
+     * Stream all matching waves from a database cursor, ordered by wave ID
+     * The caller must close the stream
+     */
+    public Stream<Wave> streamWaves(WaveStatus status, String warehouseId, boolean includeOrderIds) {
+        return waveRepository.streamWaves(waveSearch(status, warehouseId, null, 0, includeOrderIds));
+    }
+
+    private WaveSearch waveSearch(WaveStatus status, String warehouseId, String afterWaveId,
+                                  int limit, boolean includeOrderIds) {
+        Set<WaveStatus> statuses = status != null ? EnumSet.of(status) : ACTIVE_STATUSES;
+        return new WaveSearch(statuses, warehouseId, afterWaveId, limit, includeOrderIds);
+    }
+
     /**
      * Find all active waves
      */
@@ -166,6 +355,38 @@ public class WavePlanningService {
         return waveRepository.findActiveWaves();
     }
 
+    /**
+     * Plan a new wave from a command and sequence it when order snapshots allow
+     * The wave is not persisted and its domain events are not yet published
+     */
+    Wave planWave(CreateWaveCommand command) {
+        // Generate wave ID
+        String waveId = WaveId.generate().getValue();
+
+        // Build strategy from command
+        WaveStrategy strategy = buildStrategy(command);
+
+        // Create wave
+        Wave wave = new Wave();
+        wave.setWaveId(waveId);
+        wave.plan(
+                command.orderIds(),
+                strategy,
+                command.warehouseId(),
+                command.priority(),
+                command.plannedReleaseTime()
+        );
+
+        // Sequence the orders when every order has a local snapshot
+        snapshotStore.findAll(command.orderIds()).ifPresentOrElse(
+                orders -> optimizationService.optimizeWave(
+                        wave, orders, WaveOptimizationService.OptimizationCriteria.defaultCriteria()),
+                () -> logger.debug("Order snapshots incomplete for wave {}, keeping submitted sequence", waveId)
+        );
+
+        return wave;
+    }
+
     private WaveStrategy buildStrategy(CreateWaveCommand command) {
         WaveStrategy.Builder builder = WaveStrategy.builder()
                 .type(command.strategyType());
@@ -183,6 +404,15 @@ public class WavePlanningService {
         return builder.build();
     }
 
+    /**
+     * Outcome of re-planning waves for short orders
+     *
+     * @param heldWaves new waves holding the short orders split out of partially short waves
+     * @param fullyShortWaveIds waves whose orders were all short and are held in place
+     */
+    public record ShortageReplan(List<Wave> heldWaves, List<String> fullyShortWaveIds) {
+    }
+
     /**
      * Exception thrown when wave is not found
      */
@@ -6,12 +6,17 @@ import com.paklog.wms.wave.domain.entity.Order;
 import com.paklog.wms.wave.domain.entity.WaveMetrics;
 import com.paklog.wms.wave.domain.event.WaveCancelledEvent;
 import com.paklog.wms.wave.domain.event.WaveCompletedEvent;
+import com.paklog.wms.wave.domain.event.WaveInventoryAllocatedEvent;
+import com.paklog.wms.wave.domain.event.WaveOrderRemovedEvent;
 import com.paklog.wms.wave.domain.event.WavePlannedEvent;
 import com.paklog.wms.wave.domain.event.WaveReleasedEvent;
+import com.paklog.wms.wave.domain.event.WaveStartedEvent;
+import com.paklog.wms.wave.domain.event.WaveZoneAssignedEvent;
 import com.paklog.wms.wave.domain.valueobject.*;
 import org.springframework.aot.hint.MemberCategory;
 import org.springframework.aot.hint.RuntimeHints;
 import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
 import org.springframework.context.annotation.ImportRuntimeHints;
 
 /**
@@ -29,6 +34,10 @@ public class NativeRuntimeHintsRegistrar implements RuntimeHintsRegistrar {
         registerForReflection(hints, WaveReleasedEvent.class);
         registerForReflection(hints, WaveCompletedEvent.class);
         registerForReflection(hints, WaveCancelledEvent.class);
+        registerForReflection(hints, WaveOrderRemovedEvent.class);
+        registerForReflection(hints, WaveZoneAssignedEvent.class);
+        registerForReflection(hints, WaveInventoryAllocatedEvent.class);
+        registerForReflection(hints, WaveStartedEvent.class);
         registerForReflection(hints, OutboxEvent.class);
 
         // Register domain aggregate
@@ -74,6 +83,6 @@ public class NativeRuntimeHintsRegistrar implements RuntimeHintsRegistrar {
             MemberCategory.INVOKE_DECLARED_METHODS,
             MemberCategory.DECLARED_FIELDS
         );
-        hints.serialization().registerType(clazz);
+        hints.serialization().registerType(TypeReference.of(clazz));
     }
 }
@@ -5,21 +5,30 @@ import com.paklog.wave.planning.domain.shared.DomainEvent;
 import com.paklog.wms.wave.domain.entity.WaveMetrics;
 import com.paklog.wms.wave.domain.event.WaveCancelledEvent;
 import com.paklog.wms.wave.domain.event.WaveCompletedEvent;
+import com.paklog.wms.wave.domain.event.WaveInventoryAllocatedEvent;
 import com.paklog.wms.wave.domain.event.WavePlannedEvent;
 import com.paklog.wms.wave.domain.event.WaveReleasedEvent;
+import com.paklog.wms.wave.domain.event.WaveStartedEvent;
+import com.paklog.wms.wave.domain.event.WaveZoneAssignedEvent;
 import com.paklog.wms.wave.domain.valueobject.WaveId;
 import com.paklog.wms.wave.domain.valueobject.WavePriority;
 import com.paklog.wms.wave.domain.valueobject.WaveStatus;
 import com.paklog.wms.wave.domain.valueobject.WaveStrategy;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.annotation.Transient;
 import org.springframework.data.annotation.Version;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Objects;
+import java.util.Set;
 
 /**
  * Wave Aggregate Root
@@ -28,6 +37,12 @@ import java.util.Objects;
  */
 @AggregateRoot
 @Document(collection = "waves")
+// Finds the planned wave of a cancelled or short order (multikey on orderIds)
+@CompoundIndex(name = "orderIds_status", def = "{'orderIds': 1, 'status': 1}")
+// Keyset pages of the reconciliation windows: (timestamp, _id), per warehouse for bucket drill-down
+@CompoundIndex(name = "createdAt_id", def = "{'createdAt': 1, '_id': 1}")
+@CompoundIndex(name = "lastModifiedAt_id", def = "{'lastModifiedAt': 1, '_id': 1}")
+@CompoundIndex(name = "warehouseId_createdAt_id", def = "{'warehouseId': 1, 'createdAt': 1, '_id': 1}")
 public class Wave {
 
     @Id
@@ -42,14 +57,28 @@ public class Wave {
     private LocalDateTime plannedReleaseTime;
     private LocalDateTime actualReleaseTime;
     private LocalDateTime completedAt;
+    private LocalDateTime createdAt;
+    // Stamped by the persistence layer on every write
+    @LastModifiedDate
+    private LocalDateTime lastModifiedAt;
     private WaveMetrics metrics;
     private boolean inventoryAllocated;
+    // Orders whose inventory is allocated; the wave is allocated once all of them are
+    private List<String> allocatedOrderIds;
 
     @Version
     private Long version; // Optimistic locking
 
     @Transient
-    private final List<DomainEvent> domainEvents = new ArrayList<>();
+    private List<DomainEvent> domainEvents = new ArrayList<>();
+
+    // Membership index over orderIds, rebuilt lazily after loading from MongoDB
+    @Transient
+    private Set<String> orderIndex;
+
+    // Index over the allocated orders still in the wave, rebuilt lazily like orderIndex
+    @Transient
+    private Set<String> allocatedIndex;
 
     // Default constructor for MongoDB
     public Wave() {
@@ -57,6 +86,7 @@ public class Wave {
         this.orderIds = new ArrayList<>();
         this.metrics = new WaveMetrics();
         this.inventoryAllocated = false;
+        this.allocatedOrderIds = new ArrayList<>();
     }
 
     /**
@@ -68,12 +98,19 @@ public class Wave {
         Objects.requireNonNull(strategy, "Strategy cannot be null");
         Objects.requireNonNull(warehouseId, "Warehouse ID cannot be null");
 
+        Set<String> index = uniqueOrders(orderIds);
+
         this.orderIds = new ArrayList<>(orderIds);
+        this.orderIndex = index;
+        this.allocatedIndex = null;
         this.strategy = strategy;
         this.warehouseId = warehouseId;
         this.priority = priority != null ? priority : WavePriority.NORMAL;
         this.plannedReleaseTime = plannedReleaseTime;
         this.status = WaveStatus.PLANNED;
+        if (this.createdAt == null) {
+            this.createdAt = LocalDateTime.now();
+        }
 
         // Initialize metrics
         this.metrics.setTotalOrders(orderIds.size());
@@ -109,7 +146,9 @@ public class Wave {
             this.orderIds,
             this.warehouseId,
             this.assignedZone,
-            this.priority
+            this.priority,
+            this.metrics.getTotalLines(),
+            this.metrics.getTotalUnits()
         ));
     }
 
@@ -120,6 +159,8 @@ public class Wave {
         ensureStatus(WaveStatus.RELEASED);
 
         this.status = WaveStatus.IN_PROGRESS;
+
+        registerEvent(new WaveStartedEvent(this.waveId, this.warehouseId, this.assignedZone));
     }
 
     /**
@@ -137,7 +178,11 @@ public class Wave {
             this.waveId,
             this.metrics.getTotalOrders(),
             this.metrics.getCompletedOrders(),
-            this.metrics.getPickAccuracy()
+            this.metrics.getPickAccuracy(),
+            this.warehouseId,
+            this.assignedZone,
+            this.metrics.getTotalLines(),
+            this.metrics.getTotalUnits()
         ));
     }
 
@@ -151,9 +196,19 @@ public class Wave {
 
         Objects.requireNonNull(reason, "Cancellation reason is required");
 
+        WaveStatus previousStatus = this.status;
         this.status = WaveStatus.CANCELLED;
 
-        registerEvent(new WaveCancelledEvent(this.waveId, reason));
+        registerEvent(new WaveCancelledEvent(
+            this.waveId,
+            reason,
+            this.warehouseId,
+            this.assignedZone,
+            previousStatus,
+            this.metrics.getTotalOrders(),
+            this.metrics.getTotalLines(),
+            this.metrics.getTotalUnits()
+        ));
     }
 
     /**
@@ -164,7 +219,11 @@ public class Wave {
         if (this.status != WaveStatus.PLANNED) {
             throw new IllegalStateException("Can only assign zone to planned waves");
         }
+        String previousZone = this.assignedZone;
         this.assignedZone = zone;
+
+        registerEvent(new WaveZoneAssignedEvent(
+            this.waveId, this.warehouseId, previousZone, zone, this.plannedReleaseTime));
     }
 
     /**
@@ -174,7 +233,60 @@ public class Wave {
         if (this.status != WaveStatus.PLANNED) {
             throw new IllegalStateException("Can only allocate inventory for planned waves");
         }
+        if (this.inventoryAllocated) {
+            return;
+        }
         this.inventoryAllocated = true;
+
+        registerEvent(new WaveInventoryAllocatedEvent(
+            this.waveId, this.warehouseId, this.priority, this.plannedReleaseTime));
+    }
+
+    /**
+     * Record that inventory is allocated for one of the wave's orders
+     * The wave is marked allocated once every order is.
+     */
+    public void allocateOrder(String orderId) {
+        if (this.status != WaveStatus.PLANNED) {
+            throw new IllegalStateException("Can only allocate inventory for planned waves");
+        }
+        if (!containsOrder(orderId)) {
+            throw new IllegalArgumentException("Order " + orderId + " is not in wave " + waveId);
+        }
+
+        if (allocatedIndex().add(orderId)) {
+            allocatedOrderIds().add(orderId);
+        }
+        markAllocatedIfComplete();
+    }
+
+    /**
+     * Take back the allocation of orders that turned out to be short
+     * The wave cannot be released until they are allocated again.
+     */
+    public void withdrawAllocation(Collection<String> orderIds) {
+        if (this.status != WaveStatus.PLANNED) {
+            throw new IllegalStateException("Can only withdraw inventory of planned waves");
+        }
+        Set<String> withdrawn = new HashSet<>(orderIds);
+        allocatedOrderIds().removeIf(withdrawn::contains);
+        allocatedIndex().removeAll(withdrawn);
+        this.inventoryAllocated = false;
+    }
+
+    /**
+     * Mark the wave allocated once every one of its orders is
+     * Also needed after orders are removed, which can leave only allocated ones.
+     */
+    public void markAllocatedIfComplete() {
+        if (status != WaveStatus.PLANNED) {
+            throw new IllegalStateException("Can only allocate inventory for planned waves");
+        }
+        // Only orders of the wave are indexed, so equal sizes mean all of them are allocated
+        if (!inventoryAllocated && !orderIds.isEmpty()
+                && allocatedIndex().size() == orderIndex().size()) {
+            markInventoryAllocated();
+        }
     }
 
     /**
@@ -193,7 +305,15 @@ public class Wave {
             throw new IllegalStateException("Adding orders would exceed max wave capacity");
         }
 
+        Set<String> index = orderIndex();
+        for (String orderId : uniqueOrders(newOrderIds)) {
+            if (index.contains(orderId)) {
+                throw new IllegalArgumentException("Order " + orderId + " is already in wave " + waveId);
+            }
+        }
+
         this.orderIds.addAll(newOrderIds);
+        index.addAll(newOrderIds);
         this.metrics.setTotalOrders(this.orderIds.size());
     }
 
@@ -205,10 +325,18 @@ public class Wave {
         if (this.status != WaveStatus.PLANNED) {
             throw new IllegalStateException("Can only reorder orders for planned waves");
         }
-        if (newOrderSequence.size() != this.orderIds.size()
-                || !this.orderIds.containsAll(newOrderSequence)) {
+        if (newOrderSequence.size() != this.orderIds.size()) {
             throw new IllegalArgumentException("New sequence must contain the same orders");
         }
+
+        // Same size, no duplicates and every order known means the same membership
+        Set<String> index = orderIndex();
+        Set<String> seen = new HashSet<>(newOrderSequence.size() * 2);
+        for (String orderId : newOrderSequence) {
+            if (!index.contains(orderId) || !seen.add(orderId)) {
+                throw new IllegalArgumentException("New sequence must contain the same orders");
+            }
+        }
         this.orderIds = new ArrayList<>(newOrderSequence);
     }
 
@@ -220,8 +348,20 @@ public class Wave {
             throw new IllegalStateException("Can only remove orders from planned waves");
         }
 
-        this.orderIds.removeAll(orderIdsToRemove);
+        Set<String> toRemove = new HashSet<>(orderIdsToRemove);
+        this.orderIds.removeIf(toRemove::contains);
+        orderIndex().removeAll(toRemove);
+        allocatedOrderIds().removeIf(toRemove::contains);
+        allocatedIndex().removeAll(toRemove);
         this.metrics.setTotalOrders(this.orderIds.size());
+        markAllocatedIfComplete();
+    }
+
+    /**
+     * Check whether an order belongs to this wave
+     */
+    public boolean containsOrder(String orderId) {
+        return orderIndex().contains(orderId);
     }
 
     // Validation methods
@@ -231,6 +371,43 @@ public class Wave {
         }
     }
 
+    private Set<String> uniqueOrders(List<String> orders) {
+        Set<String> unique = new HashSet<>(orders.size() * 2);
+        for (String orderId : orders) {
+            if (!unique.add(orderId)) {
+                throw new IllegalArgumentException("Duplicate order " + orderId);
+            }
+        }
+        return unique;
+    }
+
+    private List<String> allocatedOrderIds() {
+        if (allocatedOrderIds == null) {
+            allocatedOrderIds = new ArrayList<>();
+        }
+        return allocatedOrderIds;
+    }
+
+    private Set<String> orderIndex() {
+        if (orderIndex == null) {
+            orderIndex = new HashSet<>(orderIds);
+        }
+        return orderIndex;
+    }
+
+    private Set<String> allocatedIndex() {
+        if (allocatedIndex == null) {
+            Set<String> orders = orderIndex();
+            allocatedIndex = new HashSet<>();
+            for (String orderId : allocatedOrderIds()) {
+                if (orders.contains(orderId)) {
+                    allocatedIndex.add(orderId);
+                }
+            }
+        }
+        return allocatedIndex;
+    }
+
     private void ensureStatus(WaveStatus expectedStatus) {
         if (this.status != expectedStatus) {
             throw new IllegalStateException(
@@ -250,8 +427,21 @@ public class Wave {
         this.domainEvents.add(event);
     }
 
+    /**
+     * Read-only view of the events registered since the last pull
+     */
     public List<DomainEvent> getDomainEvents() {
-        return new ArrayList<>(domainEvents);
+        return Collections.unmodifiableList(domainEvents);
+    }
+
+    /**
+     * Hand off the registered events and start a fresh list
+     * The returned list is no longer touched by the aggregate.
+     */
+    public List<DomainEvent> pullDomainEvents() {
+        List<DomainEvent> events = domainEvents;
+        domainEvents = new ArrayList<>();
+        return events;
     }
 
     public void clearDomainEvents() {
@@ -271,8 +461,15 @@ public class Wave {
         return status;
     }
 
+    /**
+     * Read-only view of the orders in pick sequence
+     */
     public List<String> getOrderIds() {
-        return new ArrayList<>(orderIds);
+        return Collections.unmodifiableList(orderIds);
+    }
+
+    public int orderCount() {
+        return orderIds.size();
     }
 
     public WavePriority getPriority() {
@@ -311,6 +508,14 @@ public class Wave {
         return completedAt;
     }
 
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public LocalDateTime getLastModifiedAt() {
+        return lastModifiedAt;
+    }
+
     public WaveMetrics getMetrics() {
         return metrics;
     }
@@ -319,6 +524,10 @@ public class Wave {
         return inventoryAllocated;
     }
 
+    public List<String> getAllocatedOrderIds() {
+        return allocatedOrderIds == null ? List.of() : Collections.unmodifiableList(allocatedOrderIds);
+    }
+
     public Long getVersion() {
         return version;
     }
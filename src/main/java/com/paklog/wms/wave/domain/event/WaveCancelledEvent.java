@@ -1,6 +1,7 @@
 package com.paklog.wms.wave.domain.event;
 
 import com.paklog.wave.planning.domain.shared.DomainEvent;
+import com.paklog.wms.wave.domain.valueobject.WaveStatus;
 
 import java.time.LocalDateTime;
 
@@ -12,18 +13,41 @@ public class WaveCancelledEvent extends DomainEvent {
     private final String waveId;
     private final String reason;
     private final LocalDateTime cancelledAt;
+    private final String warehouseId;
+    private final String assignedZone;
+    private final WaveStatus previousStatus;
+    private final Integer totalOrders;
+    private final Integer totalLines;
+    private final Integer totalUnits;
 
     public WaveCancelledEvent(String waveId, String reason) {
+        this(waveId, reason, null, null, null, null, null, null);
+    }
+
+    public WaveCancelledEvent(String waveId, String reason, String warehouseId, String assignedZone,
+                             WaveStatus previousStatus, Integer totalOrders,
+                             Integer totalLines, Integer totalUnits) {
         super();
         this.waveId = waveId;
         this.reason = reason;
         this.cancelledAt = LocalDateTime.now();
+        this.warehouseId = warehouseId;
+        this.assignedZone = assignedZone;
+        this.previousStatus = previousStatus;
+        this.totalOrders = totalOrders;
+        this.totalLines = totalLines;
+        this.totalUnits = totalUnits;
     }
 
     public String getWaveId() {
         return waveId;
     }
 
+    @Override
+    public String aggregateId() {
+        return waveId;
+    }
+
     public String getReason() {
         return reason;
     }
@@ -31,4 +55,31 @@ public class WaveCancelledEvent extends DomainEvent {
     public LocalDateTime getCancelledAt() {
         return cancelledAt;
     }
+
+    public String getWarehouseId() {
+        return warehouseId;
+    }
+
+    public String getAssignedZone() {
+        return assignedZone;
+    }
+
+    /**
+     * Status the wave was in before it was cancelled
+     */
+    public WaveStatus getPreviousStatus() {
+        return previousStatus;
+    }
+
+    public Integer getTotalOrders() {
+        return totalOrders;
+    }
+
+    public Integer getTotalLines() {
+        return totalLines;
+    }
+
+    public Integer getTotalUnits() {
+        return totalUnits;
+    }
 }
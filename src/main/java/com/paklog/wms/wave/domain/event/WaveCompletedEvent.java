@@ -14,21 +14,40 @@ public class WaveCompletedEvent extends DomainEvent {
     private final Integer totalOrders;
     private final Integer completedOrders;
     private final Double pickAccuracy;
+    private final String warehouseId;
+    private final String assignedZone;
+    private final Integer totalLines;
+    private final Integer totalUnits;
 
     public WaveCompletedEvent(String waveId, Integer totalOrders, Integer completedOrders,
                              Double pickAccuracy) {
+        this(waveId, totalOrders, completedOrders, pickAccuracy, null, null, null, null);
+    }
+
+    public WaveCompletedEvent(String waveId, Integer totalOrders, Integer completedOrders,
+                             Double pickAccuracy, String warehouseId, String assignedZone,
+                             Integer totalLines, Integer totalUnits) {
         super();
         this.waveId = waveId;
         this.completedAt = LocalDateTime.now();
         this.totalOrders = totalOrders;
         this.completedOrders = completedOrders;
         this.pickAccuracy = pickAccuracy;
+        this.warehouseId = warehouseId;
+        this.assignedZone = assignedZone;
+        this.totalLines = totalLines;
+        this.totalUnits = totalUnits;
     }
 
     public String getWaveId() {
         return waveId;
     }
 
+    @Override
+    public String aggregateId() {
+        return waveId;
+    }
+
     public LocalDateTime getCompletedAt() {
         return completedAt;
     }
@@ -44,4 +63,20 @@ public class WaveCompletedEvent extends DomainEvent {
     public Double getPickAccuracy() {
         return pickAccuracy;
     }
+
+    public String getWarehouseId() {
+        return warehouseId;
+    }
+
+    public String getAssignedZone() {
+        return assignedZone;
+    }
+
+    public Integer getTotalLines() {
+        return totalLines;
+    }
+
+    public Integer getTotalUnits() {
+        return totalUnits;
+    }
 }
@@ -0,0 +1,47 @@
+package com.paklog.wms.wave.domain.event;
+
+import com.paklog.wave.planning.domain.shared.DomainEvent;
+import com.paklog.wms.wave.domain.valueobject.WavePriority;
+
+import java.time.LocalDateTime;
+
+/**
+ * Domain event published when inventory is allocated for every order of a planned wave
+ */
+public class WaveInventoryAllocatedEvent extends DomainEvent {
+
+    private final String waveId;
+    private final String warehouseId;
+    private final WavePriority priority;
+    private final LocalDateTime plannedReleaseTime;
+
+    public WaveInventoryAllocatedEvent(String waveId, String warehouseId, WavePriority priority,
+                                       LocalDateTime plannedReleaseTime) {
+        super();
+        this.waveId = waveId;
+        this.warehouseId = warehouseId;
+        this.priority = priority;
+        this.plannedReleaseTime = plannedReleaseTime;
+    }
+
+    public String getWaveId() {
+        return waveId;
+    }
+
+    @Override
+    public String aggregateId() {
+        return waveId;
+    }
+
+    public String getWarehouseId() {
+        return warehouseId;
+    }
+
+    public WavePriority getPriority() {
+        return priority;
+    }
+
+    public LocalDateTime getPlannedReleaseTime() {
+        return plannedReleaseTime;
+    }
+}
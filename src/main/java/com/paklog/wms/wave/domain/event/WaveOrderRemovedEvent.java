@@ -0,0 +1,65 @@
+package com.paklog.wms.wave.domain.event;
+
+import com.paklog.wave.planning.domain.shared.DomainEvent;
+
+import java.time.LocalDateTime;
+
+/**
+ * Domain event published when an order is removed from a planned wave
+ * e.g. because the order was cancelled before the wave was released
+ */
+public class WaveOrderRemovedEvent extends DomainEvent {
+
+    private final String waveId;
+    private final String orderId;
+    private final String warehouseId;
+    private final String assignedZone;
+    private final String reason;
+    private final int remainingOrders;
+    private final LocalDateTime removedAt;
+
+    public WaveOrderRemovedEvent(String waveId, String orderId, String warehouseId,
+                                 String assignedZone, String reason, int remainingOrders) {
+        super();
+        this.waveId = waveId;
+        this.orderId = orderId;
+        this.warehouseId = warehouseId;
+        this.assignedZone = assignedZone;
+        this.reason = reason;
+        this.remainingOrders = remainingOrders;
+        this.removedAt = LocalDateTime.now();
+    }
+
+    public String getWaveId() {
+        return waveId;
+    }
+
+    @Override
+    public String aggregateId() {
+        return waveId;
+    }
+
+    public String getOrderId() {
+        return orderId;
+    }
+
+    public String getWarehouseId() {
+        return warehouseId;
+    }
+
+    public String getAssignedZone() {
+        return assignedZone;
+    }
+
+    public String getReason() {
+        return reason;
+    }
+
+    public int getRemainingOrders() {
+        return remainingOrders;
+    }
+
+    public LocalDateTime getRemovedAt() {
+        return removedAt;
+    }
+}
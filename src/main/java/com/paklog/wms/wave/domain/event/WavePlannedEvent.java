@@ -35,6 +35,11 @@ public class WavePlannedEvent extends DomainEvent {
         return waveId;
     }
 
+    @Override
+    public String aggregateId() {
+        return waveId;
+    }
+
     public List<String> getOrderIds() {
         return orderIds;
     }
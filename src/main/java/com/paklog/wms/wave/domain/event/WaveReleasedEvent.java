@@ -18,9 +18,17 @@ public class WaveReleasedEvent extends DomainEvent {
     private final String assignedZone;
     private final WavePriority priority;
     private final LocalDateTime releasedAt;
+    private final Integer totalLines;
+    private final Integer totalUnits;
 
     public WaveReleasedEvent(String waveId, List<String> orderIds, String warehouseId,
                             String assignedZone, WavePriority priority) {
+        this(waveId, orderIds, warehouseId, assignedZone, priority, null, null);
+    }
+
+    public WaveReleasedEvent(String waveId, List<String> orderIds, String warehouseId,
+                            String assignedZone, WavePriority priority,
+                            Integer totalLines, Integer totalUnits) {
         super();
         this.waveId = waveId;
         this.orderIds = orderIds;
@@ -28,12 +36,19 @@ public class WaveReleasedEvent extends DomainEvent {
         this.assignedZone = assignedZone;
         this.priority = priority;
         this.releasedAt = LocalDateTime.now();
+        this.totalLines = totalLines;
+        this.totalUnits = totalUnits;
     }
 
     public String getWaveId() {
         return waveId;
     }
 
+    @Override
+    public String aggregateId() {
+        return waveId;
+    }
+
     public List<String> getOrderIds() {
         return orderIds;
     }
@@ -53,4 +68,12 @@ public class WaveReleasedEvent extends DomainEvent {
     public LocalDateTime getReleasedAt() {
         return releasedAt;
     }
+
+    public Integer getTotalLines() {
+        return totalLines;
+    }
+
+    public Integer getTotalUnits() {
+        return totalUnits;
+    }
 }
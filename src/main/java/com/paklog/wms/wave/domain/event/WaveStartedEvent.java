@@ -0,0 +1,45 @@
+package com.paklog.wms.wave.domain.event;
+
+import com.paklog.wave.planning.domain.shared.DomainEvent;
+
+import java.time.LocalDateTime;
+
+/**
+ * Domain event published when picking starts on a released wave
+ */
+public class WaveStartedEvent extends DomainEvent {
+
+    private final String waveId;
+    private final String warehouseId;
+    private final String assignedZone;
+    private final LocalDateTime startedAt;
+
+    public WaveStartedEvent(String waveId, String warehouseId, String assignedZone) {
+        super();
+        this.waveId = waveId;
+        this.warehouseId = warehouseId;
+        this.assignedZone = assignedZone;
+        this.startedAt = LocalDateTime.now();
+    }
+
+    public String getWaveId() {
+        return waveId;
+    }
+
+    @Override
+    public String aggregateId() {
+        return waveId;
+    }
+
+    public String getWarehouseId() {
+        return warehouseId;
+    }
+
+    public String getAssignedZone() {
+        return assignedZone;
+    }
+
+    public LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+}
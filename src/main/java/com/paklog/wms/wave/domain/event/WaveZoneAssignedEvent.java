@@ -0,0 +1,52 @@
+package com.paklog.wms.wave.domain.event;
+
+import com.paklog.wave.planning.domain.shared.DomainEvent;
+
+import java.time.LocalDateTime;
+
+/**
+ * Domain event published when a planned wave is assigned to a zone
+ */
+public class WaveZoneAssignedEvent extends DomainEvent {
+
+    private final String waveId;
+    private final String warehouseId;
+    private final String previousZone;
+    private final String assignedZone;
+    private final LocalDateTime plannedReleaseTime;
+
+    public WaveZoneAssignedEvent(String waveId, String warehouseId, String previousZone,
+                                String assignedZone, LocalDateTime plannedReleaseTime) {
+        super();
+        this.waveId = waveId;
+        this.warehouseId = warehouseId;
+        this.previousZone = previousZone;
+        this.assignedZone = assignedZone;
+        this.plannedReleaseTime = plannedReleaseTime;
+    }
+
+    public String getWaveId() {
+        return waveId;
+    }
+
+    @Override
+    public String aggregateId() {
+        return waveId;
+    }
+
+    public String getWarehouseId() {
+        return warehouseId;
+    }
+
+    public String getPreviousZone() {
+        return previousZone;
+    }
+
+    public String getAssignedZone() {
+        return assignedZone;
+    }
+
+    public LocalDateTime getPlannedReleaseTime() {
+        return plannedReleaseTime;
+    }
+}
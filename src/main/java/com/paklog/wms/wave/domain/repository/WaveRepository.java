@@ -8,21 +8,28 @@ import org.springframework.data.mongodb.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Repository interface for Wave aggregate
  * Provides MongoDB persistence operations
  */
 @Repository
-public interface WaveRepository extends MongoRepository<Wave, String> {
+public interface WaveRepository extends MongoRepository<Wave, String>, WaveRepositoryCustom {
 
     /**
      * Find waves by status
      */
     List<Wave> findByStatus(WaveStatus status);
 
+    /**
+     * Find waves in a status containing any of the given orders
+     */
+    List<Wave> findByStatusAndOrderIdsIn(WaveStatus status, Collection<String> orderIds);
+
     /**
      * Find waves by warehouse
      */
@@ -40,6 +47,13 @@ public interface WaveRepository extends MongoRepository<Wave, String> {
     @Query("{'status': ?0, 'plannedReleaseTime': {$lte: ?1}, 'inventoryAllocated': true}")
     List<Wave> findReadyToRelease(WaveStatus status, LocalDateTime time);
 
+    /**
+     * Stream waves ready to release from a database cursor
+     * The stream must be closed to release the cursor
+     */
+    @Query("{'status': ?0, 'plannedReleaseTime': {$lte: ?1}, 'inventoryAllocated': true}")
+    Stream<Wave> streamReadyToRelease(WaveStatus status, LocalDateTime time);
+
     /**
      * Find waves by zone
      */
@@ -0,0 +1,178 @@
+package com.paklog.wms.wave.domain.repository;
+
+import com.paklog.wms.wave.domain.aggregate.Wave;
+import com.paklog.wms.wave.domain.valueobject.WaveStatus;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Custom persistence operations for the Wave aggregate
+ * Targeted atomic updates that avoid a read-modify-write of the whole document
+ */
+public interface WaveRepositoryCustom {
+
+    /**
+     * Atomically remove an order from the PLANNED wave that contains it
+     * Pulls the order ID, bumps the version and decrements the order count
+     * in a single update without loading the aggregate
+     *
+     * @param orderId the order to remove
+     * @return the removal outcome, or empty if no PLANNED wave contains the order
+     */
+    Optional<WaveOrderRemoval> removeOrderFromPlannedWave(String orderId);
+
+    /**
+     * Persist only the given fields of a wave after a state transition
+     * Issues a single $set guarded by the wave's version and its status before
+     * the transition, and advances the aggregate's version on success
+     *
+     * @param wave the mutated aggregate
+     * @param expectedStatus status the stored wave must still be in
+     * @param fields fields changed by the transition
+     * @throws org.springframework.dao.OptimisticLockingFailureException if the
+     *         stored wave was modified concurrently or changed status
+     */
+    void updatePartial(Wave wave, WaveStatus expectedStatus, Set<WaveField> fields);
+
+    /**
+     * Persist partial updates of many waves in a single unordered bulk write
+     * Each update carries the same version and status guard as
+     * {@link #updatePartial}; waves whose guard did not match are reported
+     * instead of failing the whole batch
+     *
+     * @param updates the mutated aggregates with their expected status and changed fields
+     * @return IDs of the waves that were modified concurrently and not updated
+     */
+    Set<String> bulkUpdatePartial(List<PartialUpdate> updates);
+
+    /**
+     * Insert many new waves in a single unordered bulk write
+     * All or nothing within the caller's transaction: a failed insert throws
+     * and rolls the whole batch back.
+     *
+     * @param waves newly planned aggregates
+     */
+    void bulkInsert(List<Wave> waves);
+
+    /**
+     * Find one page of waves matching a search, ordered by wave ID
+     * Keyset pagination: the next page starts after the last wave ID of the
+     * previous one, so deep pages cost the same as the first
+     *
+     * @param search filters, cursor and projection
+     * @return up to {@code search.limit()} waves
+     */
+    List<Wave> findPage(WaveSearch search);
+
+    /**
+     * Stream all waves matching a search, ordered by wave ID, from a database cursor
+     * The stream must be closed to release the cursor
+     *
+     * @param search filters and projection; the limit is ignored
+     * @return waves in wave ID order
+     */
+    Stream<Wave> streamWaves(WaveSearch search);
+
+    /**
+     * Find one page of waves created in [from, to), ordered by creation time and wave ID
+     * Keyset pagination on (createdAt, wave ID), so each page is a range scan
+     * of the createdAt index; waves created while paging fall outside the
+     * window and do not shift the pages
+     *
+     * @param after return waves after this position, or null to start at the first
+     * @return up to {@code limit} waves
+     */
+    List<Wave> findCreatedBetween(LocalDateTime from, LocalDateTime to, WindowCursor after, int limit);
+
+    /**
+     * Find one page of a warehouse's waves created in [from, to), ordered by creation time and wave ID
+     * Same keyset pagination as {@link #findCreatedBetween(LocalDateTime, LocalDateTime, WindowCursor, int)}
+     */
+    List<Wave> findCreatedBetween(String warehouseId, LocalDateTime from, LocalDateTime to,
+                                  WindowCursor after, int limit);
+
+    /**
+     * Find one page of waves last modified in [from, to), ordered by modification time and wave ID
+     * Same keyset pagination as {@link #findCreatedBetween}, on lastModifiedAt;
+     * waves written before lastModifiedAt was recorded have none and never match
+     */
+    List<Wave> findModifiedBetween(LocalDateTime from, LocalDateTime to, WindowCursor after, int limit);
+
+    /**
+     * Wave fields that can be persisted through a partial update
+     */
+    enum WaveField {
+        STATUS("status"),
+        ASSIGNED_ZONE("assignedZone"),
+        ACTUAL_RELEASE_TIME("actualReleaseTime"),
+        COMPLETED_AT("completedAt"),
+        INVENTORY_ALLOCATED("inventoryAllocated"),
+        ALLOCATED_ORDER_IDS("allocatedOrderIds"),
+        METRICS("metrics");
+
+        private final String path;
+
+        WaveField(String path) {
+            this.path = path;
+        }
+
+        public String path() {
+            return path;
+        }
+    }
+
+    /**
+     * Filters, keyset cursor and projection for wave listings
+     *
+     * @param statuses statuses to include, or empty for any status
+     * @param warehouseId warehouse to include, or null for any warehouse
+     * @param afterWaveId return waves with IDs after this one, or null to start at the first
+     * @param limit maximum number of waves in a page
+     * @param includeOrderIds whether to load the order ID list of each wave
+     */
+    record WaveSearch(
+            Set<WaveStatus> statuses,
+            String warehouseId,
+            String afterWaveId,
+            int limit,
+            boolean includeOrderIds
+    ) {
+    }
+
+    /**
+     * Position in a time window listing: the timestamp the window is on and
+     * the wave ID of the last wave returned
+     */
+    record WindowCursor(
+            LocalDateTime timestamp,
+            String waveId
+    ) {
+    }
+
+    /**
+     * A wave state transition to persist through a bulk partial update
+     */
+    record PartialUpdate(
+            Wave wave,
+            WaveStatus expectedStatus,
+            Set<WaveField> fields
+    ) {
+    }
+
+    /**
+     * Outcome of an atomic order removal
+     */
+    record WaveOrderRemoval(
+            String waveId,
+            String warehouseId,
+            String assignedZone,
+            int remainingOrders,
+            boolean inventoryAllocated,
+            Long version
+    ) {
+    }
+}
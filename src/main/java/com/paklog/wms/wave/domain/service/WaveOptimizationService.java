@@ -523,6 +523,52 @@ public class WaveOptimizationService {
                 after.getEstimatedCompletionTime());
     }
 
+    /**
+     * Split short orders out of a planned wave
+     * The short orders move to a new held wave that keeps the wave's planned
+     * release time and zone but has no inventory allocated, so it is released
+     * once inventory is allocated for its orders; the remaining orders keep
+     * their sequence and can be released without waiting on the shortage.
+     *
+     * @return the held wave, or empty if the wave contains none of the short
+     *         orders or every order in it is short
+     */
+    public Optional<Wave> splitShortOrders(Wave wave, Set<String> shortOrderIds) {
+        List<String> heldOrderIds = wave.getOrderIds().stream()
+                .filter(shortOrderIds::contains)
+                .collect(Collectors.toList());
+
+        if (heldOrderIds.isEmpty()) {
+            return Optional.empty();
+        }
+
+        if (heldOrderIds.size() == wave.orderCount()) {
+            logger.info("All {} orders of wave {} are short, keeping wave intact",
+                    heldOrderIds.size(), wave.getWaveId());
+            return Optional.empty();
+        }
+
+        wave.removeOrders(heldOrderIds);
+
+        Wave heldWave = new Wave();
+        heldWave.setWaveId(WaveId.generate().getValue());
+        heldWave.plan(
+                heldOrderIds,
+                wave.getStrategy(),
+                wave.getWarehouseId(),
+                wave.getPriority(),
+                wave.getPlannedReleaseTime()
+        );
+        if (wave.getAssignedZone() != null) {
+            heldWave.assignZone(wave.getAssignedZone());
+        }
+
+        logger.info("Split {} short orders from wave {} into held wave {}, {} orders remaining",
+                heldOrderIds.size(), wave.getWaveId(), heldWave.getWaveId(), wave.orderCount());
+
+        return Optional.of(heldWave);
+    }
+
     /**
      * Optimization criteria configuration
      */
@@ -0,0 +1,51 @@
+package com.paklog.wms.wave.infrastructure.cache;
+
+import com.paklog.wms.wave.infrastructure.stream.WaveChangeStream;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.header.Header;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Invalidates cached waves changed by other instances and streams their changes
+ * Every instance reads the outbox topic in its own consumer group, named
+ * after its host (the pod name on Kubernetes), so a restarted container
+ * resumes from its committed offset instead of creating a new group. The
+ * record key is the wave ID; the payload is only read by the change stream,
+ * which also needs the CloudEvents type from the ce_type header. An invalidation
+ * only drops the cached entry and the next read loads the wave from Mongo,
+ * so a replayed, late or out-of-order record costs at most one extra load
+ * and can never leave an older version in the cache.
+ */
+@Component
+@ConditionalOnProperty(prefix = "paklog.waves.cache.outbox-invalidation", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class WaveCacheInvalidationListener {
+
+    static final String EVENT_TYPE_HEADER = "ce_type";
+
+    private final WaveReadCache waveReadCache;
+    private final WaveChangeStream waveChangeStream;
+
+    public WaveCacheInvalidationListener(WaveReadCache waveReadCache, WaveChangeStream waveChangeStream) {
+        this.waveReadCache = waveReadCache;
+        this.waveChangeStream = waveChangeStream;
+    }
+
+    @KafkaListener(
+            topics = "${wave-planning.kafka.topic:wave-planning-events}",
+            groupId = "${paklog.waves.cache.outbox-invalidation.group-id:wave-planning-cache-${HOSTNAME:local}}",
+            containerFactory = "waveCacheInvalidationContainerFactory",
+            properties = "auto.offset.reset=latest"
+    )
+    public void onWaveEvent(ConsumerRecord<String, byte[]> record) {
+        waveReadCache.invalidate(record.key());
+
+        Header eventType = record.headers().lastHeader(EVENT_TYPE_HEADER);
+        if (eventType != null) {
+            waveChangeStream.onOutboxEvent(new String(eventType.value(), StandardCharsets.UTF_8), record.value());
+        }
+    }
+}
@@ -0,0 +1,239 @@
+package com.paklog.wms.wave.infrastructure.cache;
+
+import com.paklog.wave.planning.domain.shared.DomainEvent;
+import com.paklog.wms.wave.domain.aggregate.Wave;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * Bounded read cache of waves by ID
+ * Entries are weighed by their number of orders and evicted least recently
+ * used once the total weight exceeds the maximum, or when they expire.
+ * A wave is invalidated after every committed change to it, from the
+ * service's own domain events and, for changes made by other instances,
+ * from the outbox topic. Writes that register no domain event, such as
+ * partial inventory allocation, invalidate the wave explicitly after their
+ * commit. A load that overlaps an invalidation is returned
+ * but not cached, so a stale version is never stored after the change.
+ * Cached waves are shared between readers and must not be modified.
+ */
+@Component
+public class WaveReadCache {
+
+    private final long maxWeight;
+    private final long ttlNanos;
+
+    // A lock rather than a monitor: request threads may be virtual, and
+    // contending for a monitor pins their carrier thread
+    private final ReentrantLock lock = new ReentrantLock();
+    // Access-ordered; guarded by lock. Values are CachedWave or a loading token
+    private final LinkedHashMap<String, Object> entries = new LinkedHashMap<>(256, 0.75f, true);
+    private long weight;
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter sizeEvictions;
+    private final Counter expirations;
+    private final Counter invalidations;
+
+    public WaveReadCache(MeterRegistry meterRegistry,
+                         @Value("${paklog.waves.cache.max-weight:500000}") long maxWeight,
+                         @Value("${paklog.waves.cache.ttl:PT5M}") Duration ttl) {
+        this.maxWeight = maxWeight;
+        this.ttlNanos = ttl.toNanos();
+
+        this.hits = requests(meterRegistry, "hit");
+        this.misses = requests(meterRegistry, "miss");
+        this.sizeEvictions = evictions(meterRegistry, "size");
+        this.expirations = evictions(meterRegistry, "expired");
+        this.invalidations = evictions(meterRegistry, "invalidated");
+
+        Gauge.builder("wave.cache.size", this, WaveReadCache::size)
+                .description("Waves held in the read cache")
+                .tag("service", "wave-planning")
+                .register(meterRegistry);
+        Gauge.builder("wave.cache.weight", this, WaveReadCache::weight)
+                .description("Total weight (1 + order count per wave) of the read cache")
+                .tag("service", "wave-planning")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Cached wave, or the wave from the loader which is cached unless it changed meanwhile
+     */
+    public Wave get(String waveId, Function<String, Wave> loader) {
+        Object token;
+        lock.lock();
+        try {
+            Object entry = entries.get(waveId);
+            if (entry instanceof CachedWave cached) {
+                if (System.nanoTime() - cached.loadedAtNanos() < ttlNanos) {
+                    hits.increment();
+                    return cached.wave();
+                }
+                remove(waveId);
+                expirations.increment();
+                entry = null;
+            }
+            misses.increment();
+            if (entry != null) {
+                // Another reader is loading this wave; load without caching
+                token = null;
+            } else {
+                token = new Object();
+                entries.put(waveId, token);
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        Wave wave;
+        try {
+            wave = loader.apply(waveId);
+        } catch (RuntimeException e) {
+            if (token != null) {
+                lock.lock();
+                try {
+                    entries.remove(waveId, token);
+                } finally {
+                    lock.unlock();
+                }
+            }
+            throw e;
+        }
+
+        if (token != null) {
+            store(waveId, token, wave);
+        }
+        return wave;
+    }
+
+    public void invalidate(String waveId) {
+        if (waveId == null) {
+            return;
+        }
+        lock.lock();
+        try {
+            if (remove(waveId) != null) {
+                invalidations.increment();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Invalidate a wave once the current transaction completes, or now outside of one
+     * For writes that register no domain event to invalidate it
+     */
+    public void invalidateAfterCommit(String waveId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            invalidate(waveId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                invalidate(waveId);
+            }
+        });
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onWaveChanged(DomainEvent event) {
+        invalidate(event.aggregateId());
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long weight() {
+        lock.lock();
+        try {
+            return weight;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void store(String waveId, Object token, Wave wave) {
+        CachedWave cached = new CachedWave(wave, weigh(wave), System.nanoTime());
+        lock.lock();
+        try {
+            if (entries.get(waveId) != token) {
+                // Invalidated while loading
+                return;
+            }
+            if (cached.weight() > maxWeight) {
+                entries.remove(waveId);
+                return;
+            }
+            entries.put(waveId, cached);
+            weight += cached.weight();
+            evictToMaxWeight();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void evictToMaxWeight() {
+        Iterator<Map.Entry<String, Object>> eldest = entries.entrySet().iterator();
+        while (weight > maxWeight && eldest.hasNext()) {
+            if (eldest.next().getValue() instanceof CachedWave cached) {
+                eldest.remove();
+                weight -= cached.weight();
+                sizeEvictions.increment();
+            }
+        }
+    }
+
+    private Object remove(String waveId) {
+        Object removed = entries.remove(waveId);
+        if (removed instanceof CachedWave cached) {
+            weight -= cached.weight();
+        }
+        return removed;
+    }
+
+    private int weigh(Wave wave) {
+        return 1 + (wave.getOrderIds() != null ? wave.getOrderIds().size() : 0);
+    }
+
+    private Counter requests(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("wave.cache.requests")
+                .description("Wave read cache lookups")
+                .tag("service", "wave-planning")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private Counter evictions(MeterRegistry meterRegistry, String cause) {
+        return Counter.builder("wave.cache.evictions")
+                .description("Waves removed from the read cache")
+                .tag("service", "wave-planning")
+                .tag("cause", cause)
+                .register(meterRegistry);
+    }
+
+    private record CachedWave(Wave wave, int weight, long loadedAtNanos) {
+    }
+}
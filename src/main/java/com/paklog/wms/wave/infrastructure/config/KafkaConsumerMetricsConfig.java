@@ -0,0 +1,51 @@
+package com.paklog.wms.wave.infrastructure.config;
+
+import com.paklog.wms.wave.infrastructure.events.OrderEventMetrics;
+import com.paklog.wms.wave.infrastructure.events.TimedDeserializer;
+import org.apache.kafka.common.serialization.Deserializer;
+import org.springframework.beans.BeanUtils;
+import org.springframework.boot.autoconfigure.kafka.DefaultKafkaConsumerFactoryCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.support.serializer.ErrorHandlingDeserializer;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+import org.springframework.util.ClassUtils;
+
+/**
+ * Kafka consumer instrumentation
+ * Wraps the value deserializer configured as the ErrorHandlingDeserializer's
+ * delegate (spring.deserializer.value.delegate.class, JSON if unset) so
+ * deserialization time is recorded per event type; which deserializer runs
+ * for each topic is still decided by spring.kafka.consumer.*.
+ * The ErrorHandlingDeserializer stays outermost: the listener container only
+ * hands deserialization failures to the error handler, and from there to the
+ * dead letter topic, when it recognises the configured deserializer as one.
+ */
+@Configuration
+public class KafkaConsumerMetricsConfig {
+
+    @Bean
+    @SuppressWarnings("unchecked")
+    public DefaultKafkaConsumerFactoryCustomizer timedValueDeserializerCustomizer(OrderEventMetrics eventMetrics) {
+        return consumerFactory -> {
+            DefaultKafkaConsumerFactory<Object, Object> factory =
+                    (DefaultKafkaConsumerFactory<Object, Object>) consumerFactory;
+            Object delegateClass = factory.getConfigurationProperties()
+                    .get(ErrorHandlingDeserializer.VALUE_DESERIALIZER_CLASS);
+            factory.setValueDeserializerSupplier(() -> new ErrorHandlingDeserializer<>(
+                    new TimedDeserializer<>(delegate(delegateClass), eventMetrics)));
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Deserializer<Object> delegate(Object delegateClass) {
+        if (delegateClass == null) {
+            return new JsonDeserializer<>();
+        }
+        Class<?> type = delegateClass instanceof Class<?> clazz
+                ? clazz
+                : ClassUtils.resolveClassName(delegateClass.toString(), ClassUtils.getDefaultClassLoader());
+        return (Deserializer<Object>) BeanUtils.instantiateClass(type);
+    }
+}
@@ -0,0 +1,90 @@
+package com.paklog.wms.wave.infrastructure.config;
+
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.common.serialization.Serializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.core.ProducerFactory;
+import org.springframework.kafka.retrytopic.DltStrategy;
+import org.springframework.kafka.retrytopic.RetryTopicConfiguration;
+import org.springframework.kafka.retrytopic.RetryTopicConfigurationBuilder;
+import org.springframework.kafka.support.serializer.DelegatingByTypeSerializer;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Kafka configuration for non-blocking retry topics and dead letter topics
+ * Failed consumer records are republished with this template to the
+ * retry topics, the DLT, and (on replay) back to their original topic
+ */
+@Configuration
+public class KafkaRetryConfig {
+
+    @Value("${spring.kafka.bootstrap-servers}")
+    private String bootstrapServers;
+
+    @Bean
+    public ProducerFactory<String, Object> retryTopicProducerFactory() {
+        Map<String, Object> config = new HashMap<>();
+        config.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        config.put(ProducerConfig.ACKS_CONFIG, "all");
+        config.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true);
+
+        // Records that failed deserialization are dead-lettered as their raw bytes
+        Map<Class<?>, Serializer<?>> valueSerializers = new LinkedHashMap<>();
+        valueSerializers.put(byte[].class, new ByteArraySerializer());
+        valueSerializers.put(Object.class, new JsonSerializer<>());
+
+        return new DefaultKafkaProducerFactory<>(config, new StringSerializer(),
+                new DelegatingByTypeSerializer(valueSerializers, true));
+    }
+
+    @Bean
+    public KafkaTemplate<String, Object> retryTopicKafkaTemplate(
+            ProducerFactory<String, Object> retryTopicProducerFactory
+    ) {
+        return new KafkaTemplate<>(retryTopicProducerFactory);
+    }
+
+    /**
+     * Retry topics and DLT for the order and inventory event listeners
+     * Business rule violations skip the retry topics and go straight to the
+     * DLT, as do records that could not be deserialized.
+     */
+    @Bean
+    public RetryTopicConfiguration orderEventRetryTopics(
+            KafkaTemplate<String, Object> retryTopicKafkaTemplate,
+            @Value("${paklog.kafka.topics.order-events:wms-order-events}") String orderEventsTopic,
+            @Value("${paklog.kafka.topics.inventory-events:wms-inventory-events}") String inventoryEventsTopic,
+            @Value("${paklog.kafka.retry.attempts:4}") int attempts,
+            @Value("${paklog.kafka.retry.initial-delay-ms:1000}") long initialDelayMs,
+            @Value("${paklog.kafka.retry.multiplier:5.0}") double multiplier,
+            @Value("${paklog.kafka.retry.max-delay-ms:60000}") long maxDelayMs,
+            @Value("${paklog.kafka.retry.auto-create-topics:true}") boolean autoCreateTopics
+    ) {
+        return RetryTopicConfigurationBuilder.newInstance()
+                .includeTopics(List.of(orderEventsTopic, inventoryEventsTopic))
+                .maxAttempts(attempts)
+                .exponentialBackoff(initialDelayMs, multiplier, maxDelayMs)
+                .autoCreateTopics(autoCreateTopics, -1, (short) -1)
+                .dltProcessingFailureStrategy(DltStrategy.FAIL_ON_ERROR)
+                .dltHandlerMethod("orderEventHandler", "handleDeadLetter")
+                .notRetryOn(List.of(
+                        IllegalArgumentException.class,
+                        IllegalStateException.class,
+                        ClassCastException.class,
+                        NullPointerException.class
+                ))
+                .traversingCauses()
+                .create(retryTopicKafkaTemplate);
+    }
+}
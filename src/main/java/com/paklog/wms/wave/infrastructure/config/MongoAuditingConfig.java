@@ -0,0 +1,15 @@
+package com.paklog.wms.wave.infrastructure.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.mongodb.config.EnableMongoAuditing;
+
+/**
+ * Spring Data auditing for MongoDB documents
+ * Stamps @LastModifiedDate fields on every save and insert, including bulk
+ * inserts. Update-based writes (partial and bulk updates) stamp the field
+ * themselves in the repository.
+ */
+@Configuration
+@EnableMongoAuditing
+public class MongoAuditingConfig {
+}
@@ -0,0 +1,76 @@
+package com.paklog.wms.wave.infrastructure.config;
+
+import com.mongodb.ReadConcern;
+import com.mongodb.ReadPreference;
+import com.mongodb.TransactionOptions;
+import com.mongodb.WriteConcern;
+import com.paklog.wms.wave.infrastructure.persistence.RetryingMongoTransactionManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.mongodb.MongoDatabaseFactory;
+import org.springframework.data.mongodb.MongoTransactionManager;
+import org.springframework.transaction.annotation.EnableTransactionManagement;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * MongoDB multi-document transactions for the wave + outbox unit of work
+ * Registers the transaction manager behind @Transactional so the wave write
+ * and its outbox events commit atomically. Transactions need a replica set
+ * (a single-node one will do). They are on unless
+ * paklog.mongo.transactions.enabled is false, which is only meant for local
+ * runs against a standalone mongod: without them a crash between the wave
+ * write and the outbox write can lose or orphan an outbox event.
+ * Sessions opened by the transaction manager are causally consistent.
+ */
+@Configuration
+@EnableTransactionManagement
+@ConditionalOnProperty(prefix = "paklog.mongo.transactions", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class MongoTransactionConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(MongoTransactionConfig.class);
+
+    @Bean
+    public MongoTransactionManager transactionManager(
+            MongoDatabaseFactory databaseFactory,
+            @Value("${paklog.mongo.transactions.write-concern:majority}") String writeConcern,
+            @Value("${paklog.mongo.transactions.journal:true}") boolean journal,
+            @Value("${paklog.mongo.transactions.read-concern:majority}") String readConcern,
+            @Value("${paklog.mongo.transactions.max-commit-time:PT5S}") Duration maxCommitTime,
+            @Value("${paklog.mongo.transactions.commit-attempts:3}") int commitAttempts,
+            @Value("${paklog.mongo.transactions.retry-delay:PT0.1S}") Duration retryDelay) {
+        TransactionOptions options = transactionOptions(writeConcern, journal, readConcern, maxCommitTime);
+        logger.info("MongoDB transactions enabled: writeConcern={}, readConcern={}, maxCommitTime={}",
+                options.getWriteConcern(), options.getReadConcern().asDocument(), maxCommitTime);
+        return new RetryingMongoTransactionManager(databaseFactory, options, commitAttempts, retryDelay);
+    }
+
+    static TransactionOptions transactionOptions(String writeConcern, boolean journal,
+                                                 String readConcern, Duration maxCommitTime) {
+        WriteConcern concern = WriteConcern.valueOf(writeConcern);
+        if (concern == null) {
+            throw new IllegalArgumentException("Unknown write concern: " + writeConcern);
+        }
+
+        return TransactionOptions.builder()
+                .writeConcern(concern.withJournal(journal))
+                .readConcern(readConcern(readConcern))
+                .readPreference(ReadPreference.primary())
+                .maxCommitTime(maxCommitTime.toMillis(), TimeUnit.MILLISECONDS)
+                .build();
+    }
+
+    private static ReadConcern readConcern(String level) {
+        return switch (level.toLowerCase()) {
+            case "local" -> ReadConcern.LOCAL;
+            case "majority" -> ReadConcern.MAJORITY;
+            case "snapshot" -> ReadConcern.SNAPSHOT;
+            default -> throw new IllegalArgumentException("Unsupported transaction read concern: " + level);
+        };
+    }
+}
@@ -0,0 +1,44 @@
+package com.paklog.wms.wave.infrastructure.config;
+
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
+import org.springframework.boot.ssl.SslBundles;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+
+/**
+ * Consumer for wave cache invalidation from the outbox topic
+ * Separate from the JSON consumer factory because outbox records are
+ * CloudEvents: values are read as raw bytes and only parsed by the wave
+ * change stream. Like the auto-configured factory, its consumer threads are
+ * virtual when virtual threads are enabled.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "paklog.waves.cache.outbox-invalidation", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class WaveCacheConfig {
+
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, byte[]> waveCacheInvalidationContainerFactory(
+            KafkaProperties kafkaProperties, ObjectProvider<SslBundles> sslBundles,
+            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        DefaultKafkaConsumerFactory<String, byte[]> consumerFactory = new DefaultKafkaConsumerFactory<>(
+                kafkaProperties.buildConsumerProperties(sslBundles.getIfAvailable()),
+                new StringDeserializer(),
+                new ByteArrayDeserializer());
+
+        ConcurrentKafkaListenerContainerFactory<String, byte[]> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(consumerFactory);
+        if (virtualThreads) {
+            factory.getContainerProperties().setListenerTaskExecutor(
+                    new VirtualThreadTaskExecutor("wave-cache-invalidation-"));
+        }
+        return factory;
+    }
+}
@@ -0,0 +1,145 @@
+package com.paklog.wms.wave.infrastructure.deadletter;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Event that exhausted its retry topics and landed on a dead letter topic
+ * Persisted in MongoDB so it can be inspected and replayed to its original topic
+ */
+public class DeadLetterEvent {
+
+    private String id;
+    private String originalTopic;
+    private String messageKey;
+    private String eventType;
+    private Map<String, Object> payload;
+    // Record value as received when it is not a JSON object
+    private byte[] rawPayload;
+    private String exceptionMessage;
+    private DeadLetterStatus status;
+    private LocalDateTime receivedAt;
+    private LocalDateTime replayedAt;
+    private int replayCount;
+
+    public DeadLetterEvent() {
+        this.id = UUID.randomUUID().toString();
+        this.status = DeadLetterStatus.PENDING;
+        this.receivedAt = LocalDateTime.now();
+        this.replayCount = 0;
+    }
+
+    public DeadLetterEvent(String originalTopic, String messageKey, Map<String, Object> payload,
+                           String exceptionMessage) {
+        this();
+        this.originalTopic = originalTopic;
+        this.messageKey = messageKey;
+        this.payload = payload;
+        this.eventType = payload != null ? (String) payload.get("type") : null;
+        this.exceptionMessage = exceptionMessage;
+    }
+
+    public DeadLetterEvent(String originalTopic, String messageKey, byte[] rawPayload, String exceptionMessage) {
+        this();
+        this.originalTopic = originalTopic;
+        this.messageKey = messageKey;
+        this.rawPayload = rawPayload;
+        this.exceptionMessage = exceptionMessage;
+    }
+
+    public void markAsReplayed() {
+        this.status = DeadLetterStatus.REPLAYED;
+        this.replayedAt = LocalDateTime.now();
+        this.replayCount++;
+    }
+
+    // Getters and setters
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getOriginalTopic() {
+        return originalTopic;
+    }
+
+    public void setOriginalTopic(String originalTopic) {
+        this.originalTopic = originalTopic;
+    }
+
+    public String getMessageKey() {
+        return messageKey;
+    }
+
+    public void setMessageKey(String messageKey) {
+        this.messageKey = messageKey;
+    }
+
+    public String getEventType() {
+        return eventType;
+    }
+
+    public void setEventType(String eventType) {
+        this.eventType = eventType;
+    }
+
+    public Map<String, Object> getPayload() {
+        return payload;
+    }
+
+    public void setPayload(Map<String, Object> payload) {
+        this.payload = payload;
+    }
+
+    public byte[] getRawPayload() {
+        return rawPayload;
+    }
+
+    public void setRawPayload(byte[] rawPayload) {
+        this.rawPayload = rawPayload;
+    }
+
+    public String getExceptionMessage() {
+        return exceptionMessage;
+    }
+
+    public void setExceptionMessage(String exceptionMessage) {
+        this.exceptionMessage = exceptionMessage;
+    }
+
+    public DeadLetterStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(DeadLetterStatus status) {
+        this.status = status;
+    }
+
+    public LocalDateTime getReceivedAt() {
+        return receivedAt;
+    }
+
+    public void setReceivedAt(LocalDateTime receivedAt) {
+        this.receivedAt = receivedAt;
+    }
+
+    public LocalDateTime getReplayedAt() {
+        return replayedAt;
+    }
+
+    public void setReplayedAt(LocalDateTime replayedAt) {
+        this.replayedAt = replayedAt;
+    }
+
+    public int getReplayCount() {
+        return replayCount;
+    }
+
+    public void setReplayCount(int replayCount) {
+        this.replayCount = replayCount;
+    }
+}
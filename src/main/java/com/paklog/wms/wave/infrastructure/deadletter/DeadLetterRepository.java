@@ -0,0 +1,50 @@
+package com.paklog.wms.wave.infrastructure.deadletter;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * MongoDB storage for dead-lettered consumer events
+ */
+@Repository
+public class DeadLetterRepository {
+
+    private static final String DEAD_LETTER_COLLECTION = "dead_letter_events";
+
+    private final MongoTemplate mongoTemplate;
+
+    public DeadLetterRepository(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    public DeadLetterEvent save(DeadLetterEvent event) {
+        mongoTemplate.save(event, DEAD_LETTER_COLLECTION);
+        return event;
+    }
+
+    public Optional<DeadLetterEvent> findById(String id) {
+        Query query = new Query(Criteria.where("_id").is(id));
+        return Optional.ofNullable(mongoTemplate.findOne(query, DeadLetterEvent.class, DEAD_LETTER_COLLECTION));
+    }
+
+    /**
+     * Find dead letters by status, oldest first
+     */
+    public List<DeadLetterEvent> findByStatus(DeadLetterStatus status, int limit) {
+        Query query = new Query(Criteria.where("status").is(status))
+                .with(Sort.by(Sort.Direction.ASC, "receivedAt"))
+                .limit(limit);
+        return mongoTemplate.find(query, DeadLetterEvent.class, DEAD_LETTER_COLLECTION);
+    }
+
+    public long countByStatus(DeadLetterStatus status) {
+        Query query = new Query(Criteria.where("status").is(status));
+        return mongoTemplate.count(query, DEAD_LETTER_COLLECTION);
+    }
+}
@@ -0,0 +1,153 @@
+package com.paklog.wms.wave.infrastructure.deadletter;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records events that exhausted their retry topics and replays them on demand
+ * Replay publishes the original payload back to the original topic, so the
+ * regular listener (and its retry topics) process it again. A record that
+ * was never a valid JSON object is kept and replayed as its raw bytes.
+ */
+@Service
+public class DeadLetterService {
+
+    private static final Logger logger = LoggerFactory.getLogger(DeadLetterService.class);
+    private static final long REPLAY_SEND_TIMEOUT_SECONDS = 10;
+    private static final TypeReference<Map<String, Object>> PAYLOAD_TYPE = new TypeReference<>() {
+    };
+
+    private final DeadLetterRepository deadLetterRepository;
+    private final KafkaTemplate<String, Object> retryTopicKafkaTemplate;
+    private final ObjectMapper objectMapper;
+
+    public DeadLetterService(
+            DeadLetterRepository deadLetterRepository,
+            KafkaTemplate<String, Object> retryTopicKafkaTemplate,
+            ObjectMapper objectMapper
+    ) {
+        this.deadLetterRepository = deadLetterRepository;
+        this.retryTopicKafkaTemplate = retryTopicKafkaTemplate;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Park an event that could not be processed
+     */
+    public DeadLetterEvent record(String originalTopic, String messageKey, Map<String, Object> payload,
+                                  String exceptionMessage) {
+        return save(new DeadLetterEvent(originalTopic, messageKey, payload, exceptionMessage));
+    }
+
+    /**
+     * Park a record as read from a dead letter topic
+     * A value that is not a JSON object, such as one that failed
+     * deserialization, is kept as its raw bytes
+     */
+    public DeadLetterEvent record(String originalTopic, String messageKey, byte[] value,
+                                  String exceptionMessage) {
+        Map<String, Object> payload = parse(value);
+        return save(payload != null
+                ? new DeadLetterEvent(originalTopic, messageKey, payload, exceptionMessage)
+                : new DeadLetterEvent(originalTopic, messageKey, value, exceptionMessage));
+    }
+
+    /**
+     * Find dead letters that have not been replayed yet
+     */
+    public List<DeadLetterEvent> findPending(int limit) {
+        return deadLetterRepository.findByStatus(DeadLetterStatus.PENDING, limit);
+    }
+
+    /**
+     * Replay a single dead letter to its original topic
+     */
+    public DeadLetterEvent replay(String id) {
+        DeadLetterEvent event = deadLetterRepository.findById(id)
+                .orElseThrow(() -> new DeadLetterNotFoundException(id));
+        return replay(event);
+    }
+
+    /**
+     * Replay the oldest pending dead letters to their original topics
+     * @param limit maximum number of events to replay
+     * @return the replayed events
+     */
+    public List<DeadLetterEvent> replayPending(int limit) {
+        List<DeadLetterEvent> pending = findPending(limit);
+        pending.forEach(this::replay);
+
+        logger.info("Replayed {} dead-lettered events", pending.size());
+        return pending;
+    }
+
+    private DeadLetterEvent replay(DeadLetterEvent event) {
+        if (event.getOriginalTopic() == null) {
+            throw new IllegalStateException("Dead letter " + event.getId() + " has no original topic");
+        }
+
+        Object value = event.getPayload() != null ? event.getPayload() : event.getRawPayload();
+        try {
+            retryTopicKafkaTemplate.send(event.getOriginalTopic(), event.getMessageKey(), value)
+                    .get(REPLAY_SEND_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DeadLetterReplayException("Interrupted while replaying dead letter " + event.getId(), e);
+        } catch (Exception e) {
+            throw new DeadLetterReplayException("Failed to replay dead letter " + event.getId(), e);
+        }
+
+        event.markAsReplayed();
+        deadLetterRepository.save(event);
+
+        logger.info("Replayed dead letter {} ({}) to topic {}",
+                event.getId(), event.getEventType(), event.getOriginalTopic());
+        return event;
+    }
+
+    private DeadLetterEvent save(DeadLetterEvent event) {
+        deadLetterRepository.save(event);
+
+        logger.error("Dead-lettered {} from topic {}: {}",
+                event.getEventType(), event.getOriginalTopic(), event.getExceptionMessage());
+        return event;
+    }
+
+    private Map<String, Object> parse(byte[] value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return objectMapper.readValue(value, PAYLOAD_TYPE);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Exception thrown when a dead letter is not found
+     */
+    public static class DeadLetterNotFoundException extends RuntimeException {
+        public DeadLetterNotFoundException(String id) {
+            super("Dead letter not found: " + id);
+        }
+    }
+
+    /**
+     * Exception thrown when a dead letter cannot be republished
+     */
+    public static class DeadLetterReplayException extends RuntimeException {
+        public DeadLetterReplayException(String message, Throwable cause) {
+            super(message, cause);
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.paklog.wms.wave.infrastructure.deadletter;
+
+/**
+ * Status of an event parked on a dead letter topic
+ */
+public enum DeadLetterStatus {
+    PENDING,
+    REPLAYED
+}
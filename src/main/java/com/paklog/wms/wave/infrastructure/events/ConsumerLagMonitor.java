@@ -0,0 +1,135 @@
+package com.paklog.wms.wave.infrastructure.events;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.apache.kafka.clients.admin.Admin;
+import org.apache.kafka.clients.admin.AdminClient;
+import org.apache.kafka.clients.admin.ListOffsetsResult.ListOffsetsResultInfo;
+import org.apache.kafka.clients.admin.OffsetSpec;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.core.KafkaAdmin;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Publishes consumer lag per topic partition for the wave planning consumer group
+ * Lag is computed from the group's committed offsets and the partitions' end
+ * offsets through the admin client, so it keeps updating even when the
+ * consumers themselves are stalled.
+ */
+@Component
+@ConditionalOnProperty(name = "paklog.kafka.lag-monitor.enabled", havingValue = "true", matchIfMissing = true)
+public class ConsumerLagMonitor {
+
+    private static final Logger logger = LoggerFactory.getLogger(ConsumerLagMonitor.class);
+
+    private static final long ADMIN_TIMEOUT_SECONDS = 10;
+
+    private final KafkaAdmin kafkaAdmin;
+    private final MeterRegistry meterRegistry;
+    private final String groupId;
+
+    private final Map<TopicPartition, AtomicLong> partitionLag = new ConcurrentHashMap<>();
+    private volatile Admin adminClient;
+
+    public ConsumerLagMonitor(KafkaAdmin kafkaAdmin,
+                              MeterRegistry meterRegistry,
+                              @Value("${paklog.kafka.consumer.group-id:wave-planning-service}") String groupId) {
+        this.kafkaAdmin = kafkaAdmin;
+        this.meterRegistry = meterRegistry;
+        this.groupId = groupId;
+    }
+
+    @Scheduled(fixedDelayString = "${paklog.kafka.lag-monitor.interval-ms:30000}")
+    public void refresh() {
+        try {
+            refreshLag(admin());
+        } catch (TimeoutException | ExecutionException e) {
+            logger.warn("Failed to refresh consumer lag for group {}: {}", groupId, e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Recompute lag for every partition the group has committed offsets for
+     */
+    void refreshLag(Admin admin) throws ExecutionException, InterruptedException, TimeoutException {
+        Map<TopicPartition, OffsetAndMetadata> committed = admin.listConsumerGroupOffsets(groupId)
+                .partitionsToOffsetAndMetadata()
+                .get(ADMIN_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+
+        if (committed.isEmpty()) {
+            return;
+        }
+
+        Map<TopicPartition, OffsetSpec> latest = new HashMap<>();
+        committed.keySet().forEach(partition -> latest.put(partition, OffsetSpec.latest()));
+
+        Map<TopicPartition, ListOffsetsResultInfo> endOffsets = admin.listOffsets(latest)
+                .all()
+                .get(ADMIN_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+
+        committed.forEach((partition, offset) -> {
+            ListOffsetsResultInfo end = endOffsets.get(partition);
+            if (offset == null || end == null) {
+                return;
+            }
+            long lag = Math.max(0, end.offset() - offset.offset());
+            lagHolder(partition).set(lag);
+        });
+    }
+
+    /**
+     * Current lag for a partition, or -1 if it has not been observed yet
+     */
+    public long lag(TopicPartition partition) {
+        AtomicLong lag = partitionLag.get(partition);
+        return lag != null ? lag.get() : -1;
+    }
+
+    private AtomicLong lagHolder(TopicPartition partition) {
+        return partitionLag.computeIfAbsent(partition, tp -> {
+            AtomicLong holder = new AtomicLong();
+            Gauge.builder("kafka.consumer.group.lag", holder, AtomicLong::get)
+                    .description("Records between the group's committed offset and the partition end")
+                    .tag("service", "wave-planning")
+                    .tag("group", groupId)
+                    .tag("topic", tp.topic())
+                    .tag("partition", String.valueOf(tp.partition()))
+                    .register(meterRegistry);
+            return holder;
+        });
+    }
+
+    private Admin admin() {
+        Admin admin = adminClient;
+        if (admin == null) {
+            admin = AdminClient.create(kafkaAdmin.getConfigurationProperties());
+            adminClient = admin;
+        }
+        return admin;
+    }
+
+    @PreDestroy
+    public void close() {
+        Admin admin = adminClient;
+        if (admin != null) {
+            admin.close();
+        }
+    }
+}
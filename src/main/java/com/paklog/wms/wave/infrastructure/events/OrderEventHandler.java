@@ -1,16 +1,31 @@
 package com.paklog.wms.wave.infrastructure.events;
 
+import com.paklog.wms.wave.application.service.InventoryShortageCoordinator;
 import com.paklog.wms.wave.application.service.WavePlanningService;
+import com.paklog.wms.wave.infrastructure.deadletter.DeadLetterService;
+import com.paklog.wms.wave.infrastructure.snapshot.OrderSnapshotStore;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.header.Header;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.support.KafkaHeaders;
 import org.springframework.stereotype.Component;
 
+import java.nio.charset.StandardCharsets;
 import java.util.Map;
+import java.util.function.Consumer;
 
 /**
  * Event handler for Order and Inventory events
  * Listens to events that affect wave planning
+ *
+ * Failures are not swallowed: a failed record moves through non-blocking
+ * retry topics with increasing delays and finally lands on the dead letter
+ * topic, so a poison message never stalls its partition. Business rule
+ * violations and records that cannot be deserialized skip the retry
+ * topics and go straight to the DLT. The retry topics are configured in
+ * KafkaRetryConfig.
  */
 @Component
 public class OrderEventHandler {
@@ -18,88 +33,138 @@ public class OrderEventHandler {
     private static final Logger logger = LoggerFactory.getLogger(OrderEventHandler.class);
 
     private final WavePlanningService wavePlanningService;
-
-    public OrderEventHandler(WavePlanningService wavePlanningService) {
+    private final DeadLetterService deadLetterService;
+    private final InventoryShortageCoordinator shortageCoordinator;
+    private final OrderEventMetrics eventMetrics;
+    private final OrderSnapshotStore snapshotStore;
+
+    public OrderEventHandler(WavePlanningService wavePlanningService,
+                             DeadLetterService deadLetterService,
+                             InventoryShortageCoordinator shortageCoordinator,
+                             OrderEventMetrics eventMetrics,
+                             OrderSnapshotStore snapshotStore) {
         this.wavePlanningService = wavePlanningService;
+        this.deadLetterService = deadLetterService;
+        this.shortageCoordinator = shortageCoordinator;
+        this.eventMetrics = eventMetrics;
+        this.snapshotStore = snapshotStore;
     }
 
     /**
-     * Handle FulfillmentOrderValidatedEvent from order-management-service
-     * Adds eligible orders to the wave planning queue
+     * Consume order-management-service events and dispatch by event type
      */
     @KafkaListener(
             topics = "${paklog.kafka.topics.order-events:wms-order-events}",
             groupId = "${paklog.kafka.consumer.group-id:wave-planning-service}"
     )
+    public void onOrderEvent(Map<String, Object> eventData) {
+        String eventType = (String) eventData.get("type");
+
+        if ("FulfillmentOrderValidatedEvent".equals(eventType)) {
+            handleMeasured(eventType, eventData, this::handleOrderValidated);
+        } else if ("OrderCancelledEvent".equals(eventType)) {
+            handleMeasured(eventType, eventData, this::handleOrderCancelled);
+        } else {
+            eventMetrics.recordIgnored(eventType);
+            logger.debug("Ignoring order event of type {}", eventType);
+        }
+    }
+
+    /**
+     * Consume inventory-service events and dispatch by event type
+     */
+    @KafkaListener(
+            topics = "${paklog.kafka.topics.inventory-events:wms-inventory-events}",
+            groupId = "${paklog.kafka.consumer.group-id:wave-planning-service}"
+    )
+    public void onInventoryEvent(Map<String, Object> eventData) {
+        String eventType = (String) eventData.get("type");
+
+        if ("InventoryAllocatedEvent".equals(eventType)) {
+            handleMeasured(eventType, eventData, this::handleInventoryAllocated);
+        } else if ("InventoryShortageEvent".equals(eventType)) {
+            handleMeasured(eventType, eventData, this::handleInventoryShortage);
+        } else {
+            eventMetrics.recordIgnored(eventType);
+            logger.debug("Ignoring inventory event of type {}", eventType);
+        }
+    }
+
+    /**
+     * Handle events that exhausted the retry topics
+     * Parks them for inspection and replay through the dead letter API;
+     * wired as the DLT handler in KafkaRetryConfig. Dead letter topics are
+     * read as raw bytes, so records that never were valid JSON land here too.
+     */
+    public void handleDeadLetter(ConsumerRecord<String, byte[]> record) {
+        String originalTopic = headerValue(record, KafkaHeaders.DLT_ORIGINAL_TOPIC);
+        String exceptionMessage = headerValue(record, KafkaHeaders.DLT_EXCEPTION_MESSAGE);
+
+        deadLetterService.record(
+                originalTopic != null ? originalTopic : record.topic(),
+                record.key(),
+                record.value(),
+                exceptionMessage
+        );
+    }
+
+    /**
+     * Handle FulfillmentOrderValidatedEvent from order-management-service
+     * Adds eligible orders to the wave planning queue
+     */
     public void handleOrderValidated(Map<String, Object> eventData) {
-        try {
-            String eventType = (String) eventData.get("type");
+        String eventType = (String) eventData.get("type");
 
-            if (!"FulfillmentOrderValidatedEvent".equals(eventType)) {
-                return; // Ignore other event types
-            }
+        if (!"FulfillmentOrderValidatedEvent".equals(eventType)) {
+            return; // Ignore other event types
+        }
 
-            logger.info("Received FulfillmentOrderValidatedEvent: {}", eventData);
+        logger.info("Received FulfillmentOrderValidatedEvent: {}", eventData);
 
-            String orderId = (String) eventData.get("orderId");
-            String warehouseId = (String) eventData.get("warehouseId");
-            String priority = (String) eventData.get("priority");
-            String shippingMethod = (String) eventData.get("shippingMethod");
+        String orderId = (String) eventData.get("orderId");
+        String warehouseId = (String) eventData.get("warehouseId");
+        String priority = (String) eventData.get("priority");
+        String shippingMethod = (String) eventData.get("shippingMethod");
 
-            // Add order to wave planning queue
-            // In a real system, this would check eligibility criteria
-            logger.info("Order {} validated for warehouse {}, ready for wave planning",
-                    orderId, warehouseId);
+        // Keep a local snapshot so wave planning needs no call to order-management
+        snapshotStore.store(eventData);
 
-            // This could trigger automatic wave planning based on:
-            // - Time-based batching (every 30 minutes)
-            // - Quantity threshold (when 50 orders are ready)
-            // - Carrier cutoff times
-            // - Priority levels
+        logger.info("Order {} validated for warehouse {}, ready for wave planning",
+                orderId, warehouseId);
 
-        } catch (Exception e) {
-            logger.error("Error handling FulfillmentOrderValidatedEvent", e);
-            // In production, publish to dead letter queue
-        }
+        // This could trigger automatic wave planning based on:
+        // - Time-based batching (every 30 minutes)
+        // - Quantity threshold (when 50 orders are ready)
+        // - Carrier cutoff times
+        // - Priority levels
     }
 
     /**
      * Handle InventoryAllocatedEvent from inventory-service
-     * Marks wave as ready for release when inventory is allocated
+     * Marks the wave as ready for release once all of its orders are allocated
      */
-    @KafkaListener(
-            topics = "${paklog.kafka.topics.inventory-events:wms-inventory-events}",
-            groupId = "${paklog.kafka.consumer.group-id:wave-planning-service}"
-    )
     public void handleInventoryAllocated(Map<String, Object> eventData) {
-        try {
-            String eventType = (String) eventData.get("type");
+        String eventType = (String) eventData.get("type");
 
-            if (!"InventoryAllocatedEvent".equals(eventType)) {
-                return;
-            }
+        if (!"InventoryAllocatedEvent".equals(eventType)) {
+            return;
+        }
 
-            logger.info("Received InventoryAllocatedEvent: {}", eventData);
+        logger.info("Received InventoryAllocatedEvent: {}", eventData);
 
-            String orderId = (String) eventData.get("orderId");
-            String warehouseId = (String) eventData.get("warehouseId");
-            Boolean fullyAllocated = (Boolean) eventData.getOrDefault("fullyAllocated", false);
+        String orderId = (String) eventData.get("orderId");
+        String warehouseId = (String) eventData.get("warehouseId");
+        Boolean fullyAllocated = (Boolean) eventData.getOrDefault("fullyAllocated", false);
 
-            if (fullyAllocated) {
-                // Find wave containing this order and mark as ready if all orders allocated
-                logger.info("Order {} fully allocated in warehouse {}, wave may be ready for release",
-                        orderId, warehouseId);
+        if (fullyAllocated) {
+            logger.info("Order {} fully allocated in warehouse {}", orderId, warehouseId);
 
-                // This would trigger:
-                // 1. Check if all orders in the wave are allocated
-                // 2. If yes, mark wave as ready for release
-                // 3. Optionally auto-release based on configuration
-            } else {
-                logger.warn("Order {} partially allocated - wave release may be delayed", orderId);
+            // The wave becomes releasable once all of its orders are allocated
+            if (wavePlanningService.allocateOrder(orderId).isEmpty()) {
+                logger.info("Order {} is not part of a planned wave, nothing to allocate", orderId);
             }
-
-        } catch (Exception e) {
-            logger.error("Error handling InventoryAllocatedEvent", e);
+        } else {
+            logger.warn("Order {} partially allocated - wave release may be delayed", orderId);
         }
     }
 
@@ -107,72 +172,78 @@ public class OrderEventHandler {
      * Handle OrderCancelledEvent from order-management-service
      * Removes orders from waves if cancelled before release
      */
-    @KafkaListener(
-            topics = "${paklog.kafka.topics.order-events:wms-order-events}",
-            groupId = "${paklog.kafka.consumer.group-id:wave-planning-service}"
-    )
     public void handleOrderCancelled(Map<String, Object> eventData) {
-        try {
-            String eventType = (String) eventData.get("type");
+        String eventType = (String) eventData.get("type");
 
-            if (!"OrderCancelledEvent".equals(eventType)) {
-                return;
-            }
+        if (!"OrderCancelledEvent".equals(eventType)) {
+            return;
+        }
 
-            logger.warn("Received OrderCancelledEvent: {}", eventData);
+        logger.warn("Received OrderCancelledEvent: {}", eventData);
 
-            String orderId = (String) eventData.get("orderId");
-            String reason = (String) eventData.get("reason");
+        String orderId = (String) eventData.get("orderId");
+        String reason = (String) eventData.get("reason");
 
-            logger.warn("Order {} cancelled: {}", orderId, reason);
+        logger.warn("Order {} cancelled: {}", orderId, reason);
 
-            // This would:
-            // 1. Find wave containing this order
-            // 2. If wave status is PLANNED (not released), remove order
-            // 3. If wave is already released, handle cancellation differently
-            //    (may need to cancel pick tasks)
+        snapshotStore.evict(orderId);
 
-        } catch (Exception e) {
-            logger.error("Error handling OrderCancelledEvent", e);
+        // Released waves are handled downstream by cancelling the pick tasks
+        if (wavePlanningService.removeCancelledOrder(orderId, reason).isEmpty()) {
+            logger.info("Order {} is not part of a planned wave, nothing to remove", orderId);
         }
     }
 
     /**
      * Handle InventoryShortageEvent from inventory-service
-     * Handles situations where inventory becomes unavailable after wave planning
+     * Short orders are split out of their planned waves in the next
+     * aggregation window; released waves are handled as pick shortages
      */
-    @KafkaListener(
-            topics = "${paklog.kafka.topics.inventory-events:wms-inventory-events}",
-            groupId = "${paklog.kafka.consumer.group-id:wave-planning-service}"
-    )
     public void handleInventoryShortage(Map<String, Object> eventData) {
-        try {
-            String eventType = (String) eventData.get("type");
+        String eventType = (String) eventData.get("type");
 
-            if (!"InventoryShortageEvent".equals(eventType)) {
-                return;
-            }
+        if (!"InventoryShortageEvent".equals(eventType)) {
+            return;
+        }
 
-            logger.warn("Received InventoryShortageEvent: {}", eventData);
+        logger.warn("Received InventoryShortageEvent: {}", eventData);
 
-            String orderId = (String) eventData.get("orderId");
-            String sku = (String) eventData.get("sku");
-            Integer requiredQty = ((Number) eventData.get("requiredQuantity")).intValue();
-            Integer availableQty = ((Number) eventData.get("availableQuantity")).intValue();
+        String orderId = (String) eventData.get("orderId");
+        String sku = (String) eventData.get("sku");
+        Integer requiredQty = ((Number) eventData.get("requiredQuantity")).intValue();
+        Integer availableQty = ((Number) eventData.get("availableQuantity")).intValue();
 
-            logger.warn("Inventory shortage for order {}: SKU {} needs {} but only {} available",
-                    orderId, sku, requiredQty, availableQty);
+        logger.warn("Inventory shortage for order {}: SKU {} needs {} but only {} available",
+                orderId, sku, requiredQty, availableQty);
 
-            // This would:
-            // 1. Find wave containing this order
-            // 2. If not released, may delay wave release
-            // 3. If released, may need to handle as pick shortage
-            // 4. Trigger alerts to warehouse management
+        if (availableQty < requiredQty) {
+            shortageCoordinator.recordShortage(sku, orderId);
+        }
+    }
 
-        } catch (Exception e) {
-            logger.error("Error handling InventoryShortageEvent", e);
-        
+    /**
+     * Run a handler with latency, failure and duplicate metrics
+     * Redelivered events are handled again and only counted; every handler is
+     * idempotent. Only successfully handled events count as seen, so retries
+     * of a failed event are not counted as duplicates.
+     */
+    private void handleMeasured(String eventType, Map<String, Object> eventData,
+                                Consumer<Map<String, Object>> handler) {
+        Object id = eventData.get("id");
+        String eventId = id != null ? id.toString() : null;
 
-}
-}
+        long start = System.nanoTime();
+        try {
+            handler.accept(eventData);
+        } catch (RuntimeException e) {
+            eventMetrics.recordFailed(eventType);
+            throw e;
+        }
+        eventMetrics.recordHandled(eventType, eventId, eventData.get("time"), System.nanoTime() - start);
+    }
+
+    private String headerValue(ConsumerRecord<?, ?> record, String name) {
+        Header header = record.headers().lastHeader(name);
+        return header != null ? new String(header.value(), StandardCharsets.UTF_8) : null;
+    }
 }
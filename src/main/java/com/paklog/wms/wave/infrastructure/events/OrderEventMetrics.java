@@ -0,0 +1,141 @@
+package com.paklog.wms.wave.infrastructure.events;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Metrics for consumed order and inventory events
+ * Timers per event type and stage (deserialize, handle, end_to_end) plus
+ * counters for ignored, failed and duplicate events. Duplicates are counted
+ * against a bounded window of recently handled CloudEvent IDs; they are still
+ * handled, so the handlers must stay idempotent.
+ */
+@Component
+public class OrderEventMetrics {
+
+    static final String STAGE_DESERIALIZE = "deserialize";
+    static final String STAGE_HANDLE = "handle";
+    static final String STAGE_END_TO_END = "end_to_end";
+
+    // Event types are producer-controlled, so unknown ones share a tag value
+    private static final Set<String> KNOWN_EVENT_TYPES = Set.of(
+            "FulfillmentOrderValidatedEvent",
+            "OrderCancelledEvent",
+            "InventoryAllocatedEvent",
+            "InventoryShortageEvent"
+    );
+    private static final String OTHER_EVENT_TYPE = "other";
+
+    private final MeterRegistry meterRegistry;
+    private final int duplicateWindowSize;
+
+    private final Map<String, Boolean> recentEventIds = new ConcurrentHashMap<>();
+    private final Queue<String> recentEventOrder = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger recentEventCount = new AtomicInteger();
+
+    public OrderEventMetrics(MeterRegistry meterRegistry,
+                             @Value("${paklog.kafka.metrics.duplicate-window-size:10000}") int duplicateWindowSize) {
+        this.meterRegistry = meterRegistry;
+        this.duplicateWindowSize = duplicateWindowSize;
+    }
+
+    public void recordDeserialize(String eventType, long durationNanos) {
+        timer(STAGE_DESERIALIZE, eventType).record(durationNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Record a successfully handled event
+     * Counts it as a duplicate if an event with the same ID was handled
+     * recently; events without an ID are never duplicates.
+     *
+     * @param eventTime CloudEvent time attribute, used for end-to-end latency if present
+     */
+    public void recordHandled(String eventType, String eventId, Object eventTime, long durationNanos) {
+        timer(STAGE_HANDLE, eventType).record(durationNanos, TimeUnit.NANOSECONDS);
+
+        Duration endToEnd = endToEndLatency(eventTime);
+        if (endToEnd != null) {
+            timer(STAGE_END_TO_END, eventType).record(endToEnd);
+        }
+
+        if (eventId != null && !rememberEventId(eventId)) {
+            counter("order.events.duplicates", "Events handled again after they were already handled", eventType)
+                    .increment();
+        }
+    }
+
+    public void recordIgnored(String eventType) {
+        counter("order.events.ignored", "Events with no handler for their type", eventType).increment();
+    }
+
+    public void recordFailed(String eventType) {
+        counter("order.events.failed", "Events whose handler threw", eventType).increment();
+    }
+
+    private Timer timer(String stage, String eventType) {
+        return Timer.builder("order.events.latency")
+                .description("Order/inventory event latency by processing stage")
+                .tag("service", "wave-planning")
+                .tag("stage", stage)
+                .tag("event_type", eventTypeTag(eventType))
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    private Counter counter(String name, String description, String eventType) {
+        return Counter.builder(name)
+                .description(description)
+                .tag("service", "wave-planning")
+                .tag("event_type", eventTypeTag(eventType))
+                .register(meterRegistry);
+    }
+
+    private String eventTypeTag(String eventType) {
+        return eventType != null && KNOWN_EVENT_TYPES.contains(eventType) ? eventType : OTHER_EVENT_TYPE;
+    }
+
+    private Duration endToEndLatency(Object eventTime) {
+        if (!(eventTime instanceof String time)) {
+            return null;
+        }
+        try {
+            Duration latency = Duration.between(OffsetDateTime.parse(time).toInstant(), Instant.now());
+            return latency.isNegative() ? Duration.ZERO : latency;
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    /**
+     * @return false if the ID is already in the window
+     */
+    private boolean rememberEventId(String eventId) {
+        if (recentEventIds.putIfAbsent(eventId, Boolean.TRUE) != null) {
+            return false;
+        }
+        recentEventOrder.add(eventId);
+        if (recentEventCount.incrementAndGet() > duplicateWindowSize) {
+            String eldest = recentEventOrder.poll();
+            if (eldest != null) {
+                recentEventIds.remove(eldest);
+                recentEventCount.decrementAndGet();
+            }
+        }
+        return true;
+    }
+}
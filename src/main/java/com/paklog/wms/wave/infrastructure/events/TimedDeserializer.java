@@ -0,0 +1,53 @@
+package com.paklog.wms.wave.infrastructure.events;
+
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.serialization.Deserializer;
+
+import java.util.Map;
+
+/**
+ * Deserializer decorator that records deserialization time per event type
+ * The event type is read from the CloudEvent "type" attribute after the
+ * payload has been deserialized.
+ */
+public class TimedDeserializer<T> implements Deserializer<T> {
+
+    private final Deserializer<T> delegate;
+    private final OrderEventMetrics eventMetrics;
+
+    public TimedDeserializer(Deserializer<T> delegate, OrderEventMetrics eventMetrics) {
+        this.delegate = delegate;
+        this.eventMetrics = eventMetrics;
+    }
+
+    @Override
+    public void configure(Map<String, ?> configs, boolean isKey) {
+        delegate.configure(configs, isKey);
+    }
+
+    @Override
+    public T deserialize(String topic, byte[] data) {
+        long start = System.nanoTime();
+        T value = delegate.deserialize(topic, data);
+        record(value, System.nanoTime() - start);
+        return value;
+    }
+
+    @Override
+    public T deserialize(String topic, Headers headers, byte[] data) {
+        long start = System.nanoTime();
+        T value = delegate.deserialize(topic, headers, data);
+        record(value, System.nanoTime() - start);
+        return value;
+    }
+
+    @Override
+    public void close() {
+        delegate.close();
+    }
+
+    private void record(T value, long durationNanos) {
+        String eventType = value instanceof Map<?, ?> map && map.get("type") instanceof String type ? type : null;
+        eventMetrics.recordDeserialize(eventType, durationNanos);
+    }
+}
@@ -1,38 +1,73 @@
 package com.paklog.wms.wave.infrastructure.events;
 
 import com.paklog.wave.planning.domain.shared.DomainEvent;
+import com.paklog.wave.planning.infrastructure.outbox.OutboxMessage;
 import com.paklog.wave.planning.infrastructure.outbox.OutboxService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
 import java.util.List;
 
 /**
  * Publisher for wave domain events
  * Uses transactional outbox pattern for reliable event publishing
  * Outbox relay will publish events to Kafka asynchronously
+ * Events are also published in-process for local read models and caches
  */
 @Component
 public class WaveEventPublisher {
 
     private static final Logger logger = LoggerFactory.getLogger(WaveEventPublisher.class);
 
+    private static final String EVENT_TYPE_PREFIX = "com.paklog.wms.wave.";
+
+    /**
+     * Event type names, computed once per event class
+     */
+    private static final ClassValue<String> EVENT_TYPES = new ClassValue<>() {
+        @Override
+        protected String computeValue(Class<?> eventClass) {
+            return eventTypeOf(eventClass);
+        }
+    };
+
     private final OutboxService outboxService;
+    private final ApplicationEventPublisher applicationEventPublisher;
 
-    public WaveEventPublisher(OutboxService outboxService) {
+    public WaveEventPublisher(OutboxService outboxService, ApplicationEventPublisher applicationEventPublisher) {
         this.outboxService = outboxService;
+        this.applicationEventPublisher = applicationEventPublisher;
     }
 
     /**
      * Publish a list of domain events
+     * All events are written to the outbox with a single batch insert
      * @param events domain events to publish
      */
     @Transactional
     public void publishEvents(List<DomainEvent> events) {
-        events.forEach(this::publishEvent);
+        if (events.isEmpty()) {
+            return;
+        }
+
+        try {
+            List<OutboxMessage> messages = new ArrayList<>(events.size());
+            for (DomainEvent event : events) {
+                messages.add(new OutboxMessage(extractAggregateId(event), buildEventType(event), event));
+            }
+            outboxService.saveMessages(messages);
+        } catch (Exception e) {
+            logger.error("Failed to save {} events to outbox", events.size(), e);
+            throw new EventPublishException("Failed to save events to outbox", e);
+        }
+
+        events.forEach(applicationEventPublisher::publishEvent);
+        logger.debug("Saved {} events to outbox", events.size());
     }
 
     /**
@@ -47,6 +82,7 @@ public class WaveEventPublisher {
             String eventType = buildEventType(event);
 
             outboxService.saveEvent(aggregateId, eventType, event);
+            applicationEventPublisher.publishEvent(event);
 
             logger.debug("Saved event to outbox: {} with aggregateId: {}", eventType, aggregateId);
 
@@ -56,36 +92,35 @@ public class WaveEventPublisher {
         }
     }
 
-    /**
-     * Extract aggregate ID from domain event
-     * Uses reflection to find common ID patterns
-     */
     private String extractAggregateId(DomainEvent event) {
-        try {
-            // Try common getter patterns
-            var getWaveId = event.getClass().getMethod("getWaveId");
-            var waveId = getWaveId.invoke(event);
-            return waveId != null ? waveId.toString() : "unknown";
-        } catch (Exception e) {
-            // Fallback: try getAggregateId
-            try {
-                var getAggregateId = event.getClass().getMethod("getAggregateId");
-                var aggregateId = getAggregateId.invoke(event);
-                return aggregateId != null ? aggregateId.toString() : "unknown";
-            } catch (Exception ex) {
-                logger.warn("Could not extract aggregate ID from event: {}", event.getClass().getSimpleName());
-                return "unknown";
-            }
-        }
+        String aggregateId = event.aggregateId();
+        return aggregateId != null ? aggregateId : "unknown";
     }
 
     private String buildEventType(DomainEvent event) {
-        String className = event.getClass().getSimpleName();
-        // Convert WavePlannedEvent -> com.paklog.wms.wave.planned.v1
-        String eventName = className.replace("Event", "")
-                .replaceAll("([a-z])([A-Z])", "$1.$2")
-                .toLowerCase();
-        return "com.paklog.wms.wave." + eventName + ".v1";
+        return EVENT_TYPES.get(event.getClass());
+    }
+
+    /**
+     * Convert an event class name to its CloudEvents type
+     * WavePlannedEvent -> com.paklog.wms.wave.wave.planned.v1
+     */
+    public static String eventTypeOf(Class<?> eventClass) {
+        String className = eventClass.getSimpleName();
+        if (className.endsWith("Event")) {
+            className = className.substring(0, className.length() - "Event".length());
+        }
+
+        StringBuilder type = new StringBuilder(EVENT_TYPE_PREFIX.length() + className.length() + 8)
+                .append(EVENT_TYPE_PREFIX);
+        for (int i = 0; i < className.length(); i++) {
+            char c = className.charAt(i);
+            if (Character.isUpperCase(c) && i > 0 && Character.isLowerCase(className.charAt(i - 1))) {
+                type.append('.');
+            }
+            type.append(Character.toLowerCase(c));
+        }
+        return type.append(".v1").toString();
     }
 
     public static class EventPublishException extends RuntimeException {
@@ -41,8 +41,20 @@ public class MongoOutboxRepository implements OutboxRepository {
 
     @Override
     public <S extends OutboxEvent> List<S> saveAll(Iterable<S> entities) {
+        // New outbox events are only ever inserted, so write them with one insertMany
         List<S> result = new java.util.ArrayList<>();
-        entities.forEach(entity -> result.add(save(entity)));
+        for (S entity : entities) {
+            if (entity.getId() == null) {
+                entity.setId(java.util.UUID.randomUUID().toString());
+            }
+            if (entity.getCreatedAt() == null) {
+                entity.setCreatedAt(LocalDateTime.now());
+            }
+            result.add(entity);
+        }
+        if (!result.isEmpty()) {
+            mongoTemplate.insert(result, OUTBOX_COLLECTION);
+        }
         return result;
     }
 
@@ -0,0 +1,51 @@
+package com.paklog.wms.wave.infrastructure.persistence;
+
+import com.mongodb.MongoException;
+import com.mongodb.TransactionOptions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.mongodb.MongoDatabaseFactory;
+import org.springframework.data.mongodb.MongoTransactionManager;
+
+import java.time.Duration;
+
+/**
+ * MongoTransactionManager that retries the commit when its result is unknown
+ * Committing a transaction again is safe, so a commit failing with the
+ * UnknownTransactionCommitResult label (e.g. a primary step-down) is retried
+ * instead of surfacing as a failed unit of work
+ */
+public class RetryingMongoTransactionManager extends MongoTransactionManager {
+
+    private static final Logger logger = LoggerFactory.getLogger(RetryingMongoTransactionManager.class);
+
+    private final int maxCommitAttempts;
+    private final Duration commitRetryDelay;
+
+    public RetryingMongoTransactionManager(MongoDatabaseFactory databaseFactory,
+                                           TransactionOptions options,
+                                           int maxCommitAttempts,
+                                           Duration commitRetryDelay) {
+        super(databaseFactory, options);
+        this.maxCommitAttempts = Math.max(1, maxCommitAttempts);
+        this.commitRetryDelay = commitRetryDelay;
+    }
+
+    @Override
+    protected void doCommit(MongoTransactionObject transactionObject) throws Exception {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                transactionObject.commitTransaction();
+                return;
+            } catch (MongoException e) {
+                if (!e.hasErrorLabel(MongoException.UNKNOWN_TRANSACTION_COMMIT_RESULT_LABEL)
+                        || attempt >= maxCommitAttempts) {
+                    throw e;
+                }
+                logger.warn("Transaction commit result unknown, retrying commit (attempt {} of {}): {}",
+                        attempt + 1, maxCommitAttempts, e.getMessage());
+                Thread.sleep(commitRetryDelay.toMillis());
+            }
+        }
+    }
+}
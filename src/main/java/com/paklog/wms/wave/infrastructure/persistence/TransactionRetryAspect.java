@@ -0,0 +1,131 @@
+package com.paklog.wms.wave.infrastructure.persistence;
+
+import com.mongodb.MongoException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Re-runs a transactional service command that failed on contention
+ * Two kinds of failure are retried from the start of the unit of work:
+ * - MongoDB aborts labelled TransientTransactionError (e.g. write conflicts)
+ * - OptimisticLockingFailureException from a stale wave version, retried
+ *   with exponential backoff and full jitter so competing commands spread out
+ * Applies to transactional service methods, runs outside the transaction
+ * interceptor and only for the outermost transaction, so a retry always
+ * starts a fresh transaction that re-loads the aggregate and re-applies the
+ * command. Conflicts are counted per command in wave.command.conflicts.
+ */
+@Aspect
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE - 1)
+public class TransactionRetryAspect {
+
+    private static final Logger logger = LoggerFactory.getLogger(TransactionRetryAspect.class);
+
+    private final MeterRegistry meterRegistry;
+    private final int transientAttempts;
+    private final Duration transientDelay;
+    private final int conflictAttempts;
+    private final Duration conflictBaseDelay;
+    private final Duration conflictMaxDelay;
+
+    public TransactionRetryAspect(MeterRegistry meterRegistry,
+                                  @Value("${paklog.mongo.transactions.max-attempts:3}") int transientAttempts,
+                                  @Value("${paklog.mongo.transactions.retry-delay:PT0.1S}") Duration transientDelay,
+                                  @Value("${paklog.waves.conflict-retry.max-attempts:4}") int conflictAttempts,
+                                  @Value("${paklog.waves.conflict-retry.base-delay:PT0.02S}") Duration conflictBaseDelay,
+                                  @Value("${paklog.waves.conflict-retry.max-delay:PT0.5S}") Duration conflictMaxDelay) {
+        this.meterRegistry = meterRegistry;
+        this.transientAttempts = Math.max(1, transientAttempts);
+        this.transientDelay = transientDelay;
+        this.conflictAttempts = Math.max(1, conflictAttempts);
+        this.conflictBaseDelay = conflictBaseDelay;
+        this.conflictMaxDelay = conflictMaxDelay;
+    }
+
+    @Around("@annotation(org.springframework.transaction.annotation.Transactional) "
+            + "&& @within(org.springframework.stereotype.Service)")
+    public Object retryOnContention(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return joinPoint.proceed();
+        }
+
+        String command = joinPoint.getSignature().getName();
+        int transientFailures = 0;
+        int conflicts = 0;
+        while (true) {
+            try {
+                return joinPoint.proceed();
+            } catch (OptimisticLockingFailureException e) {
+                conflicts++;
+                if (conflicts >= conflictAttempts) {
+                    conflictCounter(command, "exhausted").increment();
+                    logger.warn("Command {} still conflicting after {} attempts: {}",
+                            command, conflicts, e.getMessage());
+                    throw e;
+                }
+                conflictCounter(command, "retried").increment();
+                long delay = conflictDelayMillis(conflicts);
+                logger.debug("Optimistic lock conflict in {}, retrying in {} ms (attempt {} of {})",
+                        command, delay, conflicts + 1, conflictAttempts);
+                Thread.sleep(delay);
+            } catch (RuntimeException e) {
+                transientFailures++;
+                if (!isTransient(e) || transientFailures >= transientAttempts) {
+                    throw e;
+                }
+                logger.warn("Transient transaction failure in {}, retrying (attempt {} of {}): {}",
+                        command, transientFailures + 1, transientAttempts, e.getMessage());
+                Thread.sleep(transientDelay.toMillis() * transientFailures);
+            }
+        }
+    }
+
+    /**
+     * Full jitter: a random delay up to the exponential backoff for this attempt
+     */
+    long conflictDelayMillis(int conflicts) {
+        long ceiling = Math.min(conflictMaxDelay.toMillis(),
+                conflictBaseDelay.toMillis() << Math.min(conflicts - 1, 20));
+        return ceiling > 0 ? ThreadLocalRandom.current().nextLong(ceiling + 1) : 0;
+    }
+
+    /**
+     * Whether the failure, or any of its causes, carries the TransientTransactionError label
+     */
+    static boolean isTransient(Throwable failure) {
+        for (Throwable cause = failure; cause != null; cause = cause.getCause()) {
+            if (cause instanceof MongoException mongoException
+                    && mongoException.hasErrorLabel(MongoException.TRANSIENT_TRANSACTION_ERROR_LABEL)) {
+                return true;
+            }
+            if (cause.getCause() == cause) {
+                break;
+            }
+        }
+        return false;
+    }
+
+    private Counter conflictCounter(String command, String outcome) {
+        return Counter.builder("wave.command.conflicts")
+                .description("Optimistic lock conflicts on wave commands")
+                .tag("service", "wave-planning")
+                .tag("command", command)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,295 @@
+package com.paklog.wms.wave.infrastructure.persistence;
+
+import com.paklog.wms.wave.domain.aggregate.Wave;
+import com.paklog.wms.wave.domain.repository.WaveRepositoryCustom;
+import com.paklog.wms.wave.domain.valueobject.WaveStatus;
+import com.mongodb.bulk.BulkWriteResult;
+import com.mongodb.client.result.UpdateResult;
+import org.bson.Document;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mapping.PersistentPropertyAccessor;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * MongoDB implementation of the custom Wave repository fragment
+ * Picked up by Spring Data through the Impl naming convention
+ */
+public class WaveRepositoryCustomImpl implements WaveRepositoryCustom {
+
+    // Stamped by auditing on saves and inserts, and here on update-based writes
+    private static final String LAST_MODIFIED_AT = "lastModifiedAt";
+    private static final String CREATED_AT = "createdAt";
+    // Unmapped field set by each bulk partial update to tell its own writes apart
+    private static final String BATCH_ID = "batchId";
+
+    private final MongoTemplate mongoTemplate;
+
+    public WaveRepositoryCustomImpl(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public Optional<WaveOrderRemoval> removeOrderFromPlannedWave(String orderId) {
+        Query query = new Query(Criteria.where("orderIds").is(orderId)
+                .and("status").is(WaveStatus.PLANNED));
+        query.fields()
+                .include("warehouseId")
+                .include("assignedZone")
+                .include("metrics.totalOrders")
+                .include("inventoryAllocated")
+                .include("version");
+
+        Update update = new Update()
+                .pull("orderIds", orderId)
+                .pull("allocatedOrderIds", orderId)
+                .inc("version", 1)
+                .inc("metrics.totalOrders", -1)
+                .set(LAST_MODIFIED_AT, LocalDateTime.now());
+
+        Wave updated = mongoTemplate.findAndModify(
+                query,
+                update,
+                FindAndModifyOptions.options().returnNew(true),
+                Wave.class
+        );
+
+        if (updated == null) {
+            return Optional.empty();
+        }
+
+        Integer remaining = updated.getMetrics() != null ? updated.getMetrics().getTotalOrders() : null;
+        return Optional.of(new WaveOrderRemoval(
+                updated.getWaveId(),
+                updated.getWarehouseId(),
+                updated.getAssignedZone(),
+                remaining != null ? remaining : 0,
+                updated.isInventoryAllocated(),
+                updated.getVersion()
+        ));
+    }
+
+    @Override
+    public void updatePartial(Wave wave, WaveStatus expectedStatus, Set<WaveField> fields) {
+        LocalDateTime now = LocalDateTime.now();
+        UpdateResult result = mongoTemplate.updateFirst(
+                guardQuery(wave, expectedStatus), partialUpdate(wave, fields, now), Wave.class);
+        if (result.getMatchedCount() == 0) {
+            throw new OptimisticLockingFailureException(String.format(
+                    "Wave %s was modified concurrently (expected version %s, status %s)",
+                    wave.getWaveId(), wave.getVersion(), expectedStatus));
+        }
+
+        // Keep the in-memory aggregate in step with the stored version
+        advanceVersion(wave, now);
+    }
+
+    @Override
+    public Set<String> bulkUpdatePartial(List<PartialUpdate> updates) {
+        if (updates.isEmpty()) {
+            return Set.of();
+        }
+
+        // Mongo stores milliseconds; keeps the aggregates equal to the stored value
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS);
+        String batchId = UUID.randomUUID().toString();
+        BulkOperations operations = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Wave.class);
+        for (PartialUpdate update : updates) {
+            operations.updateOne(guardQuery(update.wave(), update.expectedStatus()),
+                    partialUpdate(update.wave(), update.fields(), now).set(BATCH_ID, batchId));
+        }
+
+        BulkWriteResult result = operations.execute();
+        Set<String> conflicts = result.getMatchedCount() < updates.size()
+                ? findUnapplied(updates, batchId)
+                : Set.of();
+
+        for (PartialUpdate update : updates) {
+            if (!conflicts.contains(update.wave().getWaveId())) {
+                advanceVersion(update.wave(), now);
+            }
+        }
+        return conflicts;
+    }
+
+    @Override
+    public void bulkInsert(List<Wave> waves) {
+        if (waves.isEmpty()) {
+            return;
+        }
+
+        MongoPersistentEntity<?> entity = waveEntity();
+        for (Wave wave : waves) {
+            if (wave.getVersion() == null) {
+                entity.getPropertyAccessor(wave).setProperty(entity.getRequiredVersionProperty(), 0L);
+            }
+        }
+
+        mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Wave.class)
+                .insert(waves)
+                .execute();
+    }
+
+    @Override
+    public List<Wave> findPage(WaveSearch search) {
+        return mongoTemplate.find(searchQuery(search).limit(search.limit()), Wave.class);
+    }
+
+    @Override
+    public Stream<Wave> streamWaves(WaveSearch search) {
+        return mongoTemplate.stream(searchQuery(search), Wave.class);
+    }
+
+    @Override
+    public List<Wave> findCreatedBetween(LocalDateTime from, LocalDateTime to, WindowCursor after, int limit) {
+        return findInWindow(CREATED_AT, null, from, to, after, limit);
+    }
+
+    @Override
+    public List<Wave> findCreatedBetween(String warehouseId, LocalDateTime from, LocalDateTime to,
+                                         WindowCursor after, int limit) {
+        return findInWindow(CREATED_AT, warehouseId, from, to, after, limit);
+    }
+
+    @Override
+    public List<Wave> findModifiedBetween(LocalDateTime from, LocalDateTime to, WindowCursor after, int limit) {
+        return findInWindow(LAST_MODIFIED_AT, null, from, to, after, limit);
+    }
+
+    /**
+     * Pages on (timestamp, _id) so the compound index on the same fields,
+     * behind an optional warehouseId prefix, bounds the scan to the page
+     */
+    private List<Wave> findInWindow(String timestampField, String warehouseId, LocalDateTime from,
+                                    LocalDateTime to, WindowCursor after, int limit) {
+        Criteria criteria = warehouseId != null
+                ? Criteria.where("warehouseId").is(warehouseId).and(timestampField)
+                : Criteria.where(timestampField);
+        if (after != null) {
+            // (timestamp, _id) > (after.timestamp, after.waveId)
+            criteria.gte(after.timestamp()).lt(to).orOperator(
+                    Criteria.where(timestampField).gt(after.timestamp()),
+                    Criteria.where("_id").gt(after.waveId()));
+        } else {
+            criteria.gte(from).lt(to);
+        }
+        Query query = new Query(criteria)
+                .with(Sort.by(Sort.Direction.ASC, timestampField, "_id"))
+                .limit(limit);
+        return mongoTemplate.find(query, Wave.class);
+    }
+
+    private Query searchQuery(WaveSearch search) {
+        Criteria criteria = new Criteria();
+        if (search.statuses() != null && !search.statuses().isEmpty()) {
+            criteria.and("status").in(search.statuses());
+        }
+        if (search.warehouseId() != null) {
+            criteria.and("warehouseId").is(search.warehouseId());
+        }
+        if (search.afterWaveId() != null) {
+            criteria.and("_id").gt(search.afterWaveId());
+        }
+
+        Query query = new Query(criteria).with(Sort.by(Sort.Direction.ASC, "_id"));
+        if (!search.includeOrderIds()) {
+            query.fields().exclude("orderIds");
+        }
+        return query;
+    }
+
+    /**
+     * Bulk writes only report a total matched count, so the waves whose guard
+     * did not match are found by reading them back in the caller's transaction.
+     * An applied update left the next version stamped with this batch's ID; a
+     * concurrent writer that won the same version, even within the same
+     * millisecond, left none or its own.
+     */
+    private Set<String> findUnapplied(List<PartialUpdate> updates, String batchId) {
+        List<String> waveIds = updates.stream()
+                .map(update -> update.wave().getWaveId())
+                .toList();
+        Query query = new Query(Criteria.where("_id").in(waveIds));
+        query.fields().include("version").include(BATCH_ID);
+
+        Map<String, Document> stored = new HashMap<>();
+        String collection = mongoTemplate.getCollectionName(Wave.class);
+        for (Document document : mongoTemplate.find(query, Document.class, collection)) {
+            stored.put(document.getString("_id"), document);
+        }
+
+        Set<String> unapplied = new HashSet<>();
+        for (PartialUpdate update : updates) {
+            Wave wave = update.wave();
+            Document current = stored.get(wave.getWaveId());
+            boolean applied = current != null
+                    && current.get("version") instanceof Number version
+                    && version.longValue() == nextVersion(wave.getVersion())
+                    && batchId.equals(current.getString(BATCH_ID));
+            if (!applied) {
+                unapplied.add(wave.getWaveId());
+            }
+        }
+        return unapplied;
+    }
+
+    private Query guardQuery(Wave wave, WaveStatus expectedStatus) {
+        return new Query(Criteria.where("_id").is(wave.getWaveId())
+                .and("version").is(wave.getVersion())
+                .and("status").is(expectedStatus));
+    }
+
+    private Update partialUpdate(Wave wave, Set<WaveField> fields, LocalDateTime now) {
+        Update update = new Update()
+                .inc("version", 1)
+                .set(LAST_MODIFIED_AT, now);
+        for (WaveField field : fields) {
+            update.set(field.path(), fieldValue(wave, field));
+        }
+        return update;
+    }
+
+    private void advanceVersion(Wave wave, LocalDateTime modifiedAt) {
+        MongoPersistentEntity<?> entity = waveEntity();
+        PersistentPropertyAccessor<Wave> accessor = entity.getPropertyAccessor(wave);
+        accessor.setProperty(entity.getRequiredVersionProperty(), nextVersion(wave.getVersion()));
+        accessor.setProperty(entity.getRequiredPersistentProperty(LAST_MODIFIED_AT), modifiedAt);
+    }
+
+    private long nextVersion(Long version) {
+        return version != null ? version + 1 : 1L;
+    }
+
+    private MongoPersistentEntity<?> waveEntity() {
+        return mongoTemplate.getConverter().getMappingContext().getRequiredPersistentEntity(Wave.class);
+    }
+
+    private Object fieldValue(Wave wave, WaveField field) {
+        return switch (field) {
+            case STATUS -> wave.getStatus();
+            case ASSIGNED_ZONE -> wave.getAssignedZone();
+            case ACTUAL_RELEASE_TIME -> wave.getActualReleaseTime();
+            case COMPLETED_AT -> wave.getCompletedAt();
+            case INVENTORY_ALLOCATED -> wave.isInventoryAllocated();
+            case ALLOCATED_ORDER_IDS -> wave.getAllocatedOrderIds();
+            case METRICS -> wave.getMetrics();
+        };
+    }
+}
@@ -0,0 +1,128 @@
+package com.paklog.wms.wave.infrastructure.readmodel;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Dashboard read model of the waves in one warehouse zone
+ * One document per warehouse and zone, keyed by both. Planned waves without
+ * a zone are counted under {@link #UNASSIGNED_ZONE}. In-flight totals cover
+ * RELEASED and IN_PROGRESS waves; nextReleases holds the planned waves of the
+ * zone ordered by planned release time.
+ */
+public class WaveSummary {
+
+    public static final String UNASSIGNED_ZONE = "UNASSIGNED";
+
+    private String id;
+    private String warehouseId;
+    private String zone;
+    private Map<String, Long> statusCounts;
+    private long ordersInFlight;
+    private long linesInFlight;
+    private long unitsInFlight;
+    private List<PlannedRelease> nextReleases;
+    private LocalDateTime updatedAt;
+
+    public WaveSummary() {
+        this.statusCounts = new HashMap<>();
+        this.nextReleases = new ArrayList<>();
+    }
+
+    public WaveSummary(String warehouseId, String zone) {
+        this();
+        this.warehouseId = warehouseId;
+        this.zone = zoneKey(zone);
+        this.id = idOf(warehouseId, zone);
+    }
+
+    public static String idOf(String warehouseId, String zone) {
+        return warehouseId + "|" + zoneKey(zone);
+    }
+
+    public static String zoneKey(String zone) {
+        return zone != null ? zone : UNASSIGNED_ZONE;
+    }
+
+    /**
+     * A planned wave waiting for release
+     */
+    public record PlannedRelease(String waveId, LocalDateTime plannedReleaseTime) {
+    }
+
+    // Getters and setters
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getWarehouseId() {
+        return warehouseId;
+    }
+
+    public void setWarehouseId(String warehouseId) {
+        this.warehouseId = warehouseId;
+    }
+
+    public String getZone() {
+        return zone;
+    }
+
+    public void setZone(String zone) {
+        this.zone = zone;
+    }
+
+    public Map<String, Long> getStatusCounts() {
+        return statusCounts;
+    }
+
+    public void setStatusCounts(Map<String, Long> statusCounts) {
+        this.statusCounts = statusCounts;
+    }
+
+    public long getOrdersInFlight() {
+        return ordersInFlight;
+    }
+
+    public void setOrdersInFlight(long ordersInFlight) {
+        this.ordersInFlight = ordersInFlight;
+    }
+
+    public long getLinesInFlight() {
+        return linesInFlight;
+    }
+
+    public void setLinesInFlight(long linesInFlight) {
+        this.linesInFlight = linesInFlight;
+    }
+
+    public long getUnitsInFlight() {
+        return unitsInFlight;
+    }
+
+    public void setUnitsInFlight(long unitsInFlight) {
+        this.unitsInFlight = unitsInFlight;
+    }
+
+    public List<PlannedRelease> getNextReleases() {
+        return nextReleases;
+    }
+
+    public void setNextReleases(List<PlannedRelease> nextReleases) {
+        this.nextReleases = nextReleases;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
@@ -0,0 +1,315 @@
+package com.paklog.wms.wave.infrastructure.readmodel;
+
+import com.paklog.wms.wave.domain.aggregate.Wave;
+import com.paklog.wms.wave.domain.event.WaveCancelledEvent;
+import com.paklog.wms.wave.domain.event.WaveCompletedEvent;
+import com.paklog.wms.wave.domain.event.WavePlannedEvent;
+import com.paklog.wms.wave.domain.event.WaveReleasedEvent;
+import com.paklog.wms.wave.domain.event.WaveStartedEvent;
+import com.paklog.wms.wave.domain.event.WaveZoneAssignedEvent;
+import com.paklog.wms.wave.domain.valueobject.WaveStatus;
+import com.paklog.wms.wave.infrastructure.readmodel.WaveSummary.PlannedRelease;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * Maintains the wave_summaries read model from wave domain events
+ * Every lifecycle event becomes one or two $inc/$push/$pull upserts on the
+ * affected warehouse zone summaries, so dashboards read a single small
+ * document instead of aggregating over all waves. Events are applied after
+ * the wave transaction commits; a periodic rebuild from the waves collection
+ * corrects any drift from updates lost in between.
+ * The rebuild writes to a staging collection that is renamed over the read
+ * model. The full aggregation may or may not already include an update this
+ * instance applies while it runs, so replaying the update would count it
+ * twice. Instead the zones it touched are recomputed from the waves
+ * collection onto the staged summaries just before the rename.
+ */
+@Component
+public class WaveSummaryProjection {
+
+    private static final Logger logger = LoggerFactory.getLogger(WaveSummaryProjection.class);
+
+    private final WaveSummaryRepository summaryRepository;
+
+    // Listeners apply updates under the read lock; the rebuild swaps under the write lock
+    private final ReadWriteLock swapLock = new ReentrantReadWriteLock();
+    // Zones updated while a rebuild runs, guarded by swapLock
+    private final Set<ZoneKey> touchedDuringRebuild = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean rebuildRunning = new AtomicBoolean();
+    private volatile boolean rebuilding;
+
+    public WaveSummaryProjection(WaveSummaryRepository summaryRepository) {
+        this.summaryRepository = summaryRepository;
+    }
+
+    public List<WaveSummary> findByWarehouse(String warehouseId, int releaseLimit) {
+        return summaryRepository.findByWarehouse(warehouseId, releaseLimit);
+    }
+
+    /**
+     * Summary of one warehouse zone, empty if no wave was ever planned there
+     */
+    public WaveSummary find(String warehouseId, String zone, int releaseLimit) {
+        return summaryRepository.find(warehouseId, zone, releaseLimit)
+                .orElseGet(() -> new WaveSummary(warehouseId, zone));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onWavePlanned(WavePlannedEvent event) {
+        Update update = statusChange(null, WaveStatus.PLANNED);
+        if (event.getPlannedReleaseTime() != null) {
+            pushRelease(update, event.getWaveId(), event.getPlannedReleaseTime());
+        }
+        apply(event.getWarehouseId(), null, update);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onWaveZoneAssigned(WaveZoneAssignedEvent event) {
+        if (WaveSummary.zoneKey(event.getPreviousZone()).equals(WaveSummary.zoneKey(event.getAssignedZone()))) {
+            return;
+        }
+
+        apply(event.getWarehouseId(), event.getPreviousZone(),
+                statusChange(WaveStatus.PLANNED, null).pull("nextReleases", releaseOf(event.getWaveId())));
+
+        Update update = statusChange(null, WaveStatus.PLANNED);
+        if (event.getPlannedReleaseTime() != null) {
+            pushRelease(update, event.getWaveId(), event.getPlannedReleaseTime());
+        }
+        apply(event.getWarehouseId(), event.getAssignedZone(), update);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onWaveReleased(WaveReleasedEvent event) {
+        Update update = statusChange(WaveStatus.PLANNED, WaveStatus.RELEASED)
+                .pull("nextReleases", releaseOf(event.getWaveId()));
+        inFlight(update, 1, size(event.getOrderIds()), event.getTotalLines(), event.getTotalUnits());
+        apply(event.getWarehouseId(), event.getAssignedZone(), update);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onWaveStarted(WaveStartedEvent event) {
+        apply(event.getWarehouseId(), event.getAssignedZone(),
+                statusChange(WaveStatus.RELEASED, WaveStatus.IN_PROGRESS));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onWaveCompleted(WaveCompletedEvent event) {
+        if (event.getWarehouseId() == null) {
+            logger.debug("Completed event for wave {} has no warehouse, summary not updated", event.getWaveId());
+            return;
+        }
+
+        Update update = statusChange(WaveStatus.IN_PROGRESS, WaveStatus.COMPLETED);
+        inFlight(update, -1, event.getTotalOrders(), event.getTotalLines(), event.getTotalUnits());
+        apply(event.getWarehouseId(), event.getAssignedZone(), update);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onWaveCancelled(WaveCancelledEvent event) {
+        if (event.getWarehouseId() == null || event.getPreviousStatus() == null) {
+            logger.debug("Cancelled event for wave {} has no warehouse or previous status, summary not updated",
+                    event.getWaveId());
+            return;
+        }
+
+        Update update = statusChange(event.getPreviousStatus(), WaveStatus.CANCELLED);
+        if (event.getPreviousStatus() == WaveStatus.PLANNED) {
+            update.pull("nextReleases", releaseOf(event.getWaveId()));
+        } else {
+            inFlight(update, -1, event.getTotalOrders(), event.getTotalLines(), event.getTotalUnits());
+        }
+        apply(event.getWarehouseId(), event.getAssignedZone(), update);
+    }
+
+    /**
+     * Seed the read model on first start against an existing waves collection
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildIfEmpty() {
+        try {
+            if (summaryRepository.isEmpty()) {
+                rebuild();
+            }
+        } catch (RuntimeException e) {
+            logger.warn("Could not seed wave summaries on startup: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Recompute every summary from the waves collection
+     * A rebuild requested while another one runs on this instance is skipped.
+     * Updates applied by other instances while the rebuild runs are not
+     * recomputed; the next rebuild corrects them.
+     */
+    @Scheduled(cron = "${paklog.wave-summaries.rebuild-cron:0 15 */6 * * *}")
+    public void rebuild() {
+        if (!rebuildRunning.compareAndSet(false, true)) {
+            logger.info("Wave summary rebuild already running, skipped");
+            return;
+        }
+
+        long startTime = System.currentTimeMillis();
+        try {
+            swapLock.writeLock().lock();
+            try {
+                touchedDuringRebuild.clear();
+                rebuilding = true;
+            } finally {
+                swapLock.writeLock().unlock();
+            }
+
+            Map<String, WaveSummary> summaries = computeSummaries();
+            summaryRepository.stage(summaries.values());
+            swapInStaged();
+            logger.info("Rebuilt {} wave summaries in {}ms", summaries.size(), System.currentTimeMillis() - startTime);
+        } finally {
+            rebuilding = false;
+            touchedDuringRebuild.clear();
+            rebuildRunning.set(false);
+        }
+    }
+
+    private void swapInStaged() {
+        swapLock.writeLock().lock();
+        try {
+            for (ZoneKey key : touchedDuringRebuild) {
+                summaryRepository.replaceStaged(computeSummary(key.warehouseId(), key.zone()));
+            }
+            summaryRepository.swapInStaged();
+            rebuilding = false;
+        } finally {
+            swapLock.writeLock().unlock();
+        }
+    }
+
+    private Map<String, WaveSummary> computeSummaries() {
+        Map<String, WaveSummary> summaries = new LinkedHashMap<>();
+        addTotals(summaries, summaryRepository.aggregateWaveTotals());
+        try (Stream<Wave> planned = summaryRepository.streamPlannedReleases()) {
+            addReleases(summaries, planned);
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        summaries.values().forEach(summary -> summary.setUpdatedAt(now));
+        return summaries;
+    }
+
+    private WaveSummary computeSummary(String warehouseId, String zone) {
+        Map<String, WaveSummary> summaries = new LinkedHashMap<>();
+        summaries.put(WaveSummary.idOf(warehouseId, zone), new WaveSummary(warehouseId, zone));
+        addTotals(summaries, summaryRepository.aggregateWaveTotals(warehouseId, zone));
+        try (Stream<Wave> planned = summaryRepository.streamPlannedReleases(warehouseId, zone)) {
+            addReleases(summaries, planned);
+        }
+
+        WaveSummary summary = summaries.get(WaveSummary.idOf(warehouseId, zone));
+        summary.setUpdatedAt(LocalDateTime.now());
+        return summary;
+    }
+
+    private void addTotals(Map<String, WaveSummary> summaries, List<Document> waveTotals) {
+        for (Document totals : waveTotals) {
+            Document key = totals.get("_id", Document.class);
+            String warehouseId = key.getString("warehouseId");
+            String statusName = key.getString("status");
+            if (warehouseId == null || statusName == null) {
+                continue;
+            }
+
+            WaveSummary summary = summaryOf(summaries, warehouseId, key.getString("assignedZone"));
+            summary.getStatusCounts().merge(statusName, number(totals.get("waves")), Long::sum);
+            WaveStatus status = WaveStatus.valueOf(statusName);
+            if (status == WaveStatus.RELEASED || status == WaveStatus.IN_PROGRESS) {
+                summary.setOrdersInFlight(summary.getOrdersInFlight() + number(totals.get("orders")));
+                summary.setLinesInFlight(summary.getLinesInFlight() + number(totals.get("lines")));
+                summary.setUnitsInFlight(summary.getUnitsInFlight() + number(totals.get("units")));
+            }
+        }
+    }
+
+    private void addReleases(Map<String, WaveSummary> summaries, Stream<Wave> planned) {
+        planned.forEach(wave -> summaryOf(summaries, wave.getWarehouseId(), wave.getAssignedZone())
+                .getNextReleases()
+                .add(new PlannedRelease(wave.getWaveId(), wave.getPlannedReleaseTime())));
+    }
+
+    private void apply(String warehouseId, String zone, Update update) {
+        swapLock.readLock().lock();
+        try {
+            summaryRepository.upsert(warehouseId, zone, update);
+            if (rebuilding) {
+                touchedDuringRebuild.add(new ZoneKey(warehouseId, zone));
+            }
+        } finally {
+            swapLock.readLock().unlock();
+        }
+    }
+
+    private WaveSummary summaryOf(Map<String, WaveSummary> summaries, String warehouseId, String zone) {
+        return summaries.computeIfAbsent(WaveSummary.idOf(warehouseId, zone),
+                id -> new WaveSummary(warehouseId, zone));
+    }
+
+    private Update statusChange(WaveStatus from, WaveStatus to) {
+        Update update = new Update().set("updatedAt", LocalDateTime.now());
+        if (from != null) {
+            update.inc("statusCounts." + from.name(), -1L);
+        }
+        if (to != null) {
+            update.inc("statusCounts." + to.name(), 1L);
+        }
+        return update;
+    }
+
+    private void inFlight(Update update, int sign, Integer orders, Integer lines, Integer units) {
+        update.inc("ordersInFlight", (long) sign * count(orders))
+                .inc("linesInFlight", (long) sign * count(lines))
+                .inc("unitsInFlight", (long) sign * count(units));
+    }
+
+    private void pushRelease(Update update, String waveId, LocalDateTime plannedReleaseTime) {
+        update.push("nextReleases")
+                .sort(Sort.by(Sort.Direction.ASC, "plannedReleaseTime"))
+                .each(new Document("waveId", waveId).append("plannedReleaseTime", plannedReleaseTime));
+    }
+
+    private Document releaseOf(String waveId) {
+        return new Document("waveId", waveId);
+    }
+
+    private int count(Integer value) {
+        return value != null ? value : 0;
+    }
+
+    private int size(List<?> values) {
+        return values != null ? values.size() : 0;
+    }
+
+    private long number(Object value) {
+        return value instanceof Number n ? n.longValue() : 0L;
+    }
+
+    private record ZoneKey(String warehouseId, String zone) {
+    }
+}
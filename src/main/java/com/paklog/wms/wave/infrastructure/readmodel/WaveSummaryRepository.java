@@ -0,0 +1,161 @@
+package com.paklog.wms.wave.infrastructure.readmodel;
+
+import com.paklog.wms.wave.domain.aggregate.Wave;
+import com.paklog.wms.wave.domain.valueobject.WaveStatus;
+import com.mongodb.MongoNamespace;
+import com.mongodb.client.model.RenameCollectionOptions;
+import org.bson.Document;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOperation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * MongoDB access for the wave_summaries read model
+ */
+@Repository
+public class WaveSummaryRepository {
+
+    static final String SUMMARY_COLLECTION = "wave_summaries";
+    static final String STAGING_COLLECTION = "wave_summaries_rebuild";
+    private static final String WAVE_COLLECTION = "waves";
+
+    private final MongoTemplate mongoTemplate;
+
+    public WaveSummaryRepository(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    /**
+     * Apply an incremental update to one warehouse zone, creating its summary on first use
+     */
+    public void upsert(String warehouseId, String zone, Update update) {
+        upsert(warehouseId, zone, update, SUMMARY_COLLECTION);
+    }
+
+    /**
+     * Summary of one warehouse zone with at most releaseLimit upcoming releases
+     */
+    public Optional<WaveSummary> find(String warehouseId, String zone, int releaseLimit) {
+        Query query = byId(WaveSummary.idOf(warehouseId, zone));
+        query.fields().slice("nextReleases", releaseLimit);
+        return Optional.ofNullable(mongoTemplate.findOne(query, WaveSummary.class, SUMMARY_COLLECTION));
+    }
+
+    /**
+     * Summaries of all zones of a warehouse with at most releaseLimit upcoming releases each
+     */
+    public List<WaveSummary> findByWarehouse(String warehouseId, int releaseLimit) {
+        Query query = new Query(Criteria.where("warehouseId").is(warehouseId))
+                .with(Sort.by(Sort.Direction.ASC, "zone"));
+        query.fields().slice("nextReleases", releaseLimit);
+        return mongoTemplate.find(query, WaveSummary.class, SUMMARY_COLLECTION);
+    }
+
+    public boolean isEmpty() {
+        return !mongoTemplate.exists(new Query(), SUMMARY_COLLECTION);
+    }
+
+    /**
+     * Write freshly computed summaries to an empty staging collection
+     */
+    public void stage(Collection<WaveSummary> summaries) {
+        mongoTemplate.dropCollection(STAGING_COLLECTION);
+        mongoTemplate.createCollection(STAGING_COLLECTION);
+        if (!summaries.isEmpty()) {
+            mongoTemplate.insert(summaries, STAGING_COLLECTION);
+        }
+    }
+
+    /**
+     * Overwrite one staged summary with a freshly computed one
+     */
+    public void replaceStaged(WaveSummary summary) {
+        mongoTemplate.save(summary, STAGING_COLLECTION);
+    }
+
+    /**
+     * Replace the read model with the staged summaries in one rename
+     * Readers see either the old or the new read model, never a mix.
+     */
+    public void swapInStaged() {
+        MongoNamespace target = new MongoNamespace(mongoTemplate.getDb().getName(), SUMMARY_COLLECTION);
+        mongoTemplate.getCollection(STAGING_COLLECTION)
+                .renameCollection(target, new RenameCollectionOptions().dropTarget(true));
+    }
+
+    /**
+     * Wave counts and order, line and unit totals grouped by warehouse, zone and status
+     */
+    public List<Document> aggregateWaveTotals() {
+        return aggregateWaveTotals((Criteria) null);
+    }
+
+    /**
+     * Wave counts and totals of one warehouse zone grouped by status
+     */
+    public List<Document> aggregateWaveTotals(String warehouseId, String zone) {
+        return aggregateWaveTotals(zoneCriteria(warehouseId, zone));
+    }
+
+    /**
+     * Planned waves that have a planned release time, without their order IDs
+     */
+    public Stream<Wave> streamPlannedReleases() {
+        return streamPlannedReleases((Criteria) null);
+    }
+
+    /**
+     * Planned waves of one warehouse zone that have a planned release time
+     */
+    public Stream<Wave> streamPlannedReleases(String warehouseId, String zone) {
+        return streamPlannedReleases(zoneCriteria(warehouseId, zone));
+    }
+
+    private List<Document> aggregateWaveTotals(Criteria zone) {
+        List<AggregationOperation> operations = new ArrayList<>();
+        if (zone != null) {
+            operations.add(Aggregation.match(zone));
+        }
+        operations.add(Aggregation.group("warehouseId", "assignedZone", "status")
+                .count().as("waves")
+                .sum("metrics.totalOrders").as("orders")
+                .sum("metrics.totalLines").as("lines")
+                .sum("metrics.totalUnits").as("units"));
+        Aggregation aggregation = Aggregation.newAggregation(operations);
+        return mongoTemplate.aggregate(aggregation, WAVE_COLLECTION, Document.class).getMappedResults();
+    }
+
+    private Stream<Wave> streamPlannedReleases(Criteria zone) {
+        Criteria criteria = Criteria.where("status").is(WaveStatus.PLANNED).and("plannedReleaseTime").ne(null);
+        Query query = new Query(zone != null ? new Criteria().andOperator(zone, criteria) : criteria)
+                .with(Sort.by(Sort.Direction.ASC, "plannedReleaseTime"));
+        query.fields().include("warehouseId", "assignedZone", "plannedReleaseTime");
+        return mongoTemplate.stream(query, Wave.class, WAVE_COLLECTION);
+    }
+
+    private void upsert(String warehouseId, String zone, Update update, String collection) {
+        update.setOnInsert("warehouseId", warehouseId)
+                .setOnInsert("zone", WaveSummary.zoneKey(zone));
+        mongoTemplate.upsert(byId(WaveSummary.idOf(warehouseId, zone)), update, collection);
+    }
+
+    // Planned waves without a zone have no assignedZone, which is(null) also matches
+    private Criteria zoneCriteria(String warehouseId, String zone) {
+        return Criteria.where("warehouseId").is(warehouseId).and("assignedZone").is(zone);
+    }
+
+    private Query byId(String id) {
+        return new Query(Criteria.where("_id").is(id));
+    }
+}
@@ -0,0 +1,274 @@
+package com.paklog.wms.wave.infrastructure.reconciliation;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Progress of a reconciliation run, saved after every page
+ * A full or bucketed run covers the waves created in [since, until), an
+ * incremental run the waves modified in [since, until), in order of that
+ * timestamp and wave ID. lastWaveAt and lastWaveId locate the last wave
+ * whose page was fully compared, so an interrupted full or incremental run
+ * resumes after it; an interrupted
+ * bucketed run starts over. Counts are totals; only the first mismatches
+ * and errors are kept as samples. The instance holding the lease is the only one that
+ * runs or resumes the reconciliation.
+ * Across runs the checkpoint keeps the high-water mark, the end of the last
+ * completed window, from which the next incremental run starts, and when
+ * the last full sweep started.
+ */
+public class ReconciliationCheckpoint {
+
+    /**
+     * Which waves a run compares
+     */
+    public enum Mode {
+        // Waves created in the window
+        FULL,
+        // Waves created in the window, compared by hashes per warehouse and hour
+        BUCKETED,
+        // Waves modified in the window, which starts at the high-water mark
+        INCREMENTAL
+    }
+
+    private String id;
+    private String owner;
+    private LocalDateTime leaseUntil;
+    private Mode mode;
+    private LocalDateTime startedAt;
+    private LocalDateTime since;
+    private LocalDateTime until;
+    private LocalDateTime lastWaveAt;
+    private String lastWaveId;
+    private long checked;
+    private long mismatchCount;
+    private long errorCount;
+    private List<String> mismatchSamples;
+    private List<String> errorSamples;
+    private LocalDateTime completedAt;
+    private LocalDateTime highWaterMark;
+    private LocalDateTime lastFullSweepAt;
+    private LocalDateTime updatedAt;
+
+    public ReconciliationCheckpoint() {
+        this.mismatchSamples = new ArrayList<>();
+        this.errorSamples = new ArrayList<>();
+    }
+
+    /**
+     * Reset progress for a new run over the window [since, until)
+     */
+    public void start(LocalDateTime now, Mode mode, LocalDateTime since, LocalDateTime until) {
+        this.mode = mode;
+        this.startedAt = now;
+        this.since = since;
+        this.until = until;
+        this.lastWaveAt = null;
+        this.lastWaveId = null;
+        this.checked = 0;
+        this.mismatchCount = 0;
+        this.errorCount = 0;
+        this.mismatchSamples = new ArrayList<>();
+        this.errorSamples = new ArrayList<>();
+        this.completedAt = null;
+    }
+
+    public boolean isCompleted() {
+        return completedAt != null;
+    }
+
+    /**
+     * Finish the run: the next incremental run starts where this window ended
+     */
+    public void complete(LocalDateTime now) {
+        this.completedAt = now;
+        this.highWaterMark = until;
+        if (mode != Mode.INCREMENTAL) {
+            this.lastFullSweepAt = startedAt;
+        }
+    }
+
+    /**
+     * Whether an unfinished run started after the given time and can be resumed
+     * A run checkpointed before lastWaveAt was recorded has no keyset position
+     * and starts over.
+     */
+    public boolean isResumableAfter(LocalDateTime cutoff) {
+        return !isCompleted() && (mode == Mode.FULL || mode == Mode.INCREMENTAL)
+                && startedAt != null && since != null && until != null
+                && (lastWaveId == null || lastWaveAt != null)
+                && startedAt.isAfter(cutoff);
+    }
+
+    /**
+     * Record the last wave of a fully compared page
+     */
+    void setLastWave(LocalDateTime lastWaveAt, String lastWaveId) {
+        this.lastWaveAt = lastWaveAt;
+        this.lastWaveId = lastWaveId;
+    }
+
+    void addMismatch(String message, int maxSamples) {
+        mismatchCount++;
+        if (mismatchSamples.size() < maxSamples) {
+            mismatchSamples.add(message);
+        }
+    }
+
+    void addError(String message, int maxSamples) {
+        errorCount++;
+        if (errorSamples.size() < maxSamples) {
+            errorSamples.add(message);
+        }
+    }
+
+    void addChecked(int count) {
+        checked += count;
+    }
+
+    // Getters and setters
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getOwner() {
+        return owner;
+    }
+
+    public void setOwner(String owner) {
+        this.owner = owner;
+    }
+
+    public LocalDateTime getLeaseUntil() {
+        return leaseUntil;
+    }
+
+    public void setLeaseUntil(LocalDateTime leaseUntil) {
+        this.leaseUntil = leaseUntil;
+    }
+
+    public Mode getMode() {
+        return mode;
+    }
+
+    public void setMode(Mode mode) {
+        this.mode = mode;
+    }
+
+    public LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+
+    public void setStartedAt(LocalDateTime startedAt) {
+        this.startedAt = startedAt;
+    }
+
+    public LocalDateTime getSince() {
+        return since;
+    }
+
+    public void setSince(LocalDateTime since) {
+        this.since = since;
+    }
+
+    public LocalDateTime getUntil() {
+        return until;
+    }
+
+    public void setUntil(LocalDateTime until) {
+        this.until = until;
+    }
+
+    public LocalDateTime getLastWaveAt() {
+        return lastWaveAt;
+    }
+
+    public void setLastWaveAt(LocalDateTime lastWaveAt) {
+        this.lastWaveAt = lastWaveAt;
+    }
+
+    public String getLastWaveId() {
+        return lastWaveId;
+    }
+
+    public void setLastWaveId(String lastWaveId) {
+        this.lastWaveId = lastWaveId;
+    }
+
+    public long getChecked() {
+        return checked;
+    }
+
+    public void setChecked(long checked) {
+        this.checked = checked;
+    }
+
+    public long getMismatchCount() {
+        return mismatchCount;
+    }
+
+    public void setMismatchCount(long mismatchCount) {
+        this.mismatchCount = mismatchCount;
+    }
+
+    public long getErrorCount() {
+        return errorCount;
+    }
+
+    public void setErrorCount(long errorCount) {
+        this.errorCount = errorCount;
+    }
+
+    public List<String> getMismatchSamples() {
+        return mismatchSamples;
+    }
+
+    public void setMismatchSamples(List<String> mismatchSamples) {
+        this.mismatchSamples = mismatchSamples;
+    }
+
+    public List<String> getErrorSamples() {
+        return errorSamples;
+    }
+
+    public void setErrorSamples(List<String> errorSamples) {
+        this.errorSamples = errorSamples;
+    }
+
+    public LocalDateTime getCompletedAt() {
+        return completedAt;
+    }
+
+    public void setCompletedAt(LocalDateTime completedAt) {
+        this.completedAt = completedAt;
+    }
+
+    public LocalDateTime getHighWaterMark() {
+        return highWaterMark;
+    }
+
+    public void setHighWaterMark(LocalDateTime highWaterMark) {
+        this.highWaterMark = highWaterMark;
+    }
+
+    public LocalDateTime getLastFullSweepAt() {
+        return lastFullSweepAt;
+    }
+
+    public void setLastFullSweepAt(LocalDateTime lastFullSweepAt) {
+        this.lastFullSweepAt = lastFullSweepAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
@@ -0,0 +1,76 @@
+package com.paklog.wms.wave.infrastructure.reconciliation;
+
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * MongoDB access for reconciliation checkpoints
+ * Writes are conditional on the lease owner, so an instance that lost its
+ * lease cannot overwrite the progress of the one that took over.
+ */
+@Repository
+public class ReconciliationCheckpointRepository {
+
+    static final String CHECKPOINT_COLLECTION = "reconciliation_checkpoints";
+
+    private final MongoTemplate mongoTemplate;
+
+    public ReconciliationCheckpointRepository(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    /**
+     * Take the lease on a checkpoint if it is free, expired or already ours
+     *
+     * @return the checkpoint, created empty on first use, or empty if another instance holds the lease
+     */
+    public Optional<ReconciliationCheckpoint> claim(String id, String owner, LocalDateTime now,
+                                                    LocalDateTime leaseUntil) {
+        Query query = new Query(Criteria.where("_id").is(id).orOperator(
+                Criteria.where("owner").is(owner),
+                Criteria.where("leaseUntil").is(null),
+                Criteria.where("leaseUntil").lt(now)));
+        Update update = new Update()
+                .set("owner", owner)
+                .set("leaseUntil", leaseUntil);
+        try {
+            return Optional.ofNullable(mongoTemplate.findAndModify(query, update,
+                    FindAndModifyOptions.options().upsert(true).returnNew(true),
+                    ReconciliationCheckpoint.class, CHECKPOINT_COLLECTION));
+        } catch (DuplicateKeyException e) {
+            // The checkpoint exists and its lease belongs to another instance
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Save progress and extend the lease
+     *
+     * @return false if the lease was lost to another instance and nothing was saved
+     */
+    public boolean save(ReconciliationCheckpoint checkpoint, LocalDateTime now, LocalDateTime leaseUntil) {
+        checkpoint.setLeaseUntil(leaseUntil);
+        checkpoint.setUpdatedAt(now);
+        Query query = new Query(Criteria.where("_id").is(checkpoint.getId())
+                .and("owner").is(checkpoint.getOwner()));
+        return mongoTemplate.findAndReplace(query, checkpoint, CHECKPOINT_COLLECTION) != null;
+    }
+
+    /**
+     * Give up the lease so the next run may start on any instance
+     */
+    public void release(String id, String owner) {
+        mongoTemplate.updateFirst(
+                new Query(Criteria.where("_id").is(id).and("owner").is(owner)),
+                new Update().unset("leaseUntil"),
+                CHECKPOINT_COLLECTION);
+    }
+}
@@ -5,7 +5,7 @@ import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.stereotype.Component;
 
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Metrics for reconciliation service
@@ -17,8 +17,8 @@ public class ReconciliationMetrics {
     private final Counter mismatchCounter;
     private final Counter errorCounter;
     private final Counter highVarianceCounter;
-    private final AtomicInteger lastMismatchCount = new AtomicInteger(0);
-    private final AtomicInteger lastCheckedCount = new AtomicInteger(0);
+    private final AtomicLong lastMismatchCount = new AtomicLong(0);
+    private final AtomicLong lastCheckedCount = new AtomicLong(0);
 
     public ReconciliationMetrics(MeterRegistry meterRegistry) {
         this.reconciliationCounter = Counter.builder("reconciliation.runs")
@@ -42,12 +42,12 @@ public class ReconciliationMetrics {
                 .register(meterRegistry);
 
         // Gauges for last run
-        Gauge.builder("reconciliation.last_mismatch_count", lastMismatchCount, AtomicInteger::get)
+        Gauge.builder("reconciliation.last_mismatch_count", lastMismatchCount, AtomicLong::get)
                 .description("Mismatches in last reconciliation run")
                 .tag("service", "wave-planning")
                 .register(meterRegistry);
 
-        Gauge.builder("reconciliation.last_checked_count", lastCheckedCount, AtomicInteger::get)
+        Gauge.builder("reconciliation.last_checked_count", lastCheckedCount, AtomicLong::get)
                 .description("Items checked in last reconciliation run")
                 .tag("service", "wave-planning")
                 .register(meterRegistry);
@@ -55,10 +55,10 @@ public class ReconciliationMetrics {
 
     public void recordReconciliation(ReconciliationService.ReconciliationReport report) {
         reconciliationCounter.increment();
-        mismatchCounter.increment(report.mismatches().size());
-        errorCounter.increment(report.errors().size());
+        mismatchCounter.increment(report.mismatchCount());
+        errorCounter.increment(report.errorCount());
 
-        lastMismatchCount.set(report.mismatches().size());
+        lastMismatchCount.set(report.mismatchCount());
         lastCheckedCount.set(report.totalChecked());
     }
 
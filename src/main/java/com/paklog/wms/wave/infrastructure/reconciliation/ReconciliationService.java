@@ -2,8 +2,13 @@ package com.paklog.wms.wave.infrastructure.reconciliation;
 
 import com.paklog.wms.wave.domain.aggregate.Wave;
 import com.paklog.wms.wave.domain.repository.WaveRepository;
+import com.paklog.wms.wave.domain.repository.WaveRepositoryCustom.WindowCursor;
 import com.paklog.wms.wave.infrastructure.featureflags.FeatureFlagService;
+import com.paklog.wms.wave.infrastructure.reconciliation.ReconciliationCheckpoint.Mode;
+import com.paklog.wms.wave.infrastructure.reconciliation.WaveBucketHashes.WaveBucket;
 import com.paklog.wms.wave.infrastructure.resilience.WarehouseOperationsClient;
+import io.github.resilience4j.ratelimiter.RateLimiter;
+import io.github.resilience4j.ratelimiter.RateLimiterConfig;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
@@ -11,27 +16,63 @@ import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Reconciliation service to detect and fix data inconsistencies
  * Priority 6: Build reconciliation service for data validation
  *
  * Runs periodically to compare data between new and legacy systems
- * during migration period
+ * during migration period. A full sweep, due every `full-sweep-interval`,
+ * compares the waves created in the last 24 hours; the runs in between only
+ * compare waves modified since the previous run's high-water mark (less a
+ * small overlap), so their cost follows churn rather than volume. With
+ * bucket hashing on, a full sweep compares content hashes per warehouse and
+ * hour with the legacy system and only looks into the buckets that differ;
+ * a differing bucket whose legacy lookup still fails after one retry leaves
+ * the sweep incomplete, so the next run sweeps again.
+ * Waves are read in keyset pages; each page is looked up in the legacy system in bulk, with
+ * up to `parallelism` pages in flight and legacy lookups limited to
+ * `rate-limit` waves per second. Progress is checkpointed after every page
+ * so an interrupted run resumes where it stopped, and memory is bounded by
+ * the pages in flight and a fixed number of mismatch and error samples.
  */
 @Service
 @ConditionalOnProperty(name = "paklog.features.reconciliation.enabled", havingValue = "true", matchIfMissing = true)
 public class ReconciliationService {
 
     private static final Logger logger = LoggerFactory.getLogger(ReconciliationService.class);
+    static final String CHECKPOINT_ID = "waves";
+    private static final Duration WINDOW = Duration.ofDays(1);
 
     private final WaveRepository waveRepository;
     private final WarehouseOperationsClient legacyClient;
     private final FeatureFlagService featureFlagService;
     private final ReconciliationMetrics metrics;
+    private final ReconciliationCheckpointRepository checkpoints;
+    private final RateLimiter legacyRateLimiter;
+    private final int pageSize;
+    private final int parallelism;
+    private final int maxSamples;
+    private final Duration resumeWindow;
+    private final Duration lease;
+    private final Duration fullSweepInterval;
+    private final Duration overlap;
+    private final boolean bucketHashing;
+    private final String instanceId = UUID.randomUUID().toString();
 
     private double maxVariancePercentage;
 
@@ -39,12 +80,37 @@ public class ReconciliationService {
             WaveRepository waveRepository,
             WarehouseOperationsClient legacyClient,
             FeatureFlagService featureFlagService,
-            ReconciliationMetrics metrics
+            ReconciliationMetrics metrics,
+            ReconciliationCheckpointRepository checkpoints,
+            @Value("${paklog.features.reconciliation.page-size:200}") int pageSize,
+            @Value("${paklog.features.reconciliation.parallelism:4}") int parallelism,
+            @Value("${paklog.features.reconciliation.rate-limit:500}") int rateLimit,
+            @Value("${paklog.features.reconciliation.max-samples:100}") int maxSamples,
+            @Value("${paklog.features.reconciliation.resume-window:PT12H}") Duration resumeWindow,
+            @Value("${paklog.features.reconciliation.lease:PT5M}") Duration lease,
+            @Value("${paklog.features.reconciliation.full-sweep-interval:PT24H}") Duration fullSweepInterval,
+            @Value("${paklog.features.reconciliation.overlap:PT1M}") Duration overlap,
+            @Value("${paklog.features.reconciliation.bucket-hashing:true}") boolean bucketHashing
     ) {
         this.waveRepository = waveRepository;
         this.legacyClient = legacyClient;
         this.featureFlagService = featureFlagService;
         this.metrics = metrics;
+        this.checkpoints = checkpoints;
+        // A page is admitted as a whole, so it may not exceed the permits of one period
+        this.pageSize = Math.max(1, Math.min(pageSize, rateLimit));
+        this.parallelism = Math.max(1, parallelism);
+        this.maxSamples = maxSamples;
+        this.resumeWindow = resumeWindow;
+        this.lease = lease;
+        this.fullSweepInterval = fullSweepInterval;
+        this.overlap = overlap;
+        this.bucketHashing = bucketHashing;
+        this.legacyRateLimiter = RateLimiter.of("warehouse-operations-reconciliation", RateLimiterConfig.custom()
+                .limitForPeriod(Math.max(1, rateLimit))
+                .limitRefreshPeriod(Duration.ofSeconds(1))
+                .timeoutDuration(lease)
+                .build());
     }
 
     /**
@@ -58,15 +124,39 @@ public class ReconciliationService {
             return;
         }
 
-        logger.info("Starting reconciliation job");
+        LocalDateTime now = LocalDateTime.now();
+        ReconciliationCheckpoint checkpoint = checkpoints
+                .claim(CHECKPOINT_ID, instanceId, now, now.plus(lease))
+                .orElse(null);
+        if (checkpoint == null) {
+            logger.info("Reconciliation is running on another instance, skipping");
+            return;
+        }
+
+        if (checkpoint.isResumableAfter(now.minus(resumeWindow))) {
+            logger.info("Resuming {} reconciliation started at {} after wave {} ({} checked)",
+                    checkpoint.getMode(), checkpoint.getStartedAt(), checkpoint.getLastWaveId(),
+                    checkpoint.getChecked());
+        } else if (isFullSweepDue(checkpoint, now)) {
+            Mode mode = bucketHashing ? Mode.BUCKETED : Mode.FULL;
+            logger.info("Starting {} reconciliation of waves created since {}", mode, now.minus(WINDOW));
+            checkpoint.start(now, mode, now.minus(WINDOW), now);
+        } else {
+            LocalDateTime since = checkpoint.getHighWaterMark().minus(overlap);
+            logger.info("Starting incremental reconciliation of waves modified since {}", since);
+            checkpoint.start(now, Mode.INCREMENTAL, since, now);
+        }
         long startTime = System.currentTimeMillis();
 
         try {
-            ReconciliationReport report = reconcileWaves();
+            ReconciliationReport report = checkpoint.getMode() == Mode.BUCKETED
+                    ? reconcileBuckets(checkpoint)
+                    : reconcileWaves(checkpoint);
 
             long duration = System.currentTimeMillis() - startTime;
-            logger.info("Reconciliation completed in {}ms: checked={}, mismatches={}, errors={}",
-                    duration, report.totalChecked(), report.mismatches().size(), report.errors().size());
+            logger.info("{} reconciliation completed in {}ms: checked={}, mismatches={}, errors={}",
+                    checkpoint.getMode(), duration, report.totalChecked(), report.mismatchCount(),
+                    report.errorCount());
 
             metrics.recordReconciliation(report);
 
@@ -80,59 +170,272 @@ public class ReconciliationService {
         } catch (Exception e) {
             logger.error("Reconciliation job failed", e);
             metrics.recordError();
+        } finally {
+            checkpoints.release(CHECKPOINT_ID, instanceId);
         }
     }
 
     /**
-     * Reconcile waves between new and legacy systems
+     * Reconcile waves between new and legacy systems, from the checkpoint on
      *
      * @return reconciliation report
      */
-    private ReconciliationReport reconcileWaves() {
-        List<String> mismatches = new ArrayList<>();
-        List<String> errors = new ArrayList<>();
-        int totalChecked = 0;
+    private ReconciliationReport reconcileWaves(ReconciliationCheckpoint checkpoint) {
+        Deque<PendingPage> inFlight = new ArrayDeque<>();
+        WindowCursor after = checkpoint.getLastWaveId() != null
+                ? new WindowCursor(checkpoint.getLastWaveAt(), checkpoint.getLastWaveId())
+                : null;
+
+        while (true) {
+            List<Wave> page = nextPage(checkpoint, after);
+            if (page.isEmpty()) {
+                break;
+            }
+            after = lastOf(page, checkpoint.getMode());
 
-        // Get recent waves (last 24 hours)
-        LocalDateTime since = LocalDateTime.now().minusDays(1);
-        List<Wave> recentWaves = waveRepository.findWavesCreatedAfter(since);
+            RateLimiter.waitForPermission(legacyRateLimiter, page.size());
+            List<String> waveIds = page.stream().map(Wave::getWaveId).toList();
+            inFlight.add(new PendingPage(page, legacyClient.getWaves(waveIds).toFuture()));
 
-        for (Wave wave : recentWaves) {
-            totalChecked++;
+            if (inFlight.size() >= parallelism) {
+                completePage(inFlight.poll(), checkpoint);
+            }
+        }
+        while (!inFlight.isEmpty()) {
+            completePage(inFlight.poll(), checkpoint);
+        }
+
+        return complete(checkpoint);
+    }
 
+    /**
+     * Reconcile the waves created in the checkpoint's window by bucket hashes
+     * Gets the legacy hash of every (warehouse, hour) bucket in one call,
+     * hashes the local waves into the same buckets and looks up the wave
+     * hashes of differing buckets only, so legacy calls grow with the
+     * buckets that differ rather than with the waves. Falls back to comparing
+     * waves one by one if the legacy system has no bucket hashes. Buckets whose
+     * lookup fails are retried once; if any still fail, the run ends without
+     * completing, which keeps the full sweep due and the high-water mark where
+     * it was. Malformed legacy bucket rows are skipped and counted as errors.
+     */
+    private ReconciliationReport reconcileBuckets(ReconciliationCheckpoint checkpoint) {
+        List<Map<String, Object>> legacyBuckets = legacyClient
+                .getBucketHashes(checkpoint.getSince(), checkpoint.getUntil())
+                .block();
+        if (legacyBuckets == null) {
+            logger.info("Legacy system has no bucket hashes, comparing waves one by one");
+            checkpoint.start(checkpoint.getStartedAt(), Mode.FULL, checkpoint.getSince(), checkpoint.getUntil());
+            return reconcileWaves(checkpoint);
+        }
+
+        WaveBucketHashes hashes = new WaveBucketHashes();
+        WindowCursor after = null;
+        while (true) {
+            List<Wave> page = waveRepository.findCreatedBetween(
+                    checkpoint.getSince(), checkpoint.getUntil(), after, pageSize);
+            if (page.isEmpty()) {
+                break;
+            }
+            page.forEach(hashes::add);
+            after = lastOf(page, Mode.BUCKETED);
+            checkpoint.addChecked(page.size());
+            checkpoint.setLastWave(after.timestamp(), after.waveId());
+            saveCheckpoint(checkpoint);
+        }
+
+        Map<WaveBucket, String> localHashes = hashes.hashes();
+        Map<WaveBucket, String> legacyHashes = new HashMap<>();
+        for (Map<String, Object> bucket : legacyBuckets) {
             try {
-                // Get wave from legacy system
-                Object legacyWave = legacyClient.getWave(wave.getWaveId());
+                legacyHashes.put(new WaveBucket(Objects.toString(bucket.get("warehouseId"), null),
+                                LocalDateTime.parse(Objects.toString(bucket.get("hour"), ""))),
+                        Objects.toString(bucket.get("hash"), null));
+            } catch (DateTimeParseException e) {
+                logger.warn("Skipping malformed legacy wave bucket {}", bucket);
+                checkpoint.addError(String.format("Malformed legacy bucket %s: %s", bucket, e.getMessage()),
+                        maxSamples);
+            }
+        }
 
-                if (legacyWave == null) {
-                    mismatches.add(String.format("Wave %s not found in legacy system", wave.getWaveId()));
-                    continue;
-                }
+        Set<WaveBucket> buckets = new HashSet<>(localHashes.keySet());
+        buckets.addAll(legacyHashes.keySet());
+        List<WaveBucket> differing = buckets.stream()
+                .filter(bucket -> !Objects.equals(localHashes.get(bucket), legacyHashes.get(bucket)))
+                .toList();
+        logger.info("{} of {} wave buckets differ from the legacy system", differing.size(), buckets.size());
 
-                // Compare waves
-                if (!compareWaves(wave, legacyWave)) {
-                    mismatches.add(String.format("Wave %s data mismatch", wave.getWaveId()));
-                }
+        List<WaveBucket> failed = new ArrayList<>();
+        for (WaveBucket bucket : differing) {
+            if (!compareBucket(bucket, checkpoint, false)) {
+                failed.add(bucket);
+            }
+            saveCheckpoint(checkpoint);
+        }
+        failed.removeIf(bucket -> {
+            boolean compared = compareBucket(bucket, checkpoint, true);
+            saveCheckpoint(checkpoint);
+            return compared;
+        });
+
+        if (!failed.isEmpty()) {
+            logger.warn("{} wave buckets could not be compared, the full sweep stays due", failed.size());
+            return report(checkpoint);
+        }
+        return complete(checkpoint);
+    }
 
-            } catch (Exception e) {
-                logger.error("Error reconciling wave {}", wave.getWaveId(), e);
-                errors.add(String.format("Wave %s error: %s", wave.getWaveId(), e.getMessage()));
+    /**
+     * Compare the waves of one differing bucket by their hashes
+     * Only the part of the bucket inside the run's window is compared, the
+     * same part the bucket hashes covered. A failed lookup is recorded as an
+     * error on the last attempt only.
+     *
+     * @return false if the legacy wave hashes could not be looked up
+     */
+    private boolean compareBucket(WaveBucket bucket, ReconciliationCheckpoint checkpoint, boolean lastAttempt) {
+        LocalDateTime from = bucket.hour().isAfter(checkpoint.getSince()) ? bucket.hour() : checkpoint.getSince();
+        LocalDateTime to = bucket.hour().plusHours(1).isBefore(checkpoint.getUntil())
+                ? bucket.hour().plusHours(1)
+                : checkpoint.getUntil();
+
+        Map<String, String> legacyWaves;
+        try {
+            RateLimiter.waitForPermission(legacyRateLimiter);
+            legacyWaves = new HashMap<>(legacyClient.getWaveHashes(bucket.warehouseId(), from, to).block());
+        } catch (Exception e) {
+            if (!lastAttempt) {
+                logger.warn("Error looking up wave hashes of bucket {} in legacy system, will retry: {}",
+                        bucket, e.getMessage());
+                return false;
+            }
+            logger.error("Error looking up wave hashes of bucket {} in legacy system", bucket, e);
+            checkpoint.addError(String.format("Bucket %s error: %s", bucket, e.getMessage()), maxSamples);
+            return false;
+        }
+
+        WindowCursor after = null;
+        while (true) {
+            List<Wave> page = waveRepository.findCreatedBetween(bucket.warehouseId(), from, to, after, pageSize);
+            if (page.isEmpty()) {
+                break;
+            }
+            for (Wave wave : page) {
+                String legacyHash = legacyWaves.remove(wave.getWaveId());
+                if (legacyHash == null) {
+                    checkpoint.addMismatch(String.format("Wave %s not found in legacy system", wave.getWaveId()),
+                            maxSamples);
+                } else if (!legacyHash.equals(WaveBucketHashes.hash(wave))) {
+                    checkpoint.addMismatch(String.format("Wave %s data mismatch", wave.getWaveId()), maxSamples);
+                }
             }
+            after = lastOf(page, Mode.BUCKETED);
         }
 
-        double mismatchPercentage = totalChecked > 0
-                ? (mismatches.size() * 100.0) / totalChecked
+        legacyWaves.keySet().stream().sorted().forEach(waveId -> checkpoint.addMismatch(
+                String.format("Wave %s not found in new system", waveId), maxSamples));
+        return true;
+    }
+
+    private ReconciliationReport complete(ReconciliationCheckpoint checkpoint) {
+        checkpoint.complete(LocalDateTime.now());
+        saveCheckpoint(checkpoint);
+        return report(checkpoint);
+    }
+
+    private ReconciliationReport report(ReconciliationCheckpoint checkpoint) {
+        long checked = checkpoint.getChecked();
+        double mismatchPercentage = checked > 0
+                ? (checkpoint.getMismatchCount() * 100.0) / checked
                 : 0.0;
 
         return new ReconciliationReport(
                 LocalDateTime.now(),
-                totalChecked,
-                mismatches,
-                errors,
+                checked,
+                checkpoint.getMismatchCount(),
+                checkpoint.getErrorCount(),
+                List.copyOf(checkpoint.getMismatchSamples()),
+                List.copyOf(checkpoint.getErrorSamples()),
                 mismatchPercentage
         );
     }
 
+    /**
+     * Compare the oldest page in flight and checkpoint after it
+     * Pages complete in the order they were read, so every wave up to the
+     * checkpointed one has been compared
+     */
+    private void completePage(PendingPage pending, ReconciliationCheckpoint checkpoint) {
+        List<Wave> page = pending.waves();
+        Map<String, Object> legacyWaves;
+        try {
+            legacyWaves = pending.legacyWaves().join();
+        } catch (Exception e) {
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            logger.error("Error looking up {} waves in legacy system", page.size(), cause);
+            for (Wave wave : page) {
+                checkpoint.addError(String.format("Wave %s error: %s", wave.getWaveId(), cause.getMessage()),
+                        maxSamples);
+            }
+            legacyWaves = null;
+        }
+
+        if (legacyWaves != null) {
+            for (Wave wave : page) {
+                Object legacyWave = legacyWaves.get(wave.getWaveId());
+
+                if (legacyWave == null) {
+                    checkpoint.addMismatch(String.format("Wave %s not found in legacy system", wave.getWaveId()),
+                            maxSamples);
+                    continue;
+                }
+
+                // Compare waves
+                if (!compareWaves(wave, legacyWave)) {
+                    checkpoint.addMismatch(String.format("Wave %s data mismatch", wave.getWaveId()), maxSamples);
+                }
+            }
+        }
+
+        WindowCursor last = lastOf(page, checkpoint.getMode());
+        checkpoint.addChecked(page.size());
+        checkpoint.setLastWave(last.timestamp(), last.waveId());
+        saveCheckpoint(checkpoint);
+    }
+
+    private List<Wave> nextPage(ReconciliationCheckpoint checkpoint, WindowCursor after) {
+        if (checkpoint.getMode() == Mode.FULL) {
+            return waveRepository.findCreatedBetween(
+                    checkpoint.getSince(), checkpoint.getUntil(), after, pageSize);
+        }
+        return waveRepository.findModifiedBetween(
+                checkpoint.getSince(), checkpoint.getUntil(), after, pageSize);
+    }
+
+    /**
+     * Keyset position after a page: incremental runs page on the
+     * modification time, the others on the creation time
+     */
+    private static WindowCursor lastOf(List<Wave> page, Mode mode) {
+        Wave last = page.get(page.size() - 1);
+        return new WindowCursor(
+                mode == Mode.INCREMENTAL ? last.getLastModifiedAt() : last.getCreatedAt(),
+                last.getWaveId());
+    }
+
+    private boolean isFullSweepDue(ReconciliationCheckpoint checkpoint, LocalDateTime now) {
+        return checkpoint.getHighWaterMark() == null
+                || checkpoint.getLastFullSweepAt() == null
+                || !checkpoint.getLastFullSweepAt().isAfter(now.minus(fullSweepInterval));
+    }
+
+    private void saveCheckpoint(ReconciliationCheckpoint checkpoint) {
+        LocalDateTime now = LocalDateTime.now();
+        if (!checkpoints.save(checkpoint, now, now.plus(lease))) {
+            throw new IllegalStateException("Reconciliation lease lost to another instance");
+        }
+    }
+
     /**
      * Compare wave data between systems
      * Can be customized based on comparison strategy
@@ -155,15 +458,25 @@ public class ReconciliationService {
         return true;
     }
 
+    private record PendingPage(List<Wave> waves, CompletableFuture<Map<String, Object>> legacyWaves) {
+    }
+
     /**
      * Reconciliation report
+     * Counts cover the whole run; mismatches and errors hold the first samples only
      */
     public record ReconciliationReport(
             LocalDateTime timestamp,
-            int totalChecked,
+            long totalChecked,
+            long mismatchCount,
+            long errorCount,
             List<String> mismatches,
             List<String> errors,
             double mismatchPercentage
     ) {
+        public ReconciliationReport(LocalDateTime timestamp, int totalChecked, List<String> mismatches,
+                                    List<String> errors, double mismatchPercentage) {
+            this(timestamp, totalChecked, mismatches.size(), errors.size(), mismatches, errors, mismatchPercentage);
+        }
     }
 }
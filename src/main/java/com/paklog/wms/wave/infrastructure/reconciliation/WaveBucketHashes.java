@@ -0,0 +1,97 @@
+package com.paklog.wms.wave.infrastructure.reconciliation;
+
+import com.paklog.wms.wave.domain.aggregate.Wave;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Content hashes of waves, folded per (warehouse, hour of creation) bucket
+ * Both systems must hash the same way for bucket hashes to match:
+ * - a wave hashes, with SHA-256 in lowercase hex, the UTF-8 lines waveId,
+ *   status, warehouseId, priority and its sorted order IDs joined by commas,
+ *   each line ending in a newline and a missing value left empty
+ * - a bucket hashes the line "waveId:waveHash\n" of each of its waves in
+ *   wave ID order
+ * Waves must therefore be added in wave ID order. Only one digest per
+ * bucket is kept, so memory does not grow with the number of waves.
+ */
+final class WaveBucketHashes {
+
+    private static final HexFormat HEX = HexFormat.of();
+
+    private final Map<WaveBucket, MessageDigest> digests = new HashMap<>();
+
+    /**
+     * Add a wave to its bucket; waves without a creation time are skipped
+     */
+    void add(Wave wave) {
+        WaveBucket bucket = WaveBucket.of(wave);
+        if (bucket == null) {
+            return;
+        }
+        MessageDigest digest = digests.computeIfAbsent(bucket, b -> sha256());
+        digest.update((wave.getWaveId() + ":" + hash(wave) + "\n").getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Hash of every bucket a wave was added to; finishes the digests
+     */
+    Map<WaveBucket, String> hashes() {
+        Map<WaveBucket, String> hashes = new HashMap<>();
+        digests.forEach((bucket, digest) -> hashes.put(bucket, HEX.formatHex(digest.digest())));
+        digests.clear();
+        return hashes;
+    }
+
+    /**
+     * Content hash of one wave
+     */
+    static String hash(Wave wave) {
+        List<String> orderIds = wave.getOrderIds() == null ? List.of() : wave.getOrderIds().stream().sorted().toList();
+        String content = line(wave.getWaveId())
+                + line(wave.getStatus())
+                + line(wave.getWarehouseId())
+                + line(wave.getPriority())
+                + line(String.join(",", orderIds));
+        return HEX.formatHex(sha256().digest(content.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static String line(Object value) {
+        return Objects.toString(value, "") + "\n";
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * Waves of one warehouse created within one hour
+     */
+    record WaveBucket(String warehouseId, LocalDateTime hour) {
+
+        static WaveBucket of(Wave wave) {
+            if (wave.getCreatedAt() == null) {
+                return null;
+            }
+            return new WaveBucket(wave.getWarehouseId(), wave.getCreatedAt().truncatedTo(ChronoUnit.HOURS));
+        }
+
+        @Override
+        public String toString() {
+            return warehouseId + "@" + hour;
+        }
+    }
+}
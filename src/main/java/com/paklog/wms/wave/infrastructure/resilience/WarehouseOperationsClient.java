@@ -1,101 +1,359 @@
 package com.paklog.wms.wave.infrastructure.resilience;
 
-import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.netty.channel.ChannelOption;
+import jakarta.annotation.PreDestroy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
 
 import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 
 /**
  * Client for calling legacy warehouse-operations service
  * Priority 8: Implement circuit breakers for service communication
  *
- * Uses Resilience4j circuit breaker to prevent cascading failures
+ * Calls are non-blocking and return a Mono; the blocking variants only wait
+ * for it. Every request goes through the warehouse-operations circuit
+ * breaker, and while it is open calls complete empty (legacy unavailable)
+ * without reaching the legacy system. Connections come from a bounded pool.
+ * Bulk lookups send wave IDs in batches to the legacy bulk endpoint and fall
+ * back to one request per wave, with bounded concurrency, when the legacy
+ * system does not offer it. Bucket hash lookups return content hashes of
+ * legacy waves per warehouse and hour, for reconciliation without fetching
+ * the waves themselves. An endpoint the legacy system answered as missing
+ * is skipped for a configurable interval and then probed again, so a 404
+ * during a legacy deploy does not downgrade the client until restart.
  */
 @Component
 public class WarehouseOperationsClient {
 
     private static final Logger logger = LoggerFactory.getLogger(WarehouseOperationsClient.class);
     private static final String CIRCUIT_BREAKER_NAME = "warehouse-operations";
+    private static final Duration PLAN_TIMEOUT = Duration.ofSeconds(5);
+    private static final Duration GET_TIMEOUT = Duration.ofSeconds(3);
+    private static final ParameterizedTypeReference<List<Map<String, Object>>> MAP_LIST =
+            new ParameterizedTypeReference<>() {
+            };
 
     private final WebClient webClient;
+    private final ConnectionProvider connectionProvider;
+    private final CircuitBreaker circuitBreaker;
+    private final String bulkPath;
+    private final int bulkBatchSize;
+    private final Duration bulkTimeout;
+    private final int concurrency;
+    private final String bucketPath;
+
+    private final EndpointSupport bulkSupport;
+    private final EndpointSupport bucketHashSupport;
 
     public WarehouseOperationsClient(
-            @Value("${warehouse.operations.endpoint:http://localhost:8080}") String legacyEndpoint
+            @Value("${warehouse.operations.endpoint:http://localhost:8080}") String legacyEndpoint,
+            CircuitBreakerRegistry circuitBreakerRegistry,
+            @Value("${paklog.warehouse-operations.client.max-connections:50}") int maxConnections,
+            @Value("${paklog.warehouse-operations.client.pending-acquire-timeout:PT2S}") Duration pendingAcquireTimeout,
+            @Value("${paklog.warehouse-operations.client.max-idle-time:PT30S}") Duration maxIdleTime,
+            @Value("${paklog.warehouse-operations.client.connect-timeout:PT1S}") Duration connectTimeout,
+            @Value("${paklog.warehouse-operations.client.bulk-path:/api/waves/lookup}") String bulkPath,
+            @Value("${paklog.warehouse-operations.client.bulk-batch-size:100}") int bulkBatchSize,
+            @Value("${paklog.warehouse-operations.client.bulk-timeout:PT10S}") Duration bulkTimeout,
+            @Value("${paklog.warehouse-operations.client.concurrency:8}") int concurrency,
+            @Value("${paklog.warehouse-operations.client.bucket-path:/api/waves/buckets}") String bucketPath,
+            @Value("${paklog.warehouse-operations.client.unsupported-recheck-interval:PT5M}")
+            Duration unsupportedRecheckInterval
     ) {
+        this.connectionProvider = ConnectionProvider.builder(CIRCUIT_BREAKER_NAME)
+                .maxConnections(maxConnections)
+                .pendingAcquireTimeout(pendingAcquireTimeout)
+                .maxIdleTime(maxIdleTime)
+                .evictInBackground(maxIdleTime)
+                .build();
+        HttpClient httpClient = HttpClient.create(connectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) connectTimeout.toMillis());
+
         this.webClient = WebClient.builder()
                 .baseUrl(legacyEndpoint)
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
                 .build();
+        this.circuitBreaker = circuitBreakerRegistry.circuitBreaker(CIRCUIT_BREAKER_NAME);
+        this.bulkPath = bulkPath;
+        this.bulkBatchSize = Math.max(1, bulkBatchSize);
+        this.bulkTimeout = bulkTimeout;
+        this.concurrency = Math.max(1, concurrency);
+        this.bucketPath = bucketPath;
+        this.bulkSupport = new EndpointSupport(unsupportedRecheckInterval);
+        this.bucketHashSupport = new EndpointSupport(unsupportedRecheckInterval);
+    }
+
+    @PreDestroy
+    public void close() {
+        connectionProvider.dispose();
     }
 
     /**
      * Plan wave using legacy system
-     * Circuit breaker will open if failures exceed threshold
      *
      * @param waveId the wave identifier
-     * @return wave planning result from legacy system
+     * @return wave planning result, or empty while the circuit breaker is open
      */
-    @CircuitBreaker(name = CIRCUIT_BREAKER_NAME, fallbackMethod = "planWaveFallback")
-    public Object planWave(String waveId) {
+    public Mono<Object> planWaveAsync(String waveId) {
         logger.debug("Calling legacy system for wave planning: {}", waveId);
 
-        try {
-            return webClient.post()
-                    .uri("/api/waves/plan")
-                    .bodyValue(Map.of("waveId", waveId))
-                    .retrieve()
-                    .bodyToMono(Object.class)
-                    .timeout(Duration.ofSeconds(5))
-                    .block();
-        } catch (Exception e) {
-            logger.error("Error calling legacy system for wave {}", waveId, e);
-            throw new LegacySystemException("Failed to call legacy system", e);
-        }
+        Mono<Object> call = webClient.post()
+                .uri("/api/waves/plan")
+                .bodyValue(Map.of("waveId", waveId))
+                .retrieve()
+                .bodyToMono(Object.class)
+                .timeout(PLAN_TIMEOUT);
+
+        return withCircuitBreaker(call)
+                .onErrorMap(e -> !(e instanceof CallNotPermittedException), e -> {
+                    logger.error("Error calling legacy system for wave {}", waveId, e);
+                    return new LegacySystemException("Failed to call legacy system", e);
+                })
+                .onErrorResume(CallNotPermittedException.class, e -> {
+                    logger.warn("Circuit breaker open for legacy system, wave: {}", waveId);
+                    return Mono.empty();
+                });
     }
 
     /**
-     * Fallback method when circuit breaker is open
-     * Returns null to indicate legacy system unavailable
+     * Blocking variant of {@link #planWaveAsync(String)}
      *
-     * @param waveId the wave identifier
-     * @param ex the exception that triggered the fallback
-     * @return null (legacy system unavailable)
+     * @return wave planning result, or null while the circuit breaker is open
      */
-    private Object planWaveFallback(String waveId, Exception ex) {
-        logger.warn("Circuit breaker open for legacy system, wave: {}, error: {}",
-                waveId, ex.getMessage());
-        return null;
+    public Object planWave(String waveId) {
+        return planWaveAsync(waveId).block();
     }
 
     /**
      * Get wave details from legacy system
      *
      * @param waveId the wave identifier
-     * @return wave details
+     * @return wave details, or empty if the legacy system does not know the
+     *         wave or the circuit breaker is open
      */
-    @CircuitBreaker(name = CIRCUIT_BREAKER_NAME, fallbackMethod = "getWaveFallback")
-    public Object getWave(String waveId) {
+    public Mono<Object> getWaveAsync(String waveId) {
         logger.debug("Getting wave from legacy system: {}", waveId);
 
-        return webClient.get()
+        Mono<Object> call = webClient.get()
                 .uri("/api/waves/{waveId}", waveId)
                 .retrieve()
                 .bodyToMono(Object.class)
-                .timeout(Duration.ofSeconds(3))
-                .block();
+                .onErrorResume(WebClientResponseException.NotFound.class, e -> Mono.empty())
+                .timeout(GET_TIMEOUT);
+
+        return withCircuitBreaker(call)
+                .onErrorResume(CallNotPermittedException.class, e -> {
+                    logger.warn("Circuit breaker open for getWave, waveId: {}", waveId);
+                    return Mono.empty();
+                });
     }
 
     /**
-     * Fallback for getWave
+     * Blocking variant of {@link #getWaveAsync(String)}
+     *
+     * @return wave details, or null if not found or the circuit breaker is open
      */
-    private Object getWaveFallback(String waveId, Exception ex) {
-        logger.warn("Circuit breaker open for getWave, waveId: {}", waveId);
-        return null;
+    public Object getWave(String waveId) {
+        return getWaveAsync(waveId).block();
+    }
+
+    /**
+     * Get the details of many waves from the legacy system
+     * IDs are sent to the bulk endpoint in batches, at most `concurrency`
+     * batches at a time. Waves the legacy system does not know are absent
+     * from the result. Fails if any batch fails or the circuit breaker is open.
+     *
+     * @param waveIds the wave identifiers
+     * @return legacy wave details by wave ID
+     */
+    public Mono<Map<String, Object>> getWaves(Collection<String> waveIds) {
+        Set<String> distinct = new LinkedHashSet<>(waveIds);
+        distinct.remove(null);
+        if (distinct.isEmpty()) {
+            return Mono.just(Map.of());
+        }
+
+        return Flux.fromIterable(partition(new ArrayList<>(distinct)))
+                .flatMap(this::lookupBatch, concurrency)
+                .collectMap(LegacyWave::waveId, LegacyWave::details);
+    }
+
+    private Flux<LegacyWave> lookupBatch(List<String> waveIds) {
+        if (!bulkSupport.isAvailable()) {
+            return lookupOneByOne(waveIds);
+        }
+
+        Mono<List<Map<String, Object>>> call = webClient.post()
+                .uri(bulkPath)
+                .bodyValue(Map.of("waveIds", waveIds))
+                .retrieve()
+                .bodyToMono(MAP_LIST)
+                .timeout(bulkTimeout);
+
+        return withCircuitBreaker(call)
+                .flatMapIterable(waves -> waves)
+                .filter(wave -> wave.get("waveId") != null)
+                .map(wave -> new LegacyWave(Objects.toString(wave.get("waveId")), wave))
+                .onErrorResume(this::isUnsupported, e -> {
+                    logger.info("Legacy system has no bulk wave lookup at {} ({}), looking waves up one by one"
+                            + " until it is probed again", bulkPath, e.getMessage());
+                    bulkSupport.markUnsupported();
+                    return lookupOneByOne(waveIds);
+                });
+    }
+
+    private Flux<LegacyWave> lookupOneByOne(List<String> waveIds) {
+        return Flux.fromIterable(waveIds)
+                .flatMap(waveId -> withCircuitBreaker(webClient.get()
+                                .uri("/api/waves/{waveId}", waveId)
+                                .retrieve()
+                                .bodyToMono(Object.class)
+                                .onErrorResume(WebClientResponseException.NotFound.class, e -> Mono.empty())
+                                .timeout(GET_TIMEOUT))
+                                .map(details -> new LegacyWave(waveId, details)),
+                        concurrency);
+    }
+
+    /**
+     * Get content hashes of the legacy waves created in [since, until), per
+     * warehouse and hour of creation
+     * Every element has the warehouseId, the hour (ISO local date-time) and
+     * the hash of the bucket; buckets without waves are left out.
+     *
+     * @return the bucket hashes, or empty if the legacy system has no bucket hash endpoint
+     */
+    public Mono<List<Map<String, Object>>> getBucketHashes(LocalDateTime since, LocalDateTime until) {
+        if (!bucketHashSupport.isAvailable()) {
+            return Mono.empty();
+        }
+
+        Mono<List<Map<String, Object>>> call = webClient.get()
+                .uri(uri -> uri.path(bucketPath)
+                        .queryParam("since", since)
+                        .queryParam("until", until)
+                        .build())
+                .retrieve()
+                .bodyToMono(MAP_LIST)
+                .timeout(bulkTimeout);
+
+        return withCircuitBreaker(call)
+                .onErrorResume(this::isUnsupported, e -> {
+                    logger.info("Legacy system has no bucket hashes at {} ({}) until it is probed again",
+                            bucketPath, e.getMessage());
+                    bucketHashSupport.markUnsupported();
+                    return Mono.empty();
+                });
+    }
+
+    /**
+     * Get the content hash of every legacy wave of a warehouse created in [since, until)
+     * Fails if the call fails or the circuit breaker is open.
+     *
+     * @return wave hashes by wave ID
+     */
+    public Mono<Map<String, String>> getWaveHashes(String warehouseId, LocalDateTime since, LocalDateTime until) {
+        Mono<List<Map<String, Object>>> call = webClient.get()
+                .uri(uri -> uri.path(bucketPath + "/{warehouseId}/waves")
+                        .queryParam("since", since)
+                        .queryParam("until", until)
+                        .build(warehouseId))
+                .retrieve()
+                .bodyToMono(MAP_LIST)
+                .onErrorResume(WebClientResponseException.NotFound.class, e -> Mono.just(List.of()))
+                .timeout(bulkTimeout);
+
+        return withCircuitBreaker(call)
+                .flatMapIterable(waves -> waves)
+                .filter(wave -> wave.get("waveId") != null && wave.get("hash") != null)
+                .collectMap(wave -> Objects.toString(wave.get("waveId")), wave -> Objects.toString(wave.get("hash")));
+    }
+
+    private boolean isUnsupported(Throwable failure) {
+        return failure instanceof WebClientResponseException response
+                && (response.getStatusCode().isSameCodeAs(HttpStatus.NOT_FOUND)
+                || response.getStatusCode().isSameCodeAs(HttpStatus.METHOD_NOT_ALLOWED)
+                || response.getStatusCode().isSameCodeAs(HttpStatus.NOT_IMPLEMENTED));
+    }
+
+    private List<List<String>> partition(List<String> waveIds) {
+        List<List<String>> batches = new ArrayList<>();
+        for (int from = 0; from < waveIds.size(); from += bulkBatchSize) {
+            batches.add(waveIds.subList(from, Math.min(from + bulkBatchSize, waveIds.size())));
+        }
+        return batches;
+    }
+
+    /**
+     * Record the outcome of one call with the circuit breaker, or fail with
+     * CallNotPermittedException without subscribing while it is open
+     */
+    private <T> Mono<T> withCircuitBreaker(Mono<T> call) {
+        return Mono.defer(() -> {
+            if (!circuitBreaker.tryAcquirePermission()) {
+                return Mono.error(CallNotPermittedException.createCallNotPermittedException(circuitBreaker));
+            }
+            long start = circuitBreaker.getCurrentTimestamp();
+            return call
+                    .doOnSuccess(result -> circuitBreaker.onSuccess(
+                            circuitBreaker.getCurrentTimestamp() - start, circuitBreaker.getTimestampUnit()))
+                    .doOnError(e -> circuitBreaker.onError(
+                            circuitBreaker.getCurrentTimestamp() - start, circuitBreaker.getTimestampUnit(), e))
+                    .doOnCancel(circuitBreaker::releasePermission);
+        });
+    }
+
+    private record LegacyWave(String waveId, Object details) {
+    }
+
+    /**
+     * Whether an optional legacy endpoint is worth calling.
+     * Once it answered as missing it is skipped until the recheck interval
+     * has passed; the next call then probes it again.
+     */
+    private static final class EndpointSupport {
+
+        private final long recheckNanos;
+        private volatile boolean unsupported;
+        private volatile long unsupportedSinceNanos;
+
+        EndpointSupport(Duration recheckInterval) {
+            this.recheckNanos = recheckInterval.toNanos();
+        }
+
+        boolean isAvailable() {
+            if (unsupported && System.nanoTime() - unsupportedSinceNanos >= recheckNanos) {
+                unsupported = false;
+            }
+            return !unsupported;
+        }
+
+        void markUnsupported() {
+            unsupportedSinceNanos = System.nanoTime();
+            unsupported = true;
+        }
     }
 
     /**
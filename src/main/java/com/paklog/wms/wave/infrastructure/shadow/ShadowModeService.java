@@ -5,9 +5,10 @@ import com.paklog.wms.wave.infrastructure.resilience.WarehouseOperationsClient;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
 
+import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 
@@ -40,12 +41,11 @@ public class ShadowModeService {
 
     /**
      * Execute wave planning in shadow mode
-     * Calls legacy system asynchronously and compares results
+     * Calls legacy system without blocking and compares results when it answers
      *
      * @param waveId the wave identifier
      * @param newResult result from new system
      */
-    @Async
     public CompletableFuture<ShadowModeResult> executeShadowCall(String waveId, Object newResult) {
         if (!featureFlagService.isShadowModeEnabled(waveId)) {
             return CompletableFuture.completedFuture(
@@ -56,35 +56,37 @@ public class ShadowModeService {
         logger.info("Executing shadow mode for wave: {}", waveId);
         metrics.recordShadowExecution();
 
-        try {
-            // Call legacy system
-            Object legacyResult = legacyClient.planWave(waveId);
-
-            // Compare results
-            boolean matches = compareResults(newResult, legacyResult);
-
-            if (!matches) {
-                logger.warn("Shadow mode mismatch for wave {}: new={}, legacy={}",
-                        waveId, newResult, legacyResult);
-                metrics.recordMismatch();
-            } else {
-                logger.debug("Shadow mode match for wave {}", waveId);
-                metrics.recordMatch();
-            }
+        return legacyClient.planWaveAsync(waveId)
+                .map(legacyResult -> compare(waveId, newResult, legacyResult))
+                .switchIfEmpty(Mono.fromSupplier(() -> {
+                    logger.warn("Shadow mode skipped for wave {}: legacy system unavailable", waveId);
+                    metrics.recordError();
+                    return new ShadowModeResult(waveId, false, "Error: legacy system unavailable", null);
+                }))
+                .onErrorResume(e -> {
+                    logger.error("Shadow mode execution failed for wave {}", waveId, e);
+                    metrics.recordError();
+                    return Mono.just(new ShadowModeResult(waveId, false, "Error: " + e.getMessage(), null));
+                })
+                .toFuture();
+    }
 
-            return CompletableFuture.completedFuture(
-                    new ShadowModeResult(waveId, matches,
-                            matches ? "Results match" : "Results mismatch",
-                            Map.of("new", newResult, "legacy", legacyResult))
-            );
+    private ShadowModeResult compare(String waveId, Object newResult, Object legacyResult) {
+        boolean matches = compareResults(newResult, legacyResult);
 
-        } catch (Exception e) {
-            logger.error("Shadow mode execution failed for wave {}", waveId, e);
-            metrics.recordError();
-            return CompletableFuture.completedFuture(
-                    new ShadowModeResult(waveId, false, "Error: " + e.getMessage(), null)
-            );
+        if (!matches) {
+            logger.warn("Shadow mode mismatch for wave {}: new={}, legacy={}",
+                    waveId, newResult, legacyResult);
+            metrics.recordMismatch();
+        } else {
+            logger.debug("Shadow mode match for wave {}", waveId);
+            metrics.recordMatch();
         }
+
+        Map<String, Object> details = new HashMap<>();
+        details.put("new", newResult);
+        details.put("legacy", legacyResult);
+        return new ShadowModeResult(waveId, matches, matches ? "Results match" : "Results mismatch", details);
     }
 
     /**
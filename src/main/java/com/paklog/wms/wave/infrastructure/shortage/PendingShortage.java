@@ -0,0 +1,62 @@
+package com.paklog.wms.wave.infrastructure.shortage;
+
+import java.time.LocalDateTime;
+
+/**
+ * An order short of a SKU, waiting for the next re-planning window
+ * Keyed by SKU and order, so repeated shortage events collapse into one document.
+ */
+public class PendingShortage {
+
+    private String id;
+    private String sku;
+    private String orderId;
+    private LocalDateTime recordedAt;
+
+    public PendingShortage() {
+    }
+
+    public PendingShortage(String sku, String orderId, LocalDateTime recordedAt) {
+        this.id = idOf(sku, orderId);
+        this.sku = sku;
+        this.orderId = orderId;
+        this.recordedAt = recordedAt;
+    }
+
+    static String idOf(String sku, String orderId) {
+        return sku + ":" + orderId;
+    }
+
+    // Getters and setters
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getSku() {
+        return sku;
+    }
+
+    public void setSku(String sku) {
+        this.sku = sku;
+    }
+
+    public String getOrderId() {
+        return orderId;
+    }
+
+    public void setOrderId(String orderId) {
+        this.orderId = orderId;
+    }
+
+    public LocalDateTime getRecordedAt() {
+        return recordedAt;
+    }
+
+    public void setRecordedAt(LocalDateTime recordedAt) {
+        this.recordedAt = recordedAt;
+    }
+}
@@ -0,0 +1,62 @@
+package com.paklog.wms.wave.infrastructure.shortage;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * MongoDB storage for shortages waiting to be re-planned
+ * Shortages are written before the shortage event's offset is committed and
+ * deleted only after their re-plan succeeded, so a restart loses none.
+ */
+@Repository
+public class PendingShortageRepository {
+
+    static final String PENDING_SHORTAGE_COLLECTION = "pending_shortages";
+
+    private final MongoTemplate mongoTemplate;
+
+    public PendingShortageRepository(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    /**
+     * Record a shortage; recording the same SKU and order again is a no-op
+     */
+    public void record(String sku, String orderId, LocalDateTime recordedAt) {
+        Query query = new Query(Criteria.where("_id").is(PendingShortage.idOf(sku, orderId)));
+        Update update = new Update()
+                .setOnInsert("sku", sku)
+                .setOnInsert("orderId", orderId)
+                .setOnInsert("recordedAt", recordedAt);
+        mongoTemplate.upsert(query, update, PENDING_SHORTAGE_COLLECTION);
+    }
+
+    /**
+     * Oldest pending shortages first
+     */
+    public List<PendingShortage> findOldest(int limit) {
+        Query query = new Query()
+                .with(Sort.by(Sort.Direction.ASC, "recordedAt"))
+                .limit(limit);
+        return mongoTemplate.find(query, PendingShortage.class, PENDING_SHORTAGE_COLLECTION);
+    }
+
+    public void deleteAll(Collection<String> ids) {
+        mongoTemplate.remove(new Query(Criteria.where("_id").in(ids)), PENDING_SHORTAGE_COLLECTION);
+    }
+
+    /**
+     * Number of distinct SKUs with pending shortages
+     */
+    public int countSkus() {
+        return mongoTemplate.findDistinct(new Query(), "sku", PENDING_SHORTAGE_COLLECTION, String.class).size();
+    }
+}
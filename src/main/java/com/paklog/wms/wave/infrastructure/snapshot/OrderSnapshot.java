@@ -0,0 +1,83 @@
+package com.paklog.wms.wave.infrastructure.snapshot;
+
+import com.paklog.wms.wave.domain.entity.Order;
+import com.paklog.wms.wave.domain.valueobject.WavePriority;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compact snapshot of a validated order
+ * Holds only what the optimizer needs, in primitive form: dates as epoch
+ * seconds, volume and weight as thousandths, line quantities as an int[].
+ * Low-cardinality strings (carrier, zone) are interned by the store.
+ */
+final class OrderSnapshot {
+
+    private static final WavePriority[] PRIORITIES = WavePriority.values();
+    private static final int DECIMAL_SCALE = 3;
+
+    private final String orderId;
+    private final String carrier;
+    private final String zone;
+    private final byte priority;
+    private final long orderDateEpochSecond;
+    private final long requiredDateEpochSecond;
+    private final long volumeThousandths;
+    private final long weightThousandths;
+    private final int[] lineQuantities;
+    private final long storedAtEpochSecond;
+
+    OrderSnapshot(String orderId, String carrier, String zone,
+                  WavePriority priority, LocalDateTime orderDate, LocalDateTime requiredDate,
+                  BigDecimal volume, BigDecimal weight, int[] lineQuantities, long storedAtEpochSecond) {
+        this.orderId = orderId;
+        this.carrier = carrier;
+        this.zone = zone;
+        this.priority = (byte) priority.ordinal();
+        this.orderDateEpochSecond = orderDate.toEpochSecond(ZoneOffset.UTC);
+        this.requiredDateEpochSecond = requiredDate.toEpochSecond(ZoneOffset.UTC);
+        this.volumeThousandths = toThousandths(volume);
+        this.weightThousandths = toThousandths(weight);
+        this.lineQuantities = lineQuantities;
+        this.storedAtEpochSecond = storedAtEpochSecond;
+    }
+
+    String orderId() {
+        return orderId;
+    }
+
+    long storedAtEpochSecond() {
+        return storedAtEpochSecond;
+    }
+
+    /**
+     * Materialize the optimizer's view of this order
+     */
+    Order toOrder() {
+        List<Order.OrderLine> lines = new ArrayList<>(lineQuantities.length);
+        for (int quantity : lineQuantities) {
+            lines.add(new Order.OrderLine(quantity));
+        }
+
+        return Order.builder()
+                .orderId(orderId)
+                .priority(PRIORITIES[priority])
+                .orderDate(LocalDateTime.ofEpochSecond(orderDateEpochSecond, 0, ZoneOffset.UTC))
+                .requiredDate(LocalDateTime.ofEpochSecond(requiredDateEpochSecond, 0, ZoneOffset.UTC))
+                .orderLines(lines)
+                .shippingMethod(new Order.ShippingMethod(carrier))
+                .attributes(zone != null ? Map.of("primaryZone", zone) : Map.of())
+                .totalVolume(BigDecimal.valueOf(volumeThousandths, DECIMAL_SCALE))
+                .totalWeight(BigDecimal.valueOf(weightThousandths, DECIMAL_SCALE))
+                .build();
+    }
+
+    private static long toThousandths(BigDecimal value) {
+        return value.movePointRight(DECIMAL_SCALE).longValue();
+    }
+}
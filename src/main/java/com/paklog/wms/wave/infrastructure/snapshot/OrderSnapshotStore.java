@@ -0,0 +1,247 @@
+package com.paklog.wms.wave.infrastructure.snapshot;
+
+import com.paklog.wms.wave.domain.entity.Order;
+import com.paklog.wms.wave.domain.event.WaveCancelledEvent;
+import com.paklog.wms.wave.domain.event.WaveCompletedEvent;
+import com.paklog.wms.wave.domain.event.WaveOrderRemovedEvent;
+import com.paklog.wms.wave.domain.event.WavePlannedEvent;
+import com.paklog.wms.wave.domain.valueobject.WavePriority;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Local store of compact order snapshots for wave planning
+ * Fed from FulfillmentOrderValidatedEvent payloads so the optimizer has full
+ * order data without calling order-management. Snapshots are evicted when the
+ * wave holding them completes or is cancelled, when the order is cancelled,
+ * or after the retention period if the order never made it into a wave.
+ */
+@Component
+public class OrderSnapshotStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(OrderSnapshotStore.class);
+
+    private final Map<String, OrderSnapshot> snapshots = new ConcurrentHashMap<>();
+    private final Map<String, String[]> ordersByWave = new ConcurrentHashMap<>();
+    private final Map<String, String> internedValues = new ConcurrentHashMap<>();
+
+    private final int maxSnapshots;
+    private final Duration retention;
+
+    public OrderSnapshotStore(MeterRegistry meterRegistry,
+                              @Value("${paklog.order-snapshots.max-entries:200000}") int maxSnapshots,
+                              @Value("${paklog.order-snapshots.retention:PT48H}") Duration retention) {
+        this.maxSnapshots = maxSnapshots;
+        this.retention = retention;
+
+        Gauge.builder("order.snapshots.size", snapshots, Map::size)
+                .description("Order snapshots held for wave planning")
+                .tag("service", "wave-planning")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Store a snapshot from a FulfillmentOrderValidatedEvent payload
+     *
+     * @return false if the payload has no order ID or the store is full
+     */
+    public boolean store(Map<String, Object> eventData) {
+        Object orderId = eventData.get("orderId");
+        if (orderId == null) {
+            return false;
+        }
+        if (snapshots.size() >= maxSnapshots && !snapshots.containsKey(orderId.toString())) {
+            logger.warn("Order snapshot store is full ({} entries), not storing order {}", maxSnapshots, orderId);
+            return false;
+        }
+
+        OrderSnapshot snapshot = toSnapshot(orderId.toString(), eventData);
+        snapshots.put(snapshot.orderId(), snapshot);
+        return true;
+    }
+
+    public Optional<Order> find(String orderId) {
+        OrderSnapshot snapshot = snapshots.get(orderId);
+        return snapshot != null ? Optional.of(snapshot.toOrder()) : Optional.empty();
+    }
+
+    /**
+     * Orders for all IDs, in the given sequence, or empty if any snapshot is missing
+     */
+    public Optional<List<Order>> findAll(Collection<String> orderIds) {
+        List<Order> orders = new ArrayList<>(orderIds.size());
+        for (String orderId : orderIds) {
+            OrderSnapshot snapshot = snapshots.get(orderId);
+            if (snapshot == null) {
+                return Optional.empty();
+            }
+            orders.add(snapshot.toOrder());
+        }
+        return Optional.of(orders);
+    }
+
+    public void evict(String orderId) {
+        snapshots.remove(orderId);
+    }
+
+    public int size() {
+        return snapshots.size();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onWavePlanned(WavePlannedEvent event) {
+        ordersByWave.put(event.getWaveId(), event.getOrderIds().toArray(String[]::new));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onWaveOrderRemoved(WaveOrderRemovedEvent event) {
+        ordersByWave.computeIfPresent(event.getWaveId(), (waveId, orderIds) -> Arrays.stream(orderIds)
+                .filter(orderId -> !orderId.equals(event.getOrderId()))
+                .toArray(String[]::new));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onWaveCompleted(WaveCompletedEvent event) {
+        evictWave(event.getWaveId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onWaveCancelled(WaveCancelledEvent event) {
+        evictWave(event.getWaveId());
+    }
+
+    /**
+     * Drop snapshots of orders that never made it into a finished wave
+     * Orders of waves that are still planned or running are kept however old
+     * they are; they are evicted when their wave finishes.
+     */
+    @Scheduled(fixedDelayString = "${paklog.order-snapshots.sweep-interval-ms:600000}")
+    public void evictExpired() {
+        long cutoff = Instant.now().minus(retention).getEpochSecond();
+        Set<String> ordersInWaves = new HashSet<>();
+        ordersByWave.values().forEach(orderIds -> ordersInWaves.addAll(Arrays.asList(orderIds)));
+
+        int before = snapshots.size();
+        snapshots.values().removeIf(snapshot -> snapshot.storedAtEpochSecond() < cutoff
+                && !ordersInWaves.contains(snapshot.orderId()));
+        int evicted = before - snapshots.size();
+        if (evicted > 0) {
+            logger.info("Evicted {} expired order snapshots", evicted);
+        }
+    }
+
+    private void evictWave(String waveId) {
+        String[] orderIds = ordersByWave.remove(waveId);
+        if (orderIds != null) {
+            for (String orderId : orderIds) {
+                snapshots.remove(orderId);
+            }
+        }
+    }
+
+    private OrderSnapshot toSnapshot(String orderId, Map<String, Object> eventData) {
+        LocalDateTime orderDate = parseDate(eventData.get("orderDate"));
+        if (orderDate == null) {
+            orderDate = LocalDateTime.now(ZoneOffset.UTC);
+        }
+        // Orders without a promised date are treated as due when placed
+        LocalDateTime requiredDate = parseDate(eventData.get("requiredDate"));
+
+        return new OrderSnapshot(
+                orderId,
+                intern(carrier(eventData.get("shippingMethod"))),
+                intern(stringValue(eventData.get("primaryZone"))),
+                priority(eventData.get("priority")),
+                orderDate,
+                requiredDate != null ? requiredDate : orderDate,
+                decimal(eventData.get("totalVolume")),
+                decimal(eventData.get("totalWeight")),
+                lineQuantities(eventData.get("orderLines")),
+                Instant.now().getEpochSecond()
+        );
+    }
+
+    private String intern(String value) {
+        return value != null ? internedValues.computeIfAbsent(value, v -> v) : null;
+    }
+
+    private String carrier(Object shippingMethod) {
+        if (shippingMethod instanceof Map<?, ?> method) {
+            return stringValue(method.get("carrier"));
+        }
+        return stringValue(shippingMethod);
+    }
+
+    private WavePriority priority(Object value) {
+        if (value != null) {
+            try {
+                return WavePriority.valueOf(value.toString());
+            } catch (IllegalArgumentException e) {
+                logger.debug("Unknown order priority {}, using NORMAL", value);
+            }
+        }
+        return WavePriority.NORMAL;
+    }
+
+    private int[] lineQuantities(Object orderLines) {
+        if (!(orderLines instanceof List<?> lines)) {
+            return new int[0];
+        }
+        int[] quantities = new int[lines.size()];
+        for (int i = 0; i < quantities.length; i++) {
+            if (lines.get(i) instanceof Map<?, ?> line && line.get("quantity") instanceof Number quantity) {
+                quantities[i] = quantity.intValue();
+            }
+        }
+        return quantities;
+    }
+
+    private BigDecimal decimal(Object value) {
+        if (value instanceof Number number) {
+            return new BigDecimal(number.toString());
+        }
+        return BigDecimal.ZERO;
+    }
+
+    private LocalDateTime parseDate(Object value) {
+        if (!(value instanceof String text)) {
+            return null;
+        }
+        try {
+            return OffsetDateTime.parse(text).withOffsetSameInstant(ZoneOffset.UTC).toLocalDateTime();
+        } catch (DateTimeParseException e) {
+            try {
+                return LocalDateTime.parse(text);
+            } catch (DateTimeParseException ignored) {
+                return null;
+            }
+        }
+    }
+
+    private String stringValue(Object value) {
+        return value != null ? value.toString() : null;
+    }
+}
@@ -0,0 +1,24 @@
+package com.paklog.wms.wave.infrastructure.stream;
+
+import com.paklog.wms.wave.domain.valueobject.WaveStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * Wave lifecycle change pushed to stream subscribers
+ *
+ * @param id        stream position, used as the SSE event ID for resuming
+ * @param eventType domain event that caused the change, e.g. WaveReleasedEvent
+ * @param zone      assigned zone, or null while the wave has none
+ * @param status    wave status after the change
+ */
+public record WaveChange(
+        String id,
+        String eventType,
+        String waveId,
+        String warehouseId,
+        String zone,
+        WaveStatus status,
+        LocalDateTime occurredAt
+) {
+}
@@ -0,0 +1,260 @@
+package com.paklog.wms.wave.infrastructure.stream;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.paklog.wave.planning.domain.shared.DomainEvent;
+import com.paklog.wms.wave.domain.event.WaveCancelledEvent;
+import com.paklog.wms.wave.domain.event.WaveCompletedEvent;
+import com.paklog.wms.wave.domain.event.WaveOrderRemovedEvent;
+import com.paklog.wms.wave.domain.event.WavePlannedEvent;
+import com.paklog.wms.wave.domain.event.WaveReleasedEvent;
+import com.paklog.wms.wave.domain.event.WaveStartedEvent;
+import com.paklog.wms.wave.domain.event.WaveZoneAssignedEvent;
+import com.paklog.wms.wave.domain.valueobject.WaveStatus;
+import com.paklog.wms.wave.infrastructure.events.WaveEventPublisher;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import reactor.core.publisher.BufferOverflowStrategy;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-process stream of wave lifecycle changes for push clients
+ * Committed wave domain events are numbered and multicast to subscribers,
+ * filtered by warehouse and zone. The last changes are kept for replay so a
+ * client can resume after the ID of the last change it received. When that
+ * ID is unknown, from an earlier process or older than the replay window, the
+ * subscriber gets a reset marker first and should re-read wave state.
+ * Each subscriber has a bounded buffer; a client that falls further behind
+ * is disconnected and resumes from its last change ID on reconnect.
+ * Changes made by this instance are streamed from its committed domain
+ * events as they happen; changes made by other instances arrive from the
+ * outbox topic once relayed. The IDs of recently streamed events are kept so
+ * an event is streamed once even though this instance reads its own events
+ * back from the topic. Change IDs are numbered per instance, so a client
+ * that reconnects to another instance gets a reset marker.
+ */
+@Component
+public class WaveChangeStream {
+
+    public static final String RESET_EVENT = "reset";
+
+    private static final Logger logger = LoggerFactory.getLogger(WaveChangeStream.class);
+
+    /**
+     * Outbox event types streamed, with the wave status after each
+     */
+    private static final Map<String, OutboxEventType> OUTBOX_EVENT_TYPES = Map.ofEntries(
+            outboxEventType(WavePlannedEvent.class, WaveStatus.PLANNED),
+            outboxEventType(WaveZoneAssignedEvent.class, WaveStatus.PLANNED),
+            outboxEventType(WaveOrderRemovedEvent.class, WaveStatus.PLANNED),
+            outboxEventType(WaveReleasedEvent.class, WaveStatus.RELEASED),
+            outboxEventType(WaveStartedEvent.class, WaveStatus.IN_PROGRESS),
+            outboxEventType(WaveCompletedEvent.class, WaveStatus.COMPLETED),
+            outboxEventType(WaveCancelledEvent.class, WaveStatus.CANCELLED)
+    );
+
+    private final ObjectMapper objectMapper;
+    private final int replaySize;
+    private final int subscriberBuffer;
+    // Distinguishes change IDs of this process from those of earlier ones
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final Sinks.Many<Sequenced> sink;
+    private final AtomicInteger subscribers = new AtomicInteger();
+
+    // Emissions into the sink must be serialized. A lock rather than a monitor,
+    // since subscriber callbacks run while it is held and must not pin a
+    // virtual thread's carrier
+    private final ReentrantLock lock = new ReentrantLock();
+    // Guarded by lock
+    private long sequence;
+    // IDs of recently streamed events, oldest first; guarded by lock
+    private final Map<String, Boolean> streamedEventIds;
+
+    public WaveChangeStream(MeterRegistry meterRegistry,
+                            ObjectMapper objectMapper,
+                            @Value("${paklog.waves.changes.replay-size:1000}") int replaySize,
+                            @Value("${paklog.waves.changes.subscriber-buffer:256}") int subscriberBuffer,
+                            @Value("${paklog.waves.changes.streamed-event-ids:10000}") int streamedEventIdLimit) {
+        this.objectMapper = objectMapper;
+        this.replaySize = replaySize;
+        this.subscriberBuffer = subscriberBuffer;
+        this.sink = Sinks.many().replay().limit(replaySize);
+        this.streamedEventIds = new LinkedHashMap<>(256, 0.75f, false) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+                return size() > streamedEventIdLimit;
+            }
+        };
+
+        Gauge.builder("wave.changes.subscribers", subscribers, AtomicInteger::get)
+                .description("Clients subscribed to the wave change stream")
+                .tag("service", "wave-planning")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Changes in a warehouse, optionally one zone, after the given change ID
+     *
+     * @param lastChangeId ID of the last change the client received, or null for new changes only
+     */
+    public Flux<WaveChange> changes(String warehouseId, String zone, String lastChangeId) {
+        long after;
+        boolean reset = false;
+        lock.lock();
+        try {
+            Long requested = parseSequence(lastChangeId);
+            if (lastChangeId == null) {
+                after = sequence;
+            } else if (requested == null || requested > sequence || requested < sequence - replaySize) {
+                reset = true;
+                after = requested != null && requested <= sequence ? requested : sequence;
+            } else {
+                after = requested;
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        Flux<WaveChange> changes = sink.asFlux()
+                .filter(sequenced -> sequenced.sequence() > after)
+                .map(Sequenced::change)
+                .filter(change -> Objects.equals(change.warehouseId(), warehouseId))
+                .filter(change -> zone == null || zone.equals(change.zone()))
+                .onBackpressureBuffer(subscriberBuffer, BufferOverflowStrategy.ERROR)
+                .doOnSubscribe(subscription -> subscribers.incrementAndGet())
+                .doFinally(signal -> subscribers.decrementAndGet());
+
+        if (reset) {
+            WaveChange marker = new WaveChange(changeId(after), RESET_EVENT, null, warehouseId, zone, null,
+                    LocalDateTime.now());
+            return Flux.concat(Flux.just(marker), changes);
+        }
+        return changes;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onWavePlanned(WavePlannedEvent event) {
+        publish(event, event.getWaveId(), event.getWarehouseId(), null, WaveStatus.PLANNED);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onWaveZoneAssigned(WaveZoneAssignedEvent event) {
+        publish(event, event.getWaveId(), event.getWarehouseId(), event.getAssignedZone(), WaveStatus.PLANNED);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onWaveOrderRemoved(WaveOrderRemovedEvent event) {
+        publish(event, event.getWaveId(), event.getWarehouseId(), event.getAssignedZone(), WaveStatus.PLANNED);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onWaveReleased(WaveReleasedEvent event) {
+        publish(event, event.getWaveId(), event.getWarehouseId(), event.getAssignedZone(), WaveStatus.RELEASED);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onWaveStarted(WaveStartedEvent event) {
+        publish(event, event.getWaveId(), event.getWarehouseId(), event.getAssignedZone(), WaveStatus.IN_PROGRESS);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onWaveCompleted(WaveCompletedEvent event) {
+        publish(event, event.getWaveId(), event.getWarehouseId(), event.getAssignedZone(), WaveStatus.COMPLETED);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onWaveCancelled(WaveCancelledEvent event) {
+        publish(event, event.getWaveId(), event.getWarehouseId(), event.getAssignedZone(), WaveStatus.CANCELLED);
+    }
+
+    /**
+     * Stream a wave event read from the outbox topic, unless already streamed
+     *
+     * @param eventType CloudEvents type of the outbox event
+     * @param payload   JSON of the domain event
+     */
+    public void onOutboxEvent(String eventType, byte[] payload) {
+        OutboxEventType type = eventType != null ? OUTBOX_EVENT_TYPES.get(eventType) : null;
+        if (type == null || payload == null) {
+            return;
+        }
+        JsonNode event;
+        try {
+            event = objectMapper.readTree(payload);
+        } catch (IOException e) {
+            logger.warn("Skipping unreadable outbox event of type {}", eventType, e);
+            return;
+        }
+        publish(text(event, "eventId"), type.eventName(), text(event, "waveId"),
+                text(event, "warehouseId"), text(event, "assignedZone"), type.status());
+    }
+
+    private void publish(DomainEvent event, String waveId, String warehouseId,
+                         String zone, WaveStatus status) {
+        publish(event.getEventId(), event.getClass().getSimpleName(), waveId, warehouseId, zone, status);
+    }
+
+    private void publish(String eventId, String eventName, String waveId, String warehouseId,
+                         String zone, WaveStatus status) {
+        if (warehouseId == null) {
+            return;
+        }
+        lock.lock();
+        try {
+            if (eventId != null && streamedEventIds.putIfAbsent(eventId, Boolean.TRUE) != null) {
+                return;
+            }
+            sequence++;
+            sink.tryEmitNext(new Sequenced(sequence, new WaveChange(changeId(sequence),
+                    eventName, waveId, warehouseId, zone, status, LocalDateTime.now())));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static Map.Entry<String, OutboxEventType> outboxEventType(Class<? extends DomainEvent> eventClass,
+                                                                      WaveStatus status) {
+        return Map.entry(WaveEventPublisher.eventTypeOf(eventClass),
+                new OutboxEventType(eventClass.getSimpleName(), status));
+    }
+
+    private static String text(JsonNode node, String field) {
+        JsonNode value = node.get(field);
+        return value == null || value.isNull() ? null : value.asText();
+    }
+
+    private String changeId(long position) {
+        return epoch + "-" + position;
+    }
+
+    private Long parseSequence(String changeId) {
+        if (changeId == null || !changeId.startsWith(epoch + "-")) {
+            return null;
+        }
+        try {
+            return Long.parseLong(changeId.substring(epoch.length() + 1));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private record Sequenced(long sequence, WaveChange change) {
+    }
+
+    private record OutboxEventType(String eventName, WaveStatus status) {
+    }
+}
@@ -0,0 +1,150 @@
+package com.paklog.wms.wave.adapter.rest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.paklog.wms.wave.adapter.rest.dto.BatchCancelWavesRequest;
+import com.paklog.wms.wave.adapter.rest.dto.BatchCreateWavesRequest;
+import com.paklog.wms.wave.adapter.rest.dto.BatchWaveIdsRequest;
+import com.paklog.wms.wave.adapter.rest.dto.CreateWaveRequest;
+import com.paklog.wms.wave.application.command.CreateWaveCommand;
+import com.paklog.wms.wave.application.service.WaveBatchResult;
+import com.paklog.wms.wave.application.service.WaveBatchService;
+import com.paklog.wms.wave.domain.aggregate.Wave;
+import com.paklog.wms.wave.domain.valueobject.WavePriority;
+import com.paklog.wms.wave.domain.valueobject.WaveStrategy;
+import com.paklog.wms.wave.domain.valueobject.WaveStrategyType;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(WaveBatchController.class)
+class WaveBatchControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @MockBean
+    private WaveBatchService waveBatchService;
+
+    @Test
+    void batchReleaseReturnsPerWaveResults() throws Exception {
+        when(waveBatchService.releaseWaves(anyList())).thenReturn(List.of(
+                WaveBatchResult.succeeded(sampleWave("WAVE-1")),
+                WaveBatchResult.notFound("WAVE-2")
+        ));
+
+        mockMvc.perform(post("/api/v1/waves:batchRelease")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new BatchWaveIdsRequest(List.of("WAVE-1", "WAVE-2")))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.succeeded").value(1))
+                .andExpect(jsonPath("$.failed").value(1))
+                .andExpect(jsonPath("$.results[0].outcome").value("SUCCEEDED"))
+                .andExpect(jsonPath("$.results[0].wave.waveId").value("WAVE-1"))
+                .andExpect(jsonPath("$.results[1].outcome").value("NOT_FOUND"))
+                .andExpect(jsonPath("$.results[1].wave").doesNotExist());
+
+        verify(waveBatchService).releaseWaves(List.of("WAVE-1", "WAVE-2"));
+    }
+
+    @Test
+    void batchCancelRequiresReason() throws Exception {
+        mockMvc.perform(post("/api/v1/waves:batchCancel")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new BatchCancelWavesRequest(List.of("WAVE-1"), " "))))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(waveBatchService);
+    }
+
+    @Test
+    void batchCancelPassesSharedReason() throws Exception {
+        when(waveBatchService.cancelWaves(anyList(), eq("Shift closed"))).thenReturn(List.of(
+                WaveBatchResult.rejected("WAVE-1", "Cannot cancel a COMPLETED wave")));
+
+        mockMvc.perform(post("/api/v1/waves:batchCancel")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                new BatchCancelWavesRequest(List.of("WAVE-1"), "Shift closed"))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.results[0].outcome").value("REJECTED"))
+                .andExpect(jsonPath("$.results[0].message").value("Cannot cancel a COMPLETED wave"));
+    }
+
+    @Test
+    void batchCreateMapsEveryRequestToCommand() throws Exception {
+        when(waveBatchService.createWaves(anyList())).thenReturn(List.of(
+                WaveBatchResult.succeeded(sampleWave("WAVE-1"))));
+
+        CreateWaveRequest wave = new CreateWaveRequest(
+                List.of("ORD-1"),
+                WaveStrategyType.TIME_BASED,
+                "WH-1",
+                WavePriority.HIGH,
+                LocalDateTime.now().plusHours(1),
+                10,
+                null,
+                "PT15M"
+        );
+
+        mockMvc.perform(post("/api/v1/waves:batchCreate")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new BatchCreateWavesRequest(List.of(wave)))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.succeeded").value(1));
+
+        ArgumentCaptor<List<CreateWaveCommand>> commands = ArgumentCaptor.forClass(List.class);
+        verify(waveBatchService).createWaves(commands.capture());
+        assertThat(commands.getValue()).singleElement().satisfies(command -> {
+            assertThat(command.warehouseId()).isEqualTo("WH-1");
+            assertThat(command.timeInterval()).isEqualTo(Duration.ofMinutes(15));
+        });
+    }
+
+    @Test
+    void oversizedBatchIsBadRequest() throws Exception {
+        when(waveBatchService.releaseWaves(any())).thenThrow(
+                new IllegalArgumentException("Batch of 501 waves exceeds the maximum of 500"));
+
+        mockMvc.perform(post("/api/v1/waves:batchRelease")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new BatchWaveIdsRequest(List.of("WAVE-1")))))
+                .andExpect(status().isBadRequest());
+    }
+
+    private Wave sampleWave(String waveId) {
+        Wave wave = new Wave();
+        wave.setWaveId(waveId);
+        wave.plan(
+                List.of("ORD-1"),
+                WaveStrategy.builder()
+                        .type(WaveStrategyType.TIME_BASED)
+                        .maxOrders(10)
+                        .timeInterval(Duration.ofMinutes(30))
+                        .build(),
+                "WH-1",
+                WavePriority.NORMAL,
+                LocalDateTime.now().plusHours(1)
+        );
+        return wave;
+    }
+}
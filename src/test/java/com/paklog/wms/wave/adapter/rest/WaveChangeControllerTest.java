@@ -0,0 +1,51 @@
+package com.paklog.wms.wave.adapter.rest;
+
+import com.paklog.wms.wave.domain.valueobject.WaveStatus;
+import com.paklog.wms.wave.infrastructure.stream.WaveChange;
+import com.paklog.wms.wave.infrastructure.stream.WaveChangeStream;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.codec.ServerSentEvent;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static reactor.core.publisher.Flux.just;
+import static reactor.core.publisher.Flux.never;
+
+class WaveChangeControllerTest {
+
+    private final WaveChangeStream waveChangeStream = mock(WaveChangeStream.class);
+
+    @Test
+    void changesAreSentWithTheirIdForResuming() {
+        WaveChange change = new WaveChange("k1-7", "WaveReleasedEvent", "WAVE-1", "WH-1", "ZONE-A",
+                WaveStatus.RELEASED, LocalDateTime.now());
+        when(waveChangeStream.changes("WH-1", "ZONE-A", "k1-6")).thenReturn(just(change).concatWith(never()));
+        WaveChangeController controller = new WaveChangeController(waveChangeStream, Duration.ofHours(1));
+
+        ServerSentEvent<WaveChange> event = controller.streamChanges("WH-1", "ZONE-A", "k1-6")
+                .blockFirst(Duration.ofSeconds(5));
+
+        assertThat(event.id()).isEqualTo("k1-7");
+        assertThat(event.event()).isEqualTo("WaveReleasedEvent");
+        assertThat(event.data()).isSameAs(change);
+    }
+
+    @Test
+    void idleStreamSendsHeartbeats() {
+        when(waveChangeStream.changes("WH-1", null, null)).thenReturn(never());
+        WaveChangeController controller = new WaveChangeController(waveChangeStream, Duration.ofMillis(10));
+
+        List<ServerSentEvent<WaveChange>> events = controller.streamChanges("WH-1", null, null)
+                .take(2).collectList().block(Duration.ofSeconds(5));
+
+        assertThat(events).allSatisfy(event -> {
+            assertThat(event.comment()).isEqualTo("heartbeat");
+            assertThat(event.data()).isNull();
+        });
+    }
+}
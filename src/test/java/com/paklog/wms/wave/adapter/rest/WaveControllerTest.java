@@ -17,19 +17,28 @@ import org.mockito.ArgumentCaptor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.MediaType;
+import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.not;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(WaveController.class)
@@ -116,6 +125,42 @@ class WaveControllerTest {
                 .andExpect(jsonPath("$.waveId").value("WAVE-123"));
     }
 
+    @Test
+    void getWaveReturnsNotModifiedForCurrentVersion() throws Exception {
+        ReflectionTestUtils.setField(sampleWave, "version", 3L);
+        when(wavePlanningService.findWaveById("WAVE-123")).thenReturn(sampleWave);
+
+        mockMvc.perform(get("/api/v1/waves/WAVE-123"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"3\""));
+
+        mockMvc.perform(get("/api/v1/waves/WAVE-123").header("If-None-Match", "\"3\""))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        mockMvc.perform(get("/api/v1/waves/WAVE-123").header("If-None-Match", "\"2\""))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.waveId").value("WAVE-123"));
+    }
+
+    @Test
+    void listWavesReturnsNotModifiedWhenNoWaveChanged() throws Exception {
+        ReflectionTestUtils.setField(sampleWave, "version", 1L);
+        when(wavePlanningService.findWaves(null, null, null, 100, true)).thenReturn(List.of(sampleWave));
+
+        String etag = mockMvc.perform(get("/api/v1/waves"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/api/v1/waves").header("If-None-Match", etag))
+                .andExpect(status().isNotModified());
+
+        ReflectionTestUtils.setField(sampleWave, "version", 2L);
+        mockMvc.perform(get("/api/v1/waves").header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", not(etag)));
+    }
+
     @Test
     void getWaveNotFoundReturns404() throws Exception {
         when(wavePlanningService.findWaveById("WAVE-404")).thenThrow(new WaveNotFoundException("WAVE-404"));
@@ -126,15 +171,15 @@ class WaveControllerTest {
 
     @Test
     void listWavesDelegatesToService() throws Exception {
-        when(wavePlanningService.findActiveWaves()).thenReturn(List.of(sampleWave));
+        when(wavePlanningService.findWaves(null, null, null, 100, true)).thenReturn(List.of(sampleWave));
 
-        mockMvc.perform(get("/api/v1/waves"))
+        mockMvc.perform(get("/api/v1/waves").accept(MediaType.ALL))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$[0].waveId").value("WAVE-123"));
-
-        verify(wavePlanningService).findActiveWaves();
+                .andExpect(jsonPath("$[0].waveId").value("WAVE-123"))
+                .andExpect(jsonPath("$[0].orderIds[0]").value("ORD-1"))
+                .andExpect(header().doesNotExist("X-Next-Cursor"));
 
-        when(wavePlanningService.findWavesByWarehouseAndStatus("WH-1", WaveStatus.PLANNED))
+        when(wavePlanningService.findWaves(WaveStatus.PLANNED, "WH-1", null, 100, true))
                 .thenReturn(List.of(sampleWave));
 
         mockMvc.perform(get("/api/v1/waves")
@@ -142,7 +187,63 @@ class WaveControllerTest {
                         .param("warehouseId", "WH-1"))
                 .andExpect(status().isOk());
 
-        verify(wavePlanningService).findWavesByWarehouseAndStatus("WH-1", WaveStatus.PLANNED);
+        verify(wavePlanningService).findWaves(WaveStatus.PLANNED, "WH-1", null, 100, true);
+    }
+
+    @Test
+    void listWavesPagesWithCursorAndProjection() throws Exception {
+        when(wavePlanningService.findWaves(WaveStatus.PLANNED, null, null, 1, false)).thenReturn(List.of(sampleWave));
+
+        String cursor = mockMvc.perform(get("/api/v1/waves")
+                        .param("status", "PLANNED")
+                        .param("limit", "1")
+                        .param("includeOrderIds", "false"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].orderIds").doesNotExist())
+                .andExpect(jsonPath("$[0].orderCount").value(2))
+                .andExpect(header().exists("X-Next-Cursor"))
+                .andReturn().getResponse().getHeader("X-Next-Cursor");
+
+        mockMvc.perform(get("/api/v1/waves")
+                        .param("status", "PLANNED")
+                        .param("limit", "1")
+                        .param("includeOrderIds", "false")
+                        .param("cursor", cursor))
+                .andExpect(status().isOk());
+
+        verify(wavePlanningService).findWaves(WaveStatus.PLANNED, null, "WAVE-123", 1, false);
+    }
+
+    @Test
+    void listWavesRejectsInvalidLimitAndCursor() throws Exception {
+        mockMvc.perform(get("/api/v1/waves").param("limit", "501"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/v1/waves").param("cursor", "not base64!"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void streamWavesWritesNewlineDelimitedJson() throws Exception {
+        Wave second = new Wave();
+        second.setWaveId("WAVE-124");
+        second.plan(List.of("ORD-9"), sampleWave.getStrategy(), "WH-1", WavePriority.LOW, null);
+        when(wavePlanningService.streamWaves(null, "WH-1", false)).thenReturn(Stream.of(sampleWave, second));
+
+        MvcResult result = mockMvc.perform(get("/api/v1/waves")
+                        .param("warehouseId", "WH-1")
+                        .accept("application/x-ndjson"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson"))
+                .andReturn().getResponse().getContentAsString();
+
+        List<String> lines = body.lines().toList();
+        assertThat(lines).hasSize(2);
+        assertThat(objectMapper.readTree(lines.get(1)).get("waveId").asText()).isEqualTo("WAVE-124");
+        assertThat(objectMapper.readTree(lines.get(0)).has("orderIds")).isFalse();
     }
 
     @Test
@@ -164,6 +265,18 @@ class WaveControllerTest {
                 .andExpect(status().isConflict());
     }
 
+    @Test
+    void concurrentModificationReturns409() throws Exception {
+        when(wavePlanningService.cancelWave(any()))
+                .thenThrow(new OptimisticLockingFailureException("Wave WAVE-123 was modified concurrently"));
+
+        mockMvc.perform(post("/api/v1/waves/WAVE-123/cancel")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"reason\":\"Shift closed\"}"))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.error").value("Concurrent Modification"));
+    }
+
     @Test
     void cancelWaveReturnsWave() throws Exception {
         when(wavePlanningService.cancelWave(any())).thenReturn(sampleWave);
@@ -195,4 +308,27 @@ class WaveControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$[0].waveId").value("WAVE-123"));
     }
+
+    @Test
+    void readyToReleaseStreamsNewlineDelimitedJsonAndClosesCursor() throws Exception {
+        AtomicBoolean closed = new AtomicBoolean();
+        when(wavePlanningService.streamWavesReadyToRelease())
+                .thenReturn(Stream.of(sampleWave).onClose(() -> closed.set(true)));
+
+        MvcResult result = mockMvc.perform(get("/api/v1/waves/ready-to-release")
+                        .accept("application/x-ndjson"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson"))
+                .andReturn().getResponse().getContentAsString();
+
+        assertThat(body.lines().toList()).singleElement()
+                .satisfies(line -> assertThat(objectMapper.readTree(line).get("waveId").asText())
+                        .isEqualTo("WAVE-123"));
+        assertThat(closed).isTrue();
+        verify(wavePlanningService, never()).findWavesReadyToRelease();
+    }
 }
@@ -0,0 +1,61 @@
+package com.paklog.wms.wave.adapter.rest;
+
+import com.paklog.wms.wave.infrastructure.readmodel.WaveSummary;
+import com.paklog.wms.wave.infrastructure.readmodel.WaveSummaryProjection;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(WaveSummaryController.class)
+class WaveSummaryControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private WaveSummaryProjection waveSummaryProjection;
+
+    @Test
+    void getWarehouseSummariesReturnsEveryZone() throws Exception {
+        WaveSummary zoneA = new WaveSummary("WH-1", "ZONE-A");
+        zoneA.getStatusCounts().put("RELEASED", 3L);
+        zoneA.setLinesInFlight(42);
+        when(waveSummaryProjection.findByWarehouse("WH-1", 10))
+                .thenReturn(List.of(zoneA, new WaveSummary("WH-1", null)));
+
+        mockMvc.perform(get("/api/v1/wave-summaries/WH-1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].zone").value("ZONE-A"))
+                .andExpect(jsonPath("$[0].statusCounts.RELEASED").value(3))
+                .andExpect(jsonPath("$[0].linesInFlight").value(42))
+                .andExpect(jsonPath("$[1].zone").value("UNASSIGNED"));
+    }
+
+    @Test
+    void getZoneSummaryCapsUpcomingReleases() throws Exception {
+        when(waveSummaryProjection.find("WH-1", "ZONE-A", 100)).thenReturn(new WaveSummary("WH-1", "ZONE-A"));
+
+        mockMvc.perform(get("/api/v1/wave-summaries/WH-1/zones/ZONE-A").param("releases", "1000"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.warehouseId").value("WH-1"));
+
+        verify(waveSummaryProjection).find("WH-1", "ZONE-A", 100);
+    }
+
+    @Test
+    void negativeReleasesIsBadRequest() throws Exception {
+        mockMvc.perform(get("/api/v1/wave-summaries/WH-1").param("releases", "-1"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(waveSummaryProjection);
+    }
+}
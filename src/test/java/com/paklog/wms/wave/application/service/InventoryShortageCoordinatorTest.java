@@ -0,0 +1,107 @@
+package com.paklog.wms.wave.application.service;
+
+import com.paklog.wms.wave.application.service.WavePlanningService.ShortageReplan;
+import com.paklog.wms.wave.infrastructure.shortage.PendingShortage;
+import com.paklog.wms.wave.infrastructure.shortage.PendingShortageRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class InventoryShortageCoordinatorTest {
+
+    @Mock
+    private WavePlanningService wavePlanningService;
+
+    @Mock
+    private PendingShortageRepository pendingShortages;
+
+    private SimpleMeterRegistry meterRegistry;
+    private InventoryShortageCoordinator coordinator;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        coordinator = new InventoryShortageCoordinator(wavePlanningService, pendingShortages, meterRegistry, 100);
+    }
+
+    @Test
+    void recordShortagePersistsItBeforeReturning() {
+        coordinator.recordShortage("SKU-1", "ORD-1");
+
+        verify(pendingShortages).record(eq("SKU-1"), eq("ORD-1"), any(LocalDateTime.class));
+    }
+
+    @Test
+    void flushReplansBurstOfShortagesOnce() {
+        when(pendingShortages.findOldest(100)).thenReturn(List.of(
+                shortage("SKU-1", "ORD-1"),
+                shortage("SKU-1", "ORD-2"),
+                shortage("SKU-2", "ORD-3")));
+        when(wavePlanningService.splitShortOrders(anyCollection(), anyString()))
+                .thenReturn(new ShortageReplan(List.of(), List.of()));
+
+        coordinator.flush();
+
+        ArgumentCaptor<Collection<String>> ordersCaptor = ArgumentCaptor.forClass(Collection.class);
+        verify(wavePlanningService, times(1))
+                .splitShortOrders(ordersCaptor.capture(), eq(InventoryShortageCoordinator.SHORTAGE_REASON));
+        assertThat(ordersCaptor.getValue()).containsExactlyInAnyOrder("ORD-1", "ORD-2", "ORD-3");
+        verify(pendingShortages).deleteAll(List.of("SKU-1:ORD-1", "SKU-1:ORD-2", "SKU-2:ORD-3"));
+    }
+
+    @Test
+    void flushWithoutShortagesDoesNothing() {
+        when(pendingShortages.findOldest(100)).thenReturn(List.of());
+
+        coordinator.flush();
+
+        verifyNoInteractions(wavePlanningService);
+    }
+
+    @Test
+    void failedReplanIsRetriedNextWindow() {
+        when(pendingShortages.findOldest(100)).thenReturn(List.of(shortage("SKU-1", "ORD-1")));
+        when(wavePlanningService.splitShortOrders(anyCollection(), anyString()))
+                .thenThrow(new IllegalStateException("write conflict"));
+
+        coordinator.flush();
+
+        verify(pendingShortages, never()).deleteAll(any());
+    }
+
+    @Test
+    void fullyShortWavesAreCounted() {
+        when(pendingShortages.findOldest(100)).thenReturn(List.of(shortage("SKU-1", "ORD-1")));
+        when(wavePlanningService.splitShortOrders(anyCollection(), anyString()))
+                .thenReturn(new ShortageReplan(List.of(), List.of("WAVE-1")));
+
+        coordinator.flush();
+
+        assertThat(meterRegistry.counter("wave.shortage.replans",
+                "service", "wave-planning", "outcome", "held").count()).isEqualTo(1.0);
+    }
+
+    private PendingShortage shortage(String sku, String orderId) {
+        return new PendingShortage(sku, orderId, LocalDateTime.now());
+    }
+}
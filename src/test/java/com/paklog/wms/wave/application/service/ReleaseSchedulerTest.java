@@ -0,0 +1,192 @@
+package com.paklog.wms.wave.application.service;
+
+import com.paklog.wms.wave.application.command.ReleaseWaveCommand;
+import com.paklog.wms.wave.application.service.WavePlanningService.WaveNotFoundException;
+import com.paklog.wms.wave.domain.aggregate.Wave;
+import com.paklog.wms.wave.domain.event.WaveCancelledEvent;
+import com.paklog.wms.wave.domain.event.WaveInventoryAllocatedEvent;
+import com.paklog.wms.wave.domain.event.WaveZoneAssignedEvent;
+import com.paklog.wms.wave.domain.valueobject.WavePriority;
+import com.paklog.wms.wave.domain.valueobject.WaveStatus;
+import com.paklog.wms.wave.domain.valueobject.WaveStrategy;
+import com.paklog.wms.wave.domain.valueobject.WaveStrategyType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReleaseSchedulerTest {
+
+    @Mock
+    private WavePlanningService wavePlanningService;
+
+    private SimpleMeterRegistry meterRegistry;
+    private ReleaseScheduler scheduler;
+
+    private final LocalDateTime now = LocalDateTime.now();
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        scheduler = new ReleaseScheduler(wavePlanningService, meterRegistry,
+                Duration.ofMinutes(1), Duration.ofMinutes(30));
+    }
+
+    @Test
+    void dueWavesAreReleasedByTimeThenPriority() {
+        scheduler.onWaveInventoryAllocated(allocated("WAVE-LATE", now.minusMinutes(1), WavePriority.CRITICAL));
+        scheduler.onWaveInventoryAllocated(allocated("WAVE-NORMAL", now.minusMinutes(5), WavePriority.NORMAL));
+        scheduler.onWaveInventoryAllocated(allocated("WAVE-HIGH", now.minusMinutes(5), WavePriority.HIGH));
+        scheduler.onWaveInventoryAllocated(allocated("WAVE-FUTURE", now.plusHours(1), WavePriority.CRITICAL));
+
+        scheduler.releaseDue(now);
+
+        InOrder inOrder = inOrder(wavePlanningService);
+        inOrder.verify(wavePlanningService).releaseWave(new ReleaseWaveCommand("WAVE-HIGH"));
+        inOrder.verify(wavePlanningService).releaseWave(new ReleaseWaveCommand("WAVE-NORMAL"));
+        inOrder.verify(wavePlanningService).releaseWave(new ReleaseWaveCommand("WAVE-LATE"));
+        verifyNoMoreInteractions(wavePlanningService);
+
+        assertThat(scheduler.nextDueTime()).isEqualTo(now.plusHours(1));
+        assertThat(meterRegistry.counter("wave.release.scheduler",
+                "service", "wave-planning", "outcome", "released").count()).isEqualTo(3.0);
+    }
+
+    @Test
+    void cancelledWaveIsNeverReleased() {
+        scheduler.onWaveInventoryAllocated(allocated("WAVE-1", now.minusMinutes(1), WavePriority.NORMAL));
+        scheduler.onWaveCancelled(new WaveCancelledEvent("WAVE-1", "No capacity"));
+
+        scheduler.releaseDue(now);
+
+        verifyNoInteractions(wavePlanningService);
+        assertThat(scheduler.nextDueTime()).isNull();
+        assertThat(scheduler.pendingReleases("WH-1")).isEmpty();
+    }
+
+    @Test
+    void unreleasableWaveIsDeferredUntilZoneAssigned() {
+        Wave wave = allocatedWave("WAVE-1", now.minusMinutes(1));
+        when(wavePlanningService.releaseWave(any()))
+                .thenThrow(new IllegalStateException("Wave must have an assigned zone before release"));
+        when(wavePlanningService.findWaveById("WAVE-1")).thenReturn(wave);
+        scheduler.onWaveInventoryAllocated(allocated("WAVE-1", now.minusMinutes(1), WavePriority.NORMAL));
+
+        scheduler.releaseDue(now);
+
+        assertThat(scheduler.pendingReleases("WH-1")).containsExactly("WAVE-1");
+        assertThat(scheduler.nextDueTime()).isAfter(now.plusSeconds(30));
+        assertThat(meterRegistry.counter("wave.release.scheduler",
+                "service", "wave-planning", "outcome", "blocked").count()).isEqualTo(1.0);
+        assertThat(meterRegistry.counter("wave.release.scheduler",
+                "service", "wave-planning", "outcome", "deferred").count()).isZero();
+
+        scheduler.onWaveZoneAssigned(new WaveZoneAssignedEvent("WAVE-1", "WH-1", null, "ZONE-A", now.minusMinutes(1)));
+
+        assertThat(scheduler.nextDueTime()).isEqualTo(now.minusMinutes(1));
+    }
+
+    @Test
+    void waveWhoseAllocationWasWithdrawnIsDroppedUntilReallocated() {
+        Wave wave = wave("WAVE-1", now.minusMinutes(1));
+        when(wavePlanningService.releaseWave(any()))
+                .thenThrow(new IllegalStateException("Wave must have inventory allocation before release"));
+        when(wavePlanningService.findWaveById("WAVE-1")).thenReturn(wave);
+        scheduler.onWaveInventoryAllocated(allocated("WAVE-1", now.minusMinutes(1), WavePriority.NORMAL));
+
+        scheduler.releaseDue(now);
+
+        assertThat(scheduler.nextDueTime()).isNull();
+        assertThat(meterRegistry.counter("wave.release.scheduler",
+                "service", "wave-planning", "outcome", "unallocated").count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void waveThatLeftPlannedIsDropped() {
+        when(wavePlanningService.releaseWave(any())).thenThrow(new WaveNotFoundException("WAVE-1"));
+        scheduler.onWaveInventoryAllocated(allocated("WAVE-1", now.minusMinutes(1), WavePriority.NORMAL));
+
+        scheduler.releaseDue(now);
+
+        assertThat(scheduler.nextDueTime()).isNull();
+    }
+
+    @Test
+    void blockedWaveBacksOffExponentiallyUpToTheCap() {
+        assertThat(scheduler.retryDelay(0)).isEqualTo(Duration.ofMinutes(1));
+        assertThat(scheduler.retryDelay(1)).isEqualTo(Duration.ofMinutes(2));
+        assertThat(scheduler.retryDelay(3)).isEqualTo(Duration.ofMinutes(8));
+        assertThat(scheduler.retryDelay(5)).isEqualTo(Duration.ofMinutes(30));
+        assertThat(scheduler.retryDelay(1000)).isEqualTo(Duration.ofMinutes(30));
+    }
+
+    @Test
+    void repeatedlyBlockedWaveIsRetriedLessOften() {
+        Wave wave = allocatedWave("WAVE-1", now.minusMinutes(1));
+        when(wavePlanningService.releaseWave(any()))
+                .thenThrow(new IllegalStateException("Wave must have an assigned zone before release"));
+        when(wavePlanningService.findWaveById("WAVE-1")).thenReturn(wave);
+        scheduler.onWaveInventoryAllocated(allocated("WAVE-1", now.minusMinutes(1), WavePriority.NORMAL));
+
+        scheduler.releaseDue(now);
+        scheduler.releaseDue(scheduler.nextDueTime());
+
+        assertThat(scheduler.nextDueTime()).isAfter(LocalDateTime.now().plusSeconds(90));
+        assertThat(meterRegistry.counter("wave.release.scheduler",
+                "service", "wave-planning", "outcome", "blocked").count()).isEqualTo(2.0);
+    }
+
+    @Test
+    void allocatedPlannedWavesAreLoadedOnStartup() {
+        when(wavePlanningService.streamWaves(any(), any(), anyBoolean()))
+                .thenReturn(Stream.of(
+                        allocatedWave("WAVE-1", now.plusMinutes(10)),
+                        allocatedWave("WAVE-2", null),
+                        wave("WAVE-3", now.plusMinutes(5))));
+
+        scheduler.loadPlannedWaves();
+
+        assertThat(scheduler.pendingReleases("WH-1")).containsExactly("WAVE-1");
+        verify(wavePlanningService).streamWaves(WaveStatus.PLANNED, null, false);
+    }
+
+    private WaveInventoryAllocatedEvent allocated(String waveId, LocalDateTime releaseTime, WavePriority priority) {
+        return new WaveInventoryAllocatedEvent(waveId, "WH-1", priority, releaseTime);
+    }
+
+    private Wave allocatedWave(String waveId, LocalDateTime releaseTime) {
+        Wave wave = wave(waveId, releaseTime);
+        wave.allocateOrder(waveId + "-ORD-1");
+        return wave;
+    }
+
+    private Wave wave(String waveId, LocalDateTime releaseTime) {
+        Wave wave = new Wave();
+        wave.setWaveId(waveId);
+        wave.plan(
+                List.of(waveId + "-ORD-1"),
+                WaveStrategy.builder()
+                        .type(WaveStrategyType.TIME_BASED)
+                        .maxOrders(10)
+                        .timeInterval(Duration.ofMinutes(30))
+                        .build(),
+                "WH-1",
+                WavePriority.NORMAL,
+                releaseTime
+        );
+        return wave;
+    }
+}
@@ -0,0 +1,183 @@
+package com.paklog.wms.wave.application.service;
+
+import com.paklog.wave.planning.domain.shared.DomainEvent;
+import com.paklog.wms.wave.application.command.CreateWaveCommand;
+import com.paklog.wms.wave.application.service.WaveBatchResult.Outcome;
+import com.paklog.wms.wave.domain.aggregate.Wave;
+import com.paklog.wms.wave.domain.event.WaveCancelledEvent;
+import com.paklog.wms.wave.domain.event.WavePlannedEvent;
+import com.paklog.wms.wave.domain.event.WaveReleasedEvent;
+import com.paklog.wms.wave.domain.repository.WaveRepository;
+import com.paklog.wms.wave.domain.repository.WaveRepositoryCustom.PartialUpdate;
+import com.paklog.wms.wave.domain.repository.WaveRepositoryCustom.WaveField;
+import com.paklog.wms.wave.domain.service.WaveOptimizationService;
+import com.paklog.wms.wave.domain.valueobject.WavePriority;
+import com.paklog.wms.wave.domain.valueobject.WaveStatus;
+import com.paklog.wms.wave.domain.valueobject.WaveStrategy;
+import com.paklog.wms.wave.domain.valueobject.WaveStrategyType;
+import com.paklog.wms.wave.infrastructure.cache.WaveReadCache;
+import com.paklog.wms.wave.infrastructure.events.WaveEventPublisher;
+import com.paklog.wms.wave.infrastructure.snapshot.OrderSnapshotStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class WaveBatchServiceTest {
+
+    @Mock
+    private WaveRepository waveRepository;
+
+    @Mock
+    private WaveEventPublisher eventPublisher;
+
+    @Mock
+    private OrderSnapshotStore snapshotStore;
+
+    private WaveBatchService waveBatchService;
+
+    @BeforeEach
+    void setUp() {
+        WavePlanningService wavePlanningService = new WavePlanningService(
+                waveRepository, eventPublisher, new WaveOptimizationService(), snapshotStore,
+                new WaveReadCache(new SimpleMeterRegistry(), 1000, Duration.ofMinutes(5)));
+        waveBatchService = new WaveBatchService(waveRepository, eventPublisher, wavePlanningService, 4);
+    }
+
+    @Test
+    void releaseWavesReportsOutcomePerWaveWithOneBulkWrite() {
+        Wave ready = releasableWave("WAVE-1");
+        Wave noZone = plannedWave("WAVE-2");
+        Wave contended = releasableWave("WAVE-3");
+        when(waveRepository.findAllById(any())).thenReturn(List.of(ready, noZone, contended));
+        when(waveRepository.bulkUpdatePartial(anyList())).thenReturn(Set.of("WAVE-3"));
+
+        List<WaveBatchResult> results = waveBatchService.releaseWaves(
+                List.of("WAVE-1", "WAVE-2", "WAVE-3", "WAVE-1", "WAVE-404"));
+
+        assertThat(results).extracting(WaveBatchResult::waveId)
+                .containsExactly("WAVE-1", "WAVE-2", "WAVE-3", "WAVE-404");
+        assertThat(results).extracting(WaveBatchResult::outcome)
+                .containsExactly(Outcome.SUCCEEDED, Outcome.REJECTED, Outcome.CONFLICT, Outcome.NOT_FOUND);
+        assertThat(results.get(1).message()).contains("inventory allocation");
+
+        ArgumentCaptor<List<PartialUpdate>> updates = ArgumentCaptor.forClass(List.class);
+        verify(waveRepository).bulkUpdatePartial(updates.capture());
+        assertThat(updates.getValue()).hasSize(2).first().satisfies(update -> {
+            assertThat(update.wave()).isSameAs(ready);
+            assertThat(update.expectedStatus()).isEqualTo(WaveStatus.PLANNED);
+            assertThat(update.fields()).contains(WaveField.STATUS, WaveField.ACTUAL_RELEASE_TIME);
+        });
+
+        ArgumentCaptor<List<DomainEvent>> events = ArgumentCaptor.forClass(List.class);
+        verify(eventPublisher).publishEvents(events.capture());
+        assertThat(events.getValue()).singleElement().isInstanceOf(WaveReleasedEvent.class);
+    }
+
+    @Test
+    void cancelWavesSkipsEventsOfConflictingWaves() {
+        Wave first = plannedWave("WAVE-1");
+        Wave second = plannedWave("WAVE-2");
+        when(waveRepository.findAllById(any())).thenReturn(List.of(first, second));
+        when(waveRepository.bulkUpdatePartial(anyList())).thenReturn(Set.of("WAVE-2"));
+
+        List<WaveBatchResult> results = waveBatchService.cancelWaves(List.of("WAVE-1", "WAVE-2"), "Shift closed");
+
+        assertThat(results).extracting(WaveBatchResult::outcome)
+                .containsExactly(Outcome.SUCCEEDED, Outcome.CONFLICT);
+
+        ArgumentCaptor<List<DomainEvent>> events = ArgumentCaptor.forClass(List.class);
+        verify(eventPublisher).publishEvents(events.capture());
+        assertThat(events.getValue()).singleElement()
+                .isInstanceOfSatisfying(WaveCancelledEvent.class,
+                        event -> assertThat(event.getWaveId()).isEqualTo("WAVE-1"));
+    }
+
+    @Test
+    void createWavesInsertsPlannedWavesTogether() {
+        List<WaveBatchResult> results = waveBatchService.createWaves(List.of(
+                createCommand(List.of("ORD-1", "ORD-2")),
+                createCommand(List.of("ORD-3", "ORD-3")),
+                createCommand(List.of("ORD-4"))
+        ));
+
+        assertThat(results).extracting(WaveBatchResult::outcome)
+                .containsExactly(Outcome.SUCCEEDED, Outcome.REJECTED, Outcome.SUCCEEDED);
+        assertThat(results.get(1).message()).contains("Duplicate order ORD-3");
+        verify(waveRepository, never()).save(any(Wave.class));
+        ArgumentCaptor<List<Wave>> inserted = ArgumentCaptor.forClass(List.class);
+        verify(waveRepository).bulkInsert(inserted.capture());
+        assertThat(inserted.getValue()).extracting(Wave::getWaveId)
+                .containsExactly(results.get(0).waveId(), results.get(2).waveId());
+
+        ArgumentCaptor<List<DomainEvent>> events = ArgumentCaptor.forClass(List.class);
+        verify(eventPublisher).publishEvents(events.capture());
+        assertThat(events.getValue()).hasSize(2).allSatisfy(event ->
+                assertThat(event).isInstanceOf(WavePlannedEvent.class));
+    }
+
+    @Test
+    void batchLargerThanLimitIsRejected() {
+        Collection<String> waveIds = List.of("WAVE-1", "WAVE-2", "WAVE-3", "WAVE-4", "WAVE-5");
+
+        assertThatThrownBy(() -> waveBatchService.releaseWaves(waveIds))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("exceeds the maximum of 4");
+        verifyNoInteractions(waveRepository, eventPublisher);
+    }
+
+    private CreateWaveCommand createCommand(List<String> orderIds) {
+        return new CreateWaveCommand(
+                orderIds,
+                WaveStrategyType.TIME_BASED,
+                "WH-1",
+                WavePriority.NORMAL,
+                LocalDateTime.now().plusHours(1),
+                10,
+                null,
+                Duration.ofMinutes(30)
+        );
+    }
+
+    private Wave releasableWave(String waveId) {
+        Wave wave = plannedWave(waveId);
+        wave.assignZone("ZONE-1");
+        wave.markInventoryAllocated();
+        wave.pullDomainEvents();
+        return wave;
+    }
+
+    private Wave plannedWave(String waveId) {
+        Wave wave = new Wave();
+        wave.setWaveId(waveId);
+        wave.plan(
+                List.of(waveId + "-ORD-1"),
+                WaveStrategy.builder()
+                        .type(WaveStrategyType.TIME_BASED)
+                        .maxOrders(10)
+                        .timeInterval(Duration.ofMinutes(30))
+                        .build(),
+                "WH-1",
+                WavePriority.NORMAL,
+                LocalDateTime.now().minusMinutes(5)
+        );
+        wave.pullDomainEvents();
+        return wave;
+    }
+}
@@ -1,17 +1,21 @@
 package com.paklog.wms.wave.application.service;
 
-import com.paklog.wave.planning.infrastructure.outbox.OutboxEvent;
+import com.paklog.wave.planning.infrastructure.outbox.OutboxMessage;
 import com.paklog.wave.planning.infrastructure.outbox.OutboxService;
 import com.paklog.wms.wave.application.command.AssignZoneCommand;
 import com.paklog.wms.wave.application.command.CreateWaveCommand;
 import com.paklog.wms.wave.application.command.ReleaseWaveCommand;
 import com.paklog.wms.wave.domain.aggregate.Wave;
 import com.paklog.wms.wave.domain.repository.WaveRepository;
+import com.paklog.wms.wave.domain.service.WaveOptimizationService;
 import com.paklog.wms.wave.domain.valueobject.WavePriority;
 import com.paklog.wms.wave.domain.valueobject.WaveStatus;
 import com.paklog.wms.wave.domain.valueobject.WaveStrategyType;
+import com.paklog.wms.wave.infrastructure.cache.WaveReadCache;
 import com.paklog.wms.wave.infrastructure.events.WaveEventPublisher;
+import com.paklog.wms.wave.infrastructure.snapshot.OrderSnapshotStore;
 import com.paklog.wms.wave.support.TestMongoConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
@@ -30,12 +34,9 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
-import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.atLeastOnce;
 import static org.mockito.Mockito.clearInvocations;
 import static org.mockito.Mockito.verify;
-import static org.mockito.Mockito.when;
 
 @Testcontainers
 @DataMongoTest
@@ -61,9 +62,10 @@ class WavePlanningServiceIntegrationTest {
     void setUp() {
         waveRepository.deleteAll();
         outboxService = Mockito.mock(OutboxService.class);
-        when(outboxService.saveEvent(any(), any(), any())).thenReturn(new OutboxEvent());
-        eventPublisher = new WaveEventPublisher(outboxService);
-        wavePlanningService = new WavePlanningService(waveRepository, eventPublisher);
+        eventPublisher = new WaveEventPublisher(outboxService, event -> { });
+        wavePlanningService = new WavePlanningService(waveRepository, eventPublisher, new WaveOptimizationService(),
+                new OrderSnapshotStore(new SimpleMeterRegistry(), 1000, Duration.ofHours(1)),
+                new WaveReadCache(new SimpleMeterRegistry(), 1000, Duration.ofMinutes(5)));
     }
 
     @Test
@@ -85,9 +87,12 @@ class WavePlanningServiceIntegrationTest {
         assertThat(persisted.getOrderIds()).containsExactly("ORD-1", "ORD-2");
         assertThat(persisted.getStatus()).isEqualTo(WaveStatus.PLANNED);
 
-        ArgumentCaptor<String> eventTypeCaptor = ArgumentCaptor.forClass(String.class);
-        verify(outboxService).saveEvent(eq(saved.getWaveId()), eventTypeCaptor.capture(), any());
-        assertThat(eventTypeCaptor.getValue()).isEqualTo("com.paklog.wms.wave.wave.planned.v1");
+        ArgumentCaptor<List<OutboxMessage>> messages = ArgumentCaptor.forClass(List.class);
+        verify(outboxService).saveMessages(messages.capture());
+        assertThat(messages.getValue()).singleElement().satisfies(message -> {
+            assertThat(message.aggregateId()).isEqualTo(saved.getWaveId());
+            assertThat(message.eventType()).isEqualTo("com.paklog.wms.wave.wave.planned.v1");
+        });
     }
 
     @Test
@@ -117,9 +122,35 @@ class WavePlanningServiceIntegrationTest {
         Wave released = waveRepository.findById(created.getWaveId()).orElseThrow();
         assertThat(released.getStatus()).isEqualTo(WaveStatus.RELEASED);
 
-        ArgumentCaptor<String> eventTypes = ArgumentCaptor.forClass(String.class);
-        verify(outboxService, atLeastOnce()).saveEvent(eq(created.getWaveId()), eventTypes.capture(), any());
-        assertThat(eventTypes.getAllValues()).contains("com.paklog.wms.wave.wave.released.v1");
+        ArgumentCaptor<List<OutboxMessage>> messages = ArgumentCaptor.forClass(List.class);
+        verify(outboxService, atLeastOnce()).saveMessages(messages.capture());
+        assertThat(messages.getValue())
+                .extracting(OutboxMessage::eventType)
+                .contains("com.paklog.wms.wave.wave.released.v1");
+    }
+
+    @Test
+    void cancellingLastUnallocatedOrderMakesWaveReleasable() {
+        Wave created = wavePlanningService.createWave(new CreateWaveCommand(
+                List.of("ORD-A1", "ORD-A2"),
+                WaveStrategyType.TIME_BASED,
+                "WH-ALLOC",
+                WavePriority.NORMAL,
+                LocalDateTime.now().minusMinutes(1),
+                10,
+                null,
+                Duration.ofMinutes(10)
+        ));
+        wavePlanningService.allocateOrder("ORD-A1");
+
+        wavePlanningService.removeCancelledOrder("ORD-A2", "Customer request");
+
+        Wave stored = waveRepository.findById(created.getWaveId()).orElseThrow();
+        assertThat(stored.getOrderIds()).containsExactly("ORD-A1");
+        assertThat(stored.isInventoryAllocated()).isTrue();
+        assertThat(wavePlanningService.findWavesReadyToRelease())
+                .extracting(Wave::getWaveId)
+                .contains(created.getWaveId());
     }
 
     @Test
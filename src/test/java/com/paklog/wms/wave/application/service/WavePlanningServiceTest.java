@@ -5,26 +5,46 @@ import com.paklog.wms.wave.application.command.AssignZoneCommand;
 import com.paklog.wms.wave.application.command.CancelWaveCommand;
 import com.paklog.wms.wave.application.command.CreateWaveCommand;
 import com.paklog.wms.wave.application.command.ReleaseWaveCommand;
+import com.paklog.wms.wave.application.service.WavePlanningService.ShortageReplan;
 import com.paklog.wms.wave.application.service.WavePlanningService.WaveNotFoundException;
 import com.paklog.wms.wave.domain.aggregate.Wave;
+import com.paklog.wms.wave.domain.entity.Order;
+import com.paklog.wms.wave.domain.event.WaveInventoryAllocatedEvent;
+import com.paklog.wms.wave.domain.event.WaveOrderRemovedEvent;
+import com.paklog.wms.wave.domain.event.WaveZoneAssignedEvent;
 import com.paklog.wms.wave.domain.repository.WaveRepository;
+import com.paklog.wms.wave.domain.repository.WaveRepositoryCustom.WaveField;
+import com.paklog.wms.wave.domain.repository.WaveRepositoryCustom.WaveOrderRemoval;
+import com.paklog.wms.wave.domain.repository.WaveRepositoryCustom.WaveSearch;
+import com.paklog.wms.wave.domain.service.WaveOptimizationService;
 import com.paklog.wms.wave.domain.valueobject.WavePriority;
 import com.paklog.wms.wave.domain.valueobject.WaveStatus;
 import com.paklog.wms.wave.domain.valueobject.WaveStrategy;
 import com.paklog.wms.wave.domain.valueobject.WaveStrategyType;
+import com.paklog.wms.wave.infrastructure.cache.WaveReadCache;
 import com.paklog.wms.wave.infrastructure.events.WaveEventPublisher;
+import com.paklog.wms.wave.infrastructure.snapshot.OrderSnapshotStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.test.util.ReflectionTestUtils;
 
+import java.math.BigDecimal;
 import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -43,6 +63,15 @@ class WavePlanningServiceTest {
     @Mock
     private WaveEventPublisher eventPublisher;
 
+    @Spy
+    private WaveOptimizationService optimizationService = new WaveOptimizationService();
+
+    @Mock
+    private OrderSnapshotStore snapshotStore;
+
+    @Spy
+    private WaveReadCache waveReadCache = new WaveReadCache(new SimpleMeterRegistry(), 1000, Duration.ofMinutes(5));
+
     @InjectMocks
     private WavePlanningService wavePlanningService;
 
@@ -74,6 +103,36 @@ class WavePlanningServiceTest {
         assertThat(eventCaptor.getValue()).anyMatch(event -> event.getClass().getSimpleName().equals("WavePlannedEvent"));
     }
 
+    @Test
+    void createWaveSequencesOrdersWhenSnapshotsAreAvailable() {
+        List<Order> orders = List.of(
+                Order.builder().orderId("ORD-1").priority(WavePriority.LOW)
+                        .orderDate(LocalDateTime.now()).requiredDate(LocalDateTime.now().plusHours(8))
+                        .orderLines(List.of(new Order.OrderLine(1))).attributes(Map.of())
+                        .totalVolume(BigDecimal.ONE).totalWeight(BigDecimal.ONE)
+                        .build(),
+                Order.builder().orderId("ORD-2").priority(WavePriority.CRITICAL)
+                        .orderDate(LocalDateTime.now()).requiredDate(LocalDateTime.now().plusHours(1))
+                        .orderLines(List.of(new Order.OrderLine(1))).attributes(Map.of())
+                        .totalVolume(BigDecimal.ONE).totalWeight(BigDecimal.ONE)
+                        .build()
+        );
+        when(snapshotStore.findAll(List.of("ORD-1", "ORD-2"))).thenReturn(Optional.of(orders));
+
+        wavePlanningService.createWave(new CreateWaveCommand(
+                List.of("ORD-1", "ORD-2"),
+                WaveStrategyType.TIME_BASED,
+                "WH-1",
+                WavePriority.HIGH,
+                LocalDateTime.now().plusHours(1),
+                10,
+                20,
+                Duration.ofMinutes(30)
+        ));
+
+        verify(optimizationService).optimizeWave(any(Wave.class), eq(orders), any());
+    }
+
     @Test
     void releaseWavePublishesEvents() {
         Wave wave = plannedWave();
@@ -85,7 +144,9 @@ class WavePlanningServiceTest {
 
         assertThat(released.getStatus()).isEqualTo(WaveStatus.RELEASED);
         verify(eventPublisher).publishEvents(anyList());
-        verify(waveRepository, times(1)).save(any(Wave.class));
+        verify(waveRepository).updatePartial(wave, WaveStatus.PLANNED,
+                EnumSet.of(WaveField.STATUS, WaveField.ACTUAL_RELEASE_TIME, WaveField.METRICS));
+        verify(waveRepository, never()).save(any(Wave.class));
     }
 
     @Test
@@ -105,6 +166,19 @@ class WavePlanningServiceTest {
 
         assertThat(cancelled.getStatus()).isEqualTo(WaveStatus.CANCELLED);
         verify(eventPublisher).publishEvents(anyList());
+        verify(waveRepository).updatePartial(wave, WaveStatus.PLANNED, EnumSet.of(WaveField.STATUS));
+    }
+
+    @Test
+    void concurrentModificationSurfacesAsOptimisticLockFailure() {
+        Wave wave = plannedWave();
+        when(waveRepository.findById(wave.getWaveId())).thenReturn(Optional.of(wave));
+        doThrow(new OptimisticLockingFailureException("modified"))
+                .when(waveRepository).updatePartial(eq(wave), eq(WaveStatus.PLANNED), any());
+
+        assertThatThrownBy(() -> wavePlanningService.cancelWave(new CancelWaveCommand(wave.getWaveId(), "No capacity")))
+                .isInstanceOf(OptimisticLockingFailureException.class);
+        verifyNoInteractions(eventPublisher);
     }
 
     @Test
@@ -115,7 +189,174 @@ class WavePlanningServiceTest {
         Wave updated = wavePlanningService.assignZone(new AssignZoneCommand(wave.getWaveId(), "B2"));
 
         assertThat(updated.getAssignedZone()).isEqualTo("B2");
-        verify(waveRepository, times(1)).save(any(Wave.class));
+        verify(waveRepository, times(1)).updatePartial(wave, WaveStatus.PLANNED, EnumSet.of(WaveField.ASSIGNED_ZONE));
+        verify(eventPublisher).publishEvents(argThat(events -> events.get(events.size() - 1) instanceof WaveZoneAssignedEvent));
+    }
+
+    @Test
+    void allocateOrderPublishesEventOnceWaveIsFullyAllocated() {
+        Wave wave = plannedWave();
+        wave.pullDomainEvents();
+        when(waveRepository.findByStatusAndOrderIdsIn(eq(WaveStatus.PLANNED), any()))
+                .thenReturn(List.of(wave));
+
+        wavePlanningService.allocateOrder("ORD-1");
+        assertThat(wave.isInventoryAllocated()).isFalse();
+
+        wavePlanningService.allocateOrder("ORD-2");
+
+        assertThat(wave.isInventoryAllocated()).isTrue();
+        verify(waveRepository, times(2)).updatePartial(wave, WaveStatus.PLANNED,
+                EnumSet.of(WaveField.ALLOCATED_ORDER_IDS, WaveField.INVENTORY_ALLOCATED));
+        verify(eventPublisher).publishEvents(argThat(events ->
+                events.size() == 1 && events.getFirst() instanceof WaveInventoryAllocatedEvent));
+    }
+
+    @Test
+    void cachedWaveIsReloadedAfterPartialAllocation() {
+        Wave cached = plannedWave();
+        Wave wave = plannedWave();
+        when(waveRepository.findById(wave.getWaveId())).thenReturn(Optional.of(cached), Optional.of(wave));
+        when(waveRepository.findByStatusAndOrderIdsIn(eq(WaveStatus.PLANNED), any()))
+                .thenReturn(List.of(wave));
+
+        assertThat(wavePlanningService.findWaveById(wave.getWaveId()).getAllocatedOrderIds()).isEmpty();
+        wavePlanningService.allocateOrder("ORD-1");
+
+        Wave reread = wavePlanningService.findWaveById(wave.getWaveId());
+        assertThat(reread.isInventoryAllocated()).isFalse();
+        assertThat(reread.getAllocatedOrderIds()).containsExactly("ORD-1");
+        verify(waveRepository, times(2)).findById(wave.getWaveId());
+    }
+
+    @Test
+    void allocateOrderIgnoresOrdersOutsidePlannedWaves() {
+        when(waveRepository.findByStatusAndOrderIdsIn(eq(WaveStatus.PLANNED), any())).thenReturn(List.of());
+
+        assertThat(wavePlanningService.allocateOrder("ORD-X")).isEmpty();
+        verify(waveRepository, never()).updatePartial(any(), any(), any());
+    }
+
+    @Test
+    void removeCancelledOrderPublishesRemovalEvent() {
+        when(waveRepository.removeOrderFromPlannedWave("ORD-1"))
+                .thenReturn(Optional.of(new WaveOrderRemoval("WAVE-TEST", "WH-1", "ZONE-A", 1, true, 1L)));
+
+        Optional<WaveOrderRemoval> removal = wavePlanningService.removeCancelledOrder("ORD-1", "Customer request");
+
+        assertThat(removal).isPresent();
+        ArgumentCaptor<DomainEvent> eventCaptor = ArgumentCaptor.forClass(DomainEvent.class);
+        verify(eventPublisher).publishEvent(eventCaptor.capture());
+        assertThat(eventCaptor.getValue()).isInstanceOfSatisfying(WaveOrderRemovedEvent.class, event -> {
+            assertThat(event.getWaveId()).isEqualTo("WAVE-TEST");
+            assertThat(event.getOrderId()).isEqualTo("ORD-1");
+            assertThat(event.getAssignedZone()).isEqualTo("ZONE-A");
+            assertThat(event.getRemainingOrders()).isEqualTo(1);
+        });
+        verify(waveRepository, never()).save(any(Wave.class));
+    }
+
+    @Test
+    void removeCancelledOrderCancelsEmptiedWave() {
+        Wave wave = plannedWave();
+        when(waveRepository.removeOrderFromPlannedWave("ORD-2"))
+                .thenReturn(Optional.of(new WaveOrderRemoval(wave.getWaveId(), "WH-1", null, 0, false, 2L)));
+        when(waveRepository.findById(wave.getWaveId())).thenReturn(Optional.of(wave));
+
+        wavePlanningService.removeCancelledOrder("ORD-2", "Customer request");
+
+        assertThat(wave.getStatus()).isEqualTo(WaveStatus.CANCELLED);
+        verify(waveRepository).updatePartial(wave, WaveStatus.PLANNED, EnumSet.of(WaveField.STATUS));
+    }
+
+    @Test
+    void removeCancelledOrderAllocatesWaveWhenLastUnallocatedOrderIsCancelled() {
+        Wave wave = plannedWave();
+        wave.allocateOrder("ORD-1");
+        wave.pullDomainEvents();
+        // Stored state after the $pull of ORD-2: only allocated orders are left
+        ReflectionTestUtils.setField(wave, "orderIds", new ArrayList<>(List.of("ORD-1")));
+        ReflectionTestUtils.setField(wave, "orderIndex", null);
+        ReflectionTestUtils.setField(wave, "allocatedIndex", null);
+        when(waveRepository.removeOrderFromPlannedWave("ORD-2"))
+                .thenReturn(Optional.of(new WaveOrderRemoval(wave.getWaveId(), "WH-1", null, 1, false, 2L)));
+        when(waveRepository.findById(wave.getWaveId())).thenReturn(Optional.of(wave));
+
+        wavePlanningService.removeCancelledOrder("ORD-2", "Customer request");
+
+        assertThat(wave.isInventoryAllocated()).isTrue();
+        assertThat(wave.getStatus()).isEqualTo(WaveStatus.PLANNED);
+        verify(waveRepository).updatePartial(wave, WaveStatus.PLANNED, EnumSet.of(WaveField.INVENTORY_ALLOCATED));
+        verify(eventPublisher).publishEvents(argThat(events ->
+                events.size() == 1 && events.getFirst() instanceof WaveInventoryAllocatedEvent));
+    }
+
+    @Test
+    void removeCancelledOrderLeavesWaveWithUnallocatedOrdersUnchanged() {
+        Wave wave = plannedWave();
+        when(waveRepository.removeOrderFromPlannedWave("ORD-2"))
+                .thenReturn(Optional.of(new WaveOrderRemoval(wave.getWaveId(), "WH-1", null, 1, false, 2L)));
+        when(waveRepository.findById(wave.getWaveId())).thenReturn(Optional.of(wave));
+
+        wavePlanningService.removeCancelledOrder("ORD-2", "Customer request");
+
+        assertThat(wave.isInventoryAllocated()).isFalse();
+        verify(waveRepository, never()).updatePartial(any(), any(), any());
+    }
+
+    @Test
+    void removeCancelledOrderIgnoresOrdersOutsidePlannedWaves() {
+        when(waveRepository.removeOrderFromPlannedWave("ORD-X")).thenReturn(Optional.empty());
+
+        assertThat(wavePlanningService.removeCancelledOrder("ORD-X", "Customer request")).isEmpty();
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void splitShortOrdersMovesShortOrdersToHeldWave() {
+        Wave wave = plannedWave();
+        wave.pullDomainEvents();
+        when(waveRepository.findByStatusAndOrderIdsIn(WaveStatus.PLANNED, Set.of("ORD-2")))
+                .thenReturn(List.of(wave));
+
+        ShortageReplan replan = wavePlanningService.splitShortOrders(List.of("ORD-2"), "Inventory shortage");
+
+        List<Wave> heldWaves = replan.heldWaves();
+        assertThat(heldWaves).hasSize(1);
+        assertThat(replan.fullyShortWaveIds()).isEmpty();
+        assertThat(heldWaves.getFirst().getOrderIds()).containsExactly("ORD-2");
+        assertThat(heldWaves.getFirst().getPlannedReleaseTime()).isEqualTo(wave.getPlannedReleaseTime());
+        assertThat(heldWaves.getFirst().isInventoryAllocated()).isFalse();
+        assertThat(wave.getOrderIds()).containsExactly("ORD-1");
+        verify(waveRepository).save(wave);
+        verify(waveRepository).save(heldWaves.getFirst());
+
+        ArgumentCaptor<List<DomainEvent>> eventCaptor = ArgumentCaptor.forClass(List.class);
+        verify(eventPublisher).publishEvents(eventCaptor.capture());
+        assertThat(eventCaptor.getValue())
+                .extracting(event -> event.getClass().getSimpleName())
+                .containsExactly("WaveOrderRemovedEvent", "WavePlannedEvent");
+    }
+
+    @Test
+    void splitShortOrdersHoldsWaveWhoseOrdersAreAllShort() {
+        Wave wave = plannedWave();
+        wave.allocateOrder("ORD-1");
+        wave.allocateOrder("ORD-2");
+        when(waveRepository.findByStatusAndOrderIdsIn(WaveStatus.PLANNED, Set.of("ORD-1", "ORD-2")))
+                .thenReturn(List.of(wave));
+
+        ShortageReplan replan = wavePlanningService.splitShortOrders(List.of("ORD-1", "ORD-2"), "Inventory shortage");
+
+        assertThat(replan.heldWaves()).isEmpty();
+        assertThat(replan.fullyShortWaveIds()).containsExactly("WAVE-TEST");
+        assertThat(wave.isInventoryAllocated()).isFalse();
+        assertThat(wave.getAllocatedOrderIds()).isEmpty();
+        assertThat(wave.getOrderIds()).containsExactly("ORD-1", "ORD-2");
+        verify(waveRepository).updatePartial(wave, WaveStatus.PLANNED,
+                EnumSet.of(WaveField.ALLOCATED_ORDER_IDS, WaveField.INVENTORY_ALLOCATED));
+        verify(waveReadCache).invalidateAfterCommit("WAVE-TEST");
+        verify(waveRepository, never()).save(any(Wave.class));
     }
 
     @Test
@@ -136,6 +377,19 @@ class WavePlanningServiceTest {
         verify(waveRepository).findReadyToRelease(eq(WaveStatus.PLANNED), any(LocalDateTime.class));
     }
 
+    @Test
+    void findWavesDefaultsToActiveStatusesAndKeepsOtherFilters() {
+        wavePlanningService.findWaves(null, "WH-1", "WAVE-9", 50, false);
+        verify(waveRepository).findPage(new WaveSearch(
+                EnumSet.of(WaveStatus.RELEASED, WaveStatus.IN_PROGRESS), "WH-1", "WAVE-9", 50, false));
+
+        wavePlanningService.findWaves(WaveStatus.PLANNED, null, null, 10, true);
+        verify(waveRepository).findPage(new WaveSearch(EnumSet.of(WaveStatus.PLANNED), null, null, 10, true));
+
+        wavePlanningService.streamWaves(WaveStatus.CANCELLED, "WH-2", true);
+        verify(waveRepository).streamWaves(new WaveSearch(EnumSet.of(WaveStatus.CANCELLED), "WH-2", null, 0, true));
+    }
+
     private Wave plannedWave() {
         Wave wave = new Wave();
         wave.setWaveId("WAVE-TEST");
@@ -3,8 +3,11 @@ package com.paklog.wms.wave.domain.aggregate;
 import com.paklog.wave.planning.domain.shared.DomainEvent;
 import com.paklog.wms.wave.domain.event.WaveCancelledEvent;
 import com.paklog.wms.wave.domain.event.WaveCompletedEvent;
+import com.paklog.wms.wave.domain.event.WaveInventoryAllocatedEvent;
 import com.paklog.wms.wave.domain.event.WavePlannedEvent;
 import com.paklog.wms.wave.domain.event.WaveReleasedEvent;
+import com.paklog.wms.wave.domain.event.WaveStartedEvent;
+import com.paklog.wms.wave.domain.event.WaveZoneAssignedEvent;
 import com.paklog.wms.wave.domain.valueobject.WavePriority;
 import com.paklog.wms.wave.domain.valueobject.WaveStatus;
 import com.paklog.wms.wave.domain.valueobject.WaveStrategy;
@@ -25,6 +28,7 @@ class WaveTest {
         Wave wave = newPlannedWave("WAVE-PLAN", List.of("ORD-1", "ORD-2"));
 
         assertThat(wave.getStatus()).isEqualTo(WaveStatus.PLANNED);
+        assertThat(wave.getCreatedAt()).isNotNull();
         assertThat(wave.getOrderIds()).containsExactly("ORD-1", "ORD-2");
         assertThat(wave.getPriority()).isEqualTo(WavePriority.NORMAL);
         assertThat(wave.getMetrics().getTotalOrders()).isEqualTo(2);
@@ -83,6 +87,8 @@ class WaveTest {
         wave.startExecution();
 
         assertThat(wave.getStatus()).isEqualTo(WaveStatus.IN_PROGRESS);
+        assertThat(lastEvent(wave)).isInstanceOfSatisfying(WaveStartedEvent.class,
+                event -> assertThat(event.getAssignedZone()).isEqualTo(wave.getAssignedZone()));
     }
 
     @Test
@@ -114,7 +120,23 @@ class WaveTest {
         wave.cancel("No inventory");
 
         assertThat(wave.getStatus()).isEqualTo(WaveStatus.CANCELLED);
-        assertThat(lastEvent(wave)).isInstanceOf(WaveCancelledEvent.class);
+        assertThat(lastEvent(wave)).isInstanceOfSatisfying(WaveCancelledEvent.class, event -> {
+            assertThat(event.getPreviousStatus()).isEqualTo(WaveStatus.PLANNED);
+            assertThat(event.getWarehouseId()).isEqualTo(wave.getWarehouseId());
+        });
+    }
+
+    @Test
+    void assignZoneRegistersEventWithPreviousZone() {
+        Wave wave = newPlannedWave();
+        wave.assignZone("ZONE-A");
+
+        wave.assignZone("ZONE-B");
+
+        assertThat(lastEvent(wave)).isInstanceOfSatisfying(WaveZoneAssignedEvent.class, event -> {
+            assertThat(event.getPreviousZone()).isEqualTo("ZONE-A");
+            assertThat(event.getAssignedZone()).isEqualTo("ZONE-B");
+        });
     }
 
     @Test
@@ -152,6 +174,66 @@ class WaveTest {
                 .hasMessageContaining("exceed max wave capacity");
     }
 
+    @Test
+    void duplicateOrdersAreRejected() {
+        Wave wave = new Wave();
+        wave.setWaveId("WAVE-DUP");
+        assertThatThrownBy(() -> wave.plan(List.of("ORD-1", "ORD-1"), defaultStrategy(), "WH-1",
+                WavePriority.NORMAL, LocalDateTime.now()))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Duplicate order ORD-1");
+
+        Wave planned = newPlannedWave("WAVE-DUP", List.of("ORD-1"));
+        assertThatThrownBy(() -> planned.addOrders(List.of("ORD-1")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("already in wave");
+        assertThat(planned.getOrderIds()).containsExactly("ORD-1");
+    }
+
+    @Test
+    void reorderOrdersRequiresSameMembership() {
+        Wave wave = newPlannedWave("WAVE-SEQ", List.of("ORD-1", "ORD-2", "ORD-3"));
+
+        wave.reorderOrders(List.of("ORD-3", "ORD-1", "ORD-2"));
+        assertThat(wave.getOrderIds()).containsExactly("ORD-3", "ORD-1", "ORD-2");
+
+        assertThatThrownBy(() -> wave.reorderOrders(List.of("ORD-1", "ORD-1", "ORD-2")))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> wave.reorderOrders(List.of("ORD-1", "ORD-2", "ORD-4")))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void membershipIndexFollowsAddsAndRemoves() {
+        Wave wave = newPlannedWave("WAVE-IDX", List.of("ORD-1", "ORD-2"));
+
+        wave.removeOrders(List.of("ORD-1"));
+        wave.addOrders(List.of("ORD-1"));
+
+        assertThat(wave.containsOrder("ORD-1")).isTrue();
+        assertThat(wave.containsOrder("ORD-3")).isFalse();
+        assertThat(wave.getOrderIds()).containsExactly("ORD-2", "ORD-1");
+    }
+
+    @Test
+    void orderIdsAndEventsAreReadOnlyViews() {
+        Wave wave = newPlannedWave("WAVE-VIEW", List.of("ORD-1", "ORD-2"));
+
+        List<String> orderIds = wave.getOrderIds();
+        assertThatThrownBy(() -> orderIds.add("ORD-3")).isInstanceOf(UnsupportedOperationException.class);
+        assertThat(wave.orderCount()).isEqualTo(2);
+
+        assertThatThrownBy(() -> wave.getDomainEvents().clear()).isInstanceOf(UnsupportedOperationException.class);
+
+        List<DomainEvent> pulled = wave.pullDomainEvents();
+        assertThat(pulled).hasSize(1);
+        assertThat(wave.getDomainEvents()).isEmpty();
+
+        wave.cancel("No capacity");
+        assertThat(pulled).hasSize(1);
+        assertThat(wave.getDomainEvents()).hasSize(1);
+    }
+
     @Test
     void removeOrdersUpdatesMetrics() {
         Wave wave = newPlannedWave("WAVE-REM", List.of("ORD-1", "ORD-2"));
@@ -172,6 +254,73 @@ class WaveTest {
                 .hasMessageContaining("planned waves");
     }
 
+    @Test
+    void waveIsAllocatedOnceEveryOrderIsAllocated() {
+        Wave wave = newPlannedWave("WAVE-ALLOC", List.of("ORD-1", "ORD-2"));
+
+        wave.allocateOrder("ORD-1");
+        wave.allocateOrder("ORD-1");
+
+        assertThat(wave.isInventoryAllocated()).isFalse();
+        assertThat(wave.getAllocatedOrderIds()).containsExactly("ORD-1");
+
+        wave.allocateOrder("ORD-2");
+
+        assertThat(wave.isInventoryAllocated()).isTrue();
+        assertThat(lastEvent(wave)).isInstanceOfSatisfying(WaveInventoryAllocatedEvent.class, event -> {
+            assertThat(event.getWaveId()).isEqualTo("WAVE-ALLOC");
+            assertThat(event.getPlannedReleaseTime()).isEqualTo(wave.getPlannedReleaseTime());
+        });
+    }
+
+    @Test
+    void withdrawnOrdersMustBeAllocatedAgain() {
+        Wave wave = newPlannedWave("WAVE-WD", List.of("ORD-1", "ORD-2"));
+        wave.allocateOrder("ORD-1");
+        wave.allocateOrder("ORD-2");
+
+        wave.withdrawAllocation(List.of("ORD-2"));
+        wave.allocateOrder("ORD-1");
+
+        assertThat(wave.isInventoryAllocated()).isFalse();
+        assertThat(wave.getAllocatedOrderIds()).containsExactly("ORD-1");
+
+        wave.allocateOrder("ORD-2");
+
+        assertThat(wave.isInventoryAllocated()).isTrue();
+    }
+
+    @Test
+    void allocationEventIsRegisteredOnlyOnce() {
+        Wave wave = newPlannedWave();
+
+        wave.markInventoryAllocated();
+        wave.markInventoryAllocated();
+
+        assertThat(wave.getDomainEvents())
+                .filteredOn(WaveInventoryAllocatedEvent.class::isInstance)
+                .hasSize(1);
+    }
+
+    @Test
+    void removingTheLastUnallocatedOrderAllocatesTheWave() {
+        Wave wave = newPlannedWave("WAVE-RM", List.of("ORD-1", "ORD-2"));
+        wave.allocateOrder("ORD-1");
+
+        wave.removeOrders(List.of("ORD-2"));
+
+        assertThat(wave.isInventoryAllocated()).isTrue();
+    }
+
+    @Test
+    void allocateOrderRejectsForeignOrders() {
+        Wave wave = newPlannedWave();
+
+        assertThatThrownBy(() -> wave.allocateOrder("ORD-X"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("ORD-X");
+    }
+
     private Wave newPlannedWave() {
         return newPlannedWave("WAVE-100", List.of("ORD-1", "ORD-2"));
     }
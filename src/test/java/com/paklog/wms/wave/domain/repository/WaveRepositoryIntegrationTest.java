@@ -11,18 +11,28 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
 import org.springframework.context.annotation.Import;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexInfo;
 import org.springframework.test.context.DynamicPropertyRegistry;
 import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.util.ReflectionTestUtils;
 import org.testcontainers.containers.MongoDBContainer;
 import org.testcontainers.junit.jupiter.Container;
 import org.testcontainers.junit.jupiter.Testcontainers;
 
 import java.time.Duration;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 @Testcontainers
 @DataMongoTest
@@ -40,6 +50,9 @@ class WaveRepositoryIntegrationTest {
     @Autowired
     private WaveRepository waveRepository;
 
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
     @BeforeEach
     void cleanDatabase() {
         waveRepository.deleteAll();
@@ -97,6 +110,166 @@ class WaveRepositoryIntegrationTest {
         assertThat(result.get().getWaveId()).isEqualTo("WAVE-ORD");
     }
 
+    @Test
+    void removeOrderFromPlannedWavePullsOrderAndBumpsVersion() {
+        Wave planned = waveRepository.save(plannedWave("WAVE-PLAN", LocalDateTime.now()));
+        Wave released = plannedWave("WAVE-REL", LocalDateTime.now());
+        released.addOrders(List.of("ORD-9"));
+        released.assignZone("ZONE-A");
+        released.markInventoryAllocated();
+        released.release();
+        waveRepository.save(released);
+
+        Optional<WaveRepositoryCustom.WaveOrderRemoval> removal = waveRepository.removeOrderFromPlannedWave("ORD-1");
+
+        assertThat(removal).isPresent();
+        assertThat(removal.get().waveId()).isEqualTo("WAVE-PLAN");
+        assertThat(removal.get().remainingOrders()).isEqualTo(1);
+
+        Wave reloaded = waveRepository.findById("WAVE-PLAN").orElseThrow();
+        assertThat(reloaded.getOrderIds()).containsExactly("ORD-2");
+        assertThat(reloaded.getVersion()).isEqualTo(planned.getVersion() + 1);
+
+        assertThat(waveRepository.removeOrderFromPlannedWave("ORD-9")).isEmpty();
+    }
+
+    @Test
+    void updatePartialSetsChangedFieldsAndGuardsVersion() {
+        Wave saved = waveRepository.save(plannedWave("WAVE-PART", LocalDateTime.now()));
+        Wave stale = waveRepository.findById("WAVE-PART").orElseThrow();
+
+        saved.assignZone("ZONE-P");
+        waveRepository.updatePartial(saved, WaveStatus.PLANNED, EnumSet.of(WaveRepositoryCustom.WaveField.ASSIGNED_ZONE));
+
+        Wave reloaded = waveRepository.findById("WAVE-PART").orElseThrow();
+        assertThat(reloaded.getAssignedZone()).isEqualTo("ZONE-P");
+        assertThat(reloaded.getOrderIds()).containsExactly("ORD-1", "ORD-2");
+        assertThat(reloaded.getVersion()).isEqualTo(saved.getVersion());
+
+        stale.cancel("Stale update");
+        assertThatThrownBy(() -> waveRepository.updatePartial(stale, WaveStatus.PLANNED,
+                EnumSet.of(WaveRepositoryCustom.WaveField.STATUS)))
+                .isInstanceOf(OptimisticLockingFailureException.class);
+    }
+
+    @Test
+    void bulkUpdatePartialReportsWavesModifiedConcurrently() {
+        Wave first = waveRepository.save(plannedWave("WAVE-B1", LocalDateTime.now()));
+        Wave second = waveRepository.save(plannedWave("WAVE-B2", LocalDateTime.now()));
+        Wave concurrent = waveRepository.findById("WAVE-B2").orElseThrow();
+        concurrent.assignZone("ZONE-X");
+        waveRepository.save(concurrent);
+
+        first.cancel("Shift closed");
+        second.cancel("Shift closed");
+        Set<String> conflicts = waveRepository.bulkUpdatePartial(List.of(
+                new WaveRepositoryCustom.PartialUpdate(first, WaveStatus.PLANNED,
+                        EnumSet.of(WaveRepositoryCustom.WaveField.STATUS)),
+                new WaveRepositoryCustom.PartialUpdate(second, WaveStatus.PLANNED,
+                        EnumSet.of(WaveRepositoryCustom.WaveField.STATUS))
+        ));
+
+        assertThat(conflicts).containsExactly("WAVE-B2");
+        assertThat(waveRepository.findById("WAVE-B1").orElseThrow().getStatus()).isEqualTo(WaveStatus.CANCELLED);
+        assertThat(waveRepository.findById("WAVE-B2").orElseThrow().getStatus()).isEqualTo(WaveStatus.PLANNED);
+        assertThat(first.getVersion()).isEqualTo(waveRepository.findById("WAVE-B1").orElseThrow().getVersion());
+    }
+
+    @Test
+    void bulkUpdatePartialReportsWaveWonByAnotherBatchAtTheSameVersion() {
+        Wave wave = waveRepository.save(plannedWave("WAVE-B3", LocalDateTime.now()));
+        Wave stale = waveRepository.findById("WAVE-B3").orElseThrow();
+        wave.cancel("Shift closed");
+        stale.cancel("Duplicate");
+
+        Set<String> first = waveRepository.bulkUpdatePartial(List.of(new WaveRepositoryCustom.PartialUpdate(
+                wave, WaveStatus.PLANNED, EnumSet.of(WaveRepositoryCustom.WaveField.STATUS))));
+        Set<String> second = waveRepository.bulkUpdatePartial(List.of(new WaveRepositoryCustom.PartialUpdate(
+                stale, WaveStatus.PLANNED, EnumSet.of(WaveRepositoryCustom.WaveField.STATUS))));
+
+        assertThat(first).isEmpty();
+        assertThat(second).containsExactly("WAVE-B3");
+        assertThat(stale.getVersion()).isEqualTo(wave.getVersion() - 1);
+    }
+
+    @Test
+    void bulkInsertInitializesVersionAndFailsOnDuplicates() {
+        waveRepository.save(plannedWave("WAVE-DUP", LocalDateTime.now()));
+
+        assertThatThrownBy(() -> waveRepository.bulkInsert(List.of(plannedWave("WAVE-DUP", LocalDateTime.now()))))
+                .isInstanceOf(BulkOperationException.class);
+
+        Wave fresh = plannedWave("WAVE-NEW", LocalDateTime.now());
+        waveRepository.bulkInsert(List.of(fresh));
+        assertThat(fresh.getVersion()).isZero();
+
+        Wave stored = waveRepository.findById("WAVE-NEW").orElseThrow();
+        stored.assignZone("ZONE-N");
+        waveRepository.save(stored);
+        assertThat(waveRepository.findById("WAVE-NEW").orElseThrow().getVersion()).isEqualTo(1L);
+    }
+
+    @Test
+    void findPageUsesKeysetCursorFiltersAndProjection() {
+        waveRepository.saveAll(List.of(
+                plannedWave("WAVE-A", LocalDateTime.now()),
+                plannedWave("WAVE-B", LocalDateTime.now()),
+                plannedWave("WAVE-C", LocalDateTime.now())));
+        Wave otherWarehouse = new Wave();
+        otherWarehouse.setWaveId("WAVE-D");
+        otherWarehouse.plan(List.of("ORD-1"), WaveStrategy.builder()
+                        .type(WaveStrategyType.TIME_BASED)
+                        .timeInterval(Duration.ofMinutes(30))
+                        .build(),
+                "WH-2", WavePriority.NORMAL, LocalDateTime.now());
+        waveRepository.save(otherWarehouse);
+
+        Set<WaveStatus> planned = EnumSet.of(WaveStatus.PLANNED);
+        List<Wave> first = waveRepository.findPage(
+                new WaveRepositoryCustom.WaveSearch(planned, "WH-1", null, 2, false));
+        List<Wave> second = waveRepository.findPage(
+                new WaveRepositoryCustom.WaveSearch(planned, "WH-1", "WAVE-B", 2, false));
+
+        assertThat(first).extracting(Wave::getWaveId).containsExactly("WAVE-A", "WAVE-B");
+        assertThat(first.get(0).getOrderIds()).isEmpty();
+        assertThat(first.get(0).getMetrics().getTotalOrders()).isEqualTo(2);
+        assertThat(second).extracting(Wave::getWaveId).containsExactly("WAVE-C");
+
+        try (Stream<Wave> all = waveRepository.streamWaves(
+                new WaveRepositoryCustom.WaveSearch(planned, null, null, 0, true))) {
+            assertThat(all.map(Wave::getWaveId)).containsExactly("WAVE-A", "WAVE-B", "WAVE-C", "WAVE-D");
+        }
+    }
+
+    @Test
+    void findCreatedBetweenPagesOnCreationTimeAndWaveId() {
+        LocalDateTime hour = LocalDateTime.now().truncatedTo(ChronoUnit.HOURS).minusHours(1);
+        Wave earlier = createdAt(plannedWave("WAVE-D", LocalDateTime.now()), hour);
+        Wave a = createdAt(plannedWave("WAVE-A", LocalDateTime.now()), hour.plusMinutes(5));
+        Wave b = createdAt(plannedWave("WAVE-B", LocalDateTime.now()), hour.plusMinutes(5));
+        Wave c = createdAt(plannedWave("WAVE-C", LocalDateTime.now()), hour.plusMinutes(5));
+        Wave outside = createdAt(plannedWave("WAVE-E", LocalDateTime.now()), hour.plusHours(1));
+        waveRepository.saveAll(List.of(earlier, a, b, c, outside));
+
+        List<Wave> first = waveRepository.findCreatedBetween(hour, hour.plusHours(1), null, 2);
+        List<Wave> second = waveRepository.findCreatedBetween(hour, hour.plusHours(1),
+                new WaveRepositoryCustom.WindowCursor(hour.plusMinutes(5), "WAVE-A"), 2);
+        List<Wave> inWarehouse = waveRepository.findCreatedBetween("WH-1", hour, hour.plusHours(1),
+                new WaveRepositoryCustom.WindowCursor(hour, "WAVE-D"), 10);
+
+        assertThat(first).extracting(Wave::getWaveId).containsExactly("WAVE-D", "WAVE-A");
+        assertThat(second).extracting(Wave::getWaveId).containsExactly("WAVE-B", "WAVE-C");
+        assertThat(inWarehouse).extracting(Wave::getWaveId).containsExactly("WAVE-A", "WAVE-B", "WAVE-C");
+        assertThat(mongoTemplate.indexOps(Wave.class).getIndexInfo())
+                .extracting(IndexInfo::getName)
+                .contains("createdAt_id", "lastModifiedAt_id", "warehouseId_createdAt_id");
+    }
+
+    private Wave createdAt(Wave wave, LocalDateTime createdAt) {
+        ReflectionTestUtils.setField(wave, "createdAt", createdAt);
+        return wave;
+    }
+
     private Wave plannedWave(String id, LocalDateTime plannedReleaseTime) {
         Wave wave = new Wave();
         wave.setWaveId(id);
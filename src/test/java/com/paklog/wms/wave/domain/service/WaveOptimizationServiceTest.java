@@ -18,6 +18,8 @@ import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -55,6 +57,36 @@ class WaveOptimizationServiceTest {
         assertThat(criteria.prioritizeSLA()).isFalse();
     }
 
+    @Test
+    void splitShortOrdersMovesShortOrdersToHeldWave() {
+        Wave wave = plannedWave("WAVE-SHORT", List.of("O1", "O2", "O3"));
+        wave.assignZone("ZONE-A");
+        wave.allocateOrder("O1");
+        wave.allocateOrder("O3");
+
+        Optional<Wave> held = service.splitShortOrders(wave, Set.of("O2", "O9"));
+
+        assertThat(held).isPresent();
+        assertThat(held.get().getWaveId()).isNotEqualTo("WAVE-SHORT");
+        assertThat(held.get().getOrderIds()).containsExactly("O2");
+        assertThat(held.get().getWarehouseId()).isEqualTo(wave.getWarehouseId());
+        assertThat(held.get().getPlannedReleaseTime()).isEqualTo(wave.getPlannedReleaseTime());
+        assertThat(held.get().getAssignedZone()).isEqualTo("ZONE-A");
+        assertThat(held.get().isInventoryAllocated()).isFalse();
+        assertThat(wave.getOrderIds()).containsExactly("O1", "O3");
+        assertThat(wave.getMetrics().getTotalOrders()).isEqualTo(2);
+        assertThat(wave.isInventoryAllocated()).isTrue();
+    }
+
+    @Test
+    void splitShortOrdersKeepsWaveWhenNothingOrEverythingIsShort() {
+        Wave wave = plannedWave("WAVE-SHORT", List.of("O1", "O2"));
+
+        assertThat(service.splitShortOrders(wave, Set.of("O9"))).isEmpty();
+        assertThat(service.splitShortOrders(wave, Set.of("O1", "O2"))).isEmpty();
+        assertThat(wave.getOrderIds()).containsExactly("O1", "O2");
+    }
+
     @Test
     void createCarrierWavesGroupsOrdersByCarrierAndCutoff() {
         List<Order> orders = new ArrayList<>();
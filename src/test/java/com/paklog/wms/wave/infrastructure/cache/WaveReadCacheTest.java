@@ -0,0 +1,160 @@
+package com.paklog.wms.wave.infrastructure.cache;
+
+import com.paklog.wms.wave.domain.aggregate.Wave;
+import com.paklog.wms.wave.domain.event.WaveCancelledEvent;
+import com.paklog.wms.wave.domain.valueobject.WavePriority;
+import com.paklog.wms.wave.domain.valueobject.WaveStrategy;
+import com.paklog.wms.wave.domain.valueobject.WaveStrategyType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class WaveReadCacheTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private WaveReadCache cache;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new WaveReadCache(meterRegistry, 10, Duration.ofMinutes(5));
+        loads = new AtomicInteger();
+    }
+
+    @Test
+    void secondReadIsServedFromCache() {
+        Wave first = cache.get("WAVE-1", loader(1));
+        Wave second = cache.get("WAVE-1", loader(1));
+
+        assertThat(second).isSameAs(first);
+        assertThat(loads).hasValue(1);
+        assertThat(meterRegistry.counter("wave.cache.requests", "service", "wave-planning", "result", "hit").count())
+                .isEqualTo(1.0);
+        assertThat(meterRegistry.counter("wave.cache.requests", "service", "wave-planning", "result", "miss").count())
+                .isEqualTo(1.0);
+    }
+
+    @Test
+    void domainEventInvalidatesWave() {
+        cache.get("WAVE-1", loader(1));
+
+        cache.onWaveChanged(new WaveCancelledEvent("WAVE-1", "No capacity"));
+        cache.get("WAVE-1", loader(1));
+
+        assertThat(loads).hasValue(2);
+        assertThat(meterRegistry.counter("wave.cache.evictions", "service", "wave-planning", "cause", "invalidated").count())
+                .isEqualTo(1.0);
+    }
+
+    @Test
+    void invalidationAfterCommitWaitsForTransactionCompletion() {
+        cache.get("WAVE-1", loader(1));
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            cache.invalidateAfterCommit("WAVE-1");
+            assertThat(cache.size()).isEqualTo(1);
+
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    void invalidationAfterCommitOutsideTransactionIsImmediate() {
+        cache.get("WAVE-1", loader(1));
+
+        cache.invalidateAfterCommit("WAVE-1");
+
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    void loadOverlappingInvalidationIsNotCached() {
+        Wave loaded = cache.get("WAVE-1", waveId -> {
+            cache.invalidate(waveId);
+            return loader(1).apply(waveId);
+        });
+
+        assertThat(loaded.getWaveId()).isEqualTo("WAVE-1");
+        assertThat(cache.size()).isZero();
+        assertThat(cache.weight()).isZero();
+    }
+
+    @Test
+    void leastRecentlyUsedWavesAreEvictedByWeight() {
+        cache.get("WAVE-1", loader(3));
+        cache.get("WAVE-2", loader(3));
+        cache.get("WAVE-1", loader(3));
+
+        cache.get("WAVE-3", loader(3));
+
+        assertThat(cache.weight()).isEqualTo(8);
+        cache.get("WAVE-1", loader(3));
+        assertThat(loads).hasValue(3);
+        cache.get("WAVE-2", loader(3));
+        assertThat(loads).hasValue(4);
+    }
+
+    @Test
+    void waveHeavierThanCacheIsNotStored() {
+        cache.get("WAVE-BIG", loader(20));
+
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    void expiredWaveIsReloaded() {
+        WaveReadCache expiring = new WaveReadCache(meterRegistry, 10, Duration.ZERO);
+
+        expiring.get("WAVE-1", loader(1));
+        expiring.get("WAVE-1", loader(1));
+
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void failedLoadIsNotCached() {
+        assertThatThrownBy(() -> cache.get("WAVE-404", waveId -> {
+            throw new IllegalStateException("boom");
+        })).isInstanceOf(IllegalStateException.class);
+
+        assertThat(cache.size()).isZero();
+    }
+
+    private Function<String, Wave> loader(int orders) {
+        return waveId -> {
+            loads.incrementAndGet();
+            Wave wave = new Wave();
+            wave.setWaveId(waveId);
+            wave.plan(
+                    IntStream.range(0, orders).mapToObj(i -> waveId + "-ORD-" + i).toList(),
+                    WaveStrategy.builder()
+                            .type(WaveStrategyType.TIME_BASED)
+                            .maxOrders(100)
+                            .timeInterval(Duration.ofMinutes(30))
+                            .build(),
+                    "WH-1",
+                    WavePriority.NORMAL,
+                    LocalDateTime.now().plusHours(1)
+            );
+            return wave;
+        };
+    }
+}
@@ -0,0 +1,93 @@
+package com.paklog.wms.wave.infrastructure.config;
+
+import com.paklog.wms.wave.infrastructure.events.OrderEventMetrics;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.apache.kafka.common.serialization.Deserializer;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.config.YamlPropertiesFactoryBean;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.support.serializer.ErrorHandlingDeserializer;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+import org.springframework.kafka.support.serializer.SerializationUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+class KafkaConsumerMetricsConfigTest {
+
+    @Test
+    void malformedValueIsHandedToErrorHandlingInsteadOfFailingPoll() {
+        DefaultKafkaConsumerFactory<Object, Object> consumerFactory =
+                new DefaultKafkaConsumerFactory<>(new HashMap<>());
+        new KafkaConsumerMetricsConfig().timedValueDeserializerCustomizer(mock(OrderEventMetrics.class))
+                .customize(consumerFactory);
+
+        Deserializer<Object> deserializer = consumerFactory.getValueDeserializer();
+        deserializer.configure(Map.of(JsonDeserializer.TRUSTED_PACKAGES, "*"), false);
+        RecordHeaders headers = new RecordHeaders();
+        Object value = deserializer.deserialize("orders", headers, "{not json".getBytes(StandardCharsets.UTF_8));
+
+        assertThat(deserializer).isInstanceOf(ErrorHandlingDeserializer.class);
+        assertThat(value).isNull();
+        assertThat(headers.lastHeader(SerializationUtils.VALUE_DESERIALIZER_EXCEPTION_HEADER)).isNotNull();
+    }
+
+    @Test
+    void configuredDelegateIsTimedInsteadOfReplaced() {
+        OrderEventMetrics eventMetrics = mock(OrderEventMetrics.class);
+        Map<String, Object> configs = new HashMap<>();
+        configs.put(ErrorHandlingDeserializer.VALUE_DESERIALIZER_CLASS, StringDeserializer.class.getName());
+        DefaultKafkaConsumerFactory<Object, Object> consumerFactory = new DefaultKafkaConsumerFactory<>(configs);
+        new KafkaConsumerMetricsConfig().timedValueDeserializerCustomizer(eventMetrics).customize(consumerFactory);
+
+        Deserializer<Object> deserializer = consumerFactory.getValueDeserializer();
+        deserializer.configure(configs, false);
+        Object value = deserializer.deserialize("orders", new RecordHeaders(),
+                "not json".getBytes(StandardCharsets.UTF_8));
+
+        assertThat(value).isEqualTo("not json");
+        verify(eventMetrics).recordDeserialize(isNull(), anyLong());
+    }
+
+    @Test
+    void deadLetterTopicsAreReadAsRawBytesWithApplicationConfig() {
+        Map<String, Object> configs = applicationConsumerProperties();
+        DefaultKafkaConsumerFactory<Object, Object> consumerFactory = new DefaultKafkaConsumerFactory<>(configs);
+        new KafkaConsumerMetricsConfig().timedValueDeserializerCustomizer(mock(OrderEventMetrics.class))
+                .customize(consumerFactory);
+
+        Deserializer<Object> deserializer = consumerFactory.getValueDeserializer();
+        deserializer.configure(configs, false);
+        byte[] malformed = "{not json".getBytes(StandardCharsets.UTF_8);
+        RecordHeaders deadLetterHeaders = new RecordHeaders();
+        RecordHeaders headers = new RecordHeaders();
+
+        assertThat(deserializer.deserialize("wms-order-events-dlt", deadLetterHeaders, malformed))
+                .isEqualTo(malformed);
+        assertThat(deadLetterHeaders.lastHeader(SerializationUtils.VALUE_DESERIALIZER_EXCEPTION_HEADER)).isNull();
+        assertThat(deserializer.deserialize("wms-order-events", headers, malformed)).isNull();
+        assertThat(headers.lastHeader(SerializationUtils.VALUE_DESERIALIZER_EXCEPTION_HEADER)).isNotNull();
+    }
+
+    private static Map<String, Object> applicationConsumerProperties() {
+        YamlPropertiesFactoryBean yaml = new YamlPropertiesFactoryBean();
+        yaml.setResources(new ClassPathResource("application.yml"));
+        Properties properties = yaml.getObject();
+        String prefix = "spring.kafka.consumer.properties.";
+        Map<String, Object> configs = new HashMap<>();
+        properties.stringPropertyNames().stream()
+                .filter(name -> name.startsWith(prefix))
+                .forEach(name -> configs.put(name.substring(prefix.length()), properties.getProperty(name)));
+        return configs;
+    }
+}
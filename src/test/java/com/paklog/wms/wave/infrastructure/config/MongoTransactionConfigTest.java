@@ -0,0 +1,36 @@
+package com.paklog.wms.wave.infrastructure.config;
+
+import com.mongodb.ReadConcern;
+import com.mongodb.TransactionOptions;
+import com.mongodb.WriteConcern;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MongoTransactionConfigTest {
+
+    @Test
+    void transactionOptionsUseConfiguredConcerns() {
+        TransactionOptions options = MongoTransactionConfig.transactionOptions(
+                "majority", true, "snapshot", Duration.ofSeconds(3));
+
+        assertThat(options.getWriteConcern()).isEqualTo(WriteConcern.MAJORITY.withJournal(true));
+        assertThat(options.getReadConcern()).isEqualTo(ReadConcern.SNAPSHOT);
+        assertThat(options.getMaxCommitTime(TimeUnit.MILLISECONDS)).isEqualTo(3000L);
+    }
+
+    @Test
+    void unknownConcernsAreRejected() {
+        assertThatThrownBy(() -> MongoTransactionConfig.transactionOptions(
+                "most", true, "majority", Duration.ofSeconds(1)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> MongoTransactionConfig.transactionOptions(
+                "w1", false, "linearizable", Duration.ofSeconds(1)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("linearizable");
+    }
+}
@@ -0,0 +1,34 @@
+package com.paklog.wms.wave.infrastructure.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
+import org.springframework.boot.ssl.SslBundles;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class WaveCacheConfigTest {
+
+    @SuppressWarnings("unchecked")
+    private final ObjectProvider<SslBundles> sslBundles = mock(ObjectProvider.class);
+
+    @Test
+    void listenerRunsOnVirtualThreadsWhenEnabled() {
+        ConcurrentKafkaListenerContainerFactory<String, byte[]> factory = new WaveCacheConfig()
+                .waveCacheInvalidationContainerFactory(new KafkaProperties(), sslBundles, true);
+
+        assertThat(factory.getContainerProperties().getListenerTaskExecutor())
+                .isInstanceOf(VirtualThreadTaskExecutor.class);
+    }
+
+    @Test
+    void listenerKeepsDefaultExecutorWhenDisabled() {
+        ConcurrentKafkaListenerContainerFactory<String, byte[]> factory = new WaveCacheConfig()
+                .waveCacheInvalidationContainerFactory(new KafkaProperties(), sslBundles, false);
+
+        assertThat(factory.getContainerProperties().getListenerTaskExecutor()).isNull();
+    }
+}
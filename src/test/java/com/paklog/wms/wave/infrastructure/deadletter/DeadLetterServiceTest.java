@@ -0,0 +1,135 @@
+package com.paklog.wms.wave.infrastructure.deadletter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class DeadLetterServiceTest {
+
+    @Mock
+    private DeadLetterRepository deadLetterRepository;
+
+    @Mock
+    private KafkaTemplate<String, Object> kafkaTemplate;
+
+    private DeadLetterService deadLetterService;
+
+    @BeforeEach
+    void setUp() {
+        deadLetterService = new DeadLetterService(deadLetterRepository, kafkaTemplate, new ObjectMapper());
+    }
+
+    @Test
+    void recordPersistsPendingDeadLetter() {
+        Map<String, Object> payload = Map.of("type", "InventoryAllocatedEvent", "orderId", "ORD-1");
+
+        DeadLetterEvent event = deadLetterService.record("wms-inventory-events", "ORD-1", payload, "boom");
+
+        ArgumentCaptor<DeadLetterEvent> captor = ArgumentCaptor.forClass(DeadLetterEvent.class);
+        verify(deadLetterRepository).save(captor.capture());
+        assertThat(captor.getValue()).isSameAs(event);
+        assertThat(event.getStatus()).isEqualTo(DeadLetterStatus.PENDING);
+        assertThat(event.getEventType()).isEqualTo("InventoryAllocatedEvent");
+        assertThat(event.getOriginalTopic()).isEqualTo("wms-inventory-events");
+    }
+
+    @Test
+    void recordParsesJsonRecordValue() {
+        byte[] value = "{\"type\":\"OrderCancelledEvent\",\"orderId\":\"ORD-1\"}".getBytes(StandardCharsets.UTF_8);
+
+        DeadLetterEvent event = deadLetterService.record("wms-order-events", "ORD-1", value, "boom");
+
+        verify(deadLetterRepository).save(event);
+        assertThat(event.getPayload()).containsEntry("orderId", "ORD-1");
+        assertThat(event.getEventType()).isEqualTo("OrderCancelledEvent");
+        assertThat(event.getRawPayload()).isNull();
+    }
+
+    @Test
+    void recordKeepsUndeserializableValueAsRawBytesAndReplaysThem() {
+        byte[] value = "{not json".getBytes(StandardCharsets.UTF_8);
+        DeadLetterEvent event = deadLetterService.record("wms-order-events", "ORD-1", value, "Failed to deserialize");
+        when(deadLetterRepository.findById(event.getId())).thenReturn(Optional.of(event));
+        when(kafkaTemplate.send("wms-order-events", "ORD-1", value))
+                .thenReturn(CompletableFuture.completedFuture(new SendResult<>(null, null)));
+
+        deadLetterService.replay(event.getId());
+
+        assertThat(event.getPayload()).isNull();
+        assertThat(event.getRawPayload()).isEqualTo(value);
+        assertThat(event.getStatus()).isEqualTo(DeadLetterStatus.REPLAYED);
+    }
+
+    @Test
+    void replayRepublishesToOriginalTopicAndMarksReplayed() {
+        DeadLetterEvent event = new DeadLetterEvent("wms-order-events", "ORD-2",
+                Map.of("type", "OrderCancelledEvent", "orderId", "ORD-2"), "timeout");
+        when(deadLetterRepository.findById(event.getId())).thenReturn(Optional.of(event));
+        when(kafkaTemplate.send("wms-order-events", "ORD-2", event.getPayload()))
+                .thenReturn(CompletableFuture.completedFuture(new SendResult<>(null, null)));
+
+        DeadLetterEvent replayed = deadLetterService.replay(event.getId());
+
+        assertThat(replayed.getStatus()).isEqualTo(DeadLetterStatus.REPLAYED);
+        assertThat(replayed.getReplayCount()).isEqualTo(1);
+        assertThat(replayed.getReplayedAt()).isNotNull();
+        verify(deadLetterRepository).save(event);
+    }
+
+    @Test
+    void replayKeepsDeadLetterPendingWhenSendFails() {
+        DeadLetterEvent event = new DeadLetterEvent("wms-order-events", "ORD-3",
+                Map.of("type", "OrderCancelledEvent"), "timeout");
+        when(deadLetterRepository.findById(event.getId())).thenReturn(Optional.of(event));
+        when(kafkaTemplate.send(any(), any(), any()))
+                .thenReturn(CompletableFuture.failedFuture(new RuntimeException("broker down")));
+
+        assertThatThrownBy(() -> deadLetterService.replay(event.getId()))
+                .isInstanceOf(DeadLetterService.DeadLetterReplayException.class);
+
+        assertThat(event.getStatus()).isEqualTo(DeadLetterStatus.PENDING);
+        verify(deadLetterRepository, never()).save(any());
+    }
+
+    @Test
+    void replayPendingReplaysOldestPendingEvents() {
+        DeadLetterEvent first = new DeadLetterEvent("wms-order-events", "ORD-4", Map.of("type", "A"), "x");
+        DeadLetterEvent second = new DeadLetterEvent("wms-inventory-events", "ORD-5", Map.of("type", "B"), "y");
+        when(deadLetterRepository.findByStatus(DeadLetterStatus.PENDING, 10)).thenReturn(List.of(first, second));
+        when(kafkaTemplate.send(any(), any(), any()))
+                .thenReturn(CompletableFuture.completedFuture(new SendResult<>(null, null)));
+
+        List<DeadLetterEvent> replayed = deadLetterService.replayPending(10);
+
+        assertThat(replayed).extracting(DeadLetterEvent::getStatus)
+                .containsOnly(DeadLetterStatus.REPLAYED);
+    }
+
+    @Test
+    void replayThrowsWhenNotFound() {
+        when(deadLetterRepository.findById("missing")).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> deadLetterService.replay("missing"))
+                .isInstanceOf(DeadLetterService.DeadLetterNotFoundException.class);
+    }
+}
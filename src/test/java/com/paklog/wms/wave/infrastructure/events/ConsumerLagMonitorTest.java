@@ -0,0 +1,56 @@
+package com.paklog.wms.wave.infrastructure.events;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.admin.Admin;
+import org.apache.kafka.clients.admin.ListConsumerGroupOffsetsResult;
+import org.apache.kafka.clients.admin.ListOffsetsResult;
+import org.apache.kafka.clients.admin.ListOffsetsResult.ListOffsetsResultInfo;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.KafkaFuture;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.core.KafkaAdmin;
+
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ConsumerLagMonitorTest {
+
+    @Test
+    void refreshLagPublishesGaugePerPartition() throws Exception {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        ConsumerLagMonitor monitor = new ConsumerLagMonitor(mock(KafkaAdmin.class), registry, "wave-planning-service");
+
+        TopicPartition p0 = new TopicPartition("wms-order-events", 0);
+        TopicPartition p1 = new TopicPartition("wms-order-events", 1);
+
+        Admin admin = mock(Admin.class);
+        ListConsumerGroupOffsetsResult groupOffsets = mock(ListConsumerGroupOffsetsResult.class);
+        when(groupOffsets.partitionsToOffsetAndMetadata()).thenReturn(KafkaFuture.completedFuture(Map.of(
+                p0, new OffsetAndMetadata(90),
+                p1, new OffsetAndMetadata(40)
+        )));
+        when(admin.listConsumerGroupOffsets("wave-planning-service")).thenReturn(groupOffsets);
+
+        ListOffsetsResult endOffsets = mock(ListOffsetsResult.class);
+        when(endOffsets.all()).thenReturn(KafkaFuture.completedFuture(Map.of(
+                p0, new ListOffsetsResultInfo(100, 0L, Optional.empty()),
+                p1, new ListOffsetsResultInfo(40, 0L, Optional.empty())
+        )));
+        when(admin.listOffsets(anyMap())).thenReturn(endOffsets);
+
+        monitor.refreshLag(admin);
+
+        assertThat(monitor.lag(p0)).isEqualTo(10);
+        assertThat(monitor.lag(p1)).isZero();
+        assertThat(monitor.lag(new TopicPartition("wms-inventory-events", 0))).isEqualTo(-1);
+        assertThat(registry.get("kafka.consumer.group.lag")
+                .tags("topic", "wms-order-events", "partition", "0")
+                .gauge().value()).isEqualTo(10.0);
+    }
+}
@@ -0,0 +1,112 @@
+package com.paklog.wms.wave.infrastructure.events;
+
+import com.paklog.wms.wave.application.service.InventoryShortageCoordinator;
+import com.paklog.wms.wave.application.service.WavePlanningService;
+import com.paklog.wms.wave.infrastructure.config.KafkaConsumerMetricsConfig;
+import com.paklog.wms.wave.infrastructure.config.KafkaRetryConfig;
+import com.paklog.wms.wave.infrastructure.deadletter.DeadLetterService;
+import com.paklog.wms.wave.infrastructure.snapshot.OrderSnapshotStore;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.producer.Producer;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.kafka.KafkaAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.kafka.test.utils.KafkaTestUtils;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.KafkaContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@SpringBootTest(
+        classes = {OrderEventHandler.class, KafkaRetryConfig.class, KafkaConsumerMetricsConfig.class},
+        properties = {
+                "paklog.kafka.topics.order-events=dlt-test-order-events",
+                "paklog.kafka.topics.inventory-events=dlt-test-inventory-events",
+                "paklog.kafka.retry.initial-delay-ms=100"
+        })
+@ImportAutoConfiguration(KafkaAutoConfiguration.class)
+@Testcontainers
+class OrderEventDeadLetterIntegrationTest {
+
+    @Container
+    static final KafkaContainer kafka = new KafkaContainer(DockerImageName.parse("confluentinc/cp-kafka:7.5.0"));
+
+    @DynamicPropertySource
+    static void kafkaProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.kafka.bootstrap-servers", kafka::getBootstrapServers);
+    }
+
+    @MockBean
+    private WavePlanningService wavePlanningService;
+
+    @MockBean
+    private DeadLetterService deadLetterService;
+
+    @MockBean
+    private InventoryShortageCoordinator shortageCoordinator;
+
+    @MockBean
+    private OrderEventMetrics eventMetrics;
+
+    @MockBean
+    private OrderSnapshotStore snapshotStore;
+
+    @Test
+    void malformedRecordGoesStraightToDeadLetterTopic() {
+        byte[] malformed = "{not json".getBytes(StandardCharsets.UTF_8);
+        try (Producer<String, byte[]> producer = new DefaultKafkaProducerFactory<>(
+                Map.of(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, kafka.getBootstrapServers()),
+                new StringSerializer(), new ByteArraySerializer())
+                .createProducer()) {
+            producer.send(new ProducerRecord<>("dlt-test-order-events", "ORD-1", malformed));
+        }
+
+        Map<String, Object> consumerProps = Map.of(
+                ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, kafka.getBootstrapServers(),
+                ConsumerConfig.GROUP_ID_CONFIG, "dlt-test-reader",
+                ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
+        try (Consumer<String, byte[]> consumer = new DefaultKafkaConsumerFactory<>(
+                consumerProps, new StringDeserializer(), new ByteArrayDeserializer()).createConsumer()) {
+            consumer.subscribe(List.of("dlt-test-order-events-dlt"));
+
+            ConsumerRecord<String, byte[]> deadLetter =
+                    KafkaTestUtils.getSingleRecord(consumer, "dlt-test-order-events-dlt", Duration.ofSeconds(30));
+
+            assertThat(deadLetter.key()).isEqualTo("ORD-1");
+            assertThat(deadLetter.value()).isEqualTo(malformed);
+            assertThat(new String(deadLetter.headers().lastHeader(KafkaHeaders.DLT_EXCEPTION_CAUSE_FQCN).value(),
+                    StandardCharsets.UTF_8)).endsWith("DeserializationException");
+        }
+        verify(deadLetterService, timeout(30_000)).record(eq("dlt-test-order-events"), eq("ORD-1"),
+                eq(malformed), any());
+        verifyNoInteractions(wavePlanningService, snapshotStore);
+    }
+}
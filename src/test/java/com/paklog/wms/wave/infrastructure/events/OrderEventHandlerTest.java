@@ -1,14 +1,30 @@
 package com.paklog.wms.wave.infrastructure.events;
 
+import com.paklog.wms.wave.application.service.InventoryShortageCoordinator;
 import com.paklog.wms.wave.application.service.WavePlanningService;
+import com.paklog.wms.wave.infrastructure.deadletter.DeadLetterService;
+import com.paklog.wms.wave.infrastructure.snapshot.OrderSnapshotStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import org.springframework.kafka.support.KafkaHeaders;
+
+import java.nio.charset.StandardCharsets;
 import java.util.Map;
+import java.util.Optional;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
 class OrderEventHandlerTest {
@@ -16,9 +32,21 @@ class OrderEventHandlerTest {
     @Mock
     private WavePlanningService wavePlanningService;
 
+    @Mock
+    private DeadLetterService deadLetterService;
+
+    @Mock
+    private InventoryShortageCoordinator shortageCoordinator;
+
+    @Mock
+    private OrderSnapshotStore snapshotStore;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final OrderEventMetrics eventMetrics = new OrderEventMetrics(meterRegistry, 100);
+
     @Test
     void handleOrderValidatedProcessesMatchingEvents() {
-        OrderEventHandler handler = new OrderEventHandler(wavePlanningService);
+        OrderEventHandler handler = new OrderEventHandler(wavePlanningService, deadLetterService, shortageCoordinator, eventMetrics, snapshotStore);
 
         handler.handleOrderValidated(Map.of(
                 "type", "FulfillmentOrderValidatedEvent",
@@ -33,7 +61,7 @@ class OrderEventHandlerTest {
 
     @Test
     void handleOrderValidatedIgnoresOtherEvents() {
-        OrderEventHandler handler = new OrderEventHandler(wavePlanningService);
+        OrderEventHandler handler = new OrderEventHandler(wavePlanningService, deadLetterService, shortageCoordinator, eventMetrics, snapshotStore);
 
         handler.handleOrderValidated(Map.of(
                 "type", "OtherEvent",
@@ -45,7 +73,7 @@ class OrderEventHandlerTest {
 
     @Test
     void handleInventoryAllocatedCoversBothBranches() {
-        OrderEventHandler handler = new OrderEventHandler(wavePlanningService);
+        OrderEventHandler handler = new OrderEventHandler(wavePlanningService, deadLetterService, shortageCoordinator, eventMetrics, snapshotStore);
 
         handler.handleInventoryAllocated(Map.of(
                 "type", "InventoryAllocatedEvent",
@@ -61,12 +89,13 @@ class OrderEventHandlerTest {
                 "fullyAllocated", false
         ));
 
-        verifyNoInteractions(wavePlanningService);
+        verify(wavePlanningService).allocateOrder("ORD-3");
+        verifyNoMoreInteractions(wavePlanningService);
     }
 
     @Test
-    void handleOrderCancelledLogsEvent() {
-        OrderEventHandler handler = new OrderEventHandler(wavePlanningService);
+    void handleOrderCancelledRemovesOrderFromPlannedWave() {
+        OrderEventHandler handler = new OrderEventHandler(wavePlanningService, deadLetterService, shortageCoordinator, eventMetrics, snapshotStore);
 
         handler.handleOrderCancelled(Map.of(
                 "type", "OrderCancelledEvent",
@@ -74,12 +103,12 @@ class OrderEventHandlerTest {
                 "reason", "Customer request"
         ));
 
-        verifyNoInteractions(wavePlanningService);
+        verify(wavePlanningService).removeCancelledOrder("ORD-5", "Customer request");
     }
 
     @Test
-    void handleInventoryShortageLogsWarning() {
-        OrderEventHandler handler = new OrderEventHandler(wavePlanningService);
+    void handleInventoryShortageRecordsShortageForReplanning() {
+        OrderEventHandler handler = new OrderEventHandler(wavePlanningService, deadLetterService, shortageCoordinator, eventMetrics, snapshotStore);
 
         handler.handleInventoryShortage(Map.of(
                 "type", "InventoryShortageEvent",
@@ -89,6 +118,95 @@ class OrderEventHandlerTest {
                 "availableQuantity", 2
         ));
 
+        verify(shortageCoordinator).recordShortage("SKU-1", "ORD-6");
         verifyNoInteractions(wavePlanningService);
     }
+
+    @Test
+    void onOrderEventDispatchesByType() {
+        OrderEventHandler handler = new OrderEventHandler(wavePlanningService, deadLetterService, shortageCoordinator, eventMetrics, snapshotStore);
+
+        handler.onOrderEvent(Map.of(
+                "type", "OrderCancelledEvent",
+                "orderId", "ORD-7",
+                "reason", "Customer request"
+        ));
+        handler.onOrderEvent(Map.of("type", "UnknownEvent"));
+
+        verify(wavePlanningService).removeCancelledOrder("ORD-7", "Customer request");
+        verifyNoMoreInteractions(wavePlanningService);
+        verifyNoInteractions(deadLetterService);
+    }
+
+    @Test
+    void onInventoryEventPropagatesFailuresForRetry() {
+        OrderEventHandler handler = new OrderEventHandler(wavePlanningService, deadLetterService, shortageCoordinator, eventMetrics, snapshotStore);
+
+        assertThatThrownBy(() -> handler.onInventoryEvent(Map.of(
+                "type", "InventoryShortageEvent",
+                "orderId", "ORD-8",
+                "sku", "SKU-2"
+        ))).isInstanceOf(NullPointerException.class);
+    }
+
+    @Test
+    void onOrderEventHandlesAndCountsDuplicatesAndRecordsMetrics() {
+        OrderEventHandler handler = new OrderEventHandler(wavePlanningService, deadLetterService, shortageCoordinator, eventMetrics, snapshotStore);
+        Map<String, Object> event = Map.of(
+                "id", "evt-1",
+                "type", "OrderCancelledEvent",
+                "time", "2026-01-01T10:00:00Z",
+                "orderId", "ORD-10",
+                "reason", "Customer request"
+        );
+
+        handler.onOrderEvent(event);
+        handler.onOrderEvent(event);
+        handler.onOrderEvent(Map.of("type", "UnknownEvent"));
+
+        verify(wavePlanningService, times(2)).removeCancelledOrder("ORD-10", "Customer request");
+        assertThat(meterRegistry.get("order.events.duplicates").tag("event_type", "OrderCancelledEvent")
+                .counter().count()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("order.events.ignored").tag("event_type", "other")
+                .counter().count()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("order.events.latency").tag("stage", "handle")
+                .timer().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("order.events.latency").tag("stage", "end_to_end")
+                .timer().count()).isEqualTo(2);
+    }
+
+    @Test
+    void failedEventIsCountedAndNotTreatedAsDuplicateOnRetry() {
+        OrderEventHandler handler = new OrderEventHandler(wavePlanningService, deadLetterService, shortageCoordinator, eventMetrics, snapshotStore);
+        Map<String, Object> event = Map.of(
+                "id", "evt-2",
+                "type", "OrderCancelledEvent",
+                "orderId", "ORD-11",
+                "reason", "Customer request"
+        );
+        when(wavePlanningService.removeCancelledOrder("ORD-11", "Customer request"))
+                .thenThrow(new IllegalStateException("write conflict"))
+                .thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> handler.onOrderEvent(event)).isInstanceOf(IllegalStateException.class);
+        handler.onOrderEvent(event);
+
+        verify(wavePlanningService, times(2)).removeCancelledOrder("ORD-11", "Customer request");
+        assertThat(meterRegistry.get("order.events.failed").counter().count()).isEqualTo(1.0);
+        assertThat(meterRegistry.find("order.events.duplicates").counter()).isNull();
+    }
+
+    @Test
+    void handleDeadLetterRecordsOriginalTopicAndException() {
+        OrderEventHandler handler = new OrderEventHandler(wavePlanningService, deadLetterService, shortageCoordinator, eventMetrics, snapshotStore);
+        byte[] payload = "{\"type\":\"OrderCancelledEvent\",\"orderId\":\"ORD-9\"}".getBytes(StandardCharsets.UTF_8);
+        ConsumerRecord<String, byte[]> record =
+                new ConsumerRecord<>("wms-order-events-dlt", 0, 42L, "ORD-9", payload);
+        record.headers().add(KafkaHeaders.DLT_ORIGINAL_TOPIC, "wms-order-events".getBytes(StandardCharsets.UTF_8));
+        record.headers().add(KafkaHeaders.DLT_EXCEPTION_MESSAGE, "Mongo timeout".getBytes(StandardCharsets.UTF_8));
+
+        handler.handleDeadLetter(record);
+
+        verify(deadLetterService).record(eq("wms-order-events"), eq("ORD-9"), eq(payload), eq("Mongo timeout"));
+    }
 }
@@ -0,0 +1,68 @@
+package com.paklog.wms.wave.infrastructure.events;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.common.serialization.Deserializer;
+import org.junit.jupiter.api.Test;
+
+import java.time.OffsetDateTime;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OrderEventMetricsTest {
+
+    @Test
+    void duplicatesAreCountedWithinBoundedWindow() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        OrderEventMetrics metrics = new OrderEventMetrics(registry, 2);
+
+        metrics.recordHandled("OrderCancelledEvent", "evt-1", null, 1_000);
+        metrics.recordHandled("OrderCancelledEvent", "evt-2", null, 1_000);
+        metrics.recordHandled("OrderCancelledEvent", "evt-1", null, 1_000);
+        metrics.recordHandled("OrderCancelledEvent", null, null, 1_000);
+        metrics.recordHandled("OrderCancelledEvent", null, null, 1_000);
+        assertThat(registry.get("order.events.duplicates").counter().count()).isEqualTo(1.0);
+
+        metrics.recordHandled("OrderCancelledEvent", "evt-3", null, 1_000);
+        metrics.recordHandled("OrderCancelledEvent", "evt-1", null, 1_000);
+        metrics.recordHandled("OrderCancelledEvent", "evt-3", null, 1_000);
+
+        assertThat(registry.get("order.events.duplicates").counter().count()).isEqualTo(2.0);
+    }
+
+    @Test
+    void latencyIsRecordedPerStageAndUnknownTypesShareATag() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        OrderEventMetrics metrics = new OrderEventMetrics(registry, 10);
+
+        metrics.recordHandled("InventoryShortageEvent", "evt-1",
+                OffsetDateTime.now().minusSeconds(5).toString(), 2_000_000);
+        metrics.recordHandled("SomethingNew", "evt-2", "not-a-time", 1_000);
+
+        assertThat(registry.get("order.events.latency")
+                .tags("stage", "end_to_end", "event_type", "InventoryShortageEvent")
+                .timer().totalTime(TimeUnit.SECONDS)).isGreaterThanOrEqualTo(5.0);
+        assertThat(registry.get("order.events.latency")
+                .tags("stage", "handle", "event_type", "other")
+                .timer().count()).isEqualTo(1);
+        assertThat(registry.find("order.events.latency")
+                .tags("stage", "end_to_end", "event_type", "other")
+                .timer()).isNull();
+    }
+
+    @Test
+    void timedDeserializerRecordsDeserializeStage() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        OrderEventMetrics metrics = new OrderEventMetrics(registry, 10);
+        Deserializer<Object> delegate = (topic, data) -> Map.of("type", "OrderCancelledEvent");
+
+        try (TimedDeserializer<Object> deserializer = new TimedDeserializer<>(delegate, metrics)) {
+            deserializer.deserialize("wms-order-events", new byte[0]);
+        }
+
+        assertThat(registry.get("order.events.latency")
+                .tags("stage", "deserialize", "event_type", "OrderCancelledEvent")
+                .timer().count()).isEqualTo(1);
+    }
+}
@@ -1,7 +1,10 @@
 package com.paklog.wms.wave.infrastructure.events;
 
 import com.paklog.wave.planning.infrastructure.outbox.OutboxEvent;
+import com.paklog.wave.planning.infrastructure.outbox.OutboxMessage;
 import com.paklog.wave.planning.infrastructure.outbox.OutboxService;
+import com.paklog.wms.wave.domain.event.WaveCancelledEvent;
+import com.paklog.wms.wave.domain.event.WaveOrderRemovedEvent;
 import com.paklog.wms.wave.domain.event.WavePlannedEvent;
 import com.paklog.wms.wave.domain.event.WaveReleasedEvent;
 import com.paklog.wms.wave.domain.valueobject.WavePriority;
@@ -12,16 +15,21 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.time.LocalDateTime;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.eq;
-import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -30,12 +38,15 @@ class WaveEventPublisherTest {
     @Mock
     private OutboxService outboxService;
 
+    @Mock
+    private ApplicationEventPublisher applicationEventPublisher;
+
     private WaveEventPublisher publisher;
 
     @BeforeEach
     void setUp() {
-        publisher = new WaveEventPublisher(outboxService);
-        when(outboxService.saveEvent(any(), any(), any())).thenReturn(new OutboxEvent());
+        publisher = new WaveEventPublisher(outboxService, applicationEventPublisher);
+        lenient().when(outboxService.saveEvent(any(), any(), any())).thenReturn(new OutboxEvent());
     }
 
     @Test
@@ -57,6 +68,7 @@ class WaveEventPublisherTest {
 
         assertThat(aggregateCaptor.getValue()).isEqualTo("WAVE-1");
         assertThat(eventTypeCaptor.getValue()).isEqualTo("com.paklog.wms.wave.wave.planned.v1");
+        verify(applicationEventPublisher).publishEvent(event);
     }
 
     @Test
@@ -79,7 +91,50 @@ class WaveEventPublisherTest {
 
         publisher.publishEvents(List.of(releasedEvent, plannedEvent));
 
-        verify(outboxService, times(2)).saveEvent(eq("WAVE-2"), any(), any());
+        ArgumentCaptor<List<OutboxMessage>> messages = ArgumentCaptor.forClass(List.class);
+        verify(outboxService).saveMessages(messages.capture());
+        verify(outboxService, never()).saveEvent(any(), any(), any());
+
+        assertThat(messages.getValue())
+                .extracting(OutboxMessage::aggregateId, OutboxMessage::eventType)
+                .containsExactly(
+                        tuple("WAVE-2", "com.paklog.wms.wave.wave.released.v1"),
+                        tuple("WAVE-2", "com.paklog.wms.wave.wave.planned.v1"));
+        verify(applicationEventPublisher).publishEvent(releasedEvent);
+        verify(applicationEventPublisher).publishEvent(plannedEvent);
+    }
+
+    @Test
+    void publishEventsSkipsOutboxWhenThereAreNoEvents() {
+        publisher.publishEvents(List.of());
+
+        verifyNoInteractions(outboxService, applicationEventPublisher);
+    }
+
+    @Test
+    void publishEventsDoesNotPublishInProcessWhenOutboxFails() {
+        when(outboxService.saveMessages(anyList())).thenThrow(new RuntimeException("outbox down"));
+
+        WaveReleasedEvent event = new WaveReleasedEvent("WAVE-3", List.of("ORD-1"), "WH-1", "ZONE-A", WavePriority.LOW);
+
+        assertThatThrownBy(() -> publisher.publishEvents(List.of(event)))
+                .isInstanceOf(WaveEventPublisher.EventPublishException.class);
+        verifyNoInteractions(applicationEventPublisher);
+    }
+
+    @Test
+    void eventTypesAreDerivedFromEventClassNames() {
+        assertThat(WaveEventPublisher.eventTypeOf(WaveOrderRemovedEvent.class))
+                .isEqualTo("com.paklog.wms.wave.wave.order.removed.v1");
+        assertThat(WaveEventPublisher.eventTypeOf(WaveCancelledEvent.class))
+                .isEqualTo("com.paklog.wms.wave.wave.cancelled.v1");
+    }
+
+    @Test
+    void publishEventUsesEventAggregateId() {
+        publisher.publishEvent(new WaveCancelledEvent(null, "No capacity"));
+
+        verify(outboxService).saveEvent(eq("unknown"), eq("com.paklog.wms.wave.wave.cancelled.v1"), any());
     }
 
     @Test
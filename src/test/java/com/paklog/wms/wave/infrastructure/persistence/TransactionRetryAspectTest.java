@@ -0,0 +1,132 @@
+package com.paklog.wms.wave.infrastructure.persistence;
+
+import com.mongodb.MongoException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.mongodb.UncategorizedMongoDbException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TransactionRetryAspectTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @Test
+    void transientFailuresAreRetriedUntilSuccess() {
+        AtomicInteger calls = new AtomicInteger();
+        UnitOfWork work = proxy(() -> {
+            if (calls.incrementAndGet() < 3) {
+                throw transientFailure();
+            }
+            return "done";
+        }, 3);
+
+        assertThat(work.run()).isEqualTo("done");
+        assertThat(calls).hasValue(3);
+    }
+
+    @Test
+    void retriesStopAtMaxAttempts() {
+        AtomicInteger calls = new AtomicInteger();
+        UnitOfWork work = proxy(() -> {
+            calls.incrementAndGet();
+            throw transientFailure();
+        }, 2);
+
+        assertThatThrownBy(work::run).isInstanceOf(UncategorizedMongoDbException.class);
+        assertThat(calls).hasValue(2);
+    }
+
+    @Test
+    void otherFailuresAreNotRetried() {
+        AtomicInteger calls = new AtomicInteger();
+        UnitOfWork work = proxy(() -> {
+            calls.incrementAndGet();
+            throw new DataIntegrityViolationException("duplicate key");
+        }, 3);
+
+        assertThatThrownBy(work::run).isInstanceOf(DataIntegrityViolationException.class);
+        assertThat(calls).hasValue(1);
+    }
+
+    @Test
+    void optimisticLockConflictsAreRetriedAndCounted() {
+        AtomicInteger calls = new AtomicInteger();
+        UnitOfWork work = proxy(() -> {
+            if (calls.incrementAndGet() < 3) {
+                throw new OptimisticLockingFailureException("stale version");
+            }
+            return "released";
+        }, 3);
+
+        assertThat(work.run()).isEqualTo("released");
+        assertThat(registry.get("wave.command.conflicts")
+                .tags("command", "run", "outcome", "retried")
+                .counter().count()).isEqualTo(2.0);
+    }
+
+    @Test
+    void exhaustedConflictsAreRethrownAndCounted() {
+        UnitOfWork work = proxy(() -> {
+            throw new OptimisticLockingFailureException("stale version");
+        }, 3);
+
+        assertThatThrownBy(work::run).isInstanceOf(OptimisticLockingFailureException.class);
+        assertThat(registry.get("wave.command.conflicts")
+                .tags("command", "run", "outcome", "exhausted")
+                .counter().count()).isEqualTo(1.0);
+        assertThat(registry.get("wave.command.conflicts")
+                .tags("command", "run", "outcome", "retried")
+                .counter().count()).isEqualTo(3.0);
+    }
+
+    @Test
+    void conflictDelayIsJitteredWithinExponentialCeiling() {
+        TransactionRetryAspect aspect = new TransactionRetryAspect(registry, 3, Duration.ZERO,
+                4, Duration.ofMillis(10), Duration.ofMillis(25));
+
+        for (int i = 0; i < 100; i++) {
+            assertThat(aspect.conflictDelayMillis(1)).isBetween(0L, 10L);
+            assertThat(aspect.conflictDelayMillis(3)).isBetween(0L, 25L);
+        }
+    }
+
+    private RuntimeException transientFailure() {
+        MongoException cause = new MongoException(112, "WriteConflict");
+        cause.addLabel(MongoException.TRANSIENT_TRANSACTION_ERROR_LABEL);
+        return new UncategorizedMongoDbException("Write conflict", cause);
+    }
+
+    private UnitOfWork proxy(Supplier<String> body, int maxAttempts) {
+        AspectJProxyFactory factory = new AspectJProxyFactory(new UnitOfWork(body));
+        factory.setProxyTargetClass(true);
+        factory.addAspect(new TransactionRetryAspect(registry, maxAttempts, Duration.ZERO,
+                maxAttempts + 1, Duration.ZERO, Duration.ZERO));
+        return factory.getProxy();
+    }
+
+    @Service
+    static class UnitOfWork {
+
+        private final Supplier<String> body;
+
+        UnitOfWork(Supplier<String> body) {
+            this.body = body;
+        }
+
+        @Transactional
+        public String run() {
+            return body.get();
+        }
+    }
+}
@@ -0,0 +1,252 @@
+package com.paklog.wms.wave.infrastructure.readmodel;
+
+import com.paklog.wms.wave.domain.aggregate.Wave;
+import com.paklog.wms.wave.domain.event.WaveCancelledEvent;
+import com.paklog.wms.wave.domain.event.WaveCompletedEvent;
+import com.paklog.wms.wave.domain.event.WavePlannedEvent;
+import com.paklog.wms.wave.domain.event.WaveReleasedEvent;
+import com.paklog.wms.wave.domain.event.WaveStartedEvent;
+import com.paklog.wms.wave.domain.event.WaveZoneAssignedEvent;
+import com.paklog.wms.wave.domain.valueobject.WavePriority;
+import com.paklog.wms.wave.domain.valueobject.WaveStatus;
+import com.paklog.wms.wave.domain.valueobject.WaveStrategy;
+import com.paklog.wms.wave.domain.valueobject.WaveStrategyType;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class WaveSummaryProjectionTest {
+
+    @Mock
+    private WaveSummaryRepository summaryRepository;
+
+    private WaveSummaryProjection projection;
+
+    @BeforeEach
+    void setUp() {
+        projection = new WaveSummaryProjection(summaryRepository);
+    }
+
+    @Test
+    void plannedWaveIsCountedAsUnassignedWithUpcomingRelease() {
+        projection.onWavePlanned(new WavePlannedEvent("WAVE-1", List.of("ORD-1"), "WH-1",
+                WaveStrategyType.TIME_BASED, WavePriority.NORMAL, LocalDateTime.now().plusHours(1)));
+
+        Document update = captureUpdate("WH-1", null);
+        assertThat(update.get("$inc", Document.class)).containsEntry("statusCounts.PLANNED", 1L);
+        assertThat(update.get("$push", Document.class)).containsKey("nextReleases");
+    }
+
+    @Test
+    void zoneAssignmentMovesPlannedWaveBetweenZones() {
+        projection.onWaveZoneAssigned(new WaveZoneAssignedEvent("WAVE-1", "WH-1", null, "ZONE-A",
+                LocalDateTime.now().plusHours(1)));
+
+        Document removed = captureUpdate("WH-1", null);
+        assertThat(removed.get("$inc", Document.class)).containsEntry("statusCounts.PLANNED", -1L);
+        assertThat(removed.get("$pull", Document.class)).containsKey("nextReleases");
+
+        Document added = captureUpdate("WH-1", "ZONE-A");
+        assertThat(added.get("$inc", Document.class)).containsEntry("statusCounts.PLANNED", 1L);
+    }
+
+    @Test
+    void reassigningSameZoneChangesNothing() {
+        projection.onWaveZoneAssigned(new WaveZoneAssignedEvent("WAVE-1", "WH-1", "ZONE-A", "ZONE-A", null));
+
+        verifyNoInteractions(summaryRepository);
+    }
+
+    @Test
+    void releaseAddsWorkInFlight() {
+        projection.onWaveReleased(new WaveReleasedEvent("WAVE-1", List.of("ORD-1", "ORD-2"), "WH-1",
+                "ZONE-A", WavePriority.HIGH, 5, 12));
+
+        Document inc = captureUpdate("WH-1", "ZONE-A").get("$inc", Document.class);
+        assertThat(inc)
+                .containsEntry("statusCounts.PLANNED", -1L)
+                .containsEntry("statusCounts.RELEASED", 1L)
+                .containsEntry("ordersInFlight", 2L)
+                .containsEntry("linesInFlight", 5L)
+                .containsEntry("unitsInFlight", 12L);
+    }
+
+    @Test
+    void completionRemovesWorkInFlight() {
+        projection.onWaveCompleted(new WaveCompletedEvent("WAVE-1", 2, 2, 100.0, "WH-1", "ZONE-A", 5, 12));
+
+        Document inc = captureUpdate("WH-1", "ZONE-A").get("$inc", Document.class);
+        assertThat(inc)
+                .containsEntry("statusCounts.IN_PROGRESS", -1L)
+                .containsEntry("statusCounts.COMPLETED", 1L)
+                .containsEntry("linesInFlight", -5L);
+    }
+
+    @Test
+    void cancellingPlannedWaveDropsUpcomingReleaseOnly() {
+        projection.onWaveCancelled(new WaveCancelledEvent("WAVE-1", "No capacity", "WH-1", "ZONE-A",
+                WaveStatus.PLANNED, 2, 5, 12));
+
+        Document update = captureUpdate("WH-1", "ZONE-A");
+        assertThat(update.get("$inc", Document.class))
+                .containsEntry("statusCounts.PLANNED", -1L)
+                .containsEntry("statusCounts.CANCELLED", 1L)
+                .doesNotContainKey("ordersInFlight");
+        assertThat(update.get("$pull", Document.class)).containsKey("nextReleases");
+    }
+
+    @Test
+    void eventsWithoutWarehouseAreIgnored() {
+        projection.onWaveCancelled(new WaveCancelledEvent("WAVE-1", "No capacity"));
+        projection.onWaveCompleted(new WaveCompletedEvent("WAVE-2", 1, 1, 100.0));
+
+        verifyNoInteractions(summaryRepository);
+    }
+
+    @Test
+    void rebuildRecomputesSummariesFromWaves() {
+        when(summaryRepository.aggregateWaveTotals()).thenReturn(List.of(
+                totals("WH-1", "ZONE-A", "RELEASED", 2, 30, 90, 200),
+                totals("WH-1", "ZONE-A", "COMPLETED", 5, 70, 200, 500),
+                totals("WH-1", null, "PLANNED", 1, 10, 20, 40)
+        ));
+        Wave planned = new Wave();
+        planned.setWaveId("WAVE-9");
+        planned.plan(List.of("ORD-9"),
+                WaveStrategy.builder().type(WaveStrategyType.TIME_BASED).maxOrders(10)
+                        .timeInterval(Duration.ofMinutes(30)).build(),
+                "WH-1", WavePriority.NORMAL, LocalDateTime.now().plusHours(2));
+        when(summaryRepository.streamPlannedReleases()).thenReturn(Stream.of(planned));
+
+        projection.rebuild();
+
+        ArgumentCaptor<Collection<WaveSummary>> captor = ArgumentCaptor.forClass(Collection.class);
+        InOrder inOrder = inOrder(summaryRepository);
+        inOrder.verify(summaryRepository).stage(captor.capture());
+        inOrder.verify(summaryRepository).swapInStaged();
+        assertThat(captor.getValue()).hasSize(2);
+        assertThat(captor.getValue()).filteredOn(summary -> "ZONE-A".equals(summary.getZone()))
+                .singleElement()
+                .satisfies(summary -> {
+                    assertThat(summary.getStatusCounts()).containsEntry("RELEASED", 2L).containsEntry("COMPLETED", 5L);
+                    assertThat(summary.getOrdersInFlight()).isEqualTo(30);
+                    assertThat(summary.getUnitsInFlight()).isEqualTo(200);
+                });
+        assertThat(captor.getValue()).filteredOn(summary -> WaveSummary.UNASSIGNED_ZONE.equals(summary.getZone()))
+                .singleElement()
+                .satisfies(summary -> {
+                    assertThat(summary.getOrdersInFlight()).isZero();
+                    assertThat(summary.getNextReleases()).extracting(WaveSummary.PlannedRelease::waveId)
+                            .containsExactly("WAVE-9");
+                });
+    }
+
+    @Test
+    void zonesUpdatedDuringRebuildAreRecomputedOntoStagedSummaries() {
+        WaveStartedEvent started = new WaveStartedEvent("WAVE-1", "WH-1", "ZONE-A");
+        when(summaryRepository.aggregateWaveTotals()).thenAnswer(invocation -> {
+            projection.onWaveStarted(started);
+            return List.of(totals("WH-1", "ZONE-A", "IN_PROGRESS", 1, 3, 6, 9));
+        });
+        when(summaryRepository.streamPlannedReleases()).thenReturn(Stream.empty());
+        when(summaryRepository.aggregateWaveTotals("WH-1", "ZONE-A"))
+                .thenReturn(List.of(totals("WH-1", "ZONE-A", "IN_PROGRESS", 1, 3, 6, 9)));
+        when(summaryRepository.streamPlannedReleases("WH-1", "ZONE-A")).thenReturn(Stream.empty());
+
+        projection.rebuild();
+        projection.onWaveStarted(started);
+
+        ArgumentCaptor<WaveSummary> captor = ArgumentCaptor.forClass(WaveSummary.class);
+        InOrder inOrder = inOrder(summaryRepository);
+        inOrder.verify(summaryRepository).upsert(eq("WH-1"), eq("ZONE-A"), any(Update.class));
+        inOrder.verify(summaryRepository).stage(any());
+        inOrder.verify(summaryRepository).replaceStaged(captor.capture());
+        inOrder.verify(summaryRepository).swapInStaged();
+        inOrder.verify(summaryRepository).upsert(eq("WH-1"), eq("ZONE-A"), any(Update.class));
+        assertThat(captor.getValue().getId()).isEqualTo("WH-1|ZONE-A");
+        assertThat(captor.getValue().getStatusCounts()).containsExactly(entry("IN_PROGRESS", 1L));
+        assertThat(captor.getValue().getOrdersInFlight()).isEqualTo(3);
+    }
+
+    @Test
+    void emptiedZoneIsRecomputedAsEmptySummary() {
+        when(summaryRepository.aggregateWaveTotals()).thenAnswer(invocation -> {
+            projection.onWaveCancelled(new WaveCancelledEvent("WAVE-1", "No capacity", "WH-1", null,
+                    WaveStatus.PLANNED, 1, 1, 1));
+            return List.of();
+        });
+        when(summaryRepository.streamPlannedReleases()).thenReturn(Stream.empty());
+        when(summaryRepository.aggregateWaveTotals("WH-1", null)).thenReturn(List.of());
+        when(summaryRepository.streamPlannedReleases("WH-1", null)).thenReturn(Stream.empty());
+
+        projection.rebuild();
+
+        ArgumentCaptor<WaveSummary> captor = ArgumentCaptor.forClass(WaveSummary.class);
+        verify(summaryRepository).replaceStaged(captor.capture());
+        assertThat(captor.getValue().getZone()).isEqualTo(WaveSummary.UNASSIGNED_ZONE);
+        assertThat(captor.getValue().getStatusCounts()).isEmpty();
+    }
+
+    @Test
+    void rebuildRequestedWhileOneRunsIsSkipped() {
+        when(summaryRepository.aggregateWaveTotals()).thenAnswer(invocation -> {
+            projection.rebuild();
+            return List.of();
+        });
+        when(summaryRepository.streamPlannedReleases()).thenReturn(Stream.empty());
+
+        projection.rebuild();
+
+        verify(summaryRepository, times(1)).aggregateWaveTotals();
+        verify(summaryRepository, times(1)).stage(any());
+        verify(summaryRepository, times(1)).swapInStaged();
+    }
+
+    @Test
+    void missingSummaryReadsAsEmpty() {
+        when(summaryRepository.find("WH-1", "ZONE-Z", 10)).thenReturn(Optional.empty());
+
+        WaveSummary summary = projection.find("WH-1", "ZONE-Z", 10);
+
+        assertThat(summary.getId()).isEqualTo("WH-1|ZONE-Z");
+        assertThat(summary.getStatusCounts()).isEmpty();
+    }
+
+    private Document captureUpdate(String warehouseId, String zone) {
+        ArgumentCaptor<Update> captor = ArgumentCaptor.forClass(Update.class);
+        verify(summaryRepository).upsert(eq(warehouseId), zone != null ? eq(zone) : isNull(), captor.capture());
+        return captor.getValue().getUpdateObject();
+    }
+
+    private Document totals(String warehouseId, String zone, String status,
+                            int waves, int orders, int lines, int units) {
+        return new Document("_id", new Document("warehouseId", warehouseId)
+                .append("assignedZone", zone)
+                .append("status", status))
+                .append("waves", waves)
+                .append("orders", orders)
+                .append("lines", lines)
+                .append("units", units);
+    }
+}
@@ -2,6 +2,7 @@ package com.paklog.wms.wave.infrastructure.reconciliation;
 
 import com.paklog.wms.wave.domain.aggregate.Wave;
 import com.paklog.wms.wave.domain.repository.WaveRepository;
+import com.paklog.wms.wave.domain.repository.WaveRepositoryCustom.WindowCursor;
 import com.paklog.wms.wave.domain.valueobject.WavePriority;
 import com.paklog.wms.wave.domain.valueobject.WaveStrategy;
 import com.paklog.wms.wave.domain.valueobject.WaveStrategyType;
@@ -14,15 +15,28 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Mono;
 
 import java.time.Duration;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -40,17 +54,41 @@ class ReconciliationServiceTest {
     @Mock
     private ReconciliationMetrics reconciliationMetrics;
 
+    @Mock
+    private ReconciliationCheckpointRepository checkpoints;
+
     private ReconciliationService reconciliationService;
+    private ReconciliationCheckpoint checkpoint;
 
     @BeforeEach
     void setUp() {
-        reconciliationService = new ReconciliationService(
+        reconciliationService = service(false);
+        ReflectionTestUtils.setField(reconciliationService, "maxVariancePercentage", 10.0);
+
+        checkpoint = new ReconciliationCheckpoint();
+        checkpoint.setId(ReconciliationService.CHECKPOINT_ID);
+        lenient().when(checkpoints.claim(eq(ReconciliationService.CHECKPOINT_ID), any(), any(), any()))
+                .thenReturn(Optional.of(checkpoint));
+        lenient().when(checkpoints.save(any(), any(), any())).thenReturn(true);
+    }
+
+    private ReconciliationService service(boolean bucketHashing) {
+        return new ReconciliationService(
                 waveRepository,
                 legacyClient,
                 featureFlagService,
-                reconciliationMetrics
+                reconciliationMetrics,
+                checkpoints,
+                2,
+                2,
+                1000,
+                1,
+                Duration.ofHours(12),
+                Duration.ofMinutes(5),
+                Duration.ofHours(24),
+                Duration.ofMinutes(1),
+                bucketHashing
         );
-        ReflectionTestUtils.setField(reconciliationService, "maxVariancePercentage", 10.0);
     }
 
     @Test
@@ -60,7 +98,7 @@ class ReconciliationServiceTest {
         reconciliationService.runReconciliation();
 
         verify(featureFlagService).isReconciliationEnabled();
-        verify(waveRepository, never()).findWavesCreatedAfter(any());
+        verifyNoInteractions(waveRepository, checkpoints);
         verify(reconciliationMetrics, never()).recordReconciliation(any());
     }
 
@@ -68,8 +106,8 @@ class ReconciliationServiceTest {
     void runReconciliationProcessesRecentWaves() {
         when(featureFlagService.isReconciliationEnabled()).thenReturn(true);
         Wave wave = plannedWave("WAVE-1");
-        when(waveRepository.findWavesCreatedAfter(any())).thenReturn(List.of(wave));
-        when(legacyClient.getWave("WAVE-1")).thenReturn(new Object());
+        pages(List.of(wave));
+        when(legacyClient.getWaves(List.of("WAVE-1"))).thenReturn(Mono.just(Map.of("WAVE-1", new Object())));
 
         reconciliationService.runReconciliation();
 
@@ -87,8 +125,8 @@ class ReconciliationServiceTest {
     void runReconciliationRecordsMismatchesAndHighVariance() {
         when(featureFlagService.isReconciliationEnabled()).thenReturn(true);
         Wave wave = plannedWave("WAVE-2");
-        when(waveRepository.findWavesCreatedAfter(any())).thenReturn(List.of(wave));
-        when(legacyClient.getWave("WAVE-2")).thenReturn(null);
+        pages(List.of(wave));
+        when(legacyClient.getWaves(List.of("WAVE-2"))).thenReturn(Mono.just(Map.of()));
         ReflectionTestUtils.setField(reconciliationService, "maxVariancePercentage", 0.0);
 
         reconciliationService.runReconciliation();
@@ -100,8 +138,8 @@ class ReconciliationServiceTest {
     void runReconciliationRecordsErrors() {
         when(featureFlagService.isReconciliationEnabled()).thenReturn(true);
         Wave wave = plannedWave("WAVE-3");
-        when(waveRepository.findWavesCreatedAfter(any())).thenReturn(List.of(wave));
-        when(legacyClient.getWave("WAVE-3")).thenThrow(new RuntimeException("legacy unavailable"));
+        pages(List.of(wave));
+        when(legacyClient.getWaves(List.of("WAVE-3"))).thenReturn(Mono.error(new RuntimeException("legacy unavailable")));
 
         reconciliationService.runReconciliation();
 
@@ -111,7 +149,275 @@ class ReconciliationServiceTest {
         assertThat(reportCaptor.getValue().errors()).isNotEmpty();
     }
 
+    @Test
+    void runReconciliationPagesWithBoundedParallelismAndCapsSamples() {
+        when(featureFlagService.isReconciliationEnabled()).thenReturn(true);
+        pages(List.of(plannedWave("WAVE-1"), plannedWave("WAVE-2")), List.of(plannedWave("WAVE-3")));
+        when(legacyClient.getWaves(List.of("WAVE-1", "WAVE-2"))).thenReturn(Mono.just(Map.of()));
+        when(legacyClient.getWaves(List.of("WAVE-3"))).thenReturn(Mono.just(Map.of()));
+        List<String> checkpointedWaves = new ArrayList<>();
+        when(checkpoints.save(any(), any(), any())).thenAnswer(invocation -> {
+            checkpointedWaves.add(invocation.<ReconciliationCheckpoint>getArgument(0).getLastWaveId());
+            return true;
+        });
+
+        reconciliationService.runReconciliation();
+
+        ArgumentCaptor<ReconciliationService.ReconciliationReport> reportCaptor =
+                ArgumentCaptor.forClass(ReconciliationService.ReconciliationReport.class);
+        verify(reconciliationMetrics).recordReconciliation(reportCaptor.capture());
+        ReconciliationService.ReconciliationReport report = reportCaptor.getValue();
+        assertThat(report.totalChecked()).isEqualTo(3);
+        assertThat(report.mismatchCount()).isEqualTo(3);
+        assertThat(report.mismatches()).containsExactly("Wave WAVE-1 not found in legacy system");
+
+        assertThat(checkpointedWaves).containsExactly("WAVE-2", "WAVE-3", "WAVE-3");
+        assertThat(checkpoint.isCompleted()).isTrue();
+        verify(waveRepository).findCreatedBetween(any(), any(), after("WAVE-2"), eq(2));
+        verify(checkpoints).release(eq(ReconciliationService.CHECKPOINT_ID), anyString());
+    }
+
+    @Test
+    void runReconciliationResumesAfterCheckpoint() {
+        when(featureFlagService.isReconciliationEnabled()).thenReturn(true);
+        LocalDateTime startedAt = LocalDateTime.now().minusHours(1);
+        checkpoint.start(startedAt, ReconciliationCheckpoint.Mode.FULL, startedAt.minusDays(1), startedAt);
+        LocalDateTime lastWaveAt = startedAt.minusHours(2);
+        checkpoint.setLastWave(lastWaveAt, "WAVE-2");
+        checkpoint.addChecked(2);
+        checkpoint.addMismatch("Wave WAVE-1 not found in legacy system", 1);
+        when(waveRepository.findCreatedBetween(startedAt.minusDays(1), startedAt,
+                new WindowCursor(lastWaveAt, "WAVE-2"), 2))
+                .thenReturn(List.of(plannedWave("WAVE-3")));
+        when(legacyClient.getWaves(List.of("WAVE-3"))).thenReturn(Mono.just(Map.of("WAVE-3", new Object())));
+
+        reconciliationService.runReconciliation();
+
+        ArgumentCaptor<ReconciliationService.ReconciliationReport> reportCaptor =
+                ArgumentCaptor.forClass(ReconciliationService.ReconciliationReport.class);
+        verify(reconciliationMetrics).recordReconciliation(reportCaptor.capture());
+        assertThat(reportCaptor.getValue().totalChecked()).isEqualTo(3);
+        assertThat(reportCaptor.getValue().mismatchCount()).isEqualTo(1);
+        verify(waveRepository, never()).findCreatedBetween(any(), any(), isNull(), anyInt());
+    }
+
+    @Test
+    void runReconciliationStartsOverCheckpointWithoutKeysetPosition() {
+        when(featureFlagService.isReconciliationEnabled()).thenReturn(true);
+        LocalDateTime startedAt = LocalDateTime.now().minusHours(1);
+        checkpoint.start(startedAt, ReconciliationCheckpoint.Mode.FULL, startedAt.minusDays(1), startedAt);
+        checkpoint.setLastWaveId("WAVE-2");
+        pages(List.of());
+
+        reconciliationService.runReconciliation();
+
+        verify(waveRepository).findCreatedBetween(any(), any(), isNull(), anyInt());
+        assertThat(checkpoint.getStartedAt()).isAfter(startedAt);
+    }
+
+    @Test
+    void runReconciliationSweepsFullyFirstAndRecordsHighWaterMark() {
+        when(featureFlagService.isReconciliationEnabled()).thenReturn(true);
+        pages(List.of(plannedWave("WAVE-1")));
+        when(legacyClient.getWaves(List.of("WAVE-1"))).thenReturn(Mono.just(Map.of("WAVE-1", new Object())));
+
+        reconciliationService.runReconciliation();
+
+        assertThat(checkpoint.getMode()).isEqualTo(ReconciliationCheckpoint.Mode.FULL);
+        assertThat(checkpoint.getHighWaterMark()).isEqualTo(checkpoint.getUntil());
+        assertThat(checkpoint.getLastFullSweepAt()).isEqualTo(checkpoint.getStartedAt());
+        verify(waveRepository, never()).findModifiedBetween(any(), any(), any(), anyInt());
+    }
+
+    @Test
+    void runReconciliationChecksOnlyWavesModifiedSinceHighWaterMark() {
+        when(featureFlagService.isReconciliationEnabled()).thenReturn(true);
+        LocalDateTime highWaterMark = LocalDateTime.now().minusHours(6);
+        LocalDateTime lastFullSweepAt = LocalDateTime.now().minusHours(12);
+        checkpoint.start(lastFullSweepAt, ReconciliationCheckpoint.Mode.FULL, lastFullSweepAt.minusDays(1),
+                highWaterMark);
+        checkpoint.complete(highWaterMark);
+        when(waveRepository.findModifiedBetween(eq(highWaterMark.minusMinutes(1)), any(), isNull(), eq(2)))
+                .thenReturn(List.of(plannedWave("WAVE-4")));
+        when(waveRepository.findModifiedBetween(any(), any(), after("WAVE-4"), eq(2))).thenReturn(List.of());
+        when(legacyClient.getWaves(List.of("WAVE-4"))).thenReturn(Mono.just(Map.of("WAVE-4", new Object())));
+
+        reconciliationService.runReconciliation();
+
+        assertThat(checkpoint.getMode()).isEqualTo(ReconciliationCheckpoint.Mode.INCREMENTAL);
+        assertThat(checkpoint.getChecked()).isEqualTo(1);
+        assertThat(checkpoint.getHighWaterMark()).isAfter(highWaterMark);
+        assertThat(checkpoint.getLastFullSweepAt()).isEqualTo(lastFullSweepAt);
+        verify(waveRepository, never()).findCreatedBetween(any(), any(), any(), anyInt());
+    }
+
+    @Test
+    void runReconciliationSweepsFullyOnceTheIntervalHasPassed() {
+        when(featureFlagService.isReconciliationEnabled()).thenReturn(true);
+        LocalDateTime lastFullSweepAt = LocalDateTime.now().minusHours(25);
+        checkpoint.start(lastFullSweepAt, ReconciliationCheckpoint.Mode.FULL, lastFullSweepAt.minusDays(1),
+                lastFullSweepAt);
+        checkpoint.complete(lastFullSweepAt);
+        pages(List.of());
+
+        reconciliationService.runReconciliation();
+
+        assertThat(checkpoint.getMode()).isEqualTo(ReconciliationCheckpoint.Mode.FULL);
+        assertThat(checkpoint.getLastFullSweepAt()).isAfter(lastFullSweepAt);
+        verify(waveRepository, never()).findModifiedBetween(any(), any(), any(), anyInt());
+    }
+
+    @Test
+    void bucketedRunLooksUpOnlyBucketsWhoseHashesDiffer() {
+        reconciliationService = service(true);
+        when(featureFlagService.isReconciliationEnabled()).thenReturn(true);
+        Wave matching = plannedWave("WAVE-1", "WH-1");
+        Wave changed = plannedWave("WAVE-2", "WH-2");
+        pages(List.of(matching, changed));
+        LocalDateTime hour = matching.getCreatedAt().truncatedTo(ChronoUnit.HOURS);
+        WaveBucketHashes wh1 = new WaveBucketHashes();
+        wh1.add(matching);
+        when(legacyClient.getBucketHashes(any(), any())).thenReturn(Mono.just(List.of(
+                Map.of("warehouseId", "WH-1", "hour", hour.toString(),
+                        "hash", wh1.hashes().values().iterator().next()),
+                Map.of("warehouseId", "WH-2", "hour", hour.toString(), "hash", "stale"))));
+        when(legacyClient.getWaveHashes(eq("WH-2"), any(), any()))
+                .thenReturn(Mono.just(Map.of("WAVE-2", "stale", "WAVE-9", "legacy-only")));
+        when(waveRepository.findCreatedBetween(eq("WH-2"), any(), any(), isNull(), eq(2)))
+                .thenReturn(List.of(changed));
+        when(waveRepository.findCreatedBetween(eq("WH-2"), any(), any(), after("WAVE-2"), eq(2)))
+                .thenReturn(List.of());
+
+        reconciliationService.runReconciliation();
+
+        ArgumentCaptor<ReconciliationService.ReconciliationReport> reportCaptor =
+                ArgumentCaptor.forClass(ReconciliationService.ReconciliationReport.class);
+        verify(reconciliationMetrics).recordReconciliation(reportCaptor.capture());
+        ReconciliationService.ReconciliationReport report = reportCaptor.getValue();
+        assertThat(report.totalChecked()).isEqualTo(2);
+        assertThat(report.mismatchCount()).isEqualTo(2);
+        assertThat(report.mismatches()).containsExactly("Wave WAVE-2 data mismatch");
+        assertThat(checkpoint.getMode()).isEqualTo(ReconciliationCheckpoint.Mode.BUCKETED);
+        assertThat(checkpoint.getLastFullSweepAt()).isEqualTo(checkpoint.getStartedAt());
+        verify(legacyClient, never()).getWaveHashes(eq("WH-1"), any(), any());
+        verify(legacyClient, never()).getWaves(any());
+    }
+
+    @Test
+    void bucketedRunRetriesBucketWhoseLookupFailed() {
+        reconciliationService = service(true);
+        when(featureFlagService.isReconciliationEnabled()).thenReturn(true);
+        Wave wave = plannedWave("WAVE-1");
+        pages(List.of(wave));
+        LocalDateTime hour = wave.getCreatedAt().truncatedTo(ChronoUnit.HOURS);
+        when(legacyClient.getBucketHashes(any(), any())).thenReturn(Mono.just(List.of(
+                Map.of("warehouseId", "WH-1", "hour", hour.toString(), "hash", "stale"))));
+        when(legacyClient.getWaveHashes(eq("WH-1"), any(), any()))
+                .thenReturn(Mono.error(new IllegalStateException("timeout")))
+                .thenReturn(Mono.just(Map.of("WAVE-1", WaveBucketHashes.hash(wave))));
+        when(waveRepository.findCreatedBetween(eq("WH-1"), any(), any(), isNull(), eq(2)))
+                .thenReturn(List.of(wave));
+        when(waveRepository.findCreatedBetween(eq("WH-1"), any(), any(), after("WAVE-1"), eq(2)))
+                .thenReturn(List.of());
+
+        reconciliationService.runReconciliation();
+
+        assertThat(checkpoint.getErrorCount()).isZero();
+        assertThat(checkpoint.getMismatchCount()).isZero();
+        assertThat(checkpoint.isCompleted()).isTrue();
+        assertThat(checkpoint.getLastFullSweepAt()).isEqualTo(checkpoint.getStartedAt());
+    }
+
+    @Test
+    void bucketedRunWithFailedBucketLeavesFullSweepDue() {
+        reconciliationService = service(true);
+        when(featureFlagService.isReconciliationEnabled()).thenReturn(true);
+        LocalDateTime lastFullSweepAt = LocalDateTime.now().minusHours(25);
+        checkpoint.start(lastFullSweepAt, ReconciliationCheckpoint.Mode.FULL, lastFullSweepAt.minusDays(1),
+                lastFullSweepAt);
+        checkpoint.complete(lastFullSweepAt);
+        Wave wave = plannedWave("WAVE-1");
+        pages(List.of(wave));
+        when(legacyClient.getBucketHashes(any(), any())).thenReturn(Mono.just(List.of()));
+        when(legacyClient.getWaveHashes(eq("WH-1"), any(), any()))
+                .thenReturn(Mono.error(new IllegalStateException("timeout")));
+
+        reconciliationService.runReconciliation();
+
+        verify(legacyClient, times(2)).getWaveHashes(eq("WH-1"), any(), any());
+        assertThat(checkpoint.getErrorCount()).isEqualTo(1);
+        assertThat(checkpoint.isCompleted()).isFalse();
+        assertThat(checkpoint.getLastFullSweepAt()).isEqualTo(lastFullSweepAt);
+        assertThat(checkpoint.getHighWaterMark()).isEqualTo(lastFullSweepAt);
+        verify(reconciliationMetrics).recordReconciliation(any());
+    }
+
+    @Test
+    void bucketedRunSkipsMalformedLegacyBuckets() {
+        reconciliationService = service(true);
+        when(featureFlagService.isReconciliationEnabled()).thenReturn(true);
+        Wave wave = plannedWave("WAVE-1");
+        pages(List.of(wave));
+        LocalDateTime hour = wave.getCreatedAt().truncatedTo(ChronoUnit.HOURS);
+        WaveBucketHashes local = new WaveBucketHashes();
+        local.add(wave);
+        when(legacyClient.getBucketHashes(any(), any())).thenReturn(Mono.just(List.of(
+                Map.of("warehouseId", "WH-1", "hour", "yesterday", "hash", "abc"),
+                Map.of("warehouseId", "WH-2", "hash", "def"),
+                Map.of("warehouseId", "WH-1", "hour", hour.toString(),
+                        "hash", local.hashes().values().iterator().next()))));
+
+        reconciliationService.runReconciliation();
+
+        assertThat(checkpoint.getErrorCount()).isEqualTo(2);
+        assertThat(checkpoint.getMismatchCount()).isZero();
+        assertThat(checkpoint.isCompleted()).isTrue();
+        verify(legacyClient, never()).getWaveHashes(any(), any(), any());
+    }
+
+    @Test
+    void bucketedRunComparesWavesOneByOneWithoutLegacyBucketHashes() {
+        reconciliationService = service(true);
+        when(featureFlagService.isReconciliationEnabled()).thenReturn(true);
+        when(legacyClient.getBucketHashes(any(), any())).thenReturn(Mono.empty());
+        pages(List.of(plannedWave("WAVE-1")));
+        when(legacyClient.getWaves(List.of("WAVE-1"))).thenReturn(Mono.just(Map.of("WAVE-1", new Object())));
+
+        reconciliationService.runReconciliation();
+
+        assertThat(checkpoint.getMode()).isEqualTo(ReconciliationCheckpoint.Mode.FULL);
+        assertThat(checkpoint.getChecked()).isEqualTo(1);
+        assertThat(checkpoint.isCompleted()).isTrue();
+    }
+
+    @Test
+    void runReconciliationSkipsWhileAnotherInstanceHoldsTheLease() {
+        when(featureFlagService.isReconciliationEnabled()).thenReturn(true);
+        when(checkpoints.claim(eq(ReconciliationService.CHECKPOINT_ID), any(), any(), any()))
+                .thenReturn(Optional.empty());
+
+        reconciliationService.runReconciliation();
+
+        verifyNoInteractions(waveRepository, legacyClient, reconciliationMetrics);
+    }
+
+    @SafeVarargs
+    private void pages(List<Wave>... pages) {
+        List<List<Wave>> rest = new ArrayList<>(List.of(pages).subList(1, pages.length));
+        rest.add(List.of());
+        when(waveRepository.findCreatedBetween(any(), any(), any(), anyInt()))
+                .thenReturn(pages[0], rest.toArray(List[]::new));
+    }
+
+    private static WindowCursor after(String waveId) {
+        return argThat(cursor -> cursor != null && waveId.equals(cursor.waveId()));
+    }
+
     private Wave plannedWave(String id) {
+        return plannedWave(id, "WH-1");
+    }
+
+    private Wave plannedWave(String id, String warehouseId) {
         Wave wave = new Wave();
         wave.setWaveId(id);
         wave.plan(
@@ -121,7 +427,7 @@ class ReconciliationServiceTest {
                         .maxOrders(5)
                         .timeInterval(Duration.ofMinutes(5))
                         .build(),
-                "WH-1",
+                warehouseId,
                 WavePriority.NORMAL,
                 LocalDateTime.now()
         );
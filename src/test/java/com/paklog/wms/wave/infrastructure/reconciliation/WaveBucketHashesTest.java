@@ -0,0 +1,78 @@
+package com.paklog.wms.wave.infrastructure.reconciliation;
+
+import com.paklog.wms.wave.domain.aggregate.Wave;
+import com.paklog.wms.wave.domain.valueobject.WavePriority;
+import com.paklog.wms.wave.domain.valueobject.WaveStrategy;
+import com.paklog.wms.wave.domain.valueobject.WaveStrategyType;
+import com.paklog.wms.wave.infrastructure.reconciliation.WaveBucketHashes.WaveBucket;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class WaveBucketHashesTest {
+
+    private static final LocalDateTime HOUR = LocalDateTime.of(2026, 10, 19, 10, 0);
+
+    @Test
+    void hashIgnoresOrderIdOrderButNotContent() {
+        Wave wave = wave("WAVE-1", "WH-1", HOUR, "ORD-1", "ORD-2");
+
+        assertThat(WaveBucketHashes.hash(wave))
+                .hasSize(64)
+                .isEqualTo(WaveBucketHashes.hash(wave("WAVE-1", "WH-1", HOUR, "ORD-2", "ORD-1")))
+                .isNotEqualTo(WaveBucketHashes.hash(wave("WAVE-1", "WH-1", HOUR, "ORD-1", "ORD-3")));
+    }
+
+    @Test
+    void groupsWavesByWarehouseAndHourOfCreation() {
+        WaveBucketHashes hashes = new WaveBucketHashes();
+        hashes.add(wave("WAVE-1", "WH-1", HOUR.plusMinutes(5), "ORD-1"));
+        hashes.add(wave("WAVE-2", "WH-1", HOUR.plusMinutes(59), "ORD-2"));
+        hashes.add(wave("WAVE-3", "WH-1", HOUR.plusHours(1), "ORD-3"));
+        hashes.add(wave("WAVE-4", "WH-2", HOUR, "ORD-4"));
+
+        Map<WaveBucket, String> result = hashes.hashes();
+
+        assertThat(result).containsOnlyKeys(
+                new WaveBucket("WH-1", HOUR),
+                new WaveBucket("WH-1", HOUR.plusHours(1)),
+                new WaveBucket("WH-2", HOUR));
+    }
+
+    @Test
+    void bucketHashChangesWithAnyOfItsWaves() {
+        WaveBucketHashes before = new WaveBucketHashes();
+        before.add(wave("WAVE-1", "WH-1", HOUR, "ORD-1"));
+        before.add(wave("WAVE-2", "WH-1", HOUR, "ORD-2"));
+        WaveBucketHashes after = new WaveBucketHashes();
+        after.add(wave("WAVE-1", "WH-1", HOUR, "ORD-1"));
+        after.add(wave("WAVE-2", "WH-1", HOUR, "ORD-2", "ORD-3"));
+
+        assertThat(before.hashes().get(new WaveBucket("WH-1", HOUR)))
+                .isNotEqualTo(after.hashes().get(new WaveBucket("WH-1", HOUR)));
+    }
+
+    private Wave wave(String id, String warehouseId, LocalDateTime createdAt, String... orderIds) {
+        Wave wave = new Wave();
+        wave.setWaveId(id);
+        wave.plan(
+                List.of(orderIds),
+                WaveStrategy.builder()
+                        .type(WaveStrategyType.TIME_BASED)
+                        .maxOrders(5)
+                        .timeInterval(Duration.ofMinutes(5))
+                        .build(),
+                warehouseId,
+                WavePriority.NORMAL,
+                LocalDateTime.now()
+        );
+        ReflectionTestUtils.setField(wave, "createdAt", createdAt);
+        return wave;
+    }
+}
@@ -1,12 +1,17 @@
 package com.paklog.wms.wave.infrastructure.resilience;
 
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
 import okhttp3.mockwebserver.MockResponse;
 import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Map;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -15,17 +20,20 @@ import static org.assertj.core.api.Assertions.assertThatThrownBy;
 class WarehouseOperationsClientTest {
 
     private MockWebServer server;
+    private CircuitBreakerRegistry circuitBreakerRegistry;
     private WarehouseOperationsClient client;
 
     @BeforeEach
     void setUp() throws IOException {
         server = new MockWebServer();
         server.start();
-        client = new WarehouseOperationsClient(server.url("/").toString());
+        circuitBreakerRegistry = CircuitBreakerRegistry.ofDefaults();
+        client = client(Duration.ofMinutes(5));
     }
 
     @AfterEach
     void tearDown() throws IOException {
+        client.close();
         server.shutdown();
     }
 
@@ -61,5 +69,132 @@ class WarehouseOperationsClientTest {
         assertThat(response).isInstanceOf(Map.class);
         assertThat(((Map<?, ?>) response).get("waveId")).isEqualTo("WAVE-2");
     }
-}
 
+    @Test
+    void getWaveIsEmptyWhenLegacySystemDoesNotKnowTheWave() {
+        server.enqueue(new MockResponse().setResponseCode(404));
+
+        assertThat(client.getWaveAsync("WAVE-404").blockOptional()).isEmpty();
+    }
+
+    @Test
+    void openCircuitCompletesEmptyWithoutCallingLegacySystem() {
+        circuitBreakerRegistry.circuitBreaker("warehouse-operations").transitionToOpenState();
+
+        assertThat(client.getWaveAsync("WAVE-1").blockOptional()).isEmpty();
+        assertThat(client.planWaveAsync("WAVE-1").blockOptional()).isEmpty();
+        assertThat(server.getRequestCount()).isZero();
+    }
+
+    @Test
+    void getWavesSendsIdsToBulkEndpointInBatches() throws InterruptedException {
+        server.enqueue(new MockResponse()
+                .setBody("[{\"waveId\":\"WAVE-1\"},{\"waveId\":\"WAVE-2\"}]")
+                .addHeader("Content-Type", "application/json"));
+        server.enqueue(new MockResponse()
+                .setBody("[]")
+                .addHeader("Content-Type", "application/json"));
+
+        Map<String, Object> waves = client.getWaves(List.of("WAVE-1", "WAVE-2", "WAVE-3", "WAVE-1")).block();
+
+        assertThat(waves).containsOnlyKeys("WAVE-1", "WAVE-2");
+        RecordedRequest first = server.takeRequest();
+        assertThat(first.getMethod()).isEqualTo("POST");
+        assertThat(first.getPath()).isEqualTo("/api/waves/lookup");
+        assertThat(first.getBody().readUtf8()).isEqualTo("{\"waveIds\":[\"WAVE-1\",\"WAVE-2\"]}");
+        assertThat(server.takeRequest().getBody().readUtf8()).isEqualTo("{\"waveIds\":[\"WAVE-3\"]}");
+    }
+
+    @Test
+    void getWavesFallsBackToSingleLookupsWithoutBulkEndpoint() throws InterruptedException {
+        server.enqueue(new MockResponse().setResponseCode(404));
+        server.enqueue(new MockResponse()
+                .setBody("{\"waveId\":\"WAVE-1\"}")
+                .addHeader("Content-Type", "application/json"));
+        server.enqueue(new MockResponse().setResponseCode(404));
+
+        Map<String, Object> waves = client.getWaves(List.of("WAVE-1", "WAVE-2")).block();
+
+        assertThat(waves).containsOnlyKeys("WAVE-1");
+        assertThat(server.takeRequest().getPath()).isEqualTo("/api/waves/lookup");
+        assertThat(server.takeRequest().getPath()).isEqualTo("/api/waves/WAVE-1");
+        assertThat(server.takeRequest().getPath()).isEqualTo("/api/waves/WAVE-2");
+
+        // The bulk endpoint is not tried again
+        server.enqueue(new MockResponse().setResponseCode(404));
+        client.getWaves(List.of("WAVE-3")).block();
+        assertThat(server.takeRequest().getPath()).isEqualTo("/api/waves/WAVE-3");
+    }
+
+    @Test
+    void missingEndpointsAreProbedAgainAfterRecheckInterval() throws InterruptedException {
+        client.close();
+        client = client(Duration.ZERO);
+        server.enqueue(new MockResponse().setResponseCode(404));
+        server.enqueue(new MockResponse().setResponseCode(404));
+        client.getWaves(List.of("WAVE-1")).block();
+        server.enqueue(new MockResponse().setResponseCode(404));
+        LocalDateTime now = LocalDateTime.now();
+        assertThat(client.getBucketHashes(now.minusDays(1), now).blockOptional()).isEmpty();
+
+        server.enqueue(new MockResponse()
+                .setBody("[{\"waveId\":\"WAVE-2\"}]")
+                .addHeader("Content-Type", "application/json"));
+        server.enqueue(new MockResponse()
+                .setBody("[{\"warehouseId\":\"WH-1\",\"hour\":\"2026-10-19T10:00:00\",\"hash\":\"abc\"}]")
+                .addHeader("Content-Type", "application/json"));
+
+        assertThat(client.getWaves(List.of("WAVE-2")).block()).containsOnlyKeys("WAVE-2");
+        assertThat(client.getBucketHashes(now.minusDays(1), now).block()).hasSize(1);
+        assertThat(server.takeRequest().getPath()).isEqualTo("/api/waves/lookup");
+        assertThat(server.takeRequest().getPath()).isEqualTo("/api/waves/WAVE-1");
+        assertThat(server.takeRequest().getPath()).startsWith("/api/waves/buckets");
+        assertThat(server.takeRequest().getPath()).isEqualTo("/api/waves/lookup");
+        assertThat(server.takeRequest().getPath()).startsWith("/api/waves/buckets");
+    }
+
+    @Test
+    void getBucketHashesAsksForTheWindow() throws InterruptedException {
+        server.enqueue(new MockResponse()
+                .setBody("[{\"warehouseId\":\"WH-1\",\"hour\":\"2026-10-19T10:00:00\",\"hash\":\"abc\"}]")
+                .addHeader("Content-Type", "application/json"));
+
+        List<Map<String, Object>> buckets = client.getBucketHashes(
+                LocalDateTime.of(2026, 10, 18, 10, 30), LocalDateTime.of(2026, 10, 19, 10, 30)).block();
+
+        assertThat(buckets).singleElement().satisfies(bucket -> assertThat(bucket).containsEntry("hash", "abc"));
+        assertThat(server.takeRequest().getPath())
+                .isEqualTo("/api/waves/buckets?since=2026-10-18T10:30&until=2026-10-19T10:30");
+    }
+
+    @Test
+    void getBucketHashesIsEmptyWithoutBucketEndpoint() {
+        server.enqueue(new MockResponse().setResponseCode(404));
+        LocalDateTime now = LocalDateTime.now();
+
+        assertThat(client.getBucketHashes(now.minusDays(1), now).blockOptional()).isEmpty();
+        assertThat(client.getBucketHashes(now.minusDays(1), now).blockOptional()).isEmpty();
+        assertThat(server.getRequestCount()).isEqualTo(1);
+    }
+
+    @Test
+    void getWaveHashesReturnsHashesByWaveId() throws InterruptedException {
+        server.enqueue(new MockResponse()
+                .setBody("[{\"waveId\":\"WAVE-1\",\"hash\":\"abc\"},{\"waveId\":\"WAVE-2\"}]")
+                .addHeader("Content-Type", "application/json"));
+
+        Map<String, String> hashes = client.getWaveHashes(
+                "WH-1", LocalDateTime.of(2026, 10, 19, 10, 0), LocalDateTime.of(2026, 10, 19, 11, 0)).block();
+
+        assertThat(hashes).containsExactly(Map.entry("WAVE-1", "abc"));
+        assertThat(server.takeRequest().getPath())
+                .isEqualTo("/api/waves/buckets/WH-1/waves?since=2026-10-19T10:00&until=2026-10-19T11:00");
+    }
+
+    private WarehouseOperationsClient client(Duration unsupportedRecheckInterval) {
+        return new WarehouseOperationsClient(server.url("/").toString(), circuitBreakerRegistry,
+                10, Duration.ofSeconds(2), Duration.ofSeconds(30), Duration.ofSeconds(1),
+                "/api/waves/lookup", 2, Duration.ofSeconds(5), 1, "/api/waves/buckets",
+                unsupportedRecheckInterval);
+    }
+}
@@ -7,6 +7,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
 
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
@@ -54,7 +55,7 @@ class ShadowModeServiceTest {
     @Test
     void executeShadowCallRecordsMatchForEqualResults() {
         when(featureFlagService.isShadowModeEnabled("WAVE-2")).thenReturn(true);
-        when(legacyClient.planWave("WAVE-2")).thenReturn(Map.of("status", "ok"));
+        when(legacyClient.planWaveAsync("WAVE-2")).thenReturn(Mono.just(Map.of("status", "ok")));
 
         Map<String, Object> newResult = Map.of("status", "ok");
         ShadowModeService.ShadowModeResult result = shadowModeService
@@ -69,7 +70,7 @@ class ShadowModeServiceTest {
     @Test
     void executeShadowCallRecordsMismatch() {
         when(featureFlagService.isShadowModeEnabled("WAVE-3")).thenReturn(true);
-        when(legacyClient.planWave("WAVE-3")).thenReturn(Map.of("status", "legacy"));
+        when(legacyClient.planWaveAsync("WAVE-3")).thenReturn(Mono.just(Map.of("status", "legacy")));
 
         ShadowModeService.ShadowModeResult result = shadowModeService
                 .executeShadowCall("WAVE-3", Map.of("status", "new"))
@@ -83,7 +84,7 @@ class ShadowModeServiceTest {
     @Test
     void executeShadowCallRecordsErrorsFromLegacySystem() {
         when(featureFlagService.isShadowModeEnabled("WAVE-4")).thenReturn(true);
-        when(legacyClient.planWave("WAVE-4")).thenThrow(new RuntimeException("legacy down"));
+        when(legacyClient.planWaveAsync("WAVE-4")).thenReturn(Mono.error(new RuntimeException("legacy down")));
 
         ShadowModeService.ShadowModeResult result = shadowModeService
                 .executeShadowCall("WAVE-4", Map.of("status", "new"))
@@ -96,5 +97,19 @@ class ShadowModeServiceTest {
         verify(metrics, never()).recordMatch();
         verify(metrics, never()).recordMismatch();
     }
-}
 
+    @Test
+    void executeShadowCallRecordsErrorWhenLegacySystemUnavailable() {
+        when(featureFlagService.isShadowModeEnabled("WAVE-5")).thenReturn(true);
+        when(legacyClient.planWaveAsync("WAVE-5")).thenReturn(Mono.empty());
+
+        ShadowModeService.ShadowModeResult result = shadowModeService
+                .executeShadowCall("WAVE-5", Map.of("status", "new"))
+                .join();
+
+        assertThat(result.matches()).isFalse();
+        assertThat(result.message()).contains("unavailable");
+        verify(metrics).recordError();
+        verify(metrics, never()).recordMismatch();
+    }
+}
@@ -0,0 +1,125 @@
+package com.paklog.wms.wave.infrastructure.snapshot;
+
+import com.paklog.wms.wave.domain.entity.Order;
+import com.paklog.wms.wave.domain.event.WaveCancelledEvent;
+import com.paklog.wms.wave.domain.event.WaveCompletedEvent;
+import com.paklog.wms.wave.domain.event.WaveOrderRemovedEvent;
+import com.paklog.wms.wave.domain.event.WavePlannedEvent;
+import com.paklog.wms.wave.domain.valueobject.WavePriority;
+import com.paklog.wms.wave.domain.valueobject.WaveStrategyType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OrderSnapshotStoreTest {
+
+    private SimpleMeterRegistry registry;
+    private OrderSnapshotStore store;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        store = new OrderSnapshotStore(registry, 3, Duration.ofHours(1));
+    }
+
+    @Test
+    void storeMaterializesOptimizerOrder() {
+        store.store(Map.of(
+                "type", "FulfillmentOrderValidatedEvent",
+                "orderId", "ORD-1",
+                "priority", "HIGH",
+                "shippingMethod", Map.of("carrier", "FEDEX"),
+                "primaryZone", "A1",
+                "orderDate", "2026-03-01T08:00:00Z",
+                "requiredDate", "2026-03-02T18:00:00Z",
+                "totalVolume", 12.5,
+                "totalWeight", 3.25,
+                "orderLines", List.of(Map.of("quantity", 2), Map.of("quantity", 5))
+        ));
+
+        Order order = store.find("ORD-1").orElseThrow();
+
+        assertThat(order.getPriority()).isEqualTo(WavePriority.HIGH);
+        assertThat(order.getShippingMethod().getCarrier()).isEqualTo("FEDEX");
+        assertThat(order.getAttribute("primaryZone", "DEFAULT")).isEqualTo("A1");
+        assertThat(order.getOrderDate()).isEqualTo(LocalDateTime.of(2026, 3, 1, 8, 0));
+        assertThat(order.getRequiredDate()).isEqualTo(LocalDateTime.of(2026, 3, 2, 18, 0));
+        assertThat(order.calculateVolume()).isEqualByComparingTo(new BigDecimal("12.5"));
+        assertThat(order.calculateWeight()).isEqualByComparingTo(new BigDecimal("3.25"));
+        assertThat(order.getOrderLines()).extracting(Order.OrderLine::getQuantity).containsExactly(2, 5);
+        assertThat(registry.get("order.snapshots.size").gauge().value()).isEqualTo(1.0);
+    }
+
+    @Test
+    void findAllRequiresEverySnapshotAndKeepsSequence() {
+        store.store(Map.of("orderId", "ORD-1"));
+        store.store(Map.of("orderId", "ORD-2"));
+
+        assertThat(store.findAll(List.of("ORD-2", "ORD-1")).orElseThrow())
+                .extracting(Order::getOrderId)
+                .containsExactly("ORD-2", "ORD-1");
+        assertThat(store.findAll(List.of("ORD-1", "ORD-3"))).isEmpty();
+    }
+
+    @Test
+    void snapshotsAreEvictedWhenWaveFinishes() {
+        store.store(Map.of("orderId", "ORD-1"));
+        store.store(Map.of("orderId", "ORD-2"));
+        store.store(Map.of("orderId", "ORD-3"));
+        store.onWavePlanned(plannedEvent("WAVE-1", List.of("ORD-1", "ORD-2")));
+        store.onWavePlanned(plannedEvent("WAVE-2", List.of("ORD-3")));
+        store.onWaveOrderRemoved(new WaveOrderRemovedEvent("WAVE-1", "ORD-2", "WH-1", null, "Inventory shortage", 1));
+
+        store.onWaveCompleted(new WaveCompletedEvent("WAVE-1", 1, 1, 100.0));
+
+        assertThat(store.find("ORD-1")).isEmpty();
+        assertThat(store.find("ORD-2")).isPresent();
+
+        store.onWaveCancelled(new WaveCancelledEvent("WAVE-2", "No capacity"));
+        assertThat(store.find("ORD-3")).isEmpty();
+    }
+
+    @Test
+    void storeIsBoundedAndExpiresOldSnapshots() {
+        store.store(Map.of("orderId", "ORD-1"));
+        store.store(Map.of("orderId", "ORD-2"));
+        store.store(Map.of("orderId", "ORD-3"));
+
+        assertThat(store.store(Map.of("orderId", "ORD-4"))).isFalse();
+        assertThat(store.store(Map.of("orderId", "ORD-1", "priority", "LOW"))).isTrue();
+
+        OrderSnapshotStore expiring = new OrderSnapshotStore(new SimpleMeterRegistry(), 10, Duration.ofSeconds(-1));
+        expiring.store(Map.of("orderId", "ORD-1"));
+        expiring.evictExpired();
+        assertThat(expiring.size()).isZero();
+    }
+
+    @Test
+    void expiryKeepsSnapshotsOfOrdersInPlannedWaves() {
+        OrderSnapshotStore expiring = new OrderSnapshotStore(new SimpleMeterRegistry(), 10, Duration.ofSeconds(-1));
+        expiring.store(Map.of("orderId", "ORD-1"));
+        expiring.store(Map.of("orderId", "ORD-2"));
+        expiring.onWavePlanned(plannedEvent("WAVE-1", List.of("ORD-1")));
+
+        expiring.evictExpired();
+
+        assertThat(expiring.findAll(List.of("ORD-1"))).isPresent();
+        assertThat(expiring.size()).isEqualTo(1);
+
+        expiring.onWaveCancelled(new WaveCancelledEvent("WAVE-1", "No capacity"));
+        assertThat(expiring.size()).isZero();
+    }
+
+    private WavePlannedEvent plannedEvent(String waveId, List<String> orderIds) {
+        return new WavePlannedEvent(waveId, orderIds, "WH-1", WaveStrategyType.TIME_BASED,
+                WavePriority.NORMAL, LocalDateTime.now());
+    }
+}
@@ -0,0 +1,146 @@
+package com.paklog.wms.wave.infrastructure.stream;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.paklog.wms.wave.domain.event.WaveCancelledEvent;
+import com.paklog.wms.wave.domain.event.WaveOrderRemovedEvent;
+import com.paklog.wms.wave.domain.event.WavePlannedEvent;
+import com.paklog.wms.wave.domain.event.WaveReleasedEvent;
+import com.paklog.wms.wave.domain.valueobject.WavePriority;
+import com.paklog.wms.wave.domain.valueobject.WaveStatus;
+import com.paklog.wms.wave.domain.valueobject.WaveStrategyType;
+import com.paklog.wms.wave.infrastructure.events.WaveEventPublisher;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class WaveChangeStreamTest {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(5);
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    private WaveChangeStream stream;
+
+    @BeforeEach
+    void setUp() {
+        stream = new WaveChangeStream(new SimpleMeterRegistry(), objectMapper, 3, 16, 100);
+    }
+
+    @Test
+    void subscribersReceiveNewChangesOfTheirWarehouseAndZone() throws Exception {
+        CompletableFuture<List<WaveChange>> zoneA = stream.changes("WH-1", "ZONE-A", null)
+                .take(1).collectList().toFuture();
+        CompletableFuture<List<WaveChange>> warehouse = stream.changes("WH-1", null, null)
+                .take(2).collectList().toFuture();
+
+        stream.onWavePlanned(planned("WAVE-1", "WH-1"));
+        stream.onWavePlanned(planned("WAVE-2", "WH-2"));
+        stream.onWaveReleased(released("WAVE-1", "WH-1", "ZONE-A"));
+
+        assertThat(zoneA.get(TIMEOUT.toSeconds(), TimeUnit.SECONDS)).singleElement().satisfies(change -> {
+            assertThat(change.waveId()).isEqualTo("WAVE-1");
+            assertThat(change.status()).isEqualTo(WaveStatus.RELEASED);
+            assertThat(change.eventType()).isEqualTo("WaveReleasedEvent");
+        });
+        assertThat(warehouse.get(TIMEOUT.toSeconds(), TimeUnit.SECONDS))
+                .extracting(WaveChange::status)
+                .containsExactly(WaveStatus.PLANNED, WaveStatus.RELEASED);
+    }
+
+    @Test
+    void clientResumesAfterLastReceivedChange() {
+        stream.onWavePlanned(planned("WAVE-1", "WH-1"));
+        stream.onWaveReleased(released("WAVE-1", "WH-1", "ZONE-A"));
+        String firstId = epochOf(stream.changes("WH-1", null, "unknown").blockFirst(TIMEOUT)) + "1";
+        stream.onWaveCancelled(new WaveCancelledEvent("WAVE-2", "No capacity", "WH-1", null,
+                WaveStatus.PLANNED, 1, 1, 1));
+
+        List<WaveChange> resumed = stream.changes("WH-1", null, firstId).take(2).collectList().block(TIMEOUT);
+
+        assertThat(resumed).extracting(WaveChange::status)
+                .containsExactly(WaveStatus.RELEASED, WaveStatus.CANCELLED);
+    }
+
+    @Test
+    void unknownOrExpiredChangeIdStartsWithReset() {
+        for (int i = 0; i < 5; i++) {
+            stream.onWavePlanned(planned("WAVE-" + i, "WH-1"));
+        }
+        String expired = epochOf(stream.changes("WH-1", null, "unknown").blockFirst(TIMEOUT)) + "0";
+
+        List<WaveChange> fromExpired = stream.changes("WH-1", null, expired).take(4).collectList().block(TIMEOUT);
+
+        assertThat(fromExpired).first()
+                .satisfies(change -> assertThat(change.eventType()).isEqualTo(WaveChangeStream.RESET_EVENT));
+        assertThat(fromExpired.subList(1, 4)).extracting(WaveChange::waveId)
+                .containsExactly("WAVE-2", "WAVE-3", "WAVE-4");
+    }
+
+    @Test
+    void orderRemovalIsStreamedToSubscribersOfTheWaveZone() throws Exception {
+        CompletableFuture<List<WaveChange>> zoneA = stream.changes("WH-1", "ZONE-A", null)
+                .take(1).collectList().toFuture();
+
+        stream.onWaveOrderRemoved(new WaveOrderRemovedEvent("WAVE-1", "ORD-1", "WH-1", "ZONE-A",
+                "Customer request", 1));
+
+        assertThat(zoneA.get(TIMEOUT.toSeconds(), TimeUnit.SECONDS)).singleElement().satisfies(change -> {
+            assertThat(change.zone()).isEqualTo("ZONE-A");
+            assertThat(change.eventType()).isEqualTo("WaveOrderRemovedEvent");
+        });
+    }
+
+    @Test
+    void changesOfOtherInstancesAreStreamedFromTheOutbox() throws Exception {
+        CompletableFuture<List<WaveChange>> zoneA = stream.changes("WH-1", "ZONE-A", null)
+                .take(1).collectList().toFuture();
+
+        WaveReleasedEvent remote = released("WAVE-1", "WH-1", "ZONE-A");
+        stream.onOutboxEvent(WaveEventPublisher.eventTypeOf(WaveReleasedEvent.class),
+                objectMapper.writeValueAsBytes(remote));
+
+        assertThat(zoneA.get(TIMEOUT.toSeconds(), TimeUnit.SECONDS)).singleElement().satisfies(change -> {
+            assertThat(change.waveId()).isEqualTo("WAVE-1");
+            assertThat(change.status()).isEqualTo(WaveStatus.RELEASED);
+            assertThat(change.eventType()).isEqualTo("WaveReleasedEvent");
+        });
+    }
+
+    @Test
+    void ownEventsReadBackFromTheOutboxAreNotStreamedTwice() throws Exception {
+        CompletableFuture<List<WaveChange>> warehouse = stream.changes("WH-1", null, null)
+                .take(2).collectList().toFuture();
+
+        WaveReleasedEvent local = released("WAVE-1", "WH-1", "ZONE-A");
+        stream.onWaveReleased(local);
+        stream.onOutboxEvent(WaveEventPublisher.eventTypeOf(WaveReleasedEvent.class),
+                objectMapper.writeValueAsBytes(local));
+        stream.onOutboxEvent("com.paklog.wms.wave.wave.inventory.allocated.v1", new byte[0]);
+        stream.onWaveCancelled(new WaveCancelledEvent("WAVE-2", "No capacity", "WH-1", null,
+                WaveStatus.PLANNED, 1, 1, 1));
+
+        assertThat(warehouse.get(TIMEOUT.toSeconds(), TimeUnit.SECONDS)).extracting(WaveChange::eventType)
+                .containsExactly("WaveReleasedEvent", "WaveCancelledEvent");
+    }
+
+    private String epochOf(WaveChange change) {
+        return change.id().substring(0, change.id().lastIndexOf('-') + 1);
+    }
+
+    private WavePlannedEvent planned(String waveId, String warehouseId) {
+        return new WavePlannedEvent(waveId, List.of("ORD-1"), warehouseId,
+                WaveStrategyType.TIME_BASED, WavePriority.NORMAL, LocalDateTime.now().plusHours(1));
+    }
+
+    private WaveReleasedEvent released(String waveId, String warehouseId, String zone) {
+        return new WaveReleasedEvent(waveId, List.of("ORD-1"), warehouseId, zone, WavePriority.NORMAL, 1, 2);
+    }
+}